@@ -1,5 +1,8 @@
 package io.github.keeper.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -10,7 +13,564 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
  */
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
+
+    private final Batch batch = new Batch();
+
+    private final Pagination pagination = new Pagination();
+
+    private final Export export = new Export();
+
+    private final TrialBalance trialBalance = new TrialBalance();
+
+    private final BalanceSnapshot balanceSnapshot = new BalanceSnapshot();
+
+    private final SearchIndex searchIndex = new SearchIndex();
+
+    private final Analytics analytics = new Analytics();
+
+    private final ReferenceCache referenceCache = new ReferenceCache();
+
+    private final ReadReplicas readReplicas = new ReadReplicas();
+
+    private final LiveFeed liveFeed = new LiveFeed();
+
     // jhipster-needle-application-properties-property
+
+    public Batch getBatch() {
+        return batch;
+    }
+
+    public Pagination getPagination() {
+        return pagination;
+    }
+
+    public Export getExport() {
+        return export;
+    }
+
+    public TrialBalance getTrialBalance() {
+        return trialBalance;
+    }
+
+    public BalanceSnapshot getBalanceSnapshot() {
+        return balanceSnapshot;
+    }
+
+    public SearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
+    public Analytics getAnalytics() {
+        return analytics;
+    }
+
+    public ReferenceCache getReferenceCache() {
+        return referenceCache;
+    }
+
+    public ReadReplicas getReadReplicas() {
+        return readReplicas;
+    }
+
+    public LiveFeed getLiveFeed() {
+        return liveFeed;
+    }
+
     // jhipster-needle-application-properties-property-getter
+
+    public static class Batch {
+
+        /**
+         * Maximum number of rows written by a single multi-row INSERT statement.
+         */
+        private int insertChunkSize = 1000;
+
+        /**
+         * Maximum number of journals accepted by a single batch posting request.
+         */
+        private int maxJournals = 10000;
+
+        /**
+         * Maximum number of chunks of an import written concurrently, each in its own transaction.
+         */
+        private int importConcurrency = 4;
+
+        public int getInsertChunkSize() {
+            return insertChunkSize;
+        }
+
+        public void setInsertChunkSize(int insertChunkSize) {
+            this.insertChunkSize = insertChunkSize;
+        }
+
+        public int getMaxJournals() {
+            return maxJournals;
+        }
+
+        public void setMaxJournals(int maxJournals) {
+            this.maxJournals = maxJournals;
+        }
+
+        public int getImportConcurrency() {
+            return importConcurrency;
+        }
+
+        public void setImportConcurrency(int importConcurrency) {
+            this.importConcurrency = importConcurrency;
+        }
+    }
+
+    public static class Pagination {
+
+        public enum CountMode {
+            /**
+             * The total is counted by a separate {@code SELECT COUNT(*)} statement.
+             */
+            QUERY,
+            /**
+             * The total is counted by a {@code COUNT(*) OVER()} column of the page query.
+             */
+            WINDOW,
+        }
+
+        /**
+         * How the total number of rows reported with a list page loaded whole is counted. The streamed list pages write their
+         * headers before their first row, and always count by a separate statement.
+         */
+        private CountMode countMode = CountMode.WINDOW;
+
+        /**
+         * Tables with at least this many rows according to the planner statistics ({@code pg_class.reltuples}) report that
+         * estimate as their total instead of counting their rows; 0 disables the approximation.
+         */
+        private long approximateCountThreshold = 0;
+
+        /**
+         * How long the row estimate of a table is reused before it is read again.
+         */
+        private Duration approximateCountTtl = Duration.ofMinutes(1);
+
+        public CountMode getCountMode() {
+            return countMode;
+        }
+
+        public void setCountMode(CountMode countMode) {
+            this.countMode = countMode;
+        }
+
+        public long getApproximateCountThreshold() {
+            return approximateCountThreshold;
+        }
+
+        public void setApproximateCountThreshold(long approximateCountThreshold) {
+            this.approximateCountThreshold = approximateCountThreshold;
+        }
+
+        public Duration getApproximateCountTtl() {
+            return approximateCountTtl;
+        }
+
+        public void setApproximateCountTtl(Duration approximateCountTtl) {
+            this.approximateCountTtl = approximateCountTtl;
+        }
+    }
+
+    public static class Export {
+
+        /**
+         * Number of rows the database cursor of an export fetches per round trip.
+         */
+        private int fetchSize = 1000;
+
+        public int getFetchSize() {
+            return fetchSize;
+        }
+
+        public void setFetchSize(int fetchSize) {
+            this.fetchSize = fetchSize;
+        }
+    }
+
+    public static class TrialBalance {
+
+        /**
+         * Maximum number of as-of dates whose trial balance is kept in memory; the earliest dates are dropped first.
+         */
+        private int cacheSize = 64;
+
+        /**
+         * How long a cached trial balance is served at most, as a bound on changes made outside of the services.
+         */
+        private Duration cacheTtl = Duration.ofHours(1);
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+    }
+
+    public static class BalanceSnapshot {
+
+        public enum Period {
+            /**
+             * A checkpoint at the end of every day.
+             */
+            DAILY,
+            /**
+             * A checkpoint at the end of every calendar month.
+             */
+            MONTHLY,
+        }
+
+        /**
+         * How often the balances are checkpointed; an as-of query sums the entries of at most one period on top of a checkpoint.
+         */
+        private Period period = Period.MONTHLY;
+
+        /**
+         * When the job checkpointing the periods completed since its last run is started.
+         */
+        private String cron = "0 30 0 * * ?";
+
+        public Period getPeriod() {
+            return period;
+        }
+
+        public void setPeriod(Period period) {
+            this.period = period;
+        }
+
+        public String getCron() {
+            return cron;
+        }
+
+        public void setCron(String cron) {
+            this.cron = cron;
+        }
+    }
+
+    public static class SearchIndex {
+
+        /**
+         * Whether this instance drains the search index outbox; the instances share the work through a database lock.
+         */
+        private boolean indexerEnabled = true;
+
+        /**
+         * How often the outbox is polled when it has been drained.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Maximum number of outbox events indexed by a single bulk request.
+         */
+        private int batchSize = 500;
+
+        /**
+         * Delay before the first retry of a failed batch, doubled with every further attempt.
+         */
+        private Duration retryBackoff = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound on the delay between two attempts of a failed batch.
+         */
+        private Duration maxRetryBackoff = Duration.ofMinutes(5);
+
+        /**
+         * Number of id ranges the rows are split into by a full reindex.
+         */
+        private int reindexPartitions = 16;
+
+        /**
+         * Maximum number of id ranges of a full reindex loaded at the same time.
+         */
+        private int reindexConcurrency = 4;
+
+        /**
+         * Number of rows read and indexed at a time by a full reindex.
+         */
+        private int reindexBatchSize = 1000;
+
+        /**
+         * Time after which a full reindex that did not complete, such as one of an instance that stopped, may be started again.
+         */
+        private Duration reindexTimeout = Duration.ofHours(6);
+
+        /**
+         * Directory of the Lucene indices of the {@code embedded-search} profile.
+         */
+        private String embeddedDirectory = "search-index";
+
+        /**
+         * Maximum time before a write to the Lucene indices of the {@code embedded-search} profile becomes searchable.
+         */
+        private Duration embeddedRefreshInterval = Duration.ofSeconds(1);
+
+        public boolean isIndexerEnabled() {
+            return indexerEnabled;
+        }
+
+        public void setIndexerEnabled(boolean indexerEnabled) {
+            this.indexerEnabled = indexerEnabled;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRetryBackoff() {
+            return retryBackoff;
+        }
+
+        public void setRetryBackoff(Duration retryBackoff) {
+            this.retryBackoff = retryBackoff;
+        }
+
+        public Duration getMaxRetryBackoff() {
+            return maxRetryBackoff;
+        }
+
+        public void setMaxRetryBackoff(Duration maxRetryBackoff) {
+            this.maxRetryBackoff = maxRetryBackoff;
+        }
+
+        public int getReindexPartitions() {
+            return reindexPartitions;
+        }
+
+        public void setReindexPartitions(int reindexPartitions) {
+            this.reindexPartitions = reindexPartitions;
+        }
+
+        public int getReindexConcurrency() {
+            return reindexConcurrency;
+        }
+
+        public void setReindexConcurrency(int reindexConcurrency) {
+            this.reindexConcurrency = reindexConcurrency;
+        }
+
+        public int getReindexBatchSize() {
+            return reindexBatchSize;
+        }
+
+        public void setReindexBatchSize(int reindexBatchSize) {
+            this.reindexBatchSize = reindexBatchSize;
+        }
+
+        public Duration getReindexTimeout() {
+            return reindexTimeout;
+        }
+
+        public void setReindexTimeout(Duration reindexTimeout) {
+            this.reindexTimeout = reindexTimeout;
+        }
+
+        public String getEmbeddedDirectory() {
+            return embeddedDirectory;
+        }
+
+        public void setEmbeddedDirectory(String embeddedDirectory) {
+            this.embeddedDirectory = embeddedDirectory;
+        }
+
+        public Duration getEmbeddedRefreshInterval() {
+            return embeddedRefreshInterval;
+        }
+
+        public void setEmbeddedRefreshInterval(Duration embeddedRefreshInterval) {
+            this.embeddedRefreshInterval = embeddedRefreshInterval;
+        }
+    }
     // jhipster-needle-application-properties-property-class
+
+    public static class Analytics {
+
+        /**
+         * Maximum number of distinct analytics queries whose results are kept in memory.
+         */
+        private int cacheSize = 256;
+
+        /**
+         * How long the result of an analytics query is served from memory; the aggregations are not invalidated by writes.
+         */
+        private Duration cacheTtl = Duration.ofSeconds(30);
+
+        /**
+         * Maximum number of accounts, or of dealers, an analytics query returns, the most active first.
+         */
+        private int maxBuckets = 500;
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+
+        public Duration getCacheTtl() {
+            return cacheTtl;
+        }
+
+        public void setCacheTtl(Duration cacheTtl) {
+            this.cacheTtl = cacheTtl;
+        }
+
+        public int getMaxBuckets() {
+            return maxBuckets;
+        }
+
+        public void setMaxBuckets(int maxBuckets) {
+            this.maxBuckets = maxBuckets;
+        }
+    }
+
+    public static class ReferenceCache {
+
+        /**
+         * Maximum number of reads kept in memory per reference entity, the least recently used are evicted first; 0 disables
+         * the cache.
+         */
+        private int maxSize = 1000;
+
+        /**
+         * Upper bound on the age of a cached read; the writes through the services evict the entity on every instance.
+         */
+        private Duration ttl = Duration.ofMinutes(10);
+
+        public int getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+    }
+
+    public static class ReadReplicas {
+
+        /**
+         * R2DBC urls of the replicas the read-only transactions are balanced over, in turn; none sends all the transactions to
+         * the primary.
+         */
+        private List<String> urls = new ArrayList<>();
+
+        /**
+         * Credentials of the replicas, those of the primary when not set.
+         */
+        private String username;
+
+        private String password;
+
+        /**
+         * Replication lag beyond which a replica stops being read from until it catches up; not set disables the lag checks.
+         */
+        private Duration maxLag;
+
+        /**
+         * How often the replication lag of each replica is checked.
+         */
+        private Duration lagCheckInterval = Duration.ofSeconds(5);
+
+        public List<String> getUrls() {
+            return urls;
+        }
+
+        public void setUrls(List<String> urls) {
+            this.urls = urls;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public Duration getMaxLag() {
+            return maxLag;
+        }
+
+        public void setMaxLag(Duration maxLag) {
+            this.maxLag = maxLag;
+        }
+
+        public Duration getLagCheckInterval() {
+            return lagCheckInterval;
+        }
+
+        public void setLagCheckInterval(Duration lagCheckInterval) {
+            this.lagCheckInterval = lagCheckInterval;
+        }
+    }
+
+    public static class LiveFeed {
+
+        /**
+         * Number of the latest messages replayed to a client subscribing to the live feed.
+         */
+        private int replaySize = 256;
+
+        /**
+         * Messages buffered per client of the live feed; beyond that its overflow policy drops the newest or the oldest.
+         */
+        private int subscriberBufferSize = 256;
+
+        public int getReplaySize() {
+            return replaySize;
+        }
+
+        public void setReplaySize(int replaySize) {
+            this.replaySize = replaySize;
+        }
+
+        public int getSubscriberBufferSize() {
+            return subscriberBufferSize;
+        }
+
+        public void setSubscriberBufferSize(int subscriberBufferSize) {
+            this.subscriberBufferSize = subscriberBufferSize;
+        }
+    }
 }
@@ -11,5 +11,8 @@ public final class Constants {
     public static final String SYSTEM = "system";
     public static final String DEFAULT_LANGUAGE = "en";
 
+    // Profile serving the searches from Lucene indices embedded in the application instead of the Elasticsearch cluster
+    public static final String SPRING_PROFILE_EMBEDDED_SEARCH = "embedded-search";
+
     private Constants() {}
 }
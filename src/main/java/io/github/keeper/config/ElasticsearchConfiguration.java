@@ -7,11 +7,13 @@ import java.time.ZonedDateTime;
 import java.util.Arrays;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.ReadingConverter;
 import org.springframework.data.convert.WritingConverter;
 import org.springframework.data.elasticsearch.config.ElasticsearchConfigurationSupport;
 import org.springframework.data.elasticsearch.core.convert.ElasticsearchCustomConversions;
+import org.springframework.data.elasticsearch.repository.config.EnableReactiveElasticsearchRepositories;
 
 @Configuration
 public class ElasticsearchConfiguration extends ElasticsearchConfigurationSupport {
@@ -31,6 +33,14 @@ public class ElasticsearchConfiguration extends ElasticsearchConfigurationSuppor
         );
     }
 
+    /**
+     * The repositories create their index at startup, they are left out when the searches are served by the embedded indices.
+     */
+    @Configuration
+    @Profile("!" + Constants.SPRING_PROFILE_EMBEDDED_SEARCH)
+    @EnableReactiveElasticsearchRepositories("io.github.keeper.repository.search")
+    static class ElasticsearchRepositoriesConfiguration {}
+
     @WritingConverter
     static class ZonedDateTimeWritingConverter implements Converter<ZonedDateTime, String> {
 
@@ -1,9 +1,12 @@
 package io.github.keeper.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.boot.web.codec.CodecCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
 import org.zalando.problem.jackson.ProblemModule;
 import org.zalando.problem.violations.ConstraintViolationProblemModule;
 
@@ -39,4 +42,14 @@ public class JacksonConfiguration {
     public ConstraintViolationProblemModule constraintViolationProblemModule() {
         return new ConstraintViolationProblemModule();
     }
+
+    /**
+     * Streams the {@code Flux} bodies as JSON arrays, applied after the Jackson codec customizer of Spring Boot.
+     * @return the customizer replacing the default JSON encoder.
+     */
+    @Bean
+    @Order(1)
+    public CodecCustomizer streamingJsonCodecCustomizer(ObjectMapper objectMapper) {
+        return configurer -> configurer.defaultCodecs().jackson2JsonEncoder(new StreamingJackson2JsonEncoder(objectMapper));
+    }
 }
@@ -0,0 +1,66 @@
+package io.github.keeper.config;
+
+import io.github.keeper.service.LiveFeedService;
+import io.github.keeper.service.impl.LedgerPostingServiceImpl;
+import io.github.keeper.service.impl.ReferenceDataCacheServiceImpl;
+import io.github.keeper.service.impl.TrialBalanceServiceImpl;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Configuration of the Kafka consumers, bound as functions.
+ * <p>
+ * {@code spring.cloud.function.definition} lists them, and {@code spring.cloud.stream.function.bindings} names their
+ * bindings, as it names the output bindings of {@code spring.cloud.stream.output-bindings}. The producers send to the
+ * channels of those output bindings, which the binder only registers once the beans using them are created: they are
+ * injected {@code @Lazy}.
+ */
+@Configuration
+public class KafkaConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(KafkaConfiguration.class);
+
+    @Bean
+    public Consumer<Message<byte[]>> consumeSse(LiveFeedService liveFeedService) {
+        return message -> {
+            String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
+            log.debug("Got message from kafka stream: {}", payload);
+            MessageHeaders headers = message.getHeaders();
+            liveFeedService.emit(headers.get(KafkaHeaders.RECEIVED_TOPIC, String.class), key(headers), payload);
+        };
+    }
+
+    @Bean
+    public Consumer<Message<String>> consumeCacheInvalidation(
+        ReferenceDataCacheServiceImpl referenceDataCacheService,
+        TrialBalanceServiceImpl trialBalanceService
+    ) {
+        return message -> {
+            if (message.getPayload().startsWith(TrialBalanceServiceImpl.CACHE_NAME)) {
+                trialBalanceService.consume(message);
+            } else {
+                referenceDataCacheService.consume(message);
+            }
+        };
+    }
+
+    @Bean
+    public Consumer<Message<byte[]>> consumeLedgerPostings(LedgerPostingServiceImpl ledgerPostingService) {
+        return ledgerPostingService::consume;
+    }
+
+    private static String key(MessageHeaders headers) {
+        Object key = headers.get(KafkaHeaders.RECEIVED_MESSAGE_KEY);
+        if (key instanceof byte[]) {
+            return new String((byte[]) key, StandardCharsets.UTF_8);
+        }
+        return key == null ? null : key.toString();
+    }
+}
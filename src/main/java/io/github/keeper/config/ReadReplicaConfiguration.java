@@ -0,0 +1,85 @@
+package io.github.keeper.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.ReactiveTransactionManager;
+
+/**
+ * Routes the read-only transactions to the read replicas of {@code application.read-replicas}, if any.
+ * <p>
+ * The primary connection factory stays the one configured by {@code spring.r2dbc}, it is wrapped into a
+ * {@link ReadReplicaConnectionFactory} once created. Each replica gets a pool sized like the pool of the primary.
+ */
+@Configuration
+public class ReadReplicaConfiguration {
+
+    private static final String CONNECTION_FACTORY = "connectionFactory";
+
+    @Bean
+    public static BeanPostProcessor readReplicaRouting(
+        ObjectProvider<ApplicationProperties> applicationProperties,
+        ObjectProvider<R2dbcProperties> r2dbcProperties
+    ) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof ConnectionFactory) || !CONNECTION_FACTORY.equals(beanName)) {
+                    return bean;
+                }
+                ApplicationProperties.ReadReplicas readReplicas = applicationProperties.getObject().getReadReplicas();
+                if (readReplicas.getUrls().isEmpty()) {
+                    return bean;
+                }
+                R2dbcProperties properties = r2dbcProperties.getObject();
+                List<ConnectionFactory> replicas = readReplicas
+                    .getUrls()
+                    .stream()
+                    .map(url -> replica(url, readReplicas, properties))
+                    .collect(Collectors.toList());
+                ReadReplicaConnectionFactory connectionFactory = new ReadReplicaConnectionFactory(
+                    (ConnectionFactory) bean,
+                    replicas,
+                    readReplicas.getMaxLag(),
+                    readReplicas.getLagCheckInterval()
+                );
+                connectionFactory.afterPropertiesSet();
+                return connectionFactory;
+            }
+        };
+    }
+
+    @Bean
+    public ReactiveTransactionManager transactionManager(ConnectionFactory connectionFactory) {
+        return new ReadReplicaTransactionManager(connectionFactory);
+    }
+
+    private static ConnectionFactory replica(String url, ApplicationProperties.ReadReplicas readReplicas, R2dbcProperties properties) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder
+            .withUrl(url)
+            .username(readReplicas.getUsername() != null ? readReplicas.getUsername() : properties.getUsername())
+            .password(readReplicas.getPassword() != null ? readReplicas.getPassword() : properties.getPassword())
+            .build();
+        R2dbcProperties.Pool pool = properties.getPool();
+        ConnectionPoolConfiguration.Builder configuration = ConnectionPoolConfiguration.builder(connectionFactory);
+        PropertyMapper map = PropertyMapper.get().alwaysApplyingWhenNonNull();
+        map.from(pool.getInitialSize()).to(configuration::initialSize);
+        map.from(pool.getMaxSize()).to(configuration::maxSize);
+        map.from(pool.getMaxIdleTime()).to(configuration::maxIdleTime);
+        map.from(pool.getMaxLifeTime()).to(configuration::maxLifeTime);
+        map.from(pool.getMaxAcquireTime()).to(configuration::maxAcquireTime);
+        map.from(pool.getMaxCreateConnectionTime()).to(configuration::maxCreateConnectionTime);
+        map.from(pool.getValidationQuery()).to(configuration::validationQuery);
+        map.from(pool.getValidationDepth()).to(configuration::validationDepth);
+        return new ConnectionPool(configuration.build());
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.keeper.config;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link ConnectionFactory} sending the read-only transactions to the replicas of the database, and everything else to the
+ * primary.
+ * <p>
+ * A connection is read-only when it begins a {@code @Transactional(readOnly = true)} transaction, as flagged by the
+ * {@link ReadReplicaTransactionManager}. The read-only connections are balanced over the replicas in turn. The reads run
+ * outside of any actual transaction, such as the loaders of the reference data cache, stay on the primary: a stale row read
+ * from a replica would be cached, and served well after the replica caught up.
+ * <p>
+ * When a maximum lag is set, the replication lag of each replica is checked periodically: the replicas lagging more, or
+ * failing the check, are skipped until they catch up, and the reads fall back to the primary when all of them are.
+ */
+public class ReadReplicaConnectionFactory extends AbstractRoutingConnectionFactory implements Disposable {
+
+    /**
+     * Key of the subscriber context flagging a connection created for a read-only transaction.
+     */
+    public static final String READ_ONLY = ReadReplicaConnectionFactory.class.getName() + ".READ_ONLY";
+
+    // zero when the replica has replayed all the WAL it received, as an idle primary writes no new transaction to compare with
+    private static final String LAG_QUERY =
+        "SELECT CASE WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+        "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END::float8";
+
+    private final Logger log = LoggerFactory.getLogger(ReadReplicaConnectionFactory.class);
+
+    private final ConnectionFactory primary;
+
+    private final List<ConnectionFactory> replicas;
+
+    private final Duration maxLag;
+
+    private final Duration lagCheckInterval;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final Set<Integer> laggingReplicas = ConcurrentHashMap.newKeySet();
+
+    private Disposable lagChecks;
+
+    /**
+     * @param maxLag the replication lag beyond which a replica is skipped, {@code null} to never check it.
+     */
+    public ReadReplicaConnectionFactory(
+        ConnectionFactory primary,
+        List<ConnectionFactory> replicas,
+        Duration maxLag,
+        Duration lagCheckInterval
+    ) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLag = maxLag;
+        this.lagCheckInterval = lagCheckInterval;
+        Map<Integer, ConnectionFactory> targets = new HashMap<>();
+        for (int i = 0; i < this.replicas.size(); i++) {
+            targets.put(i, this.replicas.get(i));
+        }
+        setTargetConnectionFactories(targets);
+        setDefaultTargetConnectionFactory(primary);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        if (maxLag != null && !replicas.isEmpty()) {
+            lagChecks =
+                Flux
+                    .interval(Duration.ZERO, lagCheckInterval)
+                    .onBackpressureDrop()
+                    .concatMap(tick -> Flux.range(0, replicas.size()).flatMap(this::checkLag))
+                    .subscribe();
+        }
+    }
+
+    /**
+     * @return the index of the replica to read from, or nothing for the primary.
+     */
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(context -> context.getOrDefault(READ_ONLY, false) ? Mono.justOrEmpty(nextReplica()) : Mono.empty());
+    }
+
+    private Integer nextReplica() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < replicas.size(); i++) {
+            int replica = Math.floorMod(start + i, replicas.size());
+            if (!laggingReplicas.contains(replica)) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Mono<Double> checkLag(int replica) {
+        return Mono
+            .usingWhen(
+                replicas.get(replica).create(),
+                connection ->
+                    Mono
+                        .from(connection.createStatement(LAG_QUERY).execute())
+                        .flatMap(result -> Mono.from(result.map((row, metadata) -> row.get(0, Double.class)))),
+                Connection::close
+            )
+            .timeout(lagCheckInterval)
+            .doOnNext(seconds -> {
+                Duration lag = Duration.ofMillis((long) (seconds * 1000));
+                if (lag.compareTo(maxLag) > 0) {
+                    if (laggingReplicas.add(replica)) {
+                        log.warn("Read replica {} lags the primary by {}, reading from the other connections", replica, lag);
+                    }
+                } else if (laggingReplicas.remove(replica)) {
+                    log.info("Read replica {} caught up with the primary, lagging by {}", replica, lag);
+                }
+            })
+            .onErrorResume(e -> {
+                if (laggingReplicas.add(replica)) {
+                    log.warn("Could not check the lag of read replica {}, reading from the other connections: {}", replica, e.getMessage());
+                }
+                return Mono.empty();
+            });
+    }
+
+    /**
+     * Stops checking the lag of the replicas, and disposes of them and of the primary.
+     */
+    @Override
+    public void dispose() {
+        if (lagChecks != null) {
+            lagChecks.dispose();
+        }
+        replicas.forEach(ReadReplicaConnectionFactory::dispose);
+        dispose(primary);
+    }
+
+    private static void dispose(ConnectionFactory connectionFactory) {
+        if (connectionFactory instanceof Disposable) {
+            ((Disposable) connectionFactory).dispose();
+        }
+    }
+}
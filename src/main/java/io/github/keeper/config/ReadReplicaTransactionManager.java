@@ -0,0 +1,31 @@
+package io.github.keeper.config;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link R2dbcTransactionManager} telling the {@link ReadReplicaConnectionFactory} which transactions are read-only.
+ * <p>
+ * The connection of a transaction is created before the transaction is synchronized, the read-only flag of its definition is
+ * handed to the connection factory through the subscriber context instead.
+ */
+public class ReadReplicaTransactionManager extends R2dbcTransactionManager {
+
+    public ReadReplicaTransactionManager(ConnectionFactory connectionFactory) {
+        super(connectionFactory);
+    }
+
+    @Override
+    protected Mono<Void> doBegin(
+        TransactionSynchronizationManager synchronizationManager,
+        Object transaction,
+        TransactionDefinition definition
+    ) {
+        return super
+            .doBegin(synchronizationManager, transaction, definition)
+            .contextWrite(context -> context.put(ReadReplicaConnectionFactory.READ_ONLY, definition.isReadOnly()));
+    }
+}
@@ -0,0 +1,58 @@
+package io.github.keeper.config;
+
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.dto.SearchReindexJobDTO;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Management endpoint to start the full reindexes of the search indices, and to follow their progress.
+ * <p>
+ * {@code GET /management/searchreindex} lists the reindexes run by this instance, {@code GET /management/searchreindex/{index}}
+ * reports the last one of an index, with its throughput and the estimated time left, and
+ * {@code POST /management/searchreindex/{index}} starts one.
+ */
+@Component
+@Endpoint(id = "searchreindex")
+public class SearchReindexEndpoint {
+
+    private final Logger log = LoggerFactory.getLogger(SearchReindexEndpoint.class);
+
+    private final SearchIndexService searchIndexService;
+
+    public SearchReindexEndpoint(SearchIndexService searchIndexService) {
+        this.searchIndexService = searchIndexService;
+    }
+
+    @ReadOperation
+    public List<SearchReindexJobDTO> reindexes() {
+        return searchIndexService.findAllReindexes();
+    }
+
+    @ReadOperation
+    public WebEndpointResponse<SearchReindexJobDTO> reindex(@Selector String index) {
+        return searchIndexService
+            .findReindex(index)
+            .map(WebEndpointResponse::new)
+            .orElseGet(() -> new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND));
+    }
+
+    @WriteOperation
+    public Mono<WebEndpointResponse<SearchReindexJobDTO>> startReindex(@Selector String index) {
+        log.debug("Request to reindex the search index {}", index);
+        return searchIndexService
+            .reindex(index)
+            .map(job -> new WebEndpointResponse<>(job, HttpStatus.ACCEPTED.value()))
+            .onErrorResume(IllegalArgumentException.class, e -> Mono.just(new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND)))
+            .onErrorResume(IllegalStateException.class, e -> Mono.just(new WebEndpointResponse<>(HttpStatus.CONFLICT.value())));
+    }
+}
@@ -0,0 +1,64 @@
+package io.github.keeper.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Jackson encoder writing a {@link Flux} as a JSON array element by element, where the default one collects the whole
+ * {@code Flux} into a list first: the first elements of a large page are written while the next ones are still being read, and
+ * the page is never held twice in memory.
+ * <p>
+ * The streaming media types, such as {@code application/x-ndjson}, and the single values are encoded as by default. As the
+ * status and the headers are written with the first element, an error after it closes the connection, leaving the array
+ * unterminated; an error before it is answered as usual.
+ */
+public class StreamingJackson2JsonEncoder extends Jackson2JsonEncoder {
+
+    private static final byte[] START_ARRAY = "[".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] SEPARATOR = ",".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] END_ARRAY = "]".getBytes(StandardCharsets.US_ASCII);
+
+    public StreamingJackson2JsonEncoder(ObjectMapper mapper, MimeType... mimeTypes) {
+        super(mapper, mimeTypes);
+    }
+
+    @Override
+    public Flux<DataBuffer> encode(
+        Publisher<?> inputStream,
+        DataBufferFactory bufferFactory,
+        ResolvableType elementType,
+        MimeType mimeType,
+        Map<String, Object> hints
+    ) {
+        if (inputStream instanceof Mono || isStreaming(mimeType)) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        // nothing is written before the first element, or the completion of an empty Flux, so that an error reading the
+        // first one is still answered with an error status
+        return Flux
+            .from(inputStream)
+            .index()
+            .map(element -> {
+                DataBuffer value = encodeValue(element.getT2(), bufferFactory, elementType, mimeType, hints);
+                return bufferFactory.join(List.of(bufferFactory.wrap(element.getT1() == 0 ? START_ARRAY : SEPARATOR), value));
+            })
+            .switchIfEmpty(Mono.fromSupplier(() -> bufferFactory.wrap(START_ARRAY)))
+            .concatWith(Mono.fromSupplier(() -> bufferFactory.wrap(END_ARRAY)));
+    }
+
+    private boolean isStreaming(MimeType mimeType) {
+        return mimeType != null && getStreamingMediaTypes().stream().anyMatch(mediaType -> mediaType.isCompatibleWith(mimeType));
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.keeper.domain;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * The running balance of a {@link TransactionAccount}, maintained alongside every {@link TransactionEntry} write.
+ * The net balance is debit-normal: the debit total less the credit total.
+ */
+@Table("account_balance")
+public class AccountBalance implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("transaction_account_id")
+    private Long transactionAccountId;
+
+    @Column("debit_total")
+    private BigDecimal debitTotal;
+
+    @Column("credit_total")
+    private BigDecimal creditTotal;
+
+    @Column("net_balance")
+    private BigDecimal netBalance;
+
+    @Column("last_entry_id")
+    private Long lastEntryId;
+
+    public Long getTransactionAccountId() {
+        return this.transactionAccountId;
+    }
+
+    public AccountBalance transactionAccountId(Long transactionAccountId) {
+        this.setTransactionAccountId(transactionAccountId);
+        return this;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return this.debitTotal;
+    }
+
+    public AccountBalance debitTotal(BigDecimal debitTotal) {
+        this.setDebitTotal(debitTotal);
+        return this;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal != null ? debitTotal.stripTrailingZeros() : null;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return this.creditTotal;
+    }
+
+    public AccountBalance creditTotal(BigDecimal creditTotal) {
+        this.setCreditTotal(creditTotal);
+        return this;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal != null ? creditTotal.stripTrailingZeros() : null;
+    }
+
+    public BigDecimal getNetBalance() {
+        return this.netBalance;
+    }
+
+    public AccountBalance netBalance(BigDecimal netBalance) {
+        this.setNetBalance(netBalance);
+        return this;
+    }
+
+    public void setNetBalance(BigDecimal netBalance) {
+        this.netBalance = netBalance != null ? netBalance.stripTrailingZeros() : null;
+    }
+
+    public Long getLastEntryId() {
+        return this.lastEntryId;
+    }
+
+    public AccountBalance lastEntryId(Long lastEntryId) {
+        this.setLastEntryId(lastEntryId);
+        return this;
+    }
+
+    public void setLastEntryId(Long lastEntryId) {
+        this.lastEntryId = lastEntryId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountBalance)) {
+            return false;
+        }
+        return transactionAccountId != null && transactionAccountId.equals(((AccountBalance) o).transactionAccountId);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountBalance{" +
+            "transactionAccountId=" + getTransactionAccountId() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            ", netBalance=" + getNetBalance() +
+            ", lastEntryId=" + getLastEntryId() +
+            "}";
+    }
+}
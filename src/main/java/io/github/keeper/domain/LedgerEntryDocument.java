@@ -0,0 +1,308 @@
+package io.github.keeper.domain;
+
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.elasticsearch.annotations.DateFormat;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+
+/**
+ * A TransactionEntry as found by the ledger searches, together with the fields of its account, of its transaction and of the
+ * currency of its account that the search results display or filter on. It is only a search document: the outbox indexer
+ * builds it from the database, and updates the copied fields of all the entries of an account, transaction or currency that
+ * changes.
+ */
+@org.springframework.data.elasticsearch.annotations.Document(indexName = "ledgerentry")
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class LedgerEntryDocument implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+    @Id
+    private Long id;
+
+    @Field(type = FieldType.Scaled_Float, scalingFactor = 100)
+    private BigDecimal entryAmount;
+
+    @Field(type = FieldType.Keyword)
+    private TransactionEntryTypes transactionEntryType;
+
+    private String description;
+
+    private Boolean wasProposed;
+
+    private Boolean wasPosted;
+
+    private Boolean wasDeleted;
+
+    private Boolean wasApproved;
+
+    private Long transactionAccountId;
+
+    private String accountName;
+
+    @Field(type = FieldType.Keyword)
+    private String accountNumber;
+
+    private Long accountTransactionId;
+
+    @Field(type = FieldType.Date, format = DateFormat.date)
+    private LocalDate transactionDate;
+
+    @Field(type = FieldType.Keyword)
+    private String referenceNumber;
+
+    private Long transactionCurrencyId;
+
+    @Field(type = FieldType.Keyword)
+    private String currencyCode;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public LedgerEntryDocument id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getEntryAmount() {
+        return this.entryAmount;
+    }
+
+    public LedgerEntryDocument entryAmount(BigDecimal entryAmount) {
+        this.setEntryAmount(entryAmount);
+        return this;
+    }
+
+    public void setEntryAmount(BigDecimal entryAmount) {
+        this.entryAmount = entryAmount != null ? entryAmount.stripTrailingZeros() : null;
+    }
+
+    public TransactionEntryTypes getTransactionEntryType() {
+        return this.transactionEntryType;
+    }
+
+    public LedgerEntryDocument transactionEntryType(TransactionEntryTypes transactionEntryType) {
+        this.setTransactionEntryType(transactionEntryType);
+        return this;
+    }
+
+    public void setTransactionEntryType(TransactionEntryTypes transactionEntryType) {
+        this.transactionEntryType = transactionEntryType;
+    }
+
+    public String getDescription() {
+        return this.description;
+    }
+
+    public LedgerEntryDocument description(String description) {
+        this.setDescription(description);
+        return this;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getWasProposed() {
+        return this.wasProposed;
+    }
+
+    public LedgerEntryDocument wasProposed(Boolean wasProposed) {
+        this.setWasProposed(wasProposed);
+        return this;
+    }
+
+    public void setWasProposed(Boolean wasProposed) {
+        this.wasProposed = wasProposed;
+    }
+
+    public Boolean getWasPosted() {
+        return this.wasPosted;
+    }
+
+    public LedgerEntryDocument wasPosted(Boolean wasPosted) {
+        this.setWasPosted(wasPosted);
+        return this;
+    }
+
+    public void setWasPosted(Boolean wasPosted) {
+        this.wasPosted = wasPosted;
+    }
+
+    public Boolean getWasDeleted() {
+        return this.wasDeleted;
+    }
+
+    public LedgerEntryDocument wasDeleted(Boolean wasDeleted) {
+        this.setWasDeleted(wasDeleted);
+        return this;
+    }
+
+    public void setWasDeleted(Boolean wasDeleted) {
+        this.wasDeleted = wasDeleted;
+    }
+
+    public Boolean getWasApproved() {
+        return this.wasApproved;
+    }
+
+    public LedgerEntryDocument wasApproved(Boolean wasApproved) {
+        this.setWasApproved(wasApproved);
+        return this;
+    }
+
+    public void setWasApproved(Boolean wasApproved) {
+        this.wasApproved = wasApproved;
+    }
+
+    public Long getTransactionAccountId() {
+        return this.transactionAccountId;
+    }
+
+    public LedgerEntryDocument transactionAccountId(Long transactionAccountId) {
+        this.setTransactionAccountId(transactionAccountId);
+        return this;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public String getAccountName() {
+        return this.accountName;
+    }
+
+    public LedgerEntryDocument accountName(String accountName) {
+        this.setAccountName(accountName);
+        return this;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
+    public String getAccountNumber() {
+        return this.accountNumber;
+    }
+
+    public LedgerEntryDocument accountNumber(String accountNumber) {
+        this.setAccountNumber(accountNumber);
+        return this;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Long getAccountTransactionId() {
+        return this.accountTransactionId;
+    }
+
+    public LedgerEntryDocument accountTransactionId(Long accountTransactionId) {
+        this.setAccountTransactionId(accountTransactionId);
+        return this;
+    }
+
+    public void setAccountTransactionId(Long accountTransactionId) {
+        this.accountTransactionId = accountTransactionId;
+    }
+
+    public LocalDate getTransactionDate() {
+        return this.transactionDate;
+    }
+
+    public LedgerEntryDocument transactionDate(LocalDate transactionDate) {
+        this.setTransactionDate(transactionDate);
+        return this;
+    }
+
+    public void setTransactionDate(LocalDate transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public String getReferenceNumber() {
+        return this.referenceNumber;
+    }
+
+    public LedgerEntryDocument referenceNumber(String referenceNumber) {
+        this.setReferenceNumber(referenceNumber);
+        return this;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public Long getTransactionCurrencyId() {
+        return this.transactionCurrencyId;
+    }
+
+    public LedgerEntryDocument transactionCurrencyId(Long transactionCurrencyId) {
+        this.setTransactionCurrencyId(transactionCurrencyId);
+        return this;
+    }
+
+    public void setTransactionCurrencyId(Long transactionCurrencyId) {
+        this.transactionCurrencyId = transactionCurrencyId;
+    }
+
+    public String getCurrencyCode() {
+        return this.currencyCode;
+    }
+
+    public LedgerEntryDocument currencyCode(String currencyCode) {
+        this.setCurrencyCode(currencyCode);
+        return this;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LedgerEntryDocument)) {
+            return false;
+        }
+        return id != null && id.equals(((LedgerEntryDocument) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LedgerEntryDocument{" +
+            "id=" + getId() +
+            ", entryAmount=" + getEntryAmount() +
+            ", transactionEntryType='" + getTransactionEntryType() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", wasProposed='" + getWasProposed() + "'" +
+            ", wasPosted='" + getWasPosted() + "'" +
+            ", wasDeleted='" + getWasDeleted() + "'" +
+            ", wasApproved='" + getWasApproved() + "'" +
+            ", transactionAccountId=" + getTransactionAccountId() +
+            ", accountName='" + getAccountName() + "'" +
+            ", accountNumber='" + getAccountNumber() + "'" +
+            ", accountTransactionId=" + getAccountTransactionId() +
+            ", transactionDate='" + getTransactionDate() + "'" +
+            ", referenceNumber='" + getReferenceNumber() + "'" +
+            ", transactionCurrencyId=" + getTransactionCurrencyId() +
+            ", currencyCode='" + getCurrencyCode() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.keeper.domain;
+
+import java.io.Serializable;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * An entity written since it was last indexed, recorded in the transaction of the write. The event carries no state: the
+ * indexer copies the entity as it is committed when the event is drained, or removes its document if the entity is gone.
+ */
+@Table("search_index_event")
+public class SearchIndexEvent implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column("id")
+    private Long id;
+
+    @Column("entity_type")
+    private String entityType;
+
+    @Column("entity_id")
+    private Long entityId;
+
+    @Column("attempts")
+    private Integer attempts;
+
+    public Long getId() {
+        return this.id;
+    }
+
+    public SearchIndexEvent id(Long id) {
+        this.setId(id);
+        return this;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getEntityType() {
+        return this.entityType;
+    }
+
+    public SearchIndexEvent entityType(String entityType) {
+        this.setEntityType(entityType);
+        return this;
+    }
+
+    public void setEntityType(String entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return this.entityId;
+    }
+
+    public SearchIndexEvent entityId(Long entityId) {
+        this.setEntityId(entityId);
+        return this;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Integer getAttempts() {
+        return this.attempts;
+    }
+
+    public SearchIndexEvent attempts(Integer attempts) {
+        this.setAttempts(attempts);
+        return this;
+    }
+
+    public void setAttempts(Integer attempts) {
+        this.attempts = attempts;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof SearchIndexEvent)) {
+            return false;
+        }
+        return id != null && id.equals(((SearchIndexEvent) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        // see https://vladmihalcea.com/how-to-implement-equals-and-hashcode-using-the-jpa-entity-identifier/
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchIndexEvent{" +
+            "id=" + getId() +
+            ", entityType='" + getEntityType() + "'" +
+            ", entityId=" + getEntityId() +
+            ", attempts=" + getAttempts() +
+            "}";
+    }
+}
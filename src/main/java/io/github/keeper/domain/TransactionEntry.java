@@ -7,6 +7,8 @@ import java.math.BigDecimal;
 import javax.validation.constraints.*;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Transient;
+import org.springframework.data.elasticsearch.annotations.Field;
+import org.springframework.data.elasticsearch.annotations.FieldType;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -25,6 +27,7 @@ public class TransactionEntry implements Serializable {
     private Long id;
 
     @Column("entry_amount")
+    @Field(type = FieldType.Scaled_Float, scalingFactor = 100)
     private BigDecimal entryAmount;
 
     @NotNull(message = "must not be null")
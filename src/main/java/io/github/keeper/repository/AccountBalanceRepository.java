@@ -0,0 +1,142 @@
+package io.github.keeper.repository;
+
+import io.github.keeper.domain.AccountBalance;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link AccountBalance} projection.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface AccountBalanceRepository extends ReactiveCrudRepository<AccountBalance, Long> {
+    /**
+     * Adds the given amounts to the balance of the account, creating the balance row on the first entry.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO account_balance (transaction_account_id, debit_total, credit_total, net_balance, last_entry_id) " +
+        "VALUES (:transactionAccountId, :debitAmount, :creditAmount, :debitAmount - :creditAmount, :lastEntryId) " +
+        "ON CONFLICT (transaction_account_id) DO UPDATE SET " +
+        "debit_total = account_balance.debit_total + EXCLUDED.debit_total, " +
+        "credit_total = account_balance.credit_total + EXCLUDED.credit_total, " +
+        "net_balance = account_balance.net_balance + EXCLUDED.net_balance, " +
+        "last_entry_id = GREATEST(account_balance.last_entry_id, EXCLUDED.last_entry_id)"
+    )
+    Mono<Integer> applyDelta(Long transactionAccountId, BigDecimal debitAmount, BigDecimal creditAmount, Long lastEntryId);
+
+    /**
+     * Blocks concurrent balance updates until the end of the current transaction, while the projection is re-derived.
+     */
+    @Modifying
+    @Query("LOCK TABLE account_balance IN SHARE ROW EXCLUSIVE MODE")
+    Mono<Integer> lockForRebuild();
+
+    @Modifying
+    @Query("DELETE FROM account_balance")
+    Mono<Integer> deleteAllBalances();
+
+    /**
+     * Re-derives every balance from the non-deleted entries of the ledger.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO account_balance (transaction_account_id, debit_total, credit_total, net_balance, last_entry_id) " +
+        "SELECT entry.transaction_account_id, " +
+        "COALESCE(SUM(CASE WHEN entry.transaction_entry_type = 'DEBIT' THEN entry.entry_amount END), 0), " +
+        "COALESCE(SUM(CASE WHEN entry.transaction_entry_type = 'CREDIT' THEN entry.entry_amount END), 0), " +
+        "COALESCE(SUM(CASE WHEN entry.transaction_entry_type = 'DEBIT' THEN entry.entry_amount ELSE -entry.entry_amount END), 0), " +
+        "MAX(entry.id) " +
+        "FROM transaction_entry entry " +
+        "WHERE entry.transaction_account_id IS NOT NULL AND entry.was_deleted IS NOT TRUE " +
+        "GROUP BY entry.transaction_account_id"
+    )
+    Mono<Integer> insertFromLedger();
+
+    /**
+     * Checkpoints the balance of every account with entries as of the end of a period: the checkpoint of the previous period
+     * plus the non-deleted entries dated after it, up to the end of the period. For the first period, the previous period
+     * end is any date before the first transaction, of which there is no checkpoint.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO account_balance_snapshot (transaction_account_id, period_end, debit_total, credit_total, net_balance) " +
+        "SELECT part.transaction_account_id, :periodEnd, SUM(part.debit_total), SUM(part.credit_total), " +
+        "SUM(part.debit_total) - SUM(part.credit_total) FROM (" +
+        "SELECT snapshot.transaction_account_id, snapshot.debit_total, snapshot.credit_total FROM account_balance_snapshot snapshot " +
+        "WHERE snapshot.period_end = :previousPeriodEnd " +
+        "UNION ALL " +
+        "SELECT entry.transaction_account_id, " +
+        "CASE WHEN entry.transaction_entry_type = 'DEBIT' THEN entry.entry_amount ELSE 0 END, " +
+        "CASE WHEN entry.transaction_entry_type = 'CREDIT' THEN entry.entry_amount ELSE 0 END " +
+        "FROM transaction_entry entry JOIN account_transaction journal ON journal.id = entry.account_transaction_id " +
+        "WHERE entry.transaction_account_id IS NOT NULL AND entry.was_deleted IS NOT TRUE " +
+        "AND journal.transaction_date > :previousPeriodEnd AND journal.transaction_date <= :periodEnd" +
+        ") part GROUP BY part.transaction_account_id"
+    )
+    Mono<Integer> insertSnapshot(LocalDate periodEnd, LocalDate previousPeriodEnd);
+
+    @Modifying
+    @Query("INSERT INTO balance_snapshot_period (period_end, taken_at) VALUES (:periodEnd, now())")
+    Mono<Integer> insertSnapshotPeriod(LocalDate periodEnd);
+
+    /**
+     * Blocks the writers invalidating snapshots until the end of the current transaction, so that a period is not checkpointed
+     * while an entry dated in it is being written.
+     */
+    @Modifying
+    @Query("LOCK TABLE balance_snapshot_period IN SHARE ROW EXCLUSIVE MODE")
+    Mono<Integer> lockSnapshotPeriods();
+
+    /**
+     * Drops the checkpoints of the periods ending on or after the given date, with their balances.
+     */
+    @Modifying
+    @Query("DELETE FROM balance_snapshot_period WHERE period_end >= :transactionDate")
+    Mono<Integer> deleteSnapshotPeriodsFrom(LocalDate transactionDate);
+
+    @Modifying
+    @Query("DELETE FROM balance_snapshot_period")
+    Mono<Integer> deleteAllSnapshotPeriods();
+
+    @Query("SELECT period.period_end FROM balance_snapshot_period period ORDER BY period.period_end DESC LIMIT 1")
+    Mono<LocalDate> findLatestSnapshotPeriodEnd();
+
+    @Query("SELECT journal.transaction_date FROM account_transaction journal ORDER BY journal.transaction_date LIMIT 1")
+    Mono<LocalDate> findFirstTransactionDate();
+
+    /**
+     * Reads the balances as of the given date from the latest checkpoint on or before it, plus the entries dated after the
+     * checkpoint; the entries of at most one period are summed.
+     *
+     * @param asOf the last transaction date included.
+     * @param transactionAccountId the account to read, or null for every account.
+     */
+    @Query(
+        "WITH checkpoint AS (" +
+        "SELECT MAX(period.period_end) AS period_end FROM balance_snapshot_period period WHERE period.period_end <= :asOf" +
+        ") " +
+        "SELECT part.transaction_account_id, SUM(part.debit_total) AS debit_total, SUM(part.credit_total) AS credit_total, " +
+        "SUM(part.debit_total) - SUM(part.credit_total) AS net_balance, CAST(NULL AS bigint) AS last_entry_id FROM (" +
+        "SELECT snapshot.transaction_account_id, snapshot.debit_total, snapshot.credit_total " +
+        "FROM account_balance_snapshot snapshot JOIN checkpoint ON snapshot.period_end = checkpoint.period_end " +
+        "WHERE CAST(:transactionAccountId AS bigint) IS NULL OR snapshot.transaction_account_id = :transactionAccountId " +
+        "UNION ALL " +
+        "SELECT entry.transaction_account_id, " +
+        "CASE WHEN entry.transaction_entry_type = 'DEBIT' THEN entry.entry_amount ELSE 0 END, " +
+        "CASE WHEN entry.transaction_entry_type = 'CREDIT' THEN entry.entry_amount ELSE 0 END " +
+        "FROM transaction_entry entry JOIN account_transaction journal ON journal.id = entry.account_transaction_id " +
+        "CROSS JOIN checkpoint " +
+        "WHERE entry.transaction_account_id IS NOT NULL AND entry.was_deleted IS NOT TRUE AND journal.transaction_date <= :asOf " +
+        "AND (checkpoint.period_end IS NULL OR journal.transaction_date > checkpoint.period_end) " +
+        "AND (CAST(:transactionAccountId AS bigint) IS NULL OR entry.transaction_account_id = :transactionAccountId)" +
+        ") part GROUP BY part.transaction_account_id ORDER BY part.transaction_account_id"
+    )
+    Flux<AccountBalance> findAllAsOf(LocalDate asOf, Long transactionAccountId);
+}
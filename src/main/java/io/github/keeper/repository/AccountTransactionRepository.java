@@ -1,6 +1,10 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.AccountTransaction;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -18,6 +22,18 @@ public interface AccountTransactionRepository
     extends ReactiveCrudRepository<AccountTransaction, Long>, AccountTransactionRepositoryInternal {
     Flux<AccountTransaction> findAllBy(Pageable pageable);
 
+    @Query("SELECT entity.id FROM account_transaction entity WHERE entity.id IN (:ids)")
+    Flux<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT entity.reference_number FROM account_transaction entity WHERE entity.reference_number IN (:referenceNumbers)")
+    Flux<String> findExistingReferenceNumbers(Collection<String> referenceNumbers);
+
+    @Query(
+        "SELECT entity.transaction_date FROM account_transaction entity WHERE entity.id IN (:ids) " +
+        "ORDER BY entity.transaction_date LIMIT 1"
+    )
+    Mono<LocalDate> findEarliestTransactionDate(Collection<Long> ids);
+
     @Override
     <S extends AccountTransaction> Mono<S> save(S entity);
 
@@ -34,8 +50,16 @@ public interface AccountTransactionRepository
 interface AccountTransactionRepositoryInternal {
     <S extends AccountTransaction> Mono<S> save(S entity);
 
+    Flux<AccountTransaction> insertAll(List<AccountTransaction> entities);
+
     Flux<AccountTransaction> findAllBy(Pageable pageable);
 
+    Flux<AccountTransaction> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<AccountTransaction>> findPageBy(Pageable pageable);
+
+    Mono<Long> countTotal();
+
     Flux<AccountTransaction> findAll();
 
     Mono<AccountTransaction> findById(Long id);
@@ -8,12 +8,15 @@ import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -25,6 +28,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -70,15 +74,57 @@ class AccountTransactionRepositoryInternalImpl
 
     @Override
     public Flux<AccountTransaction> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<AccountTransaction> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = AccountTransactionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    @Override
+    public Flux<AccountTransaction> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Page<AccountTransaction>> findPageBy(Pageable pageable) {
+        return entityManager.findPage(
+            AccountTransaction.class,
+            pageable,
+            withTotalCount ->
+                entityManager.createSelect(
+                    AccountTransaction.class,
+                    withTotalCount ? "allWithTotalCount" : "all",
+                    () -> withTotalCount ? selectFrom(EntityManager.TOTAL_COUNT_COLUMN) : selectFrom(),
+                    pageable.getSort(),
+                    pageable.isPaged(),
+                    null
+                ),
+            process()
+        );
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(AccountTransaction.class);
+    }
+
+    RowsFetchSpec<AccountTransaction> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AccountTransaction.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager
+            .createQuery(AccountTransaction.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<AccountTransaction> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(AccountTransaction.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoin selectFrom(Expression... extraColumns) {
+        List<Expression> columns = AccountTransactionSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(Arrays.asList(extraColumns));
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -88,17 +134,27 @@ class AccountTransactionRepositoryInternalImpl
 
     @Override
     public Mono<AccountTransaction> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
-    private AccountTransaction process(Row row, RowMetadata metadata) {
-        AccountTransaction entity = accounttransactionMapper.apply(row, "e");
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, AccountTransaction> process() {
+        BiFunction<Row, RowMetadata, AccountTransaction> entityMapping = accounttransactionMapper.forPrefix("e");
+        return (row, metadata) -> {
+            AccountTransaction entity = entityMapping.apply(row, metadata);
+            return entity;
+        };
     }
 
     @Override
     public <S extends AccountTransaction> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Flux<AccountTransaction> insertAll(List<AccountTransaction> entities) {
+        return entityManager.insertAll(AccountTransaction.class, entities);
+    }
 }
@@ -56,6 +56,10 @@ interface AccountingEventRepositoryInternal {
 
     Flux<AccountingEvent> findAllBy(Pageable pageable);
 
+    Flux<AccountingEvent> findAllAfter(KeysetPageable pageable);
+
+    Mono<Long> countTotal();
+
     Flux<AccountingEvent> findAll();
 
     Mono<AccountingEvent> findById(Long id);
@@ -3,6 +3,8 @@ package io.github.keeper.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import io.github.keeper.domain.AccountingEvent;
+import io.github.keeper.domain.Dealer;
+import io.github.keeper.domain.EventType;
 import io.github.keeper.repository.rowmapper.AccountingEventRowMapper;
 import io.github.keeper.repository.rowmapper.DealerRowMapper;
 import io.github.keeper.repository.rowmapper.EventTypeRowMapper;
@@ -15,6 +17,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -27,6 +30,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -80,14 +84,40 @@ class AccountingEventRepositoryInternalImpl
 
     @Override
     public Flux<AccountingEvent> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<AccountingEvent> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<AccountingEvent> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(AccountingEvent.class);
+    }
+
+    RowsFetchSpec<AccountingEvent> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager
+            .createQuery(AccountingEvent.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<AccountingEvent> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(AccountingEvent.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = AccountingEventSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(EventTypeSqlHelper.getColumns(eventTypeTable, "eventType"));
         columns.addAll(DealerSqlHelper.getColumns(dealerTable, "dealer"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
@@ -97,9 +127,6 @@ class AccountingEventRepositoryInternalImpl
             .leftOuterJoin(dealerTable)
             .on(Column.create("dealer_id", entityTable))
             .equals(Column.create("id", dealerTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, AccountingEvent.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -109,8 +136,7 @@ class AccountingEventRepositoryInternalImpl
 
     @Override
     public Mono<AccountingEvent> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -128,11 +154,19 @@ class AccountingEventRepositoryInternalImpl
         return findAllBy(page);
     }
 
-    private AccountingEvent process(Row row, RowMetadata metadata) {
-        AccountingEvent entity = accountingeventMapper.apply(row, "e");
-        entity.setEventType(eventtypeMapper.apply(row, "eventType"));
-        entity.setDealer(dealerMapper.apply(row, "dealer"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, AccountingEvent> process() {
+        BiFunction<Row, RowMetadata, AccountingEvent> entityMapping = accountingeventMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, EventType> eventTypeMapping = eventtypeMapper.forPrefix("eventType");
+        BiFunction<Row, RowMetadata, Dealer> dealerMapping = dealerMapper.forPrefix("dealer");
+        return (row, metadata) -> {
+            AccountingEvent entity = entityMapping.apply(row, metadata);
+            entity.setEventType(eventTypeMapping.apply(row, metadata));
+            entity.setDealer(dealerMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
@@ -1,6 +1,8 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.BalanceSheetItemType;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -57,6 +59,10 @@ interface BalanceSheetItemTypeRepositoryInternal {
 
     Flux<BalanceSheetItemType> findAllBy(Pageable pageable);
 
+    Flux<BalanceSheetItemType> findAllAfter(KeysetPageable pageable);
+
+    Mono<Long> countTotal();
+
     Flux<BalanceSheetItemType> findAll();
 
     Mono<BalanceSheetItemType> findById(Long id);
@@ -69,5 +75,15 @@ interface BalanceSheetItemTypeRepositoryInternal {
 
     Flux<BalanceSheetItemType> findAllWithEagerRelationships(Pageable page);
 
+    /**
+     * Fetches the item type and all of its descendants, at any depth, in one query.
+     */
+    Flux<BalanceSheetItemType> findSubtree(Long id);
+
+    /**
+     * Sums the amounts of the values effective on the given date of the item type and all of its descendants, in one query.
+     */
+    Mono<BigDecimal> sumItemAmountsOfSubtree(Long id, LocalDate effectiveDate);
+
     Mono<Void> deleteById(Long id);
 }
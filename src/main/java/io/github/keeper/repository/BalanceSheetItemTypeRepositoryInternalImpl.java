@@ -3,17 +3,20 @@ package io.github.keeper.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import io.github.keeper.domain.BalanceSheetItemType;
-import io.github.keeper.repository.rowmapper.BalanceSheetItemTypeRowMapper;
+import io.github.keeper.domain.TransactionAccount;
 import io.github.keeper.repository.rowmapper.BalanceSheetItemTypeRowMapper;
 import io.github.keeper.repository.rowmapper.TransactionAccountRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -26,6 +29,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -50,6 +54,8 @@ class BalanceSheetItemTypeRepositoryInternalImpl
     private final TransactionAccountRowMapper transactionaccountMapper;
     private final BalanceSheetItemTypeRowMapper balancesheetitemtypeMapper;
 
+    private final HierarchyClosure closure;
+
     private static final Table entityTable = Table.aliased("balance_sheet_item_type", EntityManager.ENTITY_ALIAS);
     private static final Table transactionAccountTable = Table.aliased("transaction_account", "transactionAccount");
     private static final Table parentItemTable = Table.aliased("balance_sheet_item_type", "parentItem");
@@ -72,18 +78,45 @@ class BalanceSheetItemTypeRepositoryInternalImpl
         this.entityManager = entityManager;
         this.transactionaccountMapper = transactionaccountMapper;
         this.balancesheetitemtypeMapper = balancesheetitemtypeMapper;
+        this.closure = new HierarchyClosure(db, "balance_sheet_item_type", "parent_item_id", "balance_sheet_item_type_closure");
     }
 
     @Override
     public Flux<BalanceSheetItemType> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
+    }
+
+    @Override
+    public Flux<BalanceSheetItemType> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(BalanceSheetItemType.class);
+    }
+
+    RowsFetchSpec<BalanceSheetItemType> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager
+            .createQuery(BalanceSheetItemType.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<BalanceSheetItemType> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(BalanceSheetItemType.class, "all", () -> selectFrom(), pageable).map(process());
     }
 
-    RowsFetchSpec<BalanceSheetItemType> createQuery(Pageable pageable, Condition whereClause) {
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = BalanceSheetItemTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(TransactionAccountSqlHelper.getColumns(transactionAccountTable, "transactionAccount"));
         columns.addAll(BalanceSheetItemTypeSqlHelper.getColumns(parentItemTable, "parentItem"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
@@ -93,9 +126,6 @@ class BalanceSheetItemTypeRepositoryInternalImpl
             .leftOuterJoin(parentItemTable)
             .on(Column.create("parent_item_id", entityTable))
             .equals(Column.create("id", parentItemTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, BalanceSheetItemType.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -105,8 +135,7 @@ class BalanceSheetItemTypeRepositoryInternalImpl
 
     @Override
     public Mono<BalanceSheetItemType> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -124,15 +153,45 @@ class BalanceSheetItemTypeRepositoryInternalImpl
         return findAllBy(page);
     }
 
-    private BalanceSheetItemType process(Row row, RowMetadata metadata) {
-        BalanceSheetItemType entity = balancesheetitemtypeMapper.apply(row, "e");
-        entity.setTransactionAccount(transactionaccountMapper.apply(row, "transactionAccount"));
-        entity.setParentItem(balancesheetitemtypeMapper.apply(row, "parentItem"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, BalanceSheetItemType> process() {
+        BiFunction<Row, RowMetadata, BalanceSheetItemType> entityMapping = balancesheetitemtypeMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, TransactionAccount> transactionAccountMapping = transactionaccountMapper.forPrefix(
+            "transactionAccount"
+        );
+        BiFunction<Row, RowMetadata, BalanceSheetItemType> parentItemMapping = balancesheetitemtypeMapper.forPrefix("parentItem");
+        return (row, metadata) -> {
+            BalanceSheetItemType entity = entityMapping.apply(row, metadata);
+            entity.setTransactionAccount(transactionAccountMapping.apply(row, metadata));
+            entity.setParentItem(parentItemMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
     public <S extends BalanceSheetItemType> Mono<S> save(S entity) {
-        return super.save(entity);
+        return closure.save(entity.getId(), entity.getParentItemId(), super.save(entity), BalanceSheetItemType::getId);
+    }
+
+    @Override
+    public Flux<BalanceSheetItemType> findSubtree(Long id) {
+        return createQuery(null, "subtree", closure::subtreeCondition, Map.of(HierarchyClosure.ANCESTOR_ID, id)).all();
+    }
+
+    @Override
+    public Mono<BigDecimal> sumItemAmountsOfSubtree(Long id, LocalDate effectiveDate) {
+        return db
+            .sql(
+                "SELECT COALESCE(SUM(item_value.item_amount), 0) AS item_amount " +
+                "FROM balance_sheet_item_type_closure closure " +
+                "JOIN balance_sheet_item_value item_value ON item_value.item_type_id = closure.descendant_id " +
+                "WHERE closure.ancestor_id = :id AND item_value.effective_date = :effectiveDate"
+            )
+            .bind("id", id)
+            .bind("effectiveDate", effectiveDate)
+            .map(row -> row.get("item_amount", BigDecimal.class))
+            .one();
     }
 }
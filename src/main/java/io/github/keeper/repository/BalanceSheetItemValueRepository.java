@@ -51,6 +51,10 @@ interface BalanceSheetItemValueRepositoryInternal {
 
     Flux<BalanceSheetItemValue> findAllBy(Pageable pageable);
 
+    Flux<BalanceSheetItemValue> findAllAfter(KeysetPageable pageable);
+
+    Mono<Long> countTotal();
+
     Flux<BalanceSheetItemValue> findAll();
 
     Mono<BalanceSheetItemValue> findById(Long id);
@@ -2,6 +2,7 @@ package io.github.keeper.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import io.github.keeper.domain.BalanceSheetItemType;
 import io.github.keeper.domain.BalanceSheetItemValue;
 import io.github.keeper.repository.rowmapper.BalanceSheetItemTypeRowMapper;
 import io.github.keeper.repository.rowmapper.BalanceSheetItemValueRowMapper;
@@ -15,6 +16,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -27,6 +29,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -76,22 +79,45 @@ class BalanceSheetItemValueRepositoryInternalImpl
 
     @Override
     public Flux<BalanceSheetItemValue> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<BalanceSheetItemValue> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<BalanceSheetItemValue> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(BalanceSheetItemValue.class);
+    }
+
+    RowsFetchSpec<BalanceSheetItemValue> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager
+            .createQuery(BalanceSheetItemValue.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<BalanceSheetItemValue> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(BalanceSheetItemValue.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = BalanceSheetItemValueSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(BalanceSheetItemTypeSqlHelper.getColumns(itemTypeTable, "itemType"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(itemTypeTable)
             .on(Column.create("item_type_id", entityTable))
             .equals(Column.create("id", itemTypeTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, BalanceSheetItemValue.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -101,8 +127,7 @@ class BalanceSheetItemValueRepositoryInternalImpl
 
     @Override
     public Mono<BalanceSheetItemValue> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -120,10 +145,17 @@ class BalanceSheetItemValueRepositoryInternalImpl
         return findAllBy(page);
     }
 
-    private BalanceSheetItemValue process(Row row, RowMetadata metadata) {
-        BalanceSheetItemValue entity = balancesheetitemvalueMapper.apply(row, "e");
-        entity.setItemType(balancesheetitemtypeMapper.apply(row, "itemType"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, BalanceSheetItemValue> process() {
+        BiFunction<Row, RowMetadata, BalanceSheetItemValue> entityMapping = balancesheetitemvalueMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, BalanceSheetItemType> itemTypeMapping = balancesheetitemtypeMapper.forPrefix("itemType");
+        return (row, metadata) -> {
+            BalanceSheetItemValue entity = entityMapping.apply(row, metadata);
+            entity.setItemType(itemTypeMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
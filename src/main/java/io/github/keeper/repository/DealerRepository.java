@@ -50,6 +50,10 @@ interface DealerRepositoryInternal {
 
     Flux<Dealer> findAllBy(Pageable pageable);
 
+    Flux<Dealer> findAllAfter(KeysetPageable pageable);
+
+    Mono<Long> countTotal();
+
     Flux<Dealer> findAll();
 
     Mono<Dealer> findById(Long id);
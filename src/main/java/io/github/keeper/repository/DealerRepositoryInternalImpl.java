@@ -3,6 +3,7 @@ package io.github.keeper.repository;
 import static org.springframework.data.relational.core.query.Criteria.where;
 
 import io.github.keeper.domain.Dealer;
+import io.github.keeper.domain.DealerType;
 import io.github.keeper.repository.rowmapper.DealerRowMapper;
 import io.github.keeper.repository.rowmapper.DealerTypeRowMapper;
 import io.r2dbc.spi.Row;
@@ -13,6 +14,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -25,6 +27,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -72,22 +75,38 @@ class DealerRepositoryInternalImpl extends SimpleR2dbcRepository<Dealer, Long> i
 
     @Override
     public Flux<Dealer> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<Dealer> createQuery(Pageable pageable, Condition whereClause) {
+    @Override
+    public Flux<Dealer> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(Dealer.class);
+    }
+
+    RowsFetchSpec<Dealer> createQuery(Pageable pageable, String shape, Supplier<Condition> whereClause, Map<String, Object> bindings) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager.createQuery(Dealer.class, shape, () -> selectFrom(), pageable, whereClause, bindings).map(process());
+    }
+
+    RowsFetchSpec<Dealer> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(Dealer.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = DealerSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(DealerTypeSqlHelper.getColumns(dealerTypeTable, "dealerType"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
             .leftOuterJoin(dealerTypeTable)
             .on(Column.create("dealer_type_id", entityTable))
             .equals(Column.create("id", dealerTypeTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, Dealer.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -97,8 +116,7 @@ class DealerRepositoryInternalImpl extends SimpleR2dbcRepository<Dealer, Long> i
 
     @Override
     public Mono<Dealer> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -116,10 +134,17 @@ class DealerRepositoryInternalImpl extends SimpleR2dbcRepository<Dealer, Long> i
         return findAllBy(page);
     }
 
-    private Dealer process(Row row, RowMetadata metadata) {
-        Dealer entity = dealerMapper.apply(row, "e");
-        entity.setDealerType(dealertypeMapper.apply(row, "dealerType"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, Dealer> process() {
+        BiFunction<Row, RowMetadata, Dealer> entityMapping = dealerMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, DealerType> dealerTypeMapping = dealertypeMapper.forPrefix("dealerType");
+        return (row, metadata) -> {
+            Dealer entity = entityMapping.apply(row, metadata);
+            entity.setDealerType(dealerTypeMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
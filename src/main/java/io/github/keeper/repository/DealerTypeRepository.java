@@ -1,6 +1,7 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.DealerType;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -35,6 +36,10 @@ interface DealerTypeRepositoryInternal {
 
     Flux<DealerType> findAllBy(Pageable pageable);
 
+    Flux<DealerType> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<DealerType>> findPageBy(Pageable pageable);
+
     Flux<DealerType> findAll();
 
     Mono<DealerType> findById(Long id);
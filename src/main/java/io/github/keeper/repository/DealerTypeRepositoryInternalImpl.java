@@ -7,12 +7,15 @@ import io.github.keeper.repository.rowmapper.DealerTypeRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -24,6 +27,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -67,15 +71,45 @@ class DealerTypeRepositoryInternalImpl extends SimpleR2dbcRepository<DealerType,
 
     @Override
     public Flux<DealerType> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<DealerType> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = DealerTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    @Override
+    public Flux<DealerType> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Page<DealerType>> findPageBy(Pageable pageable) {
+        return entityManager.findPage(
+            DealerType.class,
+            pageable,
+            withTotalCount ->
+                entityManager.createSelect(
+                    DealerType.class,
+                    withTotalCount ? "allWithTotalCount" : "all",
+                    () -> withTotalCount ? selectFrom(EntityManager.TOTAL_COUNT_COLUMN) : selectFrom(),
+                    pageable.getSort(),
+                    pageable.isPaged(),
+                    null
+                ),
+            process()
+        );
+    }
+
+    RowsFetchSpec<DealerType> createQuery(Pageable pageable, String shape, Supplier<Condition> whereClause, Map<String, Object> bindings) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, DealerType.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createQuery(DealerType.class, shape, () -> selectFrom(), pageable, whereClause, bindings).map(process());
+    }
+
+    RowsFetchSpec<DealerType> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(DealerType.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoin selectFrom(Expression... extraColumns) {
+        List<Expression> columns = DealerTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(Arrays.asList(extraColumns));
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -85,13 +119,18 @@ class DealerTypeRepositoryInternalImpl extends SimpleR2dbcRepository<DealerType,
 
     @Override
     public Mono<DealerType> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
-    private DealerType process(Row row, RowMetadata metadata) {
-        DealerType entity = dealertypeMapper.apply(row, "e");
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, DealerType> process() {
+        BiFunction<Row, RowMetadata, DealerType> entityMapping = dealertypeMapper.forPrefix("e");
+        return (row, metadata) -> {
+            DealerType entity = entityMapping.apply(row, metadata);
+            return entity;
+        };
     }
 
     @Override
@@ -0,0 +1,41 @@
+package io.github.keeper.repository;
+
+/**
+ * The lowest and the highest id of the rows of an entity table, and the number of rows.
+ */
+public final class EntityIdRange {
+
+    private final long minId;
+
+    private final long maxId;
+
+    private final long count;
+
+    public EntityIdRange(long minId, long maxId, long count) {
+        this.minId = minId;
+        this.maxId = maxId;
+        this.count = count;
+    }
+
+    public long getMinId() {
+        return minId;
+    }
+
+    public long getMaxId() {
+        return maxId;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "EntityIdRange{" +
+            "minId=" + minId +
+            ", maxId=" + maxId +
+            ", count=" + count +
+            "}";
+    }
+}
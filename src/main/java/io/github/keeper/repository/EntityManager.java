@@ -1,39 +1,71 @@
 package io.github.keeper.repository;
 
+import io.github.keeper.config.ApplicationProperties;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.PersistentPropertyAccessor;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
 import org.springframework.data.r2dbc.core.StatementMapper;
+import org.springframework.data.r2dbc.dialect.R2dbcDialect;
 import org.springframework.data.r2dbc.mapping.OutboundRow;
 import org.springframework.data.r2dbc.query.UpdateMapper;
 import org.springframework.data.relational.core.mapping.RelationalPersistentEntity;
+import org.springframework.data.relational.core.mapping.RelationalPersistentProperty;
 import org.springframework.data.relational.core.query.Criteria;
+import org.springframework.data.relational.core.query.Query;
+import org.springframework.data.relational.core.sql.BindMarker;
+import org.springframework.data.relational.core.sql.Column;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.Expressions;
+import org.springframework.data.relational.core.sql.IdentifierProcessing;
 import org.springframework.data.relational.core.sql.OrderByField;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectWhere;
 import org.springframework.data.relational.core.sql.SqlIdentifier;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
 import org.springframework.r2dbc.core.Parameter;
 import org.springframework.stereotype.Component;
 import org.springframework.util.Assert;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+import reactor.util.function.Tuples;
 
 /**
  * Helper class to create SQL selects based on the entity, paging parameters and criteria.
- *
+ * <p>
+ * The selects of the repositories are rendered once per shape, their entity, join and where clause together with the sort
+ * and whether they are paged, and reused afterwards. Their values, the page included, are bound to bind markers, so that
+ * the statements are also the same for PostgreSQL.
  */
 @Component
 public class EntityManager {
@@ -41,6 +73,22 @@ public class EntityManager {
     public static final String ENTITY_ALIAS = "e";
     public static final String ALIAS_PREFIX = "e_";
 
+    public static final String TOTAL_COUNT_ALIAS = "total_count";
+
+    /**
+     * Select list column counting all the rows matched by the query, before LIMIT and OFFSET are applied.
+     */
+    public static final Expression TOTAL_COUNT_COLUMN = Expressions.just("COUNT(*) OVER() AS " + TOTAL_COUNT_ALIAS);
+
+    // PostgreSQL refuses statements carrying more bind parameters than fit in a signed 16 bit counter
+    private static final int MAX_BIND_PARAMETERS = Short.MAX_VALUE;
+
+    // the sort comes from the requests: past this many statements, the new ones are rendered every time
+    private static final int MAX_STATEMENTS = 1024;
+
+    private static final String LIMIT_OFFSET = " LIMIT :limit OFFSET :offset";
+    private static final String LIMIT = " LIMIT :limit";
+
     public static class LinkTable {
 
         final String tableName;
@@ -57,16 +105,37 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Renders the select statement of a page, with or without the {@link #TOTAL_COUNT_COLUMN}, selecting the page with the
+     * {@code :limit} and {@code :offset} bind markers.
+     */
+    @FunctionalInterface
+    public interface PageSelect {
+        String render(boolean withTotalCount);
+    }
+
     private final SqlRenderer sqlRenderer;
     private final UpdateMapper updateMapper;
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final StatementMapper statementMapper;
+    private final IdentifierProcessing identifierProcessing;
+    private final ApplicationProperties applicationProperties;
+    private final Map<Class<?>, Mono<Long>> rowEstimates = new ConcurrentHashMap<>();
+    private final Map<String, String> statements = new ConcurrentHashMap<>();
 
-    public EntityManager(SqlRenderer sqlRenderer, UpdateMapper updateMapper, R2dbcEntityTemplate r2dbcEntityTemplate) {
+    public EntityManager(
+        SqlRenderer sqlRenderer,
+        UpdateMapper updateMapper,
+        R2dbcEntityTemplate r2dbcEntityTemplate,
+        R2dbcDialect dialect,
+        ApplicationProperties applicationProperties
+    ) {
         this.sqlRenderer = sqlRenderer;
         this.updateMapper = updateMapper;
         this.r2dbcEntityTemplate = r2dbcEntityTemplate;
         this.statementMapper = r2dbcEntityTemplate.getDataAccessStrategy().getStatementMapper();
+        this.identifierProcessing = dialect.getIdentifierProcessing();
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -133,6 +202,202 @@ public class EntityManager {
         }
     }
 
+    /**
+     * Creates an SQL select statement with bind markers from the given fragment, sort and paging, rendered once per shape.
+     * A paged statement selects its page with the {@code :limit} and {@code :offset} bind markers.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the join and where clause of the statement among the statements of the entity, e.g. {@code "byId"}.
+     * @param selectFrom builds a representation of the select statement, only called when it is rendered.
+     * @param sort the sort, or null.
+     * @param paged whether the statement selects a page.
+     * @param where builds the condition of the where clause, with bind markers for its values, or null.
+     * @return sql select statement.
+     */
+    public String createSelect(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        Sort sort,
+        boolean paged,
+        Supplier<Condition> where
+    ) {
+        String key = shape + '|' + (sort != null && sort.isSorted() ? sort : Sort.unsorted()) + (paged ? "|paged" : "");
+        return render(
+            entityType,
+            key,
+            () -> {
+                SelectWhere select = selectFrom.get();
+                Condition condition = where != null ? where.get() : null;
+                String sql = createSelectImpl(condition != null ? select.where(condition) : select, entityType, sort);
+                return paged ? sql + LIMIT_OFFSET : sql;
+            }
+        );
+    }
+
+    /**
+     * Creates an SQL select statement with bind markers, rendered once per shape, and binds its values.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the join and where clause of the statement among the statements of the entity, e.g. {@code "byId"}.
+     * @param selectFrom builds a representation of the select statement, only called when it is rendered.
+     * @param pageable page parameter, or null, if everything needs to be returned.
+     * @param where builds the condition of the where clause, with bind markers for its values, or null.
+     * @param bindings the values of the bind markers of the where clause.
+     * @return the bound sql select statement.
+     */
+    public GenericExecuteSpec createQuery(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        Pageable pageable,
+        Supplier<Condition> where,
+        Map<String, Object> bindings
+    ) {
+        boolean paged = pageable != null && pageable.isPaged();
+        String select = createSelect(entityType, shape, selectFrom, pageable != null ? pageable.getSort() : null, paged, where);
+        GenericExecuteSpec spec = bind(select, bindings);
+        return paged ? bindPage(spec, pageable) : spec;
+    }
+
+    /**
+     * Creates an SQL select statement of the keyset pagination mode, bound to the sort key of the requested page.
+     * The rows are selected with a seek condition on the sort key instead of an offset, and one row more than the page
+     * size is fetched, so that {@link KeysetSlice#of(List, KeysetPageable)} can tell whether there is a next page. The
+     * statement is rendered once per sort and per sort key values that are null.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the join of the statement among the statements of the entity.
+     * @param selectFrom builds a representation of the select statement, only called when it is rendered.
+     * @param pageable the keyset page parameter.
+     * @return the bound sql select statement.
+     */
+    public GenericExecuteSpec createKeysetQuery(
+        Class<?> entityType,
+        String shape,
+        Supplier<? extends SelectWhere> selectFrom,
+        KeysetPageable pageable
+    ) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        Condition seek = createSeekCondition(entityType, pageable, bindings);
+        bindings.put("limit", pageable.getSize() + 1L);
+        String key = "keyset|" + shape + '|' + pageable.getSort() + '|' + seekShape(pageable);
+        String select = render(
+            entityType,
+            key,
+            () -> {
+                SelectWhere selectWhere = selectFrom.get();
+                return createSelectImpl(seek != null ? selectWhere.where(seek) : selectWhere, entityType, pageable.getSort()) + LIMIT;
+            }
+        );
+        return bind(select, bindings);
+    }
+
+    /**
+     * Generate an actual SQL from the given {@link Select}, once per shape.
+     * @param entityType the entity type which holds the table name.
+     * @param shape the statement among the statements of the entity.
+     * @param select builds a representation of the select statement, only called when it is rendered.
+     * @return the generated SQL select.
+     */
+    public String createSelect(Class<?> entityType, String shape, Supplier<Select> select) {
+        return render(entityType, shape, () -> createSelect(select.get()));
+    }
+
+    private String render(Class<?> entityType, String shape, Supplier<String> renderer) {
+        String key = entityType.getName() + '|' + shape;
+        String sql = statements.get(key);
+        if (sql == null) {
+            sql = renderer.get();
+            if (statements.size() < MAX_STATEMENTS) {
+                statements.putIfAbsent(key, sql);
+            }
+        }
+        return sql;
+    }
+
+    /**
+     * Loads a page of the entity table together with the total number of rows, the way {@code application.pagination}
+     * configures it: in the page query itself through the {@link #TOTAL_COUNT_COLUMN}, by a separate count statement, or
+     * from the planner estimate of a large table. Only meant for queries without a where clause.
+     * @param entityType the entity type which holds the table name.
+     * @param pageable the page parameter.
+     * @param select renders the page query.
+     * @param mapper maps a row of the page query to the entity.
+     * @param <T> the type of the entity.
+     * @return the page, with its total.
+     */
+    public <T> Mono<Page<T>> findPage(Class<T> entityType, Pageable pageable, PageSelect select, BiFunction<Row, RowMetadata, T> mapper) {
+        ApplicationProperties.Pagination pagination = applicationProperties.getPagination();
+        if (pagination.getCountMode() == ApplicationProperties.Pagination.CountMode.QUERY) {
+            return fetch(select.render(false), pageable, mapper)
+                .zipWith(r2dbcEntityTemplate.count(Query.empty(), entityType))
+                .map(contentWithCount -> new PageImpl<>(contentWithCount.getT1(), pageable, contentWithCount.getT2()));
+        }
+        return estimateLargeTable(entityType)
+            .flatMap(total ->
+                fetch(select.render(false), pageable, mapper).<Page<T>>map(content -> new PageImpl<>(content, pageable, total))
+            )
+            .switchIfEmpty(Mono.defer(() -> findPageWithTotalCount(entityType, pageable, select, mapper)));
+    }
+
+    /**
+     * Counts the rows of the entity table for the total reported with a streamed page, whose headers are written before its
+     * first row: by a separate count statement, or from the planner estimate of a large table as {@code application.pagination}
+     * configures it.
+     * @param entityType the entity type which holds the table name.
+     * @return the total number of rows.
+     */
+    public Mono<Long> countTotal(Class<?> entityType) {
+        return estimateLargeTable(entityType).switchIfEmpty(Mono.defer(() -> r2dbcEntityTemplate.count(Query.empty(), entityType)));
+    }
+
+    private <T> Mono<Page<T>> findPageWithTotalCount(
+        Class<T> entityType,
+        Pageable pageable,
+        PageSelect select,
+        BiFunction<Row, RowMetadata, T> mapper
+    ) {
+        return bindPage(r2dbcEntityTemplate.getDatabaseClient().sql(select.render(true)), pageable)
+            .map((row, metadata) -> Tuples.of(mapper.apply(row, metadata), row.get(TOTAL_COUNT_ALIAS, Long.class)))
+            .all()
+            .collectList()
+            .flatMap(rows -> {
+                if (rows.isEmpty() && pageable.getOffset() > 0) {
+                    // a page past the end has no row to carry the count
+                    return r2dbcEntityTemplate.count(Query.empty(), entityType).map(total -> new PageImpl<T>(List.of(), pageable, total));
+                }
+                long total = rows.isEmpty() ? 0L : rows.get(0).getT2();
+                return Mono.just(new PageImpl<>(rows.stream().map(Tuple2::getT1).collect(Collectors.toList()), pageable, total));
+            });
+    }
+
+    private <T> Mono<List<T>> fetch(String select, Pageable pageable, BiFunction<Row, RowMetadata, T> mapper) {
+        return bindPage(r2dbcEntityTemplate.getDatabaseClient().sql(select), pageable).map(mapper).all().collectList();
+    }
+
+    private Mono<Long> estimateLargeTable(Class<?> entityType) {
+        long threshold = applicationProperties.getPagination().getApproximateCountThreshold();
+        return threshold > 0 ? estimateRowCount(entityType).filter(rows -> rows >= threshold) : Mono.empty();
+    }
+
+    /**
+     * Reads the number of rows of the entity table estimated by the planner statistics, which are refreshed by VACUUM and
+     * ANALYZE; the estimate is reused for {@code application.pagination.approximate-count-ttl}.
+     */
+    private Mono<Long> estimateRowCount(Class<?> entityType) {
+        return rowEstimates.computeIfAbsent(
+            entityType,
+            type ->
+                r2dbcEntityTemplate
+                    .getDatabaseClient()
+                    .sql("SELECT c.reltuples::bigint FROM pg_class c WHERE c.oid = CAST(:table AS regclass)")
+                    .bind("table", getRequiredPersistentEntity(type).getTableName().toSql(identifierProcessing))
+                    .map(row -> row.get(0, Long.class))
+                    .one()
+                    // tables never analyzed report a negative estimate
+                    .filter(rows -> rows >= 0)
+                    .cache(applicationProperties.getPagination().getApproximateCountTtl())
+        );
+    }
+
     /**
      * Generate an actual SQL from the given {@link Select}.
      * @param select a representation of a select statement.
@@ -171,6 +436,88 @@ public class EntityManager {
         return r2dbcEntityTemplate.insert(entity);
     }
 
+    /**
+     * Inserts the given entities with multi-row insert statements - and sets the generated ids, in the order of the list.
+     * The rows are split into statements of at most {@code application.batch.insert-chunk-size} rows.
+     * @param <S> the type of the persisted entities.
+     * @param entityType the entity type which holds the table name.
+     * @param entities the entities to be inserted into the database, none of them having an id yet.
+     * @return the persisted entities, in the order of the given list.
+     */
+    public <S> Flux<S> insertAll(Class<S> entityType, List<S> entities) {
+        if (entities.isEmpty()) {
+            return Flux.empty();
+        }
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        SqlIdentifier idColumn = entity.getRequiredIdProperty().getColumnName();
+        List<OutboundRow> rows = new ArrayList<>(entities.size());
+        for (S source : entities) {
+            OutboundRow row = new OutboundRow();
+            r2dbcEntityTemplate.getConverter().write(source, row);
+            row.remove(idColumn);
+            rows.add(row);
+        }
+        List<SqlIdentifier> columns = new ArrayList<>(rows.get(0).keySet());
+        int chunkSize = Math.max(1, Math.min(applicationProperties.getBatch().getInsertChunkSize(), MAX_BIND_PARAMETERS / columns.size()));
+        int chunks = (entities.size() + chunkSize - 1) / chunkSize;
+        return Flux
+            .range(0, chunks)
+            .concatMap(chunk -> {
+                int from = chunk * chunkSize;
+                int to = Math.min(from + chunkSize, entities.size());
+                return insertChunk(entity, columns, entities.subList(from, to), rows.subList(from, to));
+            });
+    }
+
+    private <S> Flux<S> insertChunk(
+        RelationalPersistentEntity<?> entity,
+        List<SqlIdentifier> columns,
+        List<S> entities,
+        List<OutboundRow> rows
+    ) {
+        RelationalPersistentProperty idProperty = entity.getRequiredIdProperty();
+        StringBuilder sql = new StringBuilder("INSERT INTO ")
+            .append(entity.getTableName().toSql(identifierProcessing))
+            .append(
+                columns.stream().map(column -> column.toSql(identifierProcessing)).collect(Collectors.joining(", ", " (", ") VALUES "))
+            );
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int j = 0; j < columns.size(); j++) {
+                sql.append(j > 0 ? ", :p" : ":p").append(i).append('_').append(j);
+            }
+            sql.append(')');
+        }
+        sql.append(" RETURNING ").append(idProperty.getColumnName().toSql(identifierProcessing));
+
+        GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            OutboundRow row = rows.get(i);
+            for (int j = 0; j < columns.size(); j++) {
+                String name = "p" + i + "_" + j;
+                Parameter parameter = row.get(columns.get(j));
+                if (parameter != null && parameter.hasValue()) {
+                    spec = spec.bind(name, parameter.getValue());
+                } else {
+                    spec = spec.bindNull(name, parameter != null ? parameter.getType() : Object.class);
+                }
+            }
+        }
+        // PostgreSQL returns the generated keys of a multi-row VALUES insert in the order of the VALUES list
+        return Flux.zip(
+            Flux.fromIterable(entities),
+            spec.map(row -> row.get(0, idProperty.getType())).all(),
+            (source, id) -> {
+                PersistentPropertyAccessor<S> accessor = entity.getPropertyAccessor(source);
+                accessor.setProperty(idProperty, id);
+                return accessor.getBean();
+            }
+        );
+    }
+
     /**
      * Updates the table, which links the entity with the referred entities.
      * @param table describes the link table, it contains a table name, the column name for the id, and for the referred entity id.
@@ -220,10 +567,117 @@ public class EntityManager {
         return createSelect(selectFrom.build());
     }
 
+    /**
+     * Builds the condition selecting the rows sorted after the sort key of the page request, following the PostgreSQL
+     * default null ordering: nulls sort last in ascending and first in descending order. For the sort key (k1, ..., kn)
+     * this is the disjunction over i of (k1 = v1 AND ... AND k(i-1) = v(i-1) AND ki after vi).
+     */
+    private Condition createSeekCondition(Class<?> entityType, KeysetPageable pageable, Map<String, Object> bindings) {
+        RelationalPersistentEntity<?> entity = getRequiredPersistentEntity(entityType);
+        Table table = Table.create(entity.getTableName()).as(EntityManager.ENTITY_ALIAS);
+        List<Condition> equalities = new ArrayList<>();
+        Condition seek = null;
+        for (Sort.Order order : pageable.getSort()) {
+            RelationalPersistentProperty property = entity.getPersistentProperty(order.getProperty());
+            if (property == null || property.isEntity() || property.isCollectionLike()) {
+                throw new InvalidKeysetException("Cannot sort by " + order.getProperty() + " in keyset mode");
+            }
+            if (pageable.isFirst()) {
+                continue;
+            }
+            Column column = table.column(property.getColumnName());
+            String value = pageable.getAfter().get(order.getProperty());
+            Condition after;
+            Condition equal;
+            if (value == null) {
+                after = order.isAscending() ? null : Conditions.isNull(column).not();
+                equal = Conditions.isNull(column);
+            } else {
+                String marker = "keyset" + bindings.size();
+                bindings.put(marker, toBindValue(value, property.getActualType()));
+                BindMarker bindMarker = SQL.bindMarker(":" + marker);
+                after =
+                    order.isAscending()
+                        ? Conditions.nest(Conditions.isGreater(column, bindMarker).or(Conditions.isNull(column)))
+                        : Conditions.isLess(column, bindMarker);
+                equal = Conditions.isEqual(column, bindMarker);
+            }
+            if (after != null) {
+                Condition term = after;
+                for (int i = equalities.size() - 1; i >= 0; i--) {
+                    term = equalities.get(i).and(term);
+                }
+                seek = seek == null ? Conditions.nest(term) : seek.or(Conditions.nest(term));
+            }
+            equalities.add(equal);
+        }
+        return seek != null ? Conditions.nest(seek) : null;
+    }
+
+    private static GenericExecuteSpec bindPage(GenericExecuteSpec spec, Pageable pageable) {
+        return pageable.isPaged() ? spec.bind("limit", pageable.getPageSize()).bind("offset", pageable.getOffset()) : spec;
+    }
+
+    /**
+     * @return which values of the sort key of the page are null, the seek condition being different for them.
+     */
+    private static String seekShape(KeysetPageable pageable) {
+        if (pageable.isFirst()) {
+            return "first";
+        }
+        StringBuilder shape = new StringBuilder();
+        for (Sort.Order order : pageable.getSort()) {
+            shape.append(pageable.getAfter().get(order.getProperty()) == null ? 'N' : 'V');
+        }
+        return shape.toString();
+    }
+
+    private GenericExecuteSpec bind(String sql, Map<String, Object> bindings) {
+        GenericExecuteSpec spec = r2dbcEntityTemplate.getDatabaseClient().sql(sql);
+        for (Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec;
+    }
+
+    private static Object toBindValue(String value, Class<?> type) {
+        try {
+            if (String.class.equals(type)) {
+                return value;
+            } else if (Long.class.equals(type) || long.class.equals(type)) {
+                return Long.valueOf(value);
+            } else if (Integer.class.equals(type) || int.class.equals(type)) {
+                return Integer.valueOf(value);
+            } else if (BigDecimal.class.equals(type)) {
+                return new BigDecimal(value);
+            } else if (Boolean.class.equals(type) || boolean.class.equals(type)) {
+                return Boolean.valueOf(value);
+            } else if (LocalDate.class.equals(type)) {
+                return LocalDate.parse(value);
+            } else if (Instant.class.equals(type)) {
+                return Instant.parse(value);
+            } else if (ZonedDateTime.class.equals(type)) {
+                return ZonedDateTime.parse(value);
+            } else if (UUID.class.equals(type)) {
+                return UUID.fromString(value);
+            } else if (type.isEnum()) {
+                // enumerations are stored by name
+                return value;
+            }
+        } catch (RuntimeException e) {
+            throw new InvalidKeysetException("Malformed after token");
+        }
+        throw new InvalidKeysetException("Cannot sort by a property of type " + type.getSimpleName() + " in keyset mode");
+    }
+
     private RelationalPersistentEntity<?> getPersistentEntity(Class<?> entityType) {
         return r2dbcEntityTemplate.getConverter().getMappingContext().getPersistentEntity(entityType);
     }
 
+    private RelationalPersistentEntity<?> getRequiredPersistentEntity(Class<?> entityType) {
+        return r2dbcEntityTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+    }
+
     private static Collection<? extends OrderByField> createOrderByFields(Table table, Sort sortToUse) {
         List<OrderByField> fields = new ArrayList<>();
 
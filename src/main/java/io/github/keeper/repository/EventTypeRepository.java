@@ -1,6 +1,7 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.EventType;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -35,6 +36,10 @@ interface EventTypeRepositoryInternal {
 
     Flux<EventType> findAllBy(Pageable pageable);
 
+    Flux<EventType> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<EventType>> findPageBy(Pageable pageable);
+
     Flux<EventType> findAll();
 
     Mono<EventType> findById(Long id);
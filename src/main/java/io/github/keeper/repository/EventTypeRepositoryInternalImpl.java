@@ -7,12 +7,15 @@ import io.github.keeper.repository.rowmapper.EventTypeRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -24,6 +27,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -67,15 +71,45 @@ class EventTypeRepositoryInternalImpl extends SimpleR2dbcRepository<EventType, L
 
     @Override
     public Flux<EventType> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<EventType> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = EventTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    @Override
+    public Flux<EventType> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Page<EventType>> findPageBy(Pageable pageable) {
+        return entityManager.findPage(
+            EventType.class,
+            pageable,
+            withTotalCount ->
+                entityManager.createSelect(
+                    EventType.class,
+                    withTotalCount ? "allWithTotalCount" : "all",
+                    () -> withTotalCount ? selectFrom(EntityManager.TOTAL_COUNT_COLUMN) : selectFrom(),
+                    pageable.getSort(),
+                    pageable.isPaged(),
+                    null
+                ),
+            process()
+        );
+    }
+
+    RowsFetchSpec<EventType> createQuery(Pageable pageable, String shape, Supplier<Condition> whereClause, Map<String, Object> bindings) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, EventType.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager.createQuery(EventType.class, shape, () -> selectFrom(), pageable, whereClause, bindings).map(process());
+    }
+
+    RowsFetchSpec<EventType> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(EventType.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoin selectFrom(Expression... extraColumns) {
+        List<Expression> columns = EventTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(Arrays.asList(extraColumns));
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -85,13 +119,18 @@ class EventTypeRepositoryInternalImpl extends SimpleR2dbcRepository<EventType, L
 
     @Override
     public Mono<EventType> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
-    private EventType process(Row row, RowMetadata metadata) {
-        EventType entity = eventtypeMapper.apply(row, "e");
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, EventType> process() {
+        BiFunction<Row, RowMetadata, EventType> entityMapping = eventtypeMapper.forPrefix("e");
+        return (row, metadata) -> {
+            EventType entity = entityMapping.apply(row, metadata);
+            return entity;
+        };
     }
 
     @Override
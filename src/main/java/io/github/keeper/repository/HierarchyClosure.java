@@ -0,0 +1,185 @@
+package io.github.keeper.repository;
+
+import java.util.Optional;
+import java.util.function.Function;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * Maintains the closure table of a self-referencing hierarchy: one {@code (ancestor_id, descendant_id, depth)} row for every
+ * node and each of its ancestors, including the node itself at depth 0. A whole subtree, or all the ancestors of a node, are
+ * then a single indexed lookup instead of one query per level.
+ * <p>
+ * The repositories keep the closure in sync from their {@code save}; rows of deleted nodes are removed by the foreign keys of
+ * the closure table. The statements must run in the transaction of the save, so that a move is atomic. The moves, and the
+ * inserts below a parent, of one hierarchy take turns on a transaction-level advisory lock: two concurrent moves could
+ * otherwise each pass the cycle check against the closure the other one is about to change.
+ */
+class HierarchyClosure {
+
+    /**
+     * The bind marker of the root of the subtree selected by {@link #subtreeCondition()}.
+     */
+    static final String ANCESTOR_ID = "ancestorId";
+
+    private final DatabaseClient db;
+
+    private final String entityTable;
+
+    private final String parentColumn;
+
+    private final String closureTable;
+
+    HierarchyClosure(DatabaseClient db, String entityTable, String parentColumn, String closureTable) {
+        this.db = db;
+        this.entityTable = entityTable;
+        this.parentColumn = parentColumn;
+        this.closureTable = closureTable;
+    }
+
+    /**
+     * @return the closure table, for joins of subtree queries.
+     */
+    String getClosureTable() {
+        return closureTable;
+    }
+
+    /**
+     * Saves the given node through the given save, updating the closure for an insert or a change of its parent.
+     *
+     * @param id the id of the node, null for a new node.
+     * @param parentId the parent of the node after the save.
+     * @param save the save of the node.
+     * @param idOf the id of the saved node.
+     * @throws InvalidHierarchyException (as error signal) if the node would become a descendant of itself.
+     */
+    <S> Mono<S> save(Long id, Long parentId, Mono<S> save, Function<S, Long> idOf) {
+        if (id == null) {
+            Mono<Void> lock = parentId == null ? Mono.empty() : lockHierarchy();
+            return lock.then(save).flatMap(saved -> insert(idOf.apply(saved), parentId).thenReturn(saved));
+        }
+        return lockParentOf(id)
+            .flatMap(currentParentId -> {
+                if (currentParentId.equals(Optional.ofNullable(parentId))) {
+                    return save;
+                }
+                // the closure is read after the lock, as committed by the moves before this one
+                return lockHierarchy()
+                    .then(parentId == null ? Mono.just(false) : isInSubtree(id, parentId))
+                    .flatMap(cycle -> {
+                        if (cycle) {
+                            return Mono.error(
+                                new InvalidHierarchyException("A node cannot be moved under itself or one of its descendants")
+                            );
+                        }
+                        return save.flatMap(saved -> move(id, parentId).thenReturn(saved));
+                    });
+            })
+            .switchIfEmpty(save);
+    }
+
+    /**
+     * @return a condition selecting the nodes of the subtree of the node bound to the {@link #ANCESTOR_ID} bind marker, the
+     * node included, in the table aliased by {@link EntityManager#ENTITY_ALIAS}.
+     */
+    Condition subtreeCondition() {
+        return Conditions.just(
+            EntityManager.ENTITY_ALIAS +
+            ".id IN (SELECT closure.descendant_id FROM " +
+            closureTable +
+            " closure WHERE closure.ancestor_id = :" +
+            ANCESTOR_ID +
+            ")"
+        );
+    }
+
+    /**
+     * @return {@code true} if the descendant is in the subtree of the ancestor, or is the ancestor itself.
+     */
+    Mono<Boolean> isInSubtree(Long ancestorId, Long descendantId) {
+        return db
+            .sql(
+                "SELECT EXISTS (SELECT 1 FROM " +
+                closureTable +
+                " closure WHERE closure.ancestor_id = :ancestorId AND closure.descendant_id = :descendantId)"
+            )
+            .bind("ancestorId", ancestorId)
+            .bind("descendantId", descendantId)
+            .map(row -> Boolean.TRUE.equals(row.get(0, Boolean.class)))
+            .one();
+    }
+
+    /**
+     * Locks the node against the other saves of it. The closure rows inserted by a concurrent move may still reference the
+     * node: that move holds the lock of the hierarchy this save may be waiting for.
+     */
+    private Mono<Optional<Long>> lockParentOf(Long id) {
+        return db
+            .sql("SELECT node." + parentColumn + " FROM " + entityTable + " node WHERE node.id = :id FOR NO KEY UPDATE")
+            .bind("id", id)
+            .map(row -> Optional.ofNullable(row.get(0, Long.class)))
+            .one();
+    }
+
+    /**
+     * Blocks the other moves of the hierarchy until the end of the current transaction.
+     */
+    private Mono<Void> lockHierarchy() {
+        return db.sql("SELECT 1 FROM pg_advisory_xact_lock(hashtext('" + closureTable + "'))").then();
+    }
+
+    private Mono<Void> insert(Long id, Long parentId) {
+        DatabaseClient.GenericExecuteSpec spec = db
+            .sql(
+                "INSERT INTO " +
+                closureTable +
+                " (ancestor_id, descendant_id, depth) SELECT :id, :id, 0 " +
+                "UNION ALL SELECT closure.ancestor_id, :id, closure.depth + 1 FROM " +
+                closureTable +
+                " closure WHERE closure.descendant_id = :parentId"
+            )
+            .bind("id", id);
+        spec = parentId == null ? spec.bindNull("parentId", Long.class) : spec.bind("parentId", parentId);
+        return spec.then();
+    }
+
+    /**
+     * Detaches the subtree of the node from its former ancestors, then links it below the ancestors of its new parent.
+     */
+    private Mono<Void> move(Long id, Long parentId) {
+        Mono<Void> detach = db
+            .sql(
+                "DELETE FROM " +
+                closureTable +
+                " link WHERE link.descendant_id IN (SELECT sub.descendant_id FROM " +
+                closureTable +
+                " sub WHERE sub.ancestor_id = :id) " +
+                "AND link.ancestor_id NOT IN (SELECT sub.descendant_id FROM " +
+                closureTable +
+                " sub WHERE sub.ancestor_id = :id)"
+            )
+            .bind("id", id)
+            .then();
+        if (parentId == null) {
+            return detach;
+        }
+        return detach.then(
+            db
+                .sql(
+                    "INSERT INTO " +
+                    closureTable +
+                    " (ancestor_id, descendant_id, depth) " +
+                    "SELECT above.ancestor_id, below.descendant_id, above.depth + below.depth + 1 FROM " +
+                    closureTable +
+                    " above CROSS JOIN " +
+                    closureTable +
+                    " below WHERE above.descendant_id = :parentId AND below.ancestor_id = :id"
+                )
+                .bind("id", id)
+                .bind("parentId", parentId)
+                .then()
+        );
+    }
+}
@@ -0,0 +1,13 @@
+package io.github.keeper.repository;
+
+/**
+ * Thrown when a save would make a node of a hierarchy its own ancestor.
+ */
+public class InvalidHierarchyException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidHierarchyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package io.github.keeper.repository;
+
+/**
+ * Thrown when a keyset page request cannot be honoured: a malformed {@code after} token, a token issued for another sort, or a
+ * sort on a property that cannot be used as a seek key.
+ */
+public class InvalidKeysetException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidKeysetException(String message) {
+        super(message);
+    }
+}
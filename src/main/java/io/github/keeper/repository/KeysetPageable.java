@@ -0,0 +1,157 @@
+package io.github.keeper.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Page request of the keyset (seek) pagination mode, the cursor based counterpart of {@link Pageable}.
+ * <p>
+ * Instead of an offset, a page is addressed by the sort key of the last row of the previous page, which is carried between
+ * requests as an opaque {@code after} token. The id is always appended to the sort as tie-breaker, so that the order is total
+ * and every row is visited exactly once, and the cost of a page does not depend on its depth.
+ */
+public final class KeysetPageable {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final ObjectMapper TOKEN_MAPPER = new ObjectMapper();
+
+    private static final TypeReference<LinkedHashMap<String, String>> TOKEN_TYPE = new TypeReference<>() {};
+
+    private final int size;
+
+    private final Sort sort;
+
+    private final Map<String, String> after;
+
+    private KeysetPageable(int size, Sort sort, Map<String, String> after) {
+        this.size = size;
+        this.sort = sort;
+        this.after = after;
+    }
+
+    /**
+     * Creates the keyset page request following the given token.
+     * @param after the token of the previous page, or an empty value for the first page.
+     * @param size the maximum number of rows of the page.
+     * @param sort the requested sort, the id is appended to it unless it is already part of it.
+     * @return the page request.
+     * @throws InvalidKeysetException if the token is malformed or was issued for another sort.
+     */
+    public static KeysetPageable of(String after, int size, Sort sort) {
+        if (size < 1) {
+            throw new InvalidKeysetException("Page size must be positive");
+        }
+        Sort effectiveSort = sort.getOrderFor(ID_PROPERTY) != null ? sort : sort.and(Sort.by(ID_PROPERTY));
+        if (!StringUtils.hasText(after)) {
+            return new KeysetPageable(size, effectiveSort, Collections.emptyMap());
+        }
+        Map<String, String> values = decode(after);
+        List<String> properties = new ArrayList<>();
+        effectiveSort.forEach(order -> properties.add(order.getProperty()));
+        if (!properties.equals(new ArrayList<>(values.keySet())) || values.get(ID_PROPERTY) == null) {
+            throw new InvalidKeysetException("The after token does not match the requested sort");
+        }
+        return new KeysetPageable(size, effectiveSort, values);
+    }
+
+    /**
+     * Creates the keyset page request following the given token, taking size and sort from the given page request.
+     */
+    public static KeysetPageable of(String after, Pageable pageable) {
+        return of(after, pageable.getPageSize(), pageable.getSort());
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the sort of the page, always ending with the id.
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return {@code true} if this is the first page, which has no lower bound.
+     */
+    public boolean isFirst() {
+        return after.isEmpty();
+    }
+
+    /**
+     * @return the sort key of the last row of the previous page, by property name, in sort order; values may be null.
+     */
+    public Map<String, String> getAfter() {
+        return Collections.unmodifiableMap(after);
+    }
+
+    /**
+     * Encodes the sort key of the given row into the token addressing the rows that follow it.
+     * @param row the entity the next page starts after.
+     * @return the opaque token.
+     */
+    public String nextToken(Object row) {
+        BeanWrapper wrapper = PropertyAccessorFactory.forBeanPropertyAccess(row);
+        Map<String, String> values = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            try {
+                values.put(order.getProperty(), toTokenValue(wrapper.getPropertyValue(order.getProperty())));
+            } catch (BeansException e) {
+                throw new InvalidKeysetException("Unknown sort property: " + order.getProperty());
+            }
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(TOKEN_MAPPER.writeValueAsBytes(values));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode the after token", e);
+        }
+    }
+
+    private static Map<String, String> decode(String token) {
+        try {
+            return TOKEN_MAPPER.readValue(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), TOKEN_TYPE);
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidKeysetException("Malformed after token");
+        }
+    }
+
+    private static String toTokenValue(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        return value.toString();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "KeysetPageable{" +
+            "size=" + size +
+            ", sort=" + sort +
+            ", after=" + after +
+            "}";
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.keeper.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * A page of the keyset pagination mode, together with the token of the following page, if there is one.
+ * @param <T> the type of the content.
+ */
+public final class KeysetSlice<T> {
+
+    private final List<T> content;
+
+    private final KeysetPageable pageable;
+
+    private final String nextToken;
+
+    private KeysetSlice(List<T> content, KeysetPageable pageable, String nextToken) {
+        this.content = content;
+        this.pageable = pageable;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Creates the slice from the rows fetched for the given page request. The repositories fetch one row more than the page
+     * size, its presence tells that there is a next page.
+     * @param rows the fetched rows, in sort order.
+     * @param pageable the page request the rows were fetched for.
+     * @return the slice.
+     */
+    public static <E> KeysetSlice<E> of(List<E> rows, KeysetPageable pageable) {
+        if (rows.size() <= pageable.getSize()) {
+            return new KeysetSlice<>(rows, pageable, null);
+        }
+        List<E> content = new ArrayList<>(rows.subList(0, pageable.getSize()));
+        return new KeysetSlice<>(content, pageable, pageable.nextToken(content.get(content.size() - 1)));
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public KeysetPageable getPageable() {
+        return pageable;
+    }
+
+    /**
+     * @return the after token of the next page, or null if this is the last page.
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    /**
+     * Converts the content, keeping the page request and the next token.
+     */
+    public <U> KeysetSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new KeysetSlice<>(content.stream().<U>map(converter).collect(Collectors.toList()), pageable, nextToken);
+    }
+}
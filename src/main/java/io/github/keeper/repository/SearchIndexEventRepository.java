@@ -0,0 +1,106 @@
+package io.github.keeper.repository;
+
+import io.github.keeper.domain.SearchIndexEvent;
+import java.util.Collection;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC repository for the {@link SearchIndexEvent} outbox.
+ */
+@SuppressWarnings("unused")
+@Repository
+public interface SearchIndexEventRepository extends ReactiveCrudRepository<SearchIndexEvent, Long>, SearchIndexEventRepositoryInternal {
+    /**
+     * Records a write of each of the given entities, with a single statement.
+     */
+    @Modifying
+    @Query("INSERT INTO search_index_event (entity_type, entity_id) SELECT :entityType, UNNEST(CAST(:entityIds AS bigint[]))")
+    Mono<Integer> insertAll(String entityType, Long[] entityIds);
+
+    /**
+     * Takes the lock of the indexer until the end of the current transaction, unless another instance holds it: the events
+     * are drained by one indexer at a time, so that a document is never overwritten by an older copy of its entity.
+     */
+    @Query("SELECT pg_try_advisory_xact_lock(hashtext('search_index_event'))")
+    Mono<Boolean> tryLockIndexer();
+
+    /**
+     * Takes the lock of the indexer until the end of the current transaction, waiting for the batch being drained if any.
+     */
+    @Query("SELECT 1 FROM pg_advisory_xact_lock(hashtext('search_index_event'))")
+    Mono<Integer> lockIndexer();
+
+    @Query("SELECT * FROM search_index_event event WHERE event.next_attempt_at <= now() ORDER BY event.id LIMIT :limit")
+    Flux<SearchIndexEvent> findAllDue(int limit);
+
+    @Modifying
+    @Query("DELETE FROM search_index_event WHERE id IN (:ids)")
+    Mono<Integer> deleteAllByIdIn(Collection<Long> ids);
+
+    /**
+     * Postpones the given events after a failed attempt, doubling the delay with every attempt up to the given maximum.
+     */
+    @Modifying
+    @Query(
+        "UPDATE search_index_event SET attempts = attempts + 1, " +
+        "next_attempt_at = now() + make_interval(secs => LEAST(:maxBackoffSeconds, :backoffSeconds * power(2, attempts))) " +
+        "WHERE id IN (:ids)"
+    )
+    Mono<Integer> deferAll(Collection<Long> ids, double backoffSeconds, double maxBackoffSeconds);
+
+    /**
+     * @return the age in seconds of the oldest event not drained yet, 0 if there is none.
+     */
+    @Query("SELECT CAST(COALESCE(EXTRACT(EPOCH FROM now() - MIN(event.created_at)), 0) AS double precision) FROM search_index_event event")
+    Mono<Double> findLagSeconds();
+
+    /**
+     * Registers a full reindex of the given index, unless one is already running and started less than the given number of
+     * seconds ago.
+     *
+     * @return 1 if the reindex is registered, 0 if another one is running.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO search_reindex (index_name, target_index) VALUES (:indexName, :targetIndex) " +
+        "ON CONFLICT (index_name) DO UPDATE SET target_index = EXCLUDED.target_index, started_at = now() " +
+        "WHERE search_reindex.started_at < now() - make_interval(secs => :timeoutSeconds)"
+    )
+    Mono<Integer> insertReindex(String indexName, String targetIndex, double timeoutSeconds);
+
+    /**
+     * Records the entities of the given events for every running full reindex, to copy them again once it is loaded: the
+     * documents of an index may depend on entities of several types.
+     */
+    @Modifying
+    @Query(
+        "INSERT INTO search_reindex_touched (index_name, entity_type, entity_id) " +
+        "SELECT DISTINCT reindex.index_name, event.entity_type, event.entity_id FROM search_index_event event " +
+        "CROSS JOIN search_reindex reindex WHERE event.id IN (:ids) " +
+        "ON CONFLICT DO NOTHING"
+    )
+    Mono<Integer> insertReindexTouched(Collection<Long> ids);
+
+    @Query(
+        "SELECT touched.entity_id FROM search_reindex_touched touched " +
+        "WHERE touched.index_name = :indexName AND touched.entity_type = :entityType"
+    )
+    Flux<Long> findAllReindexTouched(String indexName, String entityType);
+
+    @Modifying
+    @Query("DELETE FROM search_reindex WHERE index_name = :indexName")
+    Mono<Integer> deleteReindex(String indexName);
+}
+
+interface SearchIndexEventRepositoryInternal {
+    <T> Flux<T> findAllEntitiesById(Class<T> entityType, Collection<Long> ids);
+
+    <T> Flux<T> findAllEntitiesByIdBetween(Class<T> entityType, long afterId, long lastId, int limit);
+
+    Mono<EntityIdRange> findEntityIdRange(Class<?> entityType);
+}
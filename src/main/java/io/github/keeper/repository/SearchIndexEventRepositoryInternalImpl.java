@@ -0,0 +1,62 @@
+package io.github.keeper.repository;
+
+import static org.springframework.data.relational.core.query.Criteria.where;
+import static org.springframework.data.relational.core.query.Query.query;
+
+import java.util.Collection;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Spring Data R2DBC custom repository implementation for the {@link io.github.keeper.domain.SearchIndexEvent} outbox.
+ */
+class SearchIndexEventRepositoryInternalImpl implements SearchIndexEventRepositoryInternal {
+
+    private final R2dbcEntityTemplate r2dbcEntityTemplate;
+
+    SearchIndexEventRepositoryInternalImpl(R2dbcEntityTemplate r2dbcEntityTemplate) {
+        this.r2dbcEntityTemplate = r2dbcEntityTemplate;
+    }
+
+    /**
+     * Reads the columns of the given entities, without their relationships: the search documents hold the columns only.
+     */
+    @Override
+    public <T> Flux<T> findAllEntitiesById(Class<T> entityType, Collection<Long> ids) {
+        return r2dbcEntityTemplate.select(entityType).matching(query(where("id").in(ids))).all();
+    }
+
+    /**
+     * Reads the columns of the first entities, in id order, with an id greater than {@code afterId} and up to {@code lastId}.
+     */
+    @Override
+    public <T> Flux<T> findAllEntitiesByIdBetween(Class<T> entityType, long afterId, long lastId, int limit) {
+        return r2dbcEntityTemplate
+            .select(entityType)
+            .matching(query(where("id").greaterThan(afterId).and("id").lessThanOrEquals(lastId)).sort(Sort.by("id")).limit(limit))
+            .all();
+    }
+
+    @Override
+    public Mono<EntityIdRange> findEntityIdRange(Class<?> entityType) {
+        String table = r2dbcEntityTemplate
+            .getConverter()
+            .getMappingContext()
+            .getRequiredPersistentEntity(entityType)
+            .getTableName()
+            .getReference();
+        return r2dbcEntityTemplate
+            .getDatabaseClient()
+            .sql("SELECT MIN(entity.id), MAX(entity.id), COUNT(*) FROM " + table + " entity")
+            .map(row -> {
+                Long count = row.get(2, Long.class);
+                if (count == null || count == 0) {
+                    return new EntityIdRange(0, 0, 0);
+                }
+                return new EntityIdRange(row.get(0, Long.class), row.get(1, Long.class), count);
+            })
+            .one();
+    }
+}
@@ -1,6 +1,9 @@
 package io.github.keeper.repository;
 
+import io.github.keeper.domain.AccountBalance;
 import io.github.keeper.domain.TransactionAccount;
+import java.util.Collection;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -45,6 +48,12 @@ public interface TransactionAccountRepository
     @Query("SELECT * FROM transaction_account entity WHERE entity.transaction_currency_id IS NULL")
     Flux<TransactionAccount> findAllWhereTransactionCurrencyIsNull();
 
+    @Query("SELECT entity.id FROM transaction_account entity WHERE entity.id IN (:ids)")
+    Flux<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("SELECT * FROM transaction_account entity")
+    Flux<TransactionAccount> findAllWithoutRelationships();
+
     @Override
     <S extends TransactionAccount> Mono<S> save(S entity);
 
@@ -63,6 +72,10 @@ interface TransactionAccountRepositoryInternal {
 
     Flux<TransactionAccount> findAllBy(Pageable pageable);
 
+    Flux<TransactionAccount> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<TransactionAccount>> findPageBy(Pageable pageable);
+
     Flux<TransactionAccount> findAll();
 
     Mono<TransactionAccount> findById(Long id);
@@ -75,5 +88,15 @@ interface TransactionAccountRepositoryInternal {
 
     Flux<TransactionAccount> findAllWithEagerRelationships(Pageable page);
 
+    /**
+     * Fetches the account and all of its descendants, at any depth, in one query.
+     */
+    Flux<TransactionAccount> findSubtree(Long id);
+
+    /**
+     * Sums the balances of the account and all of its descendants in one query.
+     */
+    Mono<AccountBalance> sumBalancesOfSubtree(Long id);
+
     Mono<Void> deleteById(Long id);
 }
@@ -2,8 +2,10 @@ package io.github.keeper.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import io.github.keeper.domain.AccountBalance;
 import io.github.keeper.domain.TransactionAccount;
-import io.github.keeper.repository.rowmapper.TransactionAccountRowMapper;
+import io.github.keeper.domain.TransactionAccountType;
+import io.github.keeper.domain.TransactionCurrency;
 import io.github.keeper.repository.rowmapper.TransactionAccountRowMapper;
 import io.github.keeper.repository.rowmapper.TransactionAccountTypeRowMapper;
 import io.github.keeper.repository.rowmapper.TransactionCurrencyRowMapper;
@@ -11,12 +13,15 @@ import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -28,6 +33,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
 import org.springframework.data.relational.core.sql.Table;
@@ -53,6 +59,8 @@ class TransactionAccountRepositoryInternalImpl
     private final TransactionAccountTypeRowMapper transactionaccounttypeMapper;
     private final TransactionCurrencyRowMapper transactioncurrencyMapper;
 
+    private final HierarchyClosure closure;
+
     private static final Table entityTable = Table.aliased("transaction_account", EntityManager.ENTITY_ALIAS);
     private static final Table parentAccountTable = Table.aliased("transaction_account", "parentAccount");
     private static final Table transactionAccountTypeTable = Table.aliased("transaction_account_type", "transactionAccountType");
@@ -78,19 +86,60 @@ class TransactionAccountRepositoryInternalImpl
         this.transactionaccountMapper = transactionaccountMapper;
         this.transactionaccounttypeMapper = transactionaccounttypeMapper;
         this.transactioncurrencyMapper = transactioncurrencyMapper;
+        this.closure = new HierarchyClosure(db, "transaction_account", "parent_account_id", "transaction_account_closure");
     }
 
     @Override
     public Flux<TransactionAccount> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
+    }
+
+    @Override
+    public Flux<TransactionAccount> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Page<TransactionAccount>> findPageBy(Pageable pageable) {
+        return entityManager.findPage(
+            TransactionAccount.class,
+            pageable,
+            withTotalCount ->
+                entityManager.createSelect(
+                    TransactionAccount.class,
+                    withTotalCount ? "allWithTotalCount" : "all",
+                    () -> withTotalCount ? selectFrom(EntityManager.TOTAL_COUNT_COLUMN) : selectFrom(),
+                    pageable.getSort(),
+                    pageable.isPaged(),
+                    null
+                ),
+            process()
+        );
+    }
+
+    RowsFetchSpec<TransactionAccount> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager
+            .createQuery(TransactionAccount.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<TransactionAccount> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(TransactionAccount.class, "all", () -> selectFrom(), pageable).map(process());
     }
 
-    RowsFetchSpec<TransactionAccount> createQuery(Pageable pageable, Condition whereClause) {
+    private SelectFromAndJoinCondition selectFrom(Expression... extraColumns) {
         List<Expression> columns = TransactionAccountSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
         columns.addAll(TransactionAccountSqlHelper.getColumns(parentAccountTable, "parentAccount"));
         columns.addAll(TransactionAccountTypeSqlHelper.getColumns(transactionAccountTypeTable, "transactionAccountType"));
         columns.addAll(TransactionCurrencySqlHelper.getColumns(transactionCurrencyTable, "transactionCurrency"));
-        SelectFromAndJoinCondition selectFrom = Select
+        columns.addAll(Arrays.asList(extraColumns));
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
@@ -103,9 +152,6 @@ class TransactionAccountRepositoryInternalImpl
             .leftOuterJoin(transactionCurrencyTable)
             .on(Column.create("transaction_currency_id", entityTable))
             .equals(Column.create("id", transactionCurrencyTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, TransactionAccount.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -115,8 +161,7 @@ class TransactionAccountRepositoryInternalImpl
 
     @Override
     public Mono<TransactionAccount> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -134,16 +179,56 @@ class TransactionAccountRepositoryInternalImpl
         return findAllBy(page);
     }
 
-    private TransactionAccount process(Row row, RowMetadata metadata) {
-        TransactionAccount entity = transactionaccountMapper.apply(row, "e");
-        entity.setParentAccount(transactionaccountMapper.apply(row, "parentAccount"));
-        entity.setTransactionAccountType(transactionaccounttypeMapper.apply(row, "transactionAccountType"));
-        entity.setTransactionCurrency(transactioncurrencyMapper.apply(row, "transactionCurrency"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, TransactionAccount> process() {
+        BiFunction<Row, RowMetadata, TransactionAccount> entityMapping = transactionaccountMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, TransactionAccount> parentAccountMapping = transactionaccountMapper.forPrefix("parentAccount");
+        BiFunction<Row, RowMetadata, TransactionAccountType> transactionAccountTypeMapping = transactionaccounttypeMapper.forPrefix(
+            "transactionAccountType"
+        );
+        BiFunction<Row, RowMetadata, TransactionCurrency> transactionCurrencyMapping = transactioncurrencyMapper.forPrefix(
+            "transactionCurrency"
+        );
+        return (row, metadata) -> {
+            TransactionAccount entity = entityMapping.apply(row, metadata);
+            entity.setParentAccount(parentAccountMapping.apply(row, metadata));
+            entity.setTransactionAccountType(transactionAccountTypeMapping.apply(row, metadata));
+            entity.setTransactionCurrency(transactionCurrencyMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
     public <S extends TransactionAccount> Mono<S> save(S entity) {
-        return super.save(entity);
+        return closure.save(entity.getId(), entity.getParentAccountId(), super.save(entity), TransactionAccount::getId);
+    }
+
+    @Override
+    public Flux<TransactionAccount> findSubtree(Long id) {
+        return createQuery(null, "subtree", closure::subtreeCondition, Map.of(HierarchyClosure.ANCESTOR_ID, id)).all();
+    }
+
+    @Override
+    public Mono<AccountBalance> sumBalancesOfSubtree(Long id) {
+        return db
+            .sql(
+                "SELECT COALESCE(SUM(balance.debit_total), 0) AS debit_total, COALESCE(SUM(balance.credit_total), 0) AS credit_total, " +
+                "COALESCE(SUM(balance.net_balance), 0) AS net_balance, MAX(balance.last_entry_id) AS last_entry_id " +
+                "FROM transaction_account_closure closure " +
+                "JOIN account_balance balance ON balance.transaction_account_id = closure.descendant_id " +
+                "WHERE closure.ancestor_id = :id"
+            )
+            .bind("id", id)
+            .map(row ->
+                new AccountBalance()
+                    .transactionAccountId(id)
+                    .debitTotal(row.get("debit_total", BigDecimal.class))
+                    .creditTotal(row.get("credit_total", BigDecimal.class))
+                    .netBalance(row.get("net_balance", BigDecimal.class))
+                    .lastEntryId(row.get("last_entry_id", Long.class))
+            )
+            .one();
     }
 }
@@ -1,6 +1,7 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.TransactionAccountType;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,6 +37,10 @@ interface TransactionAccountTypeRepositoryInternal {
 
     Flux<TransactionAccountType> findAllBy(Pageable pageable);
 
+    Flux<TransactionAccountType> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<TransactionAccountType>> findPageBy(Pageable pageable);
+
     Flux<TransactionAccountType> findAll();
 
     Mono<TransactionAccountType> findById(Long id);
@@ -7,12 +7,15 @@ import io.github.keeper.repository.rowmapper.TransactionAccountTypeRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
 import org.springframework.data.r2dbc.core.R2dbcEntityOperations;
@@ -24,6 +27,7 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
 import org.springframework.data.relational.core.sql.Table;
@@ -69,15 +73,52 @@ class TransactionAccountTypeRepositoryInternalImpl
 
     @Override
     public Flux<TransactionAccountType> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
     }
 
-    RowsFetchSpec<TransactionAccountType> createQuery(Pageable pageable, Condition whereClause) {
-        List<Expression> columns = TransactionAccountTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        SelectFromAndJoin selectFrom = Select.builder().select(columns).from(entityTable);
+    @Override
+    public Flux<TransactionAccountType> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Page<TransactionAccountType>> findPageBy(Pageable pageable) {
+        return entityManager.findPage(
+            TransactionAccountType.class,
+            pageable,
+            withTotalCount ->
+                entityManager.createSelect(
+                    TransactionAccountType.class,
+                    withTotalCount ? "allWithTotalCount" : "all",
+                    () -> withTotalCount ? selectFrom(EntityManager.TOTAL_COUNT_COLUMN) : selectFrom(),
+                    pageable.getSort(),
+                    pageable.isPaged(),
+                    null
+                ),
+            process()
+        );
+    }
+
+    RowsFetchSpec<TransactionAccountType> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
         // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, TransactionAccountType.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
+        return entityManager
+            .createQuery(TransactionAccountType.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<TransactionAccountType> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(TransactionAccountType.class, "all", () -> selectFrom(), pageable).map(process());
+    }
+
+    private SelectFromAndJoin selectFrom(Expression... extraColumns) {
+        List<Expression> columns = TransactionAccountTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
+        columns.addAll(Arrays.asList(extraColumns));
+        return Select.builder().select(columns).from(entityTable);
     }
 
     @Override
@@ -87,13 +128,18 @@ class TransactionAccountTypeRepositoryInternalImpl
 
     @Override
     public Mono<TransactionAccountType> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
-    private TransactionAccountType process(Row row, RowMetadata metadata) {
-        TransactionAccountType entity = transactionaccounttypeMapper.apply(row, "e");
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result.
+     */
+    private BiFunction<Row, RowMetadata, TransactionAccountType> process() {
+        BiFunction<Row, RowMetadata, TransactionAccountType> entityMapping = transactionaccounttypeMapper.forPrefix("e");
+        return (row, metadata) -> {
+            TransactionAccountType entity = entityMapping.apply(row, metadata);
+            return entity;
+        };
     }
 
     @Override
@@ -1,6 +1,7 @@
 package io.github.keeper.repository;
 
 import io.github.keeper.domain.TransactionCurrency;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -36,6 +37,10 @@ interface TransactionCurrencyRepositoryInternal {
 
     Flux<TransactionCurrency> findAllBy(Pageable pageable);
 
+    Flux<TransactionCurrency> findAllAfter(KeysetPageable pageable);
+
+    Mono<Page<TransactionCurrency>> findPageBy(Pageable pageable);
+
     Flux<TransactionCurrency> findAll();
 
     Mono<TransactionCurrency> findById(Long id);
@@ -1,6 +1,10 @@
 package io.github.keeper.repository;
 
+import io.github.keeper.domain.LedgerEntryDocument;
 import io.github.keeper.domain.TransactionEntry;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.relational.core.query.Criteria;
@@ -38,6 +42,9 @@ public interface TransactionEntryRepository extends ReactiveCrudRepository<Trans
     @Query("SELECT * FROM transaction_entry entity WHERE entity.account_transaction_id IS NULL")
     Flux<TransactionEntry> findAllWhereAccountTransactionIsNull();
 
+    @Query("SELECT * FROM transaction_entry entity WHERE entity.id = :id FOR UPDATE")
+    Mono<TransactionEntry> findByIdForUpdate(Long id);
+
     @Override
     <S extends TransactionEntry> Mono<S> save(S entity);
 
@@ -54,8 +61,24 @@ public interface TransactionEntryRepository extends ReactiveCrudRepository<Trans
 interface TransactionEntryRepositoryInternal {
     <S extends TransactionEntry> Mono<S> save(S entity);
 
+    Flux<TransactionEntry> insertAll(List<TransactionEntry> entities);
+
     Flux<TransactionEntry> findAllBy(Pageable pageable);
 
+    Flux<TransactionEntry> findAllAfter(KeysetPageable pageable);
+
+    Mono<Long> countTotal();
+
+    Flux<TransactionEntry> findAllByAccountTransactionIdIn(Collection<Long> accountTransactionIds);
+
+    Flux<TransactionEntry> streamAllBy(Long transactionAccountId, LocalDate fromDate, LocalDate toDate, Boolean wasPosted, int fetchSize);
+
+    Flux<TrialBalanceRow> sumPostedByAccountTree(LocalDate asOf);
+
+    Flux<LedgerEntryDocument> findLedgerEntriesByIdIn(Collection<Long> ids);
+
+    Flux<LedgerEntryDocument> findLedgerEntriesByIdBetween(long afterId, long lastId, int limit);
+
     Flux<TransactionEntry> findAll();
 
     Mono<TransactionEntry> findById(Long id);
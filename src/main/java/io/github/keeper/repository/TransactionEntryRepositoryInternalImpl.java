@@ -2,20 +2,27 @@ package io.github.keeper.repository;
 
 import static org.springframework.data.relational.core.query.Criteria.where;
 
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.domain.TransactionAccount;
 import io.github.keeper.domain.TransactionEntry;
 import io.github.keeper.domain.enumeration.TransactionEntryTypes;
 import io.github.keeper.repository.rowmapper.AccountTransactionRowMapper;
-import io.github.keeper.repository.rowmapper.TransactionAccountRowMapper;
 import io.github.keeper.repository.rowmapper.TransactionEntryRowMapper;
 import io.r2dbc.spi.Row;
 import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.r2dbc.convert.R2dbcConverter;
@@ -28,8 +35,10 @@ import org.springframework.data.relational.core.sql.Comparison;
 import org.springframework.data.relational.core.sql.Condition;
 import org.springframework.data.relational.core.sql.Conditions;
 import org.springframework.data.relational.core.sql.Expression;
+import org.springframework.data.relational.core.sql.SQL;
 import org.springframework.data.relational.core.sql.Select;
 import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoinCondition;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectOrdered;
 import org.springframework.data.relational.core.sql.Table;
 import org.springframework.data.relational.repository.support.MappingRelationalEntityInformation;
 import org.springframework.r2dbc.core.DatabaseClient;
@@ -49,18 +58,48 @@ class TransactionEntryRepositoryInternalImpl
     private final R2dbcEntityTemplate r2dbcEntityTemplate;
     private final EntityManager entityManager;
 
-    private final TransactionAccountRowMapper transactionaccountMapper;
     private final AccountTransactionRowMapper accounttransactionMapper;
     private final TransactionEntryRowMapper transactionentryMapper;
 
     private static final Table entityTable = Table.aliased("transaction_entry", EntityManager.ENTITY_ALIAS);
-    private static final Table transactionAccountTable = Table.aliased("transaction_account", "transactionAccount");
     private static final Table accountTransactionTable = Table.aliased("account_transaction", "accountTransaction");
 
+    /**
+     * Sums the posted, non-deleted entries dated up to {@code :asOf} per account, then adds the totals of every account to
+     * itself and to each of its ancestors, found in the closure table of the account hierarchy.
+     */
+    private static final String TRIAL_BALANCE_SQL =
+        "WITH posted AS (" +
+        "SELECT entry.transaction_account_id AS account_id, " +
+        "COALESCE(SUM(CASE WHEN entry.transaction_entry_type = 'DEBIT' THEN entry.entry_amount END), 0) AS debit_total, " +
+        "COALESCE(SUM(CASE WHEN entry.transaction_entry_type = 'CREDIT' THEN entry.entry_amount END), 0) AS credit_total " +
+        "FROM transaction_entry entry " +
+        "JOIN account_transaction journal ON journal.id = entry.account_transaction_id " +
+        "WHERE entry.transaction_account_id IS NOT NULL AND entry.was_posted IS TRUE AND entry.was_deleted IS NOT TRUE " +
+        "AND journal.transaction_date <= :asOf " +
+        "GROUP BY entry.transaction_account_id" +
+        ") " +
+        "SELECT account.id, account.account_number, account.account_name, account.parent_account_id, " +
+        "COALESCE(own.debit_total, 0) AS debit_total, COALESCE(own.credit_total, 0) AS credit_total, " +
+        "SUM(source.debit_total) AS rolled_up_debit_total, SUM(source.credit_total) AS rolled_up_credit_total " +
+        "FROM posted source " +
+        "JOIN transaction_account_closure closure ON closure.descendant_id = source.account_id " +
+        "JOIN transaction_account account ON account.id = closure.ancestor_id " +
+        "LEFT JOIN posted own ON own.account_id = account.id " +
+        "GROUP BY account.id, account.account_number, account.account_name, account.parent_account_id, own.debit_total, own.credit_total " +
+        "ORDER BY account.account_number, account.id";
+
+    private static final String LEDGER_ENTRY_SQL =
+        "SELECT entry.*, account.account_name, account.account_number, account.transaction_currency_id, " +
+        "currency.code AS currency_code, journal.transaction_date, journal.reference_number " +
+        "FROM transaction_entry entry " +
+        "LEFT JOIN transaction_account account ON account.id = entry.transaction_account_id " +
+        "LEFT JOIN transaction_currency currency ON currency.id = account.transaction_currency_id " +
+        "LEFT JOIN account_transaction journal ON journal.id = entry.account_transaction_id ";
+
     public TransactionEntryRepositoryInternalImpl(
         R2dbcEntityTemplate template,
         EntityManager entityManager,
-        TransactionAccountRowMapper transactionaccountMapper,
         AccountTransactionRowMapper accounttransactionMapper,
         TransactionEntryRowMapper transactionentryMapper,
         R2dbcEntityOperations entityOperations,
@@ -74,33 +113,197 @@ class TransactionEntryRepositoryInternalImpl
         this.db = template.getDatabaseClient();
         this.r2dbcEntityTemplate = template;
         this.entityManager = entityManager;
-        this.transactionaccountMapper = transactionaccountMapper;
         this.accounttransactionMapper = accounttransactionMapper;
         this.transactionentryMapper = transactionentryMapper;
     }
 
     @Override
     public Flux<TransactionEntry> findAllBy(Pageable pageable) {
-        return createQuery(pageable, null).all();
+        return createQuery(pageable, "all", null, Map.of()).all();
+    }
+
+    @Override
+    public Flux<TransactionEntry> findAllAfter(KeysetPageable pageable) {
+        return createKeysetQuery(pageable).all();
+    }
+
+    @Override
+    public Mono<Long> countTotal() {
+        return entityManager.countTotal(TransactionEntry.class);
+    }
+
+    /**
+     * Finds the entries of all the given journals with a single {@code IN} query, for the journals of a page to be loaded
+     * together with their entries in two round trips.
+     */
+    @Override
+    public Flux<TransactionEntry> findAllByAccountTransactionIdIn(Collection<Long> accountTransactionIds) {
+        if (accountTransactionIds.isEmpty()) {
+            return Flux.empty();
+        }
+        // one array parameter instead of a list of literals: the statement is the same for any number of journals
+        return createQuery(
+            null,
+            "byAccountTransactionIds",
+            () -> Conditions.just(EntityManager.ENTITY_ALIAS + ".account_transaction_id = ANY(:accountTransactionIds)"),
+            Map.of("accountTransactionIds", accountTransactionIds.toArray(new Long[0]))
+        )
+            .all();
+    }
+
+    /**
+     * Streams the entries matching the given filters in id order, through a database cursor reading {@code fetchSize} rows
+     * at a time as downstream demand requires them. The date range applies to the transaction date of the journal.
+     */
+    @Override
+    public Flux<TransactionEntry> streamAllBy(
+        Long transactionAccountId,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Boolean wasPosted,
+        int fetchSize
+    ) {
+        Map<String, Object> bindings = new LinkedHashMap<>();
+        if (transactionAccountId != null) {
+            bindings.put("transactionAccountId", transactionAccountId);
+        }
+        if (fromDate != null) {
+            bindings.put("fromDate", fromDate);
+        }
+        if (toDate != null) {
+            bindings.put("toDate", toDate);
+        }
+        // the filters given, and the posting state asked for, make the shape of the statement
+        String shape = "stream|" + bindings.keySet() + "|" + wasPosted;
+        String select = entityManager.createSelect(
+            TransactionEntry.class,
+            shape,
+            () -> {
+                SelectFromAndJoinCondition selectFrom = selectFrom();
+                Condition condition = streamCondition(transactionAccountId, fromDate, toDate, wasPosted);
+                SelectOrdered ordered = condition != null ? selectFrom.where(condition) : selectFrom;
+                return ordered.orderBy(entityTable.column("id")).build();
+            }
+        );
+        DatabaseClient.GenericExecuteSpec spec = db.sql(select).filter(statement -> statement.fetchSize(fetchSize));
+        for (Entry<String, Object> binding : bindings.entrySet()) {
+            spec = spec.bind(binding.getKey(), binding.getValue());
+        }
+        return spec.map(process()).all();
+    }
+
+    private static Condition streamCondition(Long transactionAccountId, LocalDate fromDate, LocalDate toDate, Boolean wasPosted) {
+        List<Condition> conditions = new ArrayList<>();
+        if (transactionAccountId != null) {
+            conditions.add(Conditions.isEqual(entityTable.column("transaction_account_id"), SQL.bindMarker(":transactionAccountId")));
+        }
+        if (fromDate != null) {
+            conditions.add(Conditions.isGreaterOrEqualTo(accountTransactionTable.column("transaction_date"), SQL.bindMarker(":fromDate")));
+        }
+        if (toDate != null) {
+            conditions.add(Conditions.isLessOrEqualTo(accountTransactionTable.column("transaction_date"), SQL.bindMarker(":toDate")));
+        }
+        if (wasPosted != null) {
+            // entries never flagged count as not posted
+            conditions.add(Conditions.just(EntityManager.ENTITY_ALIAS + ".was_posted IS " + (wasPosted ? "TRUE" : "NOT TRUE")));
+        }
+        return conditions.stream().reduce(Condition::and).orElse(null);
+    }
+
+    @Override
+    public Flux<TrialBalanceRow> sumPostedByAccountTree(LocalDate asOf) {
+        return db
+            .sql(TRIAL_BALANCE_SQL)
+            .bind("asOf", asOf)
+            .map((row, metadata) ->
+                new TrialBalanceRow(
+                    row.get("id", Long.class),
+                    row.get("account_number", String.class),
+                    row.get("account_name", String.class),
+                    row.get("parent_account_id", Long.class),
+                    row.get("debit_total", BigDecimal.class),
+                    row.get("credit_total", BigDecimal.class),
+                    row.get("rolled_up_debit_total", BigDecimal.class),
+                    row.get("rolled_up_credit_total", BigDecimal.class)
+                )
+            )
+            .all();
+    }
+
+    /**
+     * Finds the ledger entries of the given entries with a single query, joining each entry with its account, the currency
+     * of its account and its transaction.
+     */
+    @Override
+    public Flux<LedgerEntryDocument> findLedgerEntriesByIdIn(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Flux.empty();
+        }
+        return db.sql(LEDGER_ENTRY_SQL + "WHERE entry.id IN (:ids)").bind("ids", ids).map(this::toLedgerEntry).all();
+    }
+
+    /**
+     * Finds the ledger entries of the first entries, in id order, with an id greater than {@code afterId} and up to
+     * {@code lastId}.
+     */
+    @Override
+    public Flux<LedgerEntryDocument> findLedgerEntriesByIdBetween(long afterId, long lastId, int limit) {
+        return db
+            .sql(LEDGER_ENTRY_SQL + "WHERE entry.id > :afterId AND entry.id <= :lastId ORDER BY entry.id LIMIT :limit")
+            .bind("afterId", afterId)
+            .bind("lastId", lastId)
+            .bind("limit", limit)
+            .map(this::toLedgerEntry)
+            .all();
+    }
+
+    private LedgerEntryDocument toLedgerEntry(Row row, RowMetadata metadata) {
+        String transactionEntryType = row.get("transaction_entry_type", String.class);
+        return new LedgerEntryDocument()
+            .id(row.get("id", Long.class))
+            .entryAmount(row.get("entry_amount", BigDecimal.class))
+            .transactionEntryType(transactionEntryType != null ? TransactionEntryTypes.valueOf(transactionEntryType) : null)
+            .description(row.get("description", String.class))
+            .wasProposed(row.get("was_proposed", Boolean.class))
+            .wasPosted(row.get("was_posted", Boolean.class))
+            .wasDeleted(row.get("was_deleted", Boolean.class))
+            .wasApproved(row.get("was_approved", Boolean.class))
+            .transactionAccountId(row.get("transaction_account_id", Long.class))
+            .accountName(row.get("account_name", String.class))
+            .accountNumber(row.get("account_number", String.class))
+            .accountTransactionId(row.get("account_transaction_id", Long.class))
+            .transactionDate(row.get("transaction_date", LocalDate.class))
+            .referenceNumber(row.get("reference_number", String.class))
+            .transactionCurrencyId(row.get("transaction_currency_id", Long.class))
+            .currencyCode(row.get("currency_code", String.class));
+    }
+
+    RowsFetchSpec<TransactionEntry> createQuery(
+        Pageable pageable,
+        String shape,
+        Supplier<Condition> whereClause,
+        Map<String, Object> bindings
+    ) {
+        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
+        return entityManager
+            .createQuery(TransactionEntry.class, shape, () -> selectFrom(), pageable, whereClause, bindings)
+            .map(process());
+    }
+
+    RowsFetchSpec<TransactionEntry> createKeysetQuery(KeysetPageable pageable) {
+        return entityManager.createKeysetQuery(TransactionEntry.class, "all", () -> selectFrom(), pageable).map(process());
     }
 
-    RowsFetchSpec<TransactionEntry> createQuery(Pageable pageable, Condition whereClause) {
+    private SelectFromAndJoinCondition selectFrom() {
         List<Expression> columns = TransactionEntrySqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS);
-        columns.addAll(TransactionAccountSqlHelper.getColumns(transactionAccountTable, "transactionAccount"));
         columns.addAll(AccountTransactionSqlHelper.getColumns(accountTransactionTable, "accountTransaction"));
-        SelectFromAndJoinCondition selectFrom = Select
+        return Select
             .builder()
             .select(columns)
             .from(entityTable)
-            .leftOuterJoin(transactionAccountTable)
-            .on(Column.create("transaction_account_id", entityTable))
-            .equals(Column.create("id", transactionAccountTable))
             .leftOuterJoin(accountTransactionTable)
             .on(Column.create("account_transaction_id", entityTable))
             .equals(Column.create("id", accountTransactionTable));
-        // we do not support Criteria here for now as of https://github.com/jhipster/generator-jhipster/issues/18269
-        String select = entityManager.createSelect(selectFrom, TransactionEntry.class, pageable, whereClause);
-        return db.sql(select).map(this::process);
     }
 
     @Override
@@ -110,8 +313,7 @@ class TransactionEntryRepositoryInternalImpl
 
     @Override
     public Mono<TransactionEntry> findById(Long id) {
-        Comparison whereClause = Conditions.isEqual(entityTable.column("id"), Conditions.just(id.toString()));
-        return createQuery(null, whereClause).one();
+        return createQuery(null, "byId", () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id")), Map.of("id", id)).one();
     }
 
     @Override
@@ -129,15 +331,31 @@ class TransactionEntryRepositoryInternalImpl
         return findAllBy(page);
     }
 
-    private TransactionEntry process(Row row, RowMetadata metadata) {
-        TransactionEntry entity = transactionentryMapper.apply(row, "e");
-        entity.setTransactionAccount(transactionaccountMapper.apply(row, "transactionAccount"));
-        entity.setAccountTransaction(accounttransactionMapper.apply(row, "accountTransaction"));
-        return entity;
+    /**
+     * @return the mapping of the rows of one query, which resolves the positions of their columns once per result. The
+     * transactionAccount is not joined: it only carries its id, the services take the rest from the reference data cache.
+     */
+    private BiFunction<Row, RowMetadata, TransactionEntry> process() {
+        BiFunction<Row, RowMetadata, TransactionEntry> entityMapping = transactionentryMapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, AccountTransaction> accountTransactionMapping = accounttransactionMapper.forPrefix(
+            "accountTransaction"
+        );
+        return (row, metadata) -> {
+            TransactionEntry entity = entityMapping.apply(row, metadata);
+            Long transactionAccountId = entity.getTransactionAccountId();
+            entity.setTransactionAccount(transactionAccountId != null ? new TransactionAccount().id(transactionAccountId) : null);
+            entity.setAccountTransaction(accountTransactionMapping.apply(row, metadata));
+            return entity;
+        };
     }
 
     @Override
     public <S extends TransactionEntry> Mono<S> save(S entity) {
         return super.save(entity);
     }
+
+    @Override
+    public Flux<TransactionEntry> insertAll(List<TransactionEntry> entities) {
+        return entityManager.insertAll(TransactionEntry.class, entities);
+    }
 }
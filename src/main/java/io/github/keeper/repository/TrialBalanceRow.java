@@ -0,0 +1,91 @@
+package io.github.keeper.repository;
+
+import java.math.BigDecimal;
+
+/**
+ * One account of the trial balance aggregated by the database: the posted totals of the account itself, and the totals rolled
+ * up from the account and all of its descendants along the {@code parentAccount} tree.
+ */
+public final class TrialBalanceRow {
+
+    private final Long transactionAccountId;
+
+    private final String accountNumber;
+
+    private final String accountName;
+
+    private final Long parentAccountId;
+
+    private final BigDecimal debitTotal;
+
+    private final BigDecimal creditTotal;
+
+    private final BigDecimal rolledUpDebitTotal;
+
+    private final BigDecimal rolledUpCreditTotal;
+
+    public TrialBalanceRow(
+        Long transactionAccountId,
+        String accountNumber,
+        String accountName,
+        Long parentAccountId,
+        BigDecimal debitTotal,
+        BigDecimal creditTotal,
+        BigDecimal rolledUpDebitTotal,
+        BigDecimal rolledUpCreditTotal
+    ) {
+        this.transactionAccountId = transactionAccountId;
+        this.accountNumber = accountNumber;
+        this.accountName = accountName;
+        this.parentAccountId = parentAccountId;
+        this.debitTotal = debitTotal;
+        this.creditTotal = creditTotal;
+        this.rolledUpDebitTotal = rolledUpDebitTotal;
+        this.rolledUpCreditTotal = rolledUpCreditTotal;
+    }
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public Long getParentAccountId() {
+        return parentAccountId;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public BigDecimal getRolledUpDebitTotal() {
+        return rolledUpDebitTotal;
+    }
+
+    public BigDecimal getRolledUpCreditTotal() {
+        return rolledUpCreditTotal;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TrialBalanceRow{" +
+            "transactionAccountId=" + transactionAccountId +
+            ", accountNumber='" + accountNumber + "'" +
+            ", debitTotal=" + debitTotal +
+            ", creditTotal=" + creditTotal +
+            ", rolledUpDebitTotal=" + rolledUpDebitTotal +
+            ", rolledUpCreditTotal=" + rolledUpCreditTotal +
+            "}";
+    }
+}
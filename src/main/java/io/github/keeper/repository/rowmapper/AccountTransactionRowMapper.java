@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.AccountTransaction;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -10,7 +11,18 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link AccountTransaction}, with proper type conversions.
  */
 @Service
-public class AccountTransactionRowMapper implements BiFunction<Row, String, AccountTransaction> {
+public class AccountTransactionRowMapper {
+
+    private static final String[] COLUMNS = {
+        "_id",
+        "_transaction_date",
+        "_description",
+        "_reference_number",
+        "_was_proposed",
+        "_was_posted",
+        "_was_deleted",
+        "_was_approved"
+    };
 
     private final ColumnConverter converter;
 
@@ -19,20 +31,23 @@ public class AccountTransactionRowMapper implements BiFunction<Row, String, Acco
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link AccountTransaction} stored in the database.
+     * Create the mapping of the rows of one query to {@link AccountTransaction}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link AccountTransaction} stored in the database.
      */
-    @Override
-    public AccountTransaction apply(Row row, String prefix) {
-        AccountTransaction entity = new AccountTransaction();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setTransactionDate(converter.fromRow(row, prefix + "_transaction_date", LocalDate.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setReferenceNumber(converter.fromRow(row, prefix + "_reference_number", String.class));
-        entity.setWasProposed(converter.fromRow(row, prefix + "_was_proposed", Boolean.class));
-        entity.setWasPosted(converter.fromRow(row, prefix + "_was_posted", Boolean.class));
-        entity.setWasDeleted(converter.fromRow(row, prefix + "_was_deleted", Boolean.class));
-        entity.setWasApproved(converter.fromRow(row, prefix + "_was_approved", Boolean.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, AccountTransaction> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            AccountTransaction entity = new AccountTransaction();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setTransactionDate(converter.fromRow(row, position[1], LocalDate.class));
+            entity.setDescription(converter.fromRow(row, position[2], String.class));
+            entity.setReferenceNumber(converter.fromRow(row, position[3], String.class));
+            entity.setWasProposed(converter.fromRow(row, position[4], Boolean.class));
+            entity.setWasPosted(converter.fromRow(row, position[5], Boolean.class));
+            entity.setWasDeleted(converter.fromRow(row, position[6], Boolean.class));
+            entity.setWasApproved(converter.fromRow(row, position[7], Boolean.class));
+            return entity;
+        };
     }
 }
@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.AccountingEvent;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.LocalDate;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -10,7 +11,9 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link AccountingEvent}, with proper type conversions.
  */
 @Service
-public class AccountingEventRowMapper implements BiFunction<Row, String, AccountingEvent> {
+public class AccountingEventRowMapper {
+
+    private static final String[] COLUMNS = { "_id", "_event_date", "_event_type_id", "_dealer_id" };
 
     private final ColumnConverter converter;
 
@@ -19,16 +22,19 @@ public class AccountingEventRowMapper implements BiFunction<Row, String, Account
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link AccountingEvent} stored in the database.
+     * Create the mapping of the rows of one query to {@link AccountingEvent}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link AccountingEvent} stored in the database.
      */
-    @Override
-    public AccountingEvent apply(Row row, String prefix) {
-        AccountingEvent entity = new AccountingEvent();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setEventDate(converter.fromRow(row, prefix + "_event_date", LocalDate.class));
-        entity.setEventTypeId(converter.fromRow(row, prefix + "_event_type_id", Long.class));
-        entity.setDealerId(converter.fromRow(row, prefix + "_dealer_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, AccountingEvent> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            AccountingEvent entity = new AccountingEvent();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setEventDate(converter.fromRow(row, position[1], LocalDate.class));
+            entity.setEventTypeId(converter.fromRow(row, position[2], Long.class));
+            entity.setDealerId(converter.fromRow(row, position[3], Long.class));
+            return entity;
+        };
     }
 }
@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.BalanceSheetItemType;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +10,16 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link BalanceSheetItemType}, with proper type conversions.
  */
 @Service
-public class BalanceSheetItemTypeRowMapper implements BiFunction<Row, String, BalanceSheetItemType> {
+public class BalanceSheetItemTypeRowMapper {
+
+    private static final String[] COLUMNS = {
+        "_id",
+        "_item_sequence",
+        "_item_number",
+        "_short_description",
+        "_transaction_account_id",
+        "_parent_item_id"
+    };
 
     private final ColumnConverter converter;
 
@@ -18,18 +28,21 @@ public class BalanceSheetItemTypeRowMapper implements BiFunction<Row, String, Ba
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link BalanceSheetItemType} stored in the database.
+     * Create the mapping of the rows of one query to {@link BalanceSheetItemType}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link BalanceSheetItemType} stored in the database.
      */
-    @Override
-    public BalanceSheetItemType apply(Row row, String prefix) {
-        BalanceSheetItemType entity = new BalanceSheetItemType();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setItemSequence(converter.fromRow(row, prefix + "_item_sequence", Integer.class));
-        entity.setItemNumber(converter.fromRow(row, prefix + "_item_number", String.class));
-        entity.setShortDescription(converter.fromRow(row, prefix + "_short_description", String.class));
-        entity.setTransactionAccountId(converter.fromRow(row, prefix + "_transaction_account_id", Long.class));
-        entity.setParentItemId(converter.fromRow(row, prefix + "_parent_item_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, BalanceSheetItemType> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            BalanceSheetItemType entity = new BalanceSheetItemType();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setItemSequence(converter.fromRow(row, position[1], Integer.class));
+            entity.setItemNumber(converter.fromRow(row, position[2], String.class));
+            entity.setShortDescription(converter.fromRow(row, position[3], String.class));
+            entity.setTransactionAccountId(converter.fromRow(row, position[4], Long.class));
+            entity.setParentItemId(converter.fromRow(row, position[5], Long.class));
+            return entity;
+        };
     }
 }
@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.BalanceSheetItemValue;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.function.BiFunction;
@@ -11,7 +12,9 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link BalanceSheetItemValue}, with proper type conversions.
  */
 @Service
-public class BalanceSheetItemValueRowMapper implements BiFunction<Row, String, BalanceSheetItemValue> {
+public class BalanceSheetItemValueRowMapper {
+
+    private static final String[] COLUMNS = { "_id", "_short_description", "_effective_date", "_item_amount", "_item_type_id" };
 
     private final ColumnConverter converter;
 
@@ -20,17 +23,20 @@ public class BalanceSheetItemValueRowMapper implements BiFunction<Row, String, B
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link BalanceSheetItemValue} stored in the database.
+     * Create the mapping of the rows of one query to {@link BalanceSheetItemValue}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link BalanceSheetItemValue} stored in the database.
      */
-    @Override
-    public BalanceSheetItemValue apply(Row row, String prefix) {
-        BalanceSheetItemValue entity = new BalanceSheetItemValue();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setShortDescription(converter.fromRow(row, prefix + "_short_description", String.class));
-        entity.setEffectiveDate(converter.fromRow(row, prefix + "_effective_date", LocalDate.class));
-        entity.setItemAmount(converter.fromRow(row, prefix + "_item_amount", BigDecimal.class));
-        entity.setItemTypeId(converter.fromRow(row, prefix + "_item_type_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, BalanceSheetItemValue> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            BalanceSheetItemValue entity = new BalanceSheetItemValue();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setShortDescription(converter.fromRow(row, position[1], String.class));
+            entity.setEffectiveDate(converter.fromRow(row, position[2], LocalDate.class));
+            entity.setItemAmount(converter.fromRow(row, position[3], BigDecimal.class));
+            entity.setItemTypeId(converter.fromRow(row, position[4], Long.class));
+            return entity;
+        };
     }
 }
@@ -63,4 +63,22 @@ public class ColumnConverter {
             return convert(obj, target);
         }
     }
+
+    /**
+     * Convert a value from the {@link Row} to a type - throws an exception, it it's impossible.
+     * @param row which contains the column values.
+     * @param index the position of the column which to convert, as resolved by a {@link ColumnIndex}.
+     * @param target class.
+     * @param <T> the parameter for the intended type.
+     * @return the value which can be constructed from the input.
+     */
+    public <T> T fromRow(Row row, int index, Class<T> target) {
+        try {
+            // try, directly the driver
+            return row.get(index, target);
+        } catch (Exception e) {
+            Object obj = row.get(index);
+            return convert(obj, target);
+        }
+    }
 }
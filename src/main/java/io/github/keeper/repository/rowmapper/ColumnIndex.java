@@ -0,0 +1,66 @@
+package io.github.keeper.repository.rowmapper;
+
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.RowMetadata;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+
+/**
+ * The positions of the columns of one entity in the rows of a query, resolved from their names once per {@link RowMetadata}.
+ * <p>
+ * The driver shares a single {@link RowMetadata} between all the rows of a result, so the names are looked up on the first
+ * row only, and the following rows are read by index, without building nor comparing any column name. The names are
+ * matched case-insensitively, as the database folds the unquoted aliases of the selects to lower case.
+ * <p>
+ * An instance is used by the rows of one query at a time, it is not thread-safe.
+ */
+public class ColumnIndex {
+
+    private final String[] names;
+
+    private RowMetadata metadata;
+
+    private int[] positions;
+
+    /**
+     * @param prefix the alias prefixing the columns of the entity in the select.
+     * @param suffixes the suffixes of the columns, in the order of their positions.
+     */
+    public ColumnIndex(String prefix, String... suffixes) {
+        this.names = new String[suffixes.length];
+        for (int i = 0; i < suffixes.length; i++) {
+            names[i] = (prefix + suffixes[i]).toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * @return the position in the row of each column, in the order of the suffixes.
+     * @throws NoSuchElementException if a column is not part of the row.
+     */
+    public int[] positions(RowMetadata metadata) {
+        if (metadata != this.metadata) {
+            this.positions = resolve(metadata);
+            this.metadata = metadata;
+        }
+        return positions;
+    }
+
+    private int[] resolve(RowMetadata metadata) {
+        String[] columnNames = metadata
+            .getColumnMetadatas()
+            .stream()
+            .map(ColumnMetadata::getName)
+            .map(name -> name.toLowerCase(Locale.ROOT))
+            .toArray(String[]::new);
+        int[] resolved = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            int position = Arrays.asList(columnNames).indexOf(names[i]);
+            if (position < 0) {
+                throw new NoSuchElementException("Column " + names[i] + " is not part of the row " + Arrays.toString(columnNames));
+            }
+            resolved[i] = position;
+        }
+        return resolved;
+    }
+}
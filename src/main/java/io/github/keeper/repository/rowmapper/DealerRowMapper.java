@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.Dealer;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link Dealer}, with proper type conversions.
  */
 @Service
-public class DealerRowMapper implements BiFunction<Row, String, Dealer> {
+public class DealerRowMapper {
+
+    private static final String[] COLUMNS = { "_id", "_name", "_dealer_type_id" };
 
     private final ColumnConverter converter;
 
@@ -18,15 +21,18 @@ public class DealerRowMapper implements BiFunction<Row, String, Dealer> {
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link Dealer} stored in the database.
+     * Create the mapping of the rows of one query to {@link Dealer}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link Dealer} stored in the database.
      */
-    @Override
-    public Dealer apply(Row row, String prefix) {
-        Dealer entity = new Dealer();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setDealerTypeId(converter.fromRow(row, prefix + "_dealer_type_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, Dealer> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            Dealer entity = new Dealer();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setName(converter.fromRow(row, position[1], String.class));
+            entity.setDealerTypeId(converter.fromRow(row, position[2], Long.class));
+            return entity;
+        };
     }
 }
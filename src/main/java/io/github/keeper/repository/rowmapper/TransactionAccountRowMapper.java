@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.TransactionAccount;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -10,7 +11,17 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link TransactionAccount}, with proper type conversions.
  */
 @Service
-public class TransactionAccountRowMapper implements BiFunction<Row, String, TransactionAccount> {
+public class TransactionAccountRowMapper {
+
+    private static final String[] COLUMNS = {
+        "_id",
+        "_account_name",
+        "_account_number",
+        "_opening_balance",
+        "_parent_account_id",
+        "_transaction_account_type_id",
+        "_transaction_currency_id"
+    };
 
     private final ColumnConverter converter;
 
@@ -19,19 +30,22 @@ public class TransactionAccountRowMapper implements BiFunction<Row, String, Tran
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link TransactionAccount} stored in the database.
+     * Create the mapping of the rows of one query to {@link TransactionAccount}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link TransactionAccount} stored in the database.
      */
-    @Override
-    public TransactionAccount apply(Row row, String prefix) {
-        TransactionAccount entity = new TransactionAccount();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setAccountName(converter.fromRow(row, prefix + "_account_name", String.class));
-        entity.setAccountNumber(converter.fromRow(row, prefix + "_account_number", String.class));
-        entity.setOpeningBalance(converter.fromRow(row, prefix + "_opening_balance", BigDecimal.class));
-        entity.setParentAccountId(converter.fromRow(row, prefix + "_parent_account_id", Long.class));
-        entity.setTransactionAccountTypeId(converter.fromRow(row, prefix + "_transaction_account_type_id", Long.class));
-        entity.setTransactionCurrencyId(converter.fromRow(row, prefix + "_transaction_currency_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, TransactionAccount> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            TransactionAccount entity = new TransactionAccount();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setAccountName(converter.fromRow(row, position[1], String.class));
+            entity.setAccountNumber(converter.fromRow(row, position[2], String.class));
+            entity.setOpeningBalance(converter.fromRow(row, position[3], BigDecimal.class));
+            entity.setParentAccountId(converter.fromRow(row, position[4], Long.class));
+            entity.setTransactionAccountTypeId(converter.fromRow(row, position[5], Long.class));
+            entity.setTransactionCurrencyId(converter.fromRow(row, position[6], Long.class));
+            return entity;
+        };
     }
 }
@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.TransactionAccountType;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link TransactionAccountType}, with proper type conversions.
  */
 @Service
-public class TransactionAccountTypeRowMapper implements BiFunction<Row, String, TransactionAccountType> {
+public class TransactionAccountTypeRowMapper {
+
+    private static final String[] COLUMNS = { "_id", "_name" };
 
     private final ColumnConverter converter;
 
@@ -18,14 +21,17 @@ public class TransactionAccountTypeRowMapper implements BiFunction<Row, String,
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link TransactionAccountType} stored in the database.
+     * Create the mapping of the rows of one query to {@link TransactionAccountType}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link TransactionAccountType} stored in the database.
      */
-    @Override
-    public TransactionAccountType apply(Row row, String prefix) {
-        TransactionAccountType entity = new TransactionAccountType();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, TransactionAccountType> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            TransactionAccountType entity = new TransactionAccountType();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setName(converter.fromRow(row, position[1], String.class));
+            return entity;
+        };
     }
 }
@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.TransactionCurrency;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +10,9 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link TransactionCurrency}, with proper type conversions.
  */
 @Service
-public class TransactionCurrencyRowMapper implements BiFunction<Row, String, TransactionCurrency> {
+public class TransactionCurrencyRowMapper {
+
+    private static final String[] COLUMNS = { "_id", "_name", "_code" };
 
     private final ColumnConverter converter;
 
@@ -18,15 +21,18 @@ public class TransactionCurrencyRowMapper implements BiFunction<Row, String, Tra
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link TransactionCurrency} stored in the database.
+     * Create the mapping of the rows of one query to {@link TransactionCurrency}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link TransactionCurrency} stored in the database.
      */
-    @Override
-    public TransactionCurrency apply(Row row, String prefix) {
-        TransactionCurrency entity = new TransactionCurrency();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setName(converter.fromRow(row, prefix + "_name", String.class));
-        entity.setCode(converter.fromRow(row, prefix + "_code", String.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, TransactionCurrency> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            TransactionCurrency entity = new TransactionCurrency();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setName(converter.fromRow(row, position[1], String.class));
+            entity.setCode(converter.fromRow(row, position[2], String.class));
+            return entity;
+        };
     }
 }
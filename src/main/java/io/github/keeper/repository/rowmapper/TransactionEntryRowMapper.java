@@ -3,6 +3,7 @@ package io.github.keeper.repository.rowmapper;
 import io.github.keeper.domain.TransactionEntry;
 import io.github.keeper.domain.enumeration.TransactionEntryTypes;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.math.BigDecimal;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -11,7 +12,20 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link TransactionEntry}, with proper type conversions.
  */
 @Service
-public class TransactionEntryRowMapper implements BiFunction<Row, String, TransactionEntry> {
+public class TransactionEntryRowMapper {
+
+    private static final String[] COLUMNS = {
+        "_id",
+        "_entry_amount",
+        "_transaction_entry_type",
+        "_description",
+        "_was_proposed",
+        "_was_posted",
+        "_was_deleted",
+        "_was_approved",
+        "_transaction_account_id",
+        "_account_transaction_id"
+    };
 
     private final ColumnConverter converter;
 
@@ -20,22 +34,25 @@ public class TransactionEntryRowMapper implements BiFunction<Row, String, Transa
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link TransactionEntry} stored in the database.
+     * Create the mapping of the rows of one query to {@link TransactionEntry}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link TransactionEntry} stored in the database.
      */
-    @Override
-    public TransactionEntry apply(Row row, String prefix) {
-        TransactionEntry entity = new TransactionEntry();
-        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
-        entity.setEntryAmount(converter.fromRow(row, prefix + "_entry_amount", BigDecimal.class));
-        entity.setTransactionEntryType(converter.fromRow(row, prefix + "_transaction_entry_type", TransactionEntryTypes.class));
-        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
-        entity.setWasProposed(converter.fromRow(row, prefix + "_was_proposed", Boolean.class));
-        entity.setWasPosted(converter.fromRow(row, prefix + "_was_posted", Boolean.class));
-        entity.setWasDeleted(converter.fromRow(row, prefix + "_was_deleted", Boolean.class));
-        entity.setWasApproved(converter.fromRow(row, prefix + "_was_approved", Boolean.class));
-        entity.setTransactionAccountId(converter.fromRow(row, prefix + "_transaction_account_id", Long.class));
-        entity.setAccountTransactionId(converter.fromRow(row, prefix + "_account_transaction_id", Long.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, TransactionEntry> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            TransactionEntry entity = new TransactionEntry();
+            entity.setId(converter.fromRow(row, position[0], Long.class));
+            entity.setEntryAmount(converter.fromRow(row, position[1], BigDecimal.class));
+            entity.setTransactionEntryType(converter.fromRow(row, position[2], TransactionEntryTypes.class));
+            entity.setDescription(converter.fromRow(row, position[3], String.class));
+            entity.setWasProposed(converter.fromRow(row, position[4], Boolean.class));
+            entity.setWasPosted(converter.fromRow(row, position[5], Boolean.class));
+            entity.setWasDeleted(converter.fromRow(row, position[6], Boolean.class));
+            entity.setWasApproved(converter.fromRow(row, position[7], Boolean.class));
+            entity.setTransactionAccountId(converter.fromRow(row, position[8], Long.class));
+            entity.setAccountTransactionId(converter.fromRow(row, position[9], Long.class));
+            return entity;
+        };
     }
 }
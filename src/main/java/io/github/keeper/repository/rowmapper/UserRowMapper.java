@@ -2,6 +2,7 @@ package io.github.keeper.repository.rowmapper;
 
 import io.github.keeper.domain.User;
 import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
 import java.time.Instant;
 import java.util.function.BiFunction;
 import org.springframework.stereotype.Service;
@@ -10,7 +11,22 @@ import org.springframework.stereotype.Service;
  * Converter between {@link Row} to {@link User}, with proper type conversions.
  */
 @Service
-public class UserRowMapper implements BiFunction<Row, String, User> {
+public class UserRowMapper {
+
+    private static final String[] COLUMNS = {
+        "_id",
+        "_login",
+        "_password",
+        "_first_name",
+        "_last_name",
+        "_email",
+        "_activated",
+        "_lang_key",
+        "_image_url",
+        "_activation_key",
+        "_reset_key",
+        "_reset_date"
+    };
 
     private final ColumnConverter converter;
 
@@ -19,24 +35,27 @@ public class UserRowMapper implements BiFunction<Row, String, User> {
     }
 
     /**
-     * Take a {@link Row} and a column prefix, and extract all the fields.
-     * @return the {@link User} stored in the database.
+     * Create the mapping of the rows of one query to {@link User}, reading the columns of the given prefix by their position.
+     * @return the mapping extracting all the fields of the {@link User} stored in the database.
      */
-    @Override
-    public User apply(Row row, String prefix) {
-        User entity = new User();
-        entity.setId(row.get(prefix + "_id", Long.class));
-        entity.setLogin(converter.fromRow(row, prefix + "_login", String.class));
-        entity.setPassword(converter.fromRow(row, prefix + "_password", String.class));
-        entity.setFirstName(converter.fromRow(row, prefix + "_first_name", String.class));
-        entity.setLastName(converter.fromRow(row, prefix + "_last_name", String.class));
-        entity.setEmail(converter.fromRow(row, prefix + "_email", String.class));
-        entity.setActivated(Boolean.TRUE.equals(converter.fromRow(row, prefix + "_activated", Boolean.class)));
-        entity.setLangKey(converter.fromRow(row, prefix + "_lang_key", String.class));
-        entity.setImageUrl(converter.fromRow(row, prefix + "_image_url", String.class));
-        entity.setActivationKey(converter.fromRow(row, prefix + "_activation_key", String.class));
-        entity.setResetKey(converter.fromRow(row, prefix + "_reset_key", String.class));
-        entity.setResetDate(converter.fromRow(row, prefix + "_reset_date", Instant.class));
-        return entity;
+    public BiFunction<Row, RowMetadata, User> forPrefix(String prefix) {
+        ColumnIndex columns = new ColumnIndex(prefix, COLUMNS);
+        return (row, metadata) -> {
+            int[] position = columns.positions(metadata);
+            User entity = new User();
+            entity.setId(row.get(position[0], Long.class));
+            entity.setLogin(converter.fromRow(row, position[1], String.class));
+            entity.setPassword(converter.fromRow(row, position[2], String.class));
+            entity.setFirstName(converter.fromRow(row, position[3], String.class));
+            entity.setLastName(converter.fromRow(row, position[4], String.class));
+            entity.setEmail(converter.fromRow(row, position[5], String.class));
+            entity.setActivated(Boolean.TRUE.equals(converter.fromRow(row, position[6], Boolean.class)));
+            entity.setLangKey(converter.fromRow(row, position[7], String.class));
+            entity.setImageUrl(converter.fromRow(row, position[8], String.class));
+            entity.setActivationKey(converter.fromRow(row, position[9], String.class));
+            entity.setResetKey(converter.fromRow(row, position[10], String.class));
+            entity.setResetDate(converter.fromRow(row, position[11], Instant.class));
+            return entity;
+        };
     }
 }
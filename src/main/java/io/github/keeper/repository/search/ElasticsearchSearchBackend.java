@@ -0,0 +1,175 @@
+package io.github.keeper.repository.search;
+
+import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termsQuery;
+
+import io.github.keeper.config.Constants;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.ElasticsearchAggregation;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.ReactiveIndexOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.index.AliasAction;
+import org.springframework.data.elasticsearch.core.index.AliasActionParameters;
+import org.springframework.data.elasticsearch.core.index.AliasActions;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQuery;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.Query;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link SearchBackend} of the Elasticsearch cluster.
+ */
+@Repository
+@Profile("!" + Constants.SPRING_PROFILE_EMBEDDED_SEARCH)
+public class ElasticsearchSearchBackend implements SearchBackend {
+
+    private static final String UPDATE_SCRIPT =
+        "def fields = params.fields[String.valueOf(ctx._source[params.field])]; " +
+        "for (entry in fields.entrySet()) { ctx._source[entry.getKey()] = entry.getValue() }";
+
+    private final ReactiveElasticsearchOperations elasticsearchOperations;
+
+    public ElasticsearchSearchBackend(ReactiveElasticsearchOperations elasticsearchOperations) {
+        this.elasticsearchOperations = elasticsearchOperations;
+    }
+
+    @Override
+    public String getIndexName(Class<?> documentType) {
+        return elasticsearchOperations.getIndexCoordinatesFor(documentType).getIndexName();
+    }
+
+    /**
+     * Searches a page of hits, counting all the hits of the query with the same request.
+     */
+    @Override
+    public <T> Mono<Page<T>> search(Class<T> documentType, String query, Pageable pageable) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+        nativeSearchQuery.setPageable(pageable);
+        nativeSearchQuery.setTrackTotalHits(true);
+        return elasticsearchOperations.searchForPage(nativeSearchQuery, documentType).map(page -> page.map(SearchHit::getContent));
+    }
+
+    @Override
+    public <T> Mono<SearchSlice<T>> search(Class<T> documentType, String query, SearchAfterPageable pageable) {
+        NativeSearchQuery nativeSearchQuery = new NativeSearchQuery(queryStringQuery(query));
+        nativeSearchQuery.setPageable(pageable.toQueryPageable());
+        nativeSearchQuery.setTrackTotalHits(true);
+        if (!pageable.isFirst()) {
+            nativeSearchQuery.setSearchAfter(pageable.getSearchAfter());
+        }
+        return elasticsearchOperations
+            .searchForHits(nativeSearchQuery, documentType)
+            .flatMap(hits -> hits.getSearchHits().collectList().map(pageHits -> SearchSlice.of(pageHits, hits.getTotalHits(), pageable)));
+    }
+
+    @Override
+    public <T> Flux<T> search(Class<T> documentType, String query) {
+        return elasticsearchOperations.search(new NativeSearchQuery(queryStringQuery(query)), documentType).map(SearchHit::getContent);
+    }
+
+    @Override
+    public Flux<Aggregation> aggregate(Class<?> documentType, Query query) {
+        return elasticsearchOperations
+            .aggregate(query, documentType)
+            .map(container -> ((ElasticsearchAggregation) container).aggregation());
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<?> documents, String index) {
+        if (documents.isEmpty()) {
+            return Mono.empty();
+        }
+        return elasticsearchOperations.saveAll(documents, IndexCoordinates.of(index)).then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Class<?> documentType, Collection<Long> ids, String index) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        List<String> documentIds = ids.stream().map(String::valueOf).collect(Collectors.toList());
+        return elasticsearchOperations
+            .delete(new NativeSearchQueryBuilder().withIds(documentIds).build(), documentType, IndexCoordinates.of(index))
+            .then();
+    }
+
+    /**
+     * Copies the fields with a single update by query, run by a script reading them from its parameters. The index is
+     * refreshed first, for the documents written by the previous requests to be matched.
+     */
+    @Override
+    public Mono<Void> updateAll(Class<?> documentType, String index, String field, Map<Long, Map<String, Object>> fieldsById) {
+        if (fieldsById.isEmpty()) {
+            return Mono.empty();
+        }
+        Map<String, Object> fields = new HashMap<>();
+        fieldsById.forEach((id, fieldsOfId) -> fields.put(String.valueOf(id), fieldsOfId));
+        UpdateQuery updateQuery = UpdateQuery
+            .builder(new NativeSearchQueryBuilder().withQuery(termsQuery(field, fieldsById.keySet())).build())
+            .withScript(UPDATE_SCRIPT)
+            .withLang("painless")
+            .withParams(Map.of("field", field, "fields", fields))
+            .build();
+        IndexCoordinates indexCoordinates = IndexCoordinates.of(index);
+        return elasticsearchOperations
+            .indexOps(indexCoordinates)
+            .refresh()
+            .then(elasticsearchOperations.updateByQuery(updateQuery, indexCoordinates))
+            .then();
+    }
+
+    @Override
+    public Mono<Void> createIndex(Class<?> documentType, String index) {
+        ReactiveIndexOperations indexOperations = elasticsearchOperations.indexOps(IndexCoordinates.of(index));
+        return Mono
+            .zip(indexOperations.createSettings(documentType), indexOperations.createMapping(documentType))
+            .flatMap(settingsAndMapping -> indexOperations.create(settingsAndMapping.getT1(), settingsAndMapping.getT2()))
+            .then();
+    }
+
+    @Override
+    public Mono<Void> refresh(String index) {
+        return elasticsearchOperations.indexOps(IndexCoordinates.of(index)).refresh();
+    }
+
+    @Override
+    public Mono<Void> moveAlias(String alias, String index) {
+        ReactiveIndexOperations aliasOperations = elasticsearchOperations.indexOps(IndexCoordinates.of(alias));
+        return aliasOperations
+            .exists()
+            .flatMap(exists -> exists ? aliasOperations.getAliasesForIndex(alias).map(Map::keySet) : Mono.just(Set.<String>of()))
+            .flatMap(currentIndices -> {
+                // the name may still be a plain index, as created by the repositories: it is dropped for the alias to take it
+                AliasActions aliasActions = new AliasActions(
+                    new AliasAction.Add(AliasActionParameters.builder().withIndices(index).withAliases(alias).build())
+                );
+                currentIndices
+                    .stream()
+                    .filter(currentIndex -> !currentIndex.equals(index))
+                    .forEach(currentIndex ->
+                        aliasActions.add(new AliasAction.RemoveIndex(AliasActionParameters.builder().withIndices(currentIndex).build()))
+                    );
+                return aliasOperations.alias(aliasActions);
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<Void> deleteIndex(String index) {
+        return elasticsearchOperations.indexOps(IndexCoordinates.of(index)).delete().then();
+    }
+}
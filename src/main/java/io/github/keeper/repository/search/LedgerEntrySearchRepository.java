@@ -0,0 +1,9 @@
+package io.github.keeper.repository.search;
+
+import io.github.keeper.domain.LedgerEntryDocument;
+import org.springframework.data.elasticsearch.repository.ReactiveElasticsearchRepository;
+
+/**
+ * Spring Data Elasticsearch repository for the {@link LedgerEntryDocument} search document.
+ */
+public interface LedgerEntrySearchRepository extends ReactiveElasticsearchRepository<LedgerEntryDocument, Long> {}
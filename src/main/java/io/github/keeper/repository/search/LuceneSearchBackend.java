@@ -0,0 +1,644 @@
+package io.github.keeper.repository.search;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.config.Constants;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.NumberFormat;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.core.KeywordAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.DoublePoint;
+import org.apache.lucene.document.Field.Store;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.SortedNumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.flexible.core.QueryNodeException;
+import org.apache.lucene.queryparser.flexible.standard.StandardQueryParser;
+import org.apache.lucene.queryparser.flexible.standard.config.PointsConfig;
+import org.apache.lucene.search.ControlledRealTimeReopenThread;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.SortedNumericSortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.MMapDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.NumericUtils;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.annotation.Transient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.annotations.FieldType;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@link SearchBackend} of Lucene indices embedded in the application, one memory-mapped directory per physical index, for a
+ * single node deployment or a development machine without an Elasticsearch cluster.
+ * <p>
+ * A document is stored whole as its JSON source, and its fields are indexed from the declared fields of its class: numbers
+ * as points, enums, dates, booleans and the {@link FieldType#Keyword} strings as exact terms, the other strings analyzed as
+ * text. All the values are also indexed into a catch-all field, the default field of the queries, the way the query string
+ * queries of Elasticsearch search all the fields.
+ * <p>
+ * The writes are committed when they return, and become visible to the searches on the next refresh, at most
+ * {@code application.search-index.embedded-refresh-interval} later: like Elasticsearch, the search is near real-time. The
+ * aliases are kept in a file next to the indices. There are no aggregations. The indices are written by the indexer of the
+ * search index outbox, which must be enabled on every instance.
+ */
+@Repository
+@Profile(Constants.SPRING_PROFILE_EMBEDDED_SEARCH)
+public class LuceneSearchBackend implements SearchBackend {
+
+    static final String ID_FIELD = "_id";
+
+    static final String SOURCE_FIELD = "_source";
+
+    static final String ALL_FIELD = "_all";
+
+    private static final String ALIASES_FILE = "aliases.properties";
+
+    private final Logger log = LoggerFactory.getLogger(LuceneSearchBackend.class);
+
+    private final ObjectMapper objectMapper;
+
+    private final Path directory;
+
+    private final Duration refreshInterval;
+
+    private final Properties aliases = new Properties();
+
+    private final Map<String, LuceneIndex> indices = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, DocumentMapping> mappings = new ConcurrentHashMap<>();
+
+    public LuceneSearchBackend(ObjectMapper objectMapper, ApplicationProperties applicationProperties) {
+        // the indices of this instance are written by its own indexer only, they would never be without it
+        if (!applicationProperties.getSearchIndex().isIndexerEnabled()) {
+            throw new IllegalStateException(
+                "The embedded search indices need application.search-index.indexer-enabled to be true on every instance"
+            );
+        }
+        this.objectMapper = objectMapper;
+        this.directory = Path.of(applicationProperties.getSearchIndex().getEmbeddedDirectory()).toAbsolutePath();
+        this.refreshInterval = applicationProperties.getSearchIndex().getEmbeddedRefreshInterval();
+        try {
+            Files.createDirectories(directory);
+            Path aliasesFile = directory.resolve(ALIASES_FILE);
+            if (Files.exists(aliasesFile)) {
+                try (InputStream in = Files.newInputStream(aliasesFile)) {
+                    aliases.load(in);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open the search indices in " + directory, e);
+        }
+        log.info("Serving the searches from the Lucene indices in {}", directory);
+    }
+
+    @Override
+    public String getIndexName(Class<?> documentType) {
+        org.springframework.data.elasticsearch.annotations.Document document = documentType.getAnnotation(
+            org.springframework.data.elasticsearch.annotations.Document.class
+        );
+        if (document == null) {
+            throw new IllegalArgumentException(documentType.getName() + " is not a search document");
+        }
+        return document.indexName();
+    }
+
+    @Override
+    public <T> Mono<Page<T>> search(Class<T> documentType, String query, Pageable pageable) {
+        DocumentMapping mapping = mappingOf(documentType);
+        return call(() -> {
+            Query luceneQuery = mapping.parse(query);
+            Sort sort = mapping.sort(pageable.getSort());
+            int limit = (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize());
+            return withSearcher(
+                getIndexName(documentType),
+                searcher -> {
+                    TopDocs topDocs = sort == null ? searcher.search(luceneQuery, limit) : searcher.search(luceneQuery, limit, sort);
+                    List<T> content = new ArrayList<>();
+                    for (int i = (int) Math.min(pageable.getOffset(), topDocs.scoreDocs.length); i < topDocs.scoreDocs.length; i++) {
+                        content.add(read(searcher, topDocs.scoreDocs[i], documentType));
+                    }
+                    return new PageImpl<>(content, pageable, searcher.count(luceneQuery));
+                }
+            );
+        });
+    }
+
+    @Override
+    public <T> Mono<SearchSlice<T>> search(Class<T> documentType, String query, SearchAfterPageable pageable) {
+        DocumentMapping mapping = mappingOf(documentType);
+        return call(() -> {
+            Query luceneQuery = mapping.parse(query);
+            Sort sort = mapping.sort(pageable.getSort());
+            String index = getIndexName(documentType);
+            return withSearcher(
+                index,
+                searcher -> {
+                    FieldDoc after = pageable.isFirst() ? null : mapping.after(sort, pageable.getSearchAfter(), searcher);
+                    TopDocs topDocs = searcher.searchAfter(after, luceneQuery, pageable.getSize() + 1, sort);
+                    List<SearchHit<T>> hits = new ArrayList<>();
+                    for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                        T content = read(searcher, scoreDoc, documentType);
+                        Object[] sortValues = Arrays.stream(((FieldDoc) scoreDoc).fields).map(DocumentMapping::toSortValue).toArray();
+                        hits.add(new SearchHit<>(index, null, null, scoreDoc.score, sortValues, null, null, null, null, null, content));
+                    }
+                    return SearchSlice.of(hits, searcher.count(luceneQuery), pageable);
+                }
+            );
+        });
+    }
+
+    @Override
+    public <T> Flux<T> search(Class<T> documentType, String query) {
+        DocumentMapping mapping = mappingOf(documentType);
+        return call(() -> {
+                Query luceneQuery = mapping.parse(query);
+                return withSearcher(
+                    getIndexName(documentType),
+                    searcher -> {
+                        TopDocs topDocs = searcher.search(luceneQuery, Math.max(1, searcher.count(luceneQuery)));
+                        List<T> content = new ArrayList<>();
+                        for (ScoreDoc scoreDoc : topDocs.scoreDocs) {
+                            content.add(read(searcher, scoreDoc, documentType));
+                        }
+                        return content;
+                    }
+                );
+            })
+            .flatMapIterable(content -> content);
+    }
+
+    @Override
+    public Flux<Aggregation> aggregate(Class<?> documentType, org.springframework.data.elasticsearch.core.query.Query query) {
+        return Flux.error(new UnsupportedOperationException("The aggregations are only available with the Elasticsearch cluster"));
+    }
+
+    @Override
+    public Mono<Void> saveAll(List<?> documents, String index) {
+        if (documents.isEmpty()) {
+            return Mono.empty();
+        }
+        DocumentMapping mapping = mappingOf(documents.get(0).getClass());
+        return call(() -> {
+                IndexWriter writer = index(index).writer;
+                for (Object document : documents) {
+                    ObjectNode source = objectMapper.valueToTree(document);
+                    writer.updateDocument(idTerm(source.get(SearchAfterPageable.ID_PROPERTY).asLong()), toDocument(source, mapping));
+                }
+                writer.commit();
+                return documents.size();
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<Void> deleteAll(Class<?> documentType, Collection<Long> ids, String index) {
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return call(() -> {
+                IndexWriter writer = index(index).writer;
+                writer.deleteDocuments(ids.stream().map(LuceneSearchBackend::idTerm).toArray(Term[]::new));
+                writer.commit();
+                return ids.size();
+            })
+            .then();
+    }
+
+    /**
+     * Rewrites the documents referencing the entities with the given fields copied into their source. The index is refreshed
+     * first, for the documents written by the previous calls to be matched.
+     */
+    @Override
+    public Mono<Void> updateAll(Class<?> documentType, String index, String field, Map<Long, Map<String, Object>> fieldsById) {
+        if (fieldsById.isEmpty()) {
+            return Mono.empty();
+        }
+        DocumentMapping mapping = mappingOf(documentType);
+        return call(() -> {
+                LuceneIndex luceneIndex = index(index);
+                luceneIndex.searcherManager.maybeRefreshBlocking();
+                Query query = DoublePoint.newSetQuery(field, fieldsById.keySet().stream().mapToDouble(Long::doubleValue).toArray());
+                List<ObjectNode> sources = withSearcher(
+                    index,
+                    searcher -> {
+                        List<ObjectNode> found = new ArrayList<>();
+                        for (ScoreDoc scoreDoc : searcher.search(query, Math.max(1, searcher.count(query))).scoreDocs) {
+                            found.add((ObjectNode) objectMapper.readTree(source(searcher, scoreDoc).utf8ToString()));
+                        }
+                        return found;
+                    }
+                );
+                for (ObjectNode source : sources) {
+                    Map<String, Object> fields = fieldsById.get(source.get(field).asLong());
+                    if (fields != null) {
+                        fields.forEach((name, value) -> source.set(name, objectMapper.valueToTree(value)));
+                        luceneIndex.writer.updateDocument(
+                            idTerm(source.get(SearchAfterPageable.ID_PROPERTY).asLong()),
+                            toDocument(source, mapping)
+                        );
+                    }
+                }
+                luceneIndex.writer.commit();
+                return sources.size();
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<Void> createIndex(Class<?> documentType, String index) {
+        return call(() -> index(index)).then();
+    }
+
+    @Override
+    public Mono<Void> refresh(String index) {
+        return call(() -> {
+                index(index).searcherManager.maybeRefreshBlocking();
+                return index;
+            })
+            .then();
+    }
+
+    /**
+     * Points the alias to the index in the aliases file, replaced atomically, before dropping the index it pointed to.
+     */
+    @Override
+    public Mono<Void> moveAlias(String alias, String index) {
+        return call(() -> {
+                String currentIndex;
+                synchronized (aliases) {
+                    currentIndex = aliases.getProperty(alias, alias);
+                    aliases.setProperty(alias, index);
+                    Path aliasesFile = directory.resolve(ALIASES_FILE);
+                    Path temporaryFile = Files.createTempFile(directory, ALIASES_FILE, ".tmp");
+                    try (OutputStream out = Files.newOutputStream(temporaryFile)) {
+                        aliases.store(out, "Physical index of each alias");
+                    }
+                    Files.move(temporaryFile, aliasesFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                if (!currentIndex.equals(index)) {
+                    drop(currentIndex);
+                }
+                return index;
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<Void> deleteIndex(String index) {
+        return call(() -> {
+                drop(index);
+                return index;
+            })
+            .then();
+    }
+
+    @PreDestroy
+    public void close() {
+        indices.keySet().forEach(this::closeIndex);
+    }
+
+    private DocumentMapping mappingOf(Class<?> documentType) {
+        return mappings.computeIfAbsent(documentType, DocumentMapping::new);
+    }
+
+    /**
+     * @return the open physical index of the given index or alias, created if it does not exist yet.
+     */
+    private LuceneIndex index(String name) {
+        String physicalIndex = aliases.getProperty(name, name);
+        return indices.computeIfAbsent(
+            physicalIndex,
+            key -> {
+                try {
+                    return new LuceneIndex(key, directory.resolve(key), refreshInterval);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not open the search index " + key, e);
+                }
+            }
+        );
+    }
+
+    private void drop(String physicalIndex) throws IOException {
+        closeIndex(physicalIndex);
+        FileSystemUtils.deleteRecursively(directory.resolve(physicalIndex));
+    }
+
+    private void closeIndex(String physicalIndex) {
+        LuceneIndex index = indices.remove(physicalIndex);
+        if (index != null) {
+            try {
+                index.close();
+            } catch (IOException e) {
+                log.warn("Could not close the search index {}: {}", physicalIndex, e.getMessage());
+            }
+        }
+    }
+
+    private <R> R withSearcher(String index, SearcherCallback<R> callback) throws IOException {
+        SearcherManager searcherManager = index(index).searcherManager;
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            return callback.apply(searcher);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    private <T> T read(IndexSearcher searcher, ScoreDoc scoreDoc, Class<T> documentType) throws IOException {
+        BytesRef source = source(searcher, scoreDoc);
+        return objectMapper.readValue(source.bytes, source.offset, source.length, documentType);
+    }
+
+    private static BytesRef source(IndexSearcher searcher, ScoreDoc scoreDoc) throws IOException {
+        return searcher.doc(scoreDoc.doc, Set.of(SOURCE_FIELD)).getBinaryValue(SOURCE_FIELD);
+    }
+
+    private Document toDocument(ObjectNode source, DocumentMapping mapping) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID_FIELD, source.get(SearchAfterPageable.ID_PROPERTY).asText(), Store.NO));
+        document.add(new StoredField(SOURCE_FIELD, new BytesRef(objectMapper.writeValueAsBytes(source))));
+        StringBuilder all = new StringBuilder();
+        mapping.fields.forEach((name, kind) -> {
+            JsonNode value = source.get(name);
+            if (value != null && value.isValueNode() && !value.isNull()) {
+                kind.index(document, name, value);
+                all.append(value.asText()).append(' ');
+            }
+        });
+        document.add(new TextField(ALL_FIELD, all.toString(), Store.NO));
+        return document;
+    }
+
+    private static Term idTerm(long id) {
+        return new Term(ID_FIELD, String.valueOf(id));
+    }
+
+    private static <R> Mono<R> call(Callable<R> task) {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    @FunctionalInterface
+    private interface SearcherCallback<R> {
+        R apply(IndexSearcher searcher) throws IOException;
+    }
+
+    /**
+     * How a field of the documents is indexed and sorted.
+     */
+    enum FieldKind {
+        NUMBER {
+            @Override
+            void index(Document document, String name, JsonNode value) {
+                double number = value.asDouble();
+                document.add(new DoublePoint(name, number));
+                document.add(new SortedNumericDocValuesField(name, NumericUtils.doubleToSortableLong(number)));
+            }
+
+            @Override
+            SortField sortField(String name, boolean reverse) {
+                SortField sortField = new SortedNumericSortField(name, SortField.Type.DOUBLE, reverse);
+                sortField.setMissingValue(reverse ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+                return sortField;
+            }
+        },
+        KEYWORD {
+            @Override
+            void index(Document document, String name, JsonNode value) {
+                document.add(new StringField(name, value.asText(), Store.NO));
+                addSortedValue(document, name, value);
+            }
+        },
+        TEXT {
+            @Override
+            void index(Document document, String name, JsonNode value) {
+                document.add(new TextField(name, value.asText(), Store.NO));
+                addSortedValue(document, name, value);
+            }
+        };
+
+        abstract void index(Document document, String name, JsonNode value);
+
+        SortField sortField(String name, boolean reverse) {
+            SortField sortField = new SortField(name, SortField.Type.STRING, reverse);
+            sortField.setMissingValue(reverse ? SortField.STRING_FIRST : SortField.STRING_LAST);
+            return sortField;
+        }
+
+        private static void addSortedValue(Document document, String name, JsonNode value) {
+            BytesRef bytes = new BytesRef(value.asText());
+            // longer values, which no one sorts on, are left unsorted
+            if (bytes.length <= IndexWriter.MAX_TERM_LENGTH) {
+                document.add(new SortedDocValuesField(name, bytes));
+            }
+        }
+    }
+
+    /**
+     * The indexed fields of a document class, with the analyzer and the numeric fields of the queries on them.
+     */
+    static final class DocumentMapping {
+
+        private final Map<String, FieldKind> fields = new LinkedHashMap<>();
+
+        private final Analyzer analyzer;
+
+        private final Map<String, PointsConfig> pointsConfig = new HashMap<>();
+
+        DocumentMapping(Class<?> documentType) {
+            for (Class<?> type = documentType; type != null && type != Object.class; type = type.getSuperclass()) {
+                for (Field field : type.getDeclaredFields()) {
+                    FieldKind kind = kindOf(field);
+                    if (kind != null && !Modifier.isStatic(field.getModifiers()) && !field.isAnnotationPresent(Transient.class)) {
+                        fields.putIfAbsent(field.getName(), kind);
+                    }
+                }
+            }
+            Map<String, Analyzer> fieldAnalyzers = new HashMap<>();
+            fields.forEach((name, kind) -> {
+                if (kind == FieldKind.NUMBER) {
+                    pointsConfig.put(name, new PointsConfig(NumberFormat.getInstance(Locale.ROOT), Double.class));
+                } else if (kind == FieldKind.KEYWORD) {
+                    fieldAnalyzers.put(name, new KeywordAnalyzer());
+                }
+            });
+            this.analyzer = new PerFieldAnalyzerWrapper(new StandardAnalyzer(), fieldAnalyzers);
+        }
+
+        private static FieldKind kindOf(Field field) {
+            Class<?> type = field.getType();
+            if (Number.class.isAssignableFrom(type) || (type.isPrimitive() && type != boolean.class && type != char.class)) {
+                return FieldKind.NUMBER;
+            }
+            if (type == String.class) {
+                org.springframework.data.elasticsearch.annotations.Field annotation = field.getAnnotation(
+                    org.springframework.data.elasticsearch.annotations.Field.class
+                );
+                return annotation != null && annotation.type() == FieldType.Keyword ? FieldKind.KEYWORD : FieldKind.TEXT;
+            }
+            if (
+                type.isEnum() ||
+                type == Boolean.class ||
+                type == boolean.class ||
+                type == UUID.class ||
+                TemporalAccessor.class.isAssignableFrom(type)
+            ) {
+                return FieldKind.KEYWORD;
+            }
+            return null;
+        }
+
+        /**
+         * Parses a query string, searching the catch-all field unless the query names its fields.
+         *
+         * @throws IllegalArgumentException if the query is not valid.
+         */
+        Query parse(String query) {
+            if (!StringUtils.hasText(query) || "*".equals(query.trim())) {
+                return new MatchAllDocsQuery();
+            }
+            StandardQueryParser parser = new StandardQueryParser(analyzer);
+            parser.setPointsConfigMap(pointsConfig);
+            parser.setAllowLeadingWildcard(true);
+            try {
+                return parser.parse(query, ALL_FIELD);
+            } catch (QueryNodeException e) {
+                throw new IllegalArgumentException("Invalid search query: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * @return the Lucene sort of the given sort, or null for the relevance order.
+         * @throws IllegalArgumentException if a property is not an indexed field.
+         */
+        Sort sort(org.springframework.data.domain.Sort sort) {
+            if (sort.isUnsorted()) {
+                return null;
+            }
+            List<SortField> sortFields = new ArrayList<>();
+            for (org.springframework.data.domain.Sort.Order order : sort) {
+                FieldKind kind = fields.get(order.getProperty());
+                if (kind == null) {
+                    throw new IllegalArgumentException("Cannot sort on " + order.getProperty());
+                }
+                sortFields.add(kind.sortField(order.getProperty(), order.isDescending()));
+            }
+            return new Sort(sortFields.toArray(new SortField[0]));
+        }
+
+        /**
+         * @return the position after the hit with the given sort values, decoded from an after token.
+         */
+        FieldDoc after(Sort sort, List<Object> searchAfter, IndexSearcher searcher) {
+            SortField[] sortFields = sort.getSort();
+            Object[] values = new Object[sortFields.length];
+            for (int i = 0; i < sortFields.length; i++) {
+                Object value = searchAfter.get(i);
+                if (sortFields[i].getType() == SortField.Type.STRING) {
+                    values[i] = value == null ? null : new BytesRef(value.toString());
+                } else {
+                    values[i] = value instanceof Number ? ((Number) value).doubleValue() : Double.parseDouble(String.valueOf(value));
+                }
+            }
+            // the ids end the sort, the only hit with these values is the last one of the previous page: the position is
+            // after it whatever its document number
+            return new FieldDoc(searcher.getIndexReader().maxDoc() - 1, Float.NaN, values);
+        }
+
+        static Object toSortValue(Object value) {
+            return value instanceof BytesRef ? ((BytesRef) value).utf8ToString() : value;
+        }
+    }
+
+    /**
+     * A physical index: its writer, and the searchers refreshed in the background.
+     */
+    private static final class LuceneIndex implements Closeable {
+
+        private final Directory directory;
+
+        private final IndexWriter writer;
+
+        private final SearcherManager searcherManager;
+
+        private final ControlledRealTimeReopenThread<IndexSearcher> reopenThread;
+
+        LuceneIndex(String name, Path path, Duration refreshInterval) throws IOException {
+            this.directory = new MMapDirectory(path);
+            IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer());
+            config.setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND);
+            this.writer = new IndexWriter(directory, config);
+            // an empty index is committed, for it to exist on disk once created
+            writer.commit();
+            this.searcherManager = new SearcherManager(writer, null);
+            double maxStaleSeconds = refreshInterval.toMillis() / 1000.0;
+            this.reopenThread =
+                new ControlledRealTimeReopenThread<>(writer, searcherManager, maxStaleSeconds, Math.min(0.025, maxStaleSeconds));
+            reopenThread.setName("search-index-refresh-" + name);
+            reopenThread.setDaemon(true);
+            reopenThread.start();
+        }
+
+        @Override
+        public void close() throws IOException {
+            reopenThread.close();
+            searcherManager.close();
+            writer.close();
+            directory.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package io.github.keeper.repository.search;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.keeper.repository.InvalidKeysetException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StringUtils;
+
+/**
+ * Page request of the {@code search_after} pagination mode of the searches, the Elasticsearch counterpart of
+ * {@link io.github.keeper.repository.KeysetPageable}.
+ * <p>
+ * A page is addressed by the sort values of the last hit of the previous page, carried between requests as an opaque
+ * {@code after} token. The id is always appended to the sort as tie-breaker, so that the order is total; unlike
+ * {@code from}/{@code size} paging, the cost of a page does not depend on its depth and there is no result window limit.
+ */
+public final class SearchAfterPageable {
+
+    public static final String ID_PROPERTY = "id";
+
+    private static final ObjectMapper TOKEN_MAPPER = new ObjectMapper();
+
+    private final int size;
+
+    private final Sort sort;
+
+    private final List<Object> searchAfter;
+
+    private SearchAfterPageable(int size, Sort sort, List<Object> searchAfter) {
+        this.size = size;
+        this.sort = sort;
+        this.searchAfter = searchAfter;
+    }
+
+    /**
+     * Creates the page request following the given token.
+     * @param after the token of the previous page, or an empty value for the first page.
+     * @param size the maximum number of hits of the page.
+     * @param sort the requested sort, the id is appended to it unless it is already part of it.
+     * @return the page request.
+     * @throws InvalidKeysetException if the token is malformed or was issued for another sort.
+     */
+    public static SearchAfterPageable of(String after, int size, Sort sort) {
+        if (size < 1) {
+            throw new InvalidKeysetException("Page size must be positive");
+        }
+        Sort effectiveSort = sort.getOrderFor(ID_PROPERTY) != null ? sort : sort.and(Sort.by(ID_PROPERTY));
+        if (!StringUtils.hasText(after)) {
+            return new SearchAfterPageable(size, effectiveSort, Collections.emptyList());
+        }
+        Token token = decode(after);
+        if (!sortKey(effectiveSort).equals(token.sort) || token.after == null || token.after.size() != token.sort.size()) {
+            throw new InvalidKeysetException("The after token does not match the requested sort");
+        }
+        return new SearchAfterPageable(size, effectiveSort, token.after);
+    }
+
+    /**
+     * Creates the page request following the given token, taking size and sort from the given page request.
+     */
+    public static SearchAfterPageable of(String after, Pageable pageable) {
+        return of(after, pageable.getPageSize(), pageable.getSort());
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the sort of the page, always ending with the id.
+     */
+    public Sort getSort() {
+        return sort;
+    }
+
+    /**
+     * @return {@code true} if this is the first page, which has no lower bound.
+     */
+    public boolean isFirst() {
+        return searchAfter.isEmpty();
+    }
+
+    /**
+     * @return the sort values of the last hit of the previous page, in sort order.
+     */
+    public List<Object> getSearchAfter() {
+        return Collections.unmodifiableList(searchAfter);
+    }
+
+    /**
+     * @return the {@link Pageable} of the search query: the first page, one hit larger than the page for the presence of a
+     * following page to be known.
+     */
+    public Pageable toQueryPageable() {
+        return PageRequest.of(0, size + 1, sort);
+    }
+
+    /**
+     * Encodes the sort values of a hit into the token addressing the hits that follow it.
+     * @param sortValues the sort values of the hit the next page starts after.
+     * @return the opaque token.
+     */
+    public String nextToken(List<Object> sortValues) {
+        Token token = new Token();
+        token.sort = sortKey(sort);
+        token.after = new ArrayList<>(sortValues);
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(TOKEN_MAPPER.writeValueAsBytes(token));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not encode the after token", e);
+        }
+    }
+
+    private static List<String> sortKey(Sort sort) {
+        List<String> key = new ArrayList<>();
+        sort.forEach(order -> key.add(order.getProperty() + ":" + order.getDirection()));
+        return key;
+    }
+
+    private static Token decode(String token) {
+        try {
+            Token decoded = TOKEN_MAPPER.readValue(new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8), Token.class);
+            if (decoded.sort == null) {
+                throw new InvalidKeysetException("Malformed after token");
+            }
+            return decoded;
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            throw new InvalidKeysetException("Malformed after token");
+        }
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchAfterPageable{" +
+            "size=" + size +
+            ", sort=" + sort +
+            ", searchAfter=" + searchAfter +
+            "}";
+    }
+
+    /**
+     * The content of a token: the sort it was issued for, and the sort values to search after.
+     */
+    private static final class Token {
+
+        public List<String> sort;
+
+        public List<Object> after;
+    }
+}
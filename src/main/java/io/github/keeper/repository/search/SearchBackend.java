@@ -0,0 +1,104 @@
+package io.github.keeper.repository.search;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.core.query.Query;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * The search engine the documents are indexed into and searched from: the Elasticsearch cluster, or the Lucene indices
+ * embedded in the application when the {@code embedded-search} profile is active.
+ * <p>
+ * The searches take the query string syntax of Lucene, which both backends understand. An index is addressed by its name,
+ * which may be an alias of the physical index holding the documents, as set by a full reindex.
+ */
+public interface SearchBackend {
+    /**
+     * @return the name of the index of the given document class.
+     */
+    String getIndexName(Class<?> documentType);
+
+    /**
+     * Searches a page of documents, together with the number of hits of the whole query.
+     */
+    <T> Mono<Page<T>> search(Class<T> documentType, String query, Pageable pageable);
+
+    /**
+     * Searches a page of documents in the {@code search_after} pagination mode.
+     */
+    <T> Mono<SearchSlice<T>> search(Class<T> documentType, String query, SearchAfterPageable pageable);
+
+    /**
+     * Searches all the documents matching the query.
+     */
+    <T> Flux<T> search(Class<T> documentType, String query);
+
+    /**
+     * Runs the aggregations of the given query.
+     *
+     * @throws UnsupportedOperationException (as error signal) if the backend has no aggregations.
+     */
+    Flux<Aggregation> aggregate(Class<?> documentType, Query query);
+
+    /**
+     * Writes the given documents, replacing the documents with the same ids.
+     */
+    Mono<Void> saveAll(List<?> documents, String index);
+
+    /**
+     * Removes the documents with the given ids, if present.
+     */
+    Mono<Void> deleteAll(Class<?> documentType, Collection<Long> ids, String index);
+
+    /**
+     * Copies the given fields into the documents referencing any of the given entities, without reading them back from the
+     * database. The documents referencing none of them are left unchanged.
+     *
+     * @param field the numeric field of the documents referencing the entities.
+     * @param fieldsById the fields to copy, by the id of their entity.
+     */
+    Mono<Void> updateAll(Class<?> documentType, String index, String field, Map<Long, Map<String, Object>> fieldsById);
+
+    /**
+     * Creates an empty physical index for the documents of the given class.
+     */
+    Mono<Void> createIndex(Class<?> documentType, String index);
+
+    /**
+     * Makes the documents written so far visible to the searches.
+     */
+    Mono<Void> refresh(String index);
+
+    /**
+     * Points the alias to the given physical index, dropping the index it pointed to, or the physical index with the name of
+     * the alias, atomically for the searches.
+     */
+    Mono<Void> moveAlias(String alias, String index);
+
+    /**
+     * Drops the given physical index.
+     */
+    Mono<Void> deleteIndex(String index);
+
+    /**
+     * Writes the given document into the index of its class, and refreshes the index for the document to be searchable right
+     * away.
+     */
+    default Mono<Void> save(Object document) {
+        String index = getIndexName(document.getClass());
+        return saveAll(List.of(document), index).then(refresh(index));
+    }
+
+    /**
+     * Removes the document with the given id from the index of its class, and refreshes the index.
+     */
+    default Mono<Void> delete(Class<?> documentType, Long id) {
+        String index = getIndexName(documentType);
+        return deleteAll(documentType, List.of(id), index).then(refresh(index));
+    }
+}
@@ -0,0 +1,73 @@
+package io.github.keeper.repository.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.elasticsearch.core.SearchHit;
+
+/**
+ * A page of the {@code search_after} pagination mode, with the number of hits of the whole query and the token of the
+ * following page, if there is one.
+ * @param <T> the type of the content.
+ */
+public final class SearchSlice<T> {
+
+    private final List<T> content;
+
+    private final long totalHits;
+
+    private final String nextToken;
+
+    private SearchSlice(List<T> content, long totalHits, String nextToken) {
+        this.content = content;
+        this.totalHits = totalHits;
+        this.nextToken = nextToken;
+    }
+
+    /**
+     * Creates the slice from the hits fetched for the given page request, which fetches one hit more than the page size: its
+     * presence tells that there is a next page.
+     * @param hits the fetched hits, in sort order.
+     * @param totalHits the number of hits of the query.
+     * @param pageable the page request the hits were fetched for.
+     * @return the slice.
+     */
+    public static <E> SearchSlice<E> of(List<SearchHit<E>> hits, long totalHits, SearchAfterPageable pageable) {
+        List<SearchHit<E>> pageHits = hits.size() <= pageable.getSize() ? hits : hits.subList(0, pageable.getSize());
+        List<E> content = pageHits.stream().map(SearchHit::getContent).collect(Collectors.toCollection(ArrayList::new));
+        String nextToken = hits.size() <= pageable.getSize()
+            ? null
+            : pageable.nextToken(pageHits.get(pageHits.size() - 1).getSortValues());
+        return new SearchSlice<>(content, totalHits, nextToken);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return the number of hits of the query, over all the pages.
+     */
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * @return the after token of the next page, or null if this is the last page.
+     */
+    public String getNextToken() {
+        return nextToken;
+    }
+
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+
+    /**
+     * Converts the content, keeping the number of hits and the next token.
+     */
+    public <U> SearchSlice<U> map(Function<? super T, ? extends U> converter) {
+        return new SearchSlice<>(content.stream().<U>map(converter).collect(Collectors.toList()), totalHits, nextToken);
+    }
+}
@@ -1,4 +1,4 @@
 /**
- * Spring Data Elasticsearch repositories.
+ * Search backends, and the Spring Data Elasticsearch repositories.
  */
 package io.github.keeper.repository.search;
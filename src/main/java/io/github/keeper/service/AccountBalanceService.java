@@ -0,0 +1,60 @@
+package io.github.keeper.service;
+
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.service.dto.AccountBalanceDTO;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for maintaining the {@link io.github.keeper.domain.AccountBalance} projection.
+ * <p>
+ * The update methods join the caller's transaction, so a balance changes atomically with the entry it derives from.
+ */
+public interface AccountBalanceService {
+    /**
+     * Adds a persisted transactionEntry to the balance of its account.
+     *
+     * @param transactionEntry the entry, as it is stored in the ledger.
+     * @return a Mono to signal the update.
+     */
+    Mono<Void> applyPosting(TransactionEntry transactionEntry);
+
+    /**
+     * Adds persisted transactionEntries to the balances of their accounts, with one update per account.
+     *
+     * @param transactionEntries the entries, as they are stored in the ledger.
+     * @return a Mono to signal the update.
+     */
+    Mono<Void> applyPostings(List<TransactionEntry> transactionEntries);
+
+    /**
+     * Removes a transactionEntry from the balance of its account, before it is changed or deleted.
+     *
+     * @param transactionEntry the entry, as it was stored in the ledger.
+     * @return a Mono to signal the update.
+     */
+    Mono<Void> applyReversal(TransactionEntry transactionEntry);
+
+    /**
+     * Get the balance of the "id" transactionAccount.
+     *
+     * @param transactionAccountId the id of the transactionAccount.
+     * @return the balance, or an empty Mono if the account has no entries yet.
+     */
+    Mono<AccountBalanceDTO> findOne(Long transactionAccountId);
+
+    /**
+     * Get the sum of the balances of the "id" transactionAccount and all of its descendants.
+     *
+     * @param transactionAccountId the id of the root of the subtree.
+     * @return the total balance, zero if no account of the subtree has entries yet.
+     */
+    Mono<AccountBalanceDTO> findSubtreeTotal(Long transactionAccountId);
+
+    /**
+     * Re-derive every balance from the ledger.
+     *
+     * @return the number of balances written.
+     */
+    Mono<Integer> rebuild();
+}
@@ -1,6 +1,13 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import java.util.List;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -17,6 +24,16 @@ public interface AccountTransactionService {
      */
     Mono<AccountTransactionDTO> save(AccountTransactionDTO accountTransactionDTO);
 
+    /**
+     * Save a batch of accountTransactions together with their transactionEntries, in a single database transaction.
+     * Invalid accountTransactions, including those referencing a missing transactionAccount or reusing a reference number,
+     * are reported as rejected, the others are persisted.
+     *
+     * @param accountTransactionDTOs the entities to save, each of them carrying its transactionEntries.
+     * @return the outcome for every entity, in the order of the batch.
+     */
+    Mono<List<BatchItemResultDTO>> saveBatch(List<AccountTransactionDTO> accountTransactionDTOs);
+
     /**
      * Updates a accountTransaction.
      *
@@ -42,17 +59,38 @@ public interface AccountTransactionService {
     Flux<AccountTransactionDTO> findAll(Pageable pageable);
 
     /**
-     * Returns the number of accountTransactions available.
-     * @return the number of entities in the database.
+     * Get a keyset page of the accountTransactions, following the sort key the page request was issued for.
      *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
      */
-    Mono<Long> countAll();
+    Mono<KeysetSlice<AccountTransactionDTO>> findAll(KeysetPageable pageable);
+
+    /**
+     * Get a page of the accountTransactions with their transactionEntries, together with the total number of
+     * accountTransactions. The entries of the whole page are read by a single query.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    Mono<Page<AccountTransactionDTO>> findPageWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of accountTransactions available in search repository.
+     * Get a keyset page of the accountTransactions with their transactionEntries. The entries of the whole page are read by a
+     * single query.
      *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
      */
-    Mono<Long> searchCount();
+    Mono<KeysetSlice<AccountTransactionDTO>> findAllWithEagerRelationships(KeysetPageable pageable);
+
+    /**
+     * Returns the number of accountTransactions available, as reported with their pages.
+     * @return the number of entities in the database, or its planner estimate for a table of at least
+     * {@code application.pagination.approximate-count-threshold} rows.
+     *
+     */
+    Mono<Long> countAll();
 
     /**
      * Get the "id" accountTransaction.
@@ -62,6 +100,14 @@ public interface AccountTransactionService {
      */
     Mono<AccountTransactionDTO> findOne(Long id);
 
+    /**
+     * Get the "id" accountTransaction with its transactionEntries.
+     *
+     * @param id the id of the entity.
+     * @return the entity.
+     */
+    Mono<AccountTransactionDTO> findOneWithEagerRelationships(Long id);
+
     /**
      * Delete the "id" accountTransaction.
      *
@@ -76,7 +122,16 @@ public interface AccountTransactionService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<AccountTransactionDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the accountTransaction corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<AccountTransactionDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<AccountTransactionDTO>> search(String query, SearchAfterPageable pageable);
 }
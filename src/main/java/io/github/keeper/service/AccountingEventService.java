@@ -1,6 +1,11 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.AccountingEventDTO;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +46,14 @@ public interface AccountingEventService {
      */
     Flux<AccountingEventDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset page of the accountingEvents, following the sort key the page request was issued for.
+     *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
+     */
+    Mono<KeysetSlice<AccountingEventDTO>> findAll(KeysetPageable pageable);
+
     /**
      * Get all the accountingEvents with eager load of many-to-many relationships.
      *
@@ -50,18 +63,13 @@ public interface AccountingEventService {
     Flux<AccountingEventDTO> findAllWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of accountingEvents available.
-     * @return the number of entities in the database.
+     * Returns the number of accountingEvents available, as reported with their pages.
+     * @return the number of entities in the database, or its planner estimate for a table of at least
+     * {@code application.pagination.approximate-count-threshold} rows.
      *
      */
     Mono<Long> countAll();
 
-    /**
-     * Returns the number of accountingEvents available in search repository.
-     *
-     */
-    Mono<Long> searchCount();
-
     /**
      * Get the "id" accountingEvent.
      *
@@ -84,7 +92,16 @@ public interface AccountingEventService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<AccountingEventDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the accountingEvent corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<AccountingEventDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<AccountingEventDTO>> search(String query, SearchAfterPageable pageable);
 }
@@ -1,6 +1,13 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.BalanceSheetItemTypeDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +48,14 @@ public interface BalanceSheetItemTypeService {
      */
     Flux<BalanceSheetItemTypeDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset page of the balanceSheetItemTypes, following the sort key the page request was issued for.
+     *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
+     */
+    Mono<KeysetSlice<BalanceSheetItemTypeDTO>> findAll(KeysetPageable pageable);
+
     /**
      * Get all the balanceSheetItemTypes with eager load of many-to-many relationships.
      *
@@ -50,18 +65,13 @@ public interface BalanceSheetItemTypeService {
     Flux<BalanceSheetItemTypeDTO> findAllWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of balanceSheetItemTypes available.
-     * @return the number of entities in the database.
+     * Returns the number of balanceSheetItemTypes available, as reported with their pages.
+     * @return the number of entities in the database, or its planner estimate for a table of at least
+     * {@code application.pagination.approximate-count-threshold} rows.
      *
      */
     Mono<Long> countAll();
 
-    /**
-     * Returns the number of balanceSheetItemTypes available in search repository.
-     *
-     */
-    Mono<Long> searchCount();
-
     /**
      * Get the "id" balanceSheetItemType.
      *
@@ -70,6 +80,24 @@ public interface BalanceSheetItemTypeService {
      */
     Mono<BalanceSheetItemTypeDTO> findOne(Long id);
 
+    /**
+     * Get the "id" balanceSheetItemType and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @return the list of entities.
+     */
+    Flux<BalanceSheetItemTypeDTO> findSubtree(Long id);
+
+    /**
+     * Sum the amounts of the balanceSheetItemValues effective on a date, over the "id" balanceSheetItemType and all of its
+     * descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @param effectiveDate the effective date of the values.
+     * @return the total amount.
+     */
+    Mono<BigDecimal> sumItemAmountsOfSubtree(Long id, LocalDate effectiveDate);
+
     /**
      * Delete the "id" balanceSheetItemType.
      *
@@ -84,7 +112,16 @@ public interface BalanceSheetItemTypeService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<BalanceSheetItemTypeDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the balanceSheetItemType corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<BalanceSheetItemTypeDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<BalanceSheetItemTypeDTO>> search(String query, SearchAfterPageable pageable);
 }
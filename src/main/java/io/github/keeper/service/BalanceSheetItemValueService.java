@@ -1,6 +1,11 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.BalanceSheetItemValueDTO;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +46,14 @@ public interface BalanceSheetItemValueService {
      */
     Flux<BalanceSheetItemValueDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset page of the balanceSheetItemValues, following the sort key the page request was issued for.
+     *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
+     */
+    Mono<KeysetSlice<BalanceSheetItemValueDTO>> findAll(KeysetPageable pageable);
+
     /**
      * Get all the balanceSheetItemValues with eager load of many-to-many relationships.
      *
@@ -50,18 +63,13 @@ public interface BalanceSheetItemValueService {
     Flux<BalanceSheetItemValueDTO> findAllWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of balanceSheetItemValues available.
-     * @return the number of entities in the database.
+     * Returns the number of balanceSheetItemValues available, as reported with their pages.
+     * @return the number of entities in the database, or its planner estimate for a table of at least
+     * {@code application.pagination.approximate-count-threshold} rows.
      *
      */
     Mono<Long> countAll();
 
-    /**
-     * Returns the number of balanceSheetItemValues available in search repository.
-     *
-     */
-    Mono<Long> searchCount();
-
     /**
      * Get the "id" balanceSheetItemValue.
      *
@@ -84,7 +92,16 @@ public interface BalanceSheetItemValueService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<BalanceSheetItemValueDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the balanceSheetItemValue corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<BalanceSheetItemValueDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<BalanceSheetItemValueDTO>> search(String query, SearchAfterPageable pageable);
 }
@@ -0,0 +1,66 @@
+package io.github.keeper.service;
+
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.service.dto.AccountBalanceDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for the balances of the accounts as of past dates.
+ * <p>
+ * The balances are checkpointed at the end of every period, see
+ * {@link io.github.keeper.config.ApplicationProperties.BalanceSnapshot}; a balance as of a date is the latest checkpoint on or
+ * before it plus the entries dated after the checkpoint. The services writing entries or journals drop the checkpoints their
+ * changes affect, within their own transaction; the job takes them again on its next run.
+ */
+public interface BalanceSnapshotService {
+    /**
+     * Checkpoint every period completed since the latest checkpoint, or since the first transaction when there is none.
+     *
+     * @return the number of periods checkpointed.
+     */
+    Mono<Long> takeSnapshots();
+
+    /**
+     * Drop every checkpoint, then take them again from the first transaction on.
+     *
+     * @return the number of periods checkpointed.
+     */
+    Mono<Long> rebuild();
+
+    /**
+     * Get the balance of the "id" transactionAccount as of the given date.
+     *
+     * @param transactionAccountId the id of the transactionAccount.
+     * @param asOf the last transaction date included.
+     * @return the balance, or an empty Mono if the account has no entries up to that date.
+     */
+    Mono<AccountBalanceDTO> findOneAsOf(Long transactionAccountId, LocalDate asOf);
+
+    /**
+     * Get the balances of all the transactionAccounts with entries up to the given date.
+     *
+     * @param asOf the last transaction date included.
+     * @return the balances, by account id.
+     */
+    Flux<AccountBalanceDTO> findAllAsOf(LocalDate asOf);
+
+    /**
+     * Drop the checkpoints affected by a change of the given entries, from the earliest transaction date of their journals on.
+     * Entries that are deleted or without journal are not in any checkpoint.
+     *
+     * @param transactionEntries the entries as they were before, or as they are after the change.
+     * @return a Mono to signal the deletion.
+     */
+    Mono<Void> invalidate(Collection<TransactionEntry> transactionEntries);
+
+    /**
+     * Drop the checkpoints of the periods ending on or after the given date.
+     *
+     * @param transactionDate the earliest transaction date changed, or null to drop every checkpoint.
+     * @return a Mono to signal the deletion.
+     */
+    Mono<Void> invalidateFrom(LocalDate transactionDate);
+}
@@ -0,0 +1,18 @@
+package io.github.keeper.service;
+
+/**
+ * Thrown when a batch of journals cannot be posted as a whole: it could not be read, or some of its journals are invalid.
+ * Posting it again would fail the same way.
+ */
+public class InvalidJournalBatchException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidJournalBatchException(String message) {
+        super(message);
+    }
+
+    public InvalidJournalBatchException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.keeper.service;
+
+import io.github.keeper.service.dto.LedgerAnalyticsDTO;
+import java.time.LocalDate;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for the ledger analytics, aggregated by Elasticsearch over the search indices.
+ * <p>
+ * The results are cached per query for a short time and are not invalidated by writes; the indices themselves follow the
+ * database with the delay of the search index outbox.
+ */
+public interface LedgerAnalyticsService {
+    /**
+     * Get the totals by account and by month of the ledger entries matching the query, and the activity of the dealers, over
+     * the given period.
+     *
+     * @param query a query on the ledger entries, e.g. {@code wasPosted:true}, or null for all of them.
+     * @param fromDate the first transaction date included.
+     * @param toDate the last transaction date included.
+     * @return the analytics.
+     */
+    Mono<LedgerAnalyticsDTO> getLedgerAnalytics(String query, LocalDate fromDate, LocalDate toDate);
+}
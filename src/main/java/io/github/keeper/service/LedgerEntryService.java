@@ -0,0 +1,33 @@
+package io.github.keeper.service;
+
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.dto.LedgerEntryDTO;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for searching the ledger entries, the {@link io.github.keeper.domain.LedgerEntryDocument} search
+ * documents.
+ */
+public interface LedgerEntryService {
+    /**
+     * Search for the ledgerEntry corresponding to the query.
+     *
+     * @param query the query of the search.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entries, with the number of hits of the query.
+     */
+    Mono<Page<LedgerEntryDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the ledgerEntry corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entries, with the number of hits of the query.
+     */
+    Mono<SearchSlice<LedgerEntryDTO>> search(String query, SearchAfterPageable pageable);
+}
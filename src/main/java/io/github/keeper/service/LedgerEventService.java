@@ -0,0 +1,39 @@
+package io.github.keeper.service;
+
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.service.dto.LedgerEventDTO;
+import java.util.Collection;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface publishing the changes of the ledger on the ledger events topic.
+ * <p>
+ * The events are taken from the entities when the change is made, and sent once the current transaction commits, so that
+ * nothing is published for a transaction rolled back. They are keyed by account, which keeps the events of an account in
+ * order on a single partition. A change made without transaction is published right away.
+ */
+public interface LedgerEventService {
+    /**
+     * Publishes the changes of the given entries, keyed by their account.
+     */
+    Mono<Void> publishTransactionEntries(LedgerEventDTO.Change change, Collection<TransactionEntry> transactionEntries);
+
+    /**
+     * Publishes the changes of the given journals once per account their entries post to, reading the entries.
+     * <p>
+     * On a deletion, to be called before the entries are deleted.
+     */
+    Mono<Void> publishAccountTransactions(LedgerEventDTO.Change change, Collection<AccountTransaction> accountTransactions);
+
+    /**
+     * Publishes the changes of the given journals once per account the given entries post to.
+     *
+     * @param transactionEntries all the entries of the journals.
+     */
+    Mono<Void> publishAccountTransactions(
+        LedgerEventDTO.Change change,
+        Collection<AccountTransaction> accountTransactions,
+        Collection<TransactionEntry> transactionEntries
+    );
+}
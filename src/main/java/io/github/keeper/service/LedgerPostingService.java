@@ -0,0 +1,28 @@
+package io.github.keeper.service;
+
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import java.util.List;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for posting the batches of journals pushed by the upstream systems on the ledger postings topic.
+ * <p>
+ * A record of the topic holds a JSON array of journals, each of them carrying its entries as in
+ * {@code POST /api/account-transactions/_batch}. The record is posted as a whole, in a single database transaction, and its
+ * offset is committed once that transaction is. A record that cannot be posted as a whole is sent to the dead-letter topic.
+ * <p>
+ * Each journal must carry a reference number: a record delivered again finds its journals posted already, and is
+ * acknowledged without posting them twice.
+ */
+public interface LedgerPostingService {
+    /**
+     * Post a batch of journals as a whole: either all of them are saved, or none is.
+     *
+     * @param accountTransactionDTOs the journals, each of them carrying its transactionEntries.
+     * @return the outcome for every journal, in the order of the batch, all of them rejected if the batch was posted already.
+     * @throws InvalidJournalBatchException (as error signal) if a journal is invalid, has no reference number, or its debits
+     * do not equal its credits.
+     */
+    Mono<List<BatchItemResultDTO>> post(List<AccountTransactionDTO> accountTransactionDTOs);
+}
@@ -0,0 +1,45 @@
+package io.github.keeper.service;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Service Interface sharing the messages read from Kafka with any number of live feed clients.
+ * <p>
+ * Every client receives the latest messages first, then the new ones as they are read. A client reading slower than the
+ * messages come has its own buffer, and its own policy for what to drop once that buffer is full: it never holds back the
+ * other clients nor the Kafka consumer.
+ */
+public interface LiveFeedService {
+    /**
+     * What a client reading too slowly loses once its buffer is full.
+     */
+    enum Overflow {
+        /**
+         * The new messages are dropped, the buffered ones are kept.
+         */
+        DROP,
+        /**
+         * The oldest buffered messages are dropped, the client catches up on the latest ones.
+         */
+        LATEST,
+    }
+
+    /**
+     * Shares a message with the clients; safe to call from several consumer threads.
+     *
+     * @param topic the topic the message was read from, if known.
+     * @param key the key of the message, the account it is about, if any.
+     * @param payload the message.
+     */
+    void emit(String topic, String key, String payload);
+
+    /**
+     * Subscribes a client to the feed.
+     *
+     * @param topic only the messages read from this topic, all of them if {@code null}.
+     * @param key only the messages of this key, all of them if {@code null}.
+     * @param overflow what the client loses when reading too slowly.
+     * @return the latest messages and then the new ones, as long as the client is subscribed.
+     */
+    Flux<String> subscribe(String topic, String key, Overflow overflow);
+}
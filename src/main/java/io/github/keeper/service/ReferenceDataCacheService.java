@@ -0,0 +1,56 @@
+package io.github.keeper.service;
+
+import java.util.List;
+import java.util.function.Supplier;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for the in-memory cache of the reference data: the currencies, account types, event types, dealer types
+ * and the chart of accounts.
+ * <p>
+ * The reads of an entity are cached under a key naming the read and its arguments, for a bounded time and up to a bounded
+ * number of reads per entity. The services writing an entity evict all of its cached reads when their transaction commits,
+ * on this instance and, through the cache invalidation topic, on every other instance. The cached reads of the services
+ * run without a transaction of their own, so that a hit takes no database connection.
+ */
+public interface ReferenceDataCacheService {
+    /**
+     * Get a cached read, running it on a miss. Empty results and errors are not cached.
+     *
+     * @param entityType the entity read.
+     * @param key the read and its arguments, e.g. {@code "findOne:" + id}.
+     * @param loader the read.
+     * @return the result of the read.
+     */
+    <T> Mono<T> get(Class<?> entityType, String key, Supplier<Mono<T>> loader);
+
+    /**
+     * Get a cached read of several rows, running it on a miss. The rows are held as a list, the read must be bounded.
+     *
+     * @param entityType the entity read.
+     * @param key the read and its arguments.
+     * @param loader the read.
+     * @return the rows of the read.
+     */
+    default <T> Flux<T> getAll(Class<?> entityType, String key, Supplier<Flux<T>> loader) {
+        return this.<List<T>>get(entityType, key, () -> loader.get().collectList()).flatMapIterable(rows -> rows);
+    }
+
+    /**
+     * Whether the reads are cached, for the callers choosing between the cached read of a whole table and a narrower read of
+     * the rows they need.
+     *
+     * @return {@code false} if {@code application.reference-cache.max-size} disables the cache.
+     */
+    boolean isEnabled();
+
+    /**
+     * Evict all the cached reads of an entity, and of the entities embedding it, on every instance once the current
+     * transaction commits, or right away outside of a transaction.
+     *
+     * @param entityType the entity written.
+     * @return a Mono to signal that the eviction is registered.
+     */
+    Mono<Void> evict(Class<?> entityType);
+}
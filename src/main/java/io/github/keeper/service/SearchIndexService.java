@@ -0,0 +1,67 @@
+package io.github.keeper.service;
+
+import io.github.keeper.service.dto.SearchReindexJobDTO;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for keeping the Elasticsearch indices in sync with the database.
+ * <p>
+ * The entity services record every write in the outbox, within the transaction of the write; a background indexer drains
+ * the outbox into Elasticsearch with bulk requests. A write therefore does not wait for Elasticsearch, and an outage of the
+ * cluster delays the search results instead of failing the write.
+ */
+public interface SearchIndexService {
+    /**
+     * Record a save or a delete of the given entity, for the documents made of it to be updated or removed.
+     *
+     * @param entityType the class of the entity, an indexed domain class.
+     * @param id the id of the entity.
+     * @return a Mono to signal that the event is written.
+     */
+    Mono<Void> enqueue(Class<?> entityType, Long id);
+
+    /**
+     * Record a save or a delete of each of the given entities, with a single statement.
+     *
+     * @param entityType the class of the entities, an indexed domain class.
+     * @param ids the ids of the entities.
+     * @return a Mono to signal that the events are written.
+     */
+    Mono<Void> enqueueAll(Class<?> entityType, Collection<Long> ids);
+
+    /**
+     * Index the events of the outbox that are due, batch after batch, until there is none left or a batch fails.
+     *
+     * @return the number of events indexed.
+     */
+    Mono<Long> drain();
+
+    /**
+     * Start a full reindex of the given index: the rows are copied from the database into a new index, then the alias of the
+     * index is moved to the new index in a single step. The searches are served by the old index until then.
+     *
+     * @param index the name of the index, e.g. {@code transactionentry}.
+     * @return the reindex, started; it runs in the background.
+     * @throws IllegalArgumentException (as error signal) if there is no search index of that name.
+     * @throws IllegalStateException (as error signal) if a reindex of the given index is already running.
+     */
+    Mono<SearchReindexJobDTO> reindex(String index);
+
+    /**
+     * Get the progress of the reindexes run by this instance since it started, the last one of each index.
+     *
+     * @return the list of reindexes.
+     */
+    List<SearchReindexJobDTO> findAllReindexes();
+
+    /**
+     * Get the progress of the last reindex of the given index run by this instance.
+     *
+     * @param index the name of the index.
+     * @return the reindex, if any.
+     */
+    Optional<SearchReindexJobDTO> findReindex(String index);
+}
@@ -1,6 +1,12 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.TransactionAccountDTO;
+import java.util.Collection;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +47,22 @@ public interface TransactionAccountService {
      */
     Flux<TransactionAccountDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset page of the transactionAccounts, following the sort key the page request was issued for.
+     *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
+     */
+    Mono<KeysetSlice<TransactionAccountDTO>> findAll(KeysetPageable pageable);
+
+    /**
+     * Get a page of the transactionAccounts, together with the total number of transactionAccounts.
+     *
+     * @param pageable the pagination information.
+     * @return the page of entities.
+     */
+    Mono<Page<TransactionAccountDTO>> findPage(Pageable pageable);
+
     /**
      * Get all the transactionAccounts with eager load of many-to-many relationships.
      *
@@ -56,12 +78,6 @@ public interface TransactionAccountService {
      */
     Mono<Long> countAll();
 
-    /**
-     * Returns the number of transactionAccounts available in search repository.
-     *
-     */
-    Mono<Long> searchCount();
-
     /**
      * Get the "id" transactionAccount.
      *
@@ -70,6 +86,22 @@ public interface TransactionAccountService {
      */
     Mono<TransactionAccountDTO> findOne(Long id);
 
+    /**
+     * Get the "id" transactionAccount and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @return the list of entities.
+     */
+    Flux<TransactionAccountDTO> findSubtree(Long id);
+
+    /**
+     * Set the names of the given references to transactionAccounts, from the cached names of the whole chart of accounts.
+     *
+     * @param transactionAccountDTOs the references, which only carry their id.
+     * @return a Mono to signal that the names are set.
+     */
+    Mono<Void> setAccountNames(Collection<TransactionAccountDTO> transactionAccountDTOs);
+
     /**
      * Delete the "id" transactionAccount.
      *
@@ -84,7 +116,16 @@ public interface TransactionAccountService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<TransactionAccountDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the transactionAccount corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<TransactionAccountDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<TransactionAccountDTO>> search(String query, SearchAfterPageable pageable);
 }
@@ -1,6 +1,11 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.TransactionCurrencyDTO;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -42,17 +47,27 @@ public interface TransactionCurrencyService {
     Flux<TransactionCurrencyDTO> findAll(Pageable pageable);
 
     /**
-     * Returns the number of transactionCurrencies available.
-     * @return the number of entities in the database.
+     * Get a keyset page of the transactionCurrencies, following the sort key the page request was issued for.
      *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
      */
-    Mono<Long> countAll();
+    Mono<KeysetSlice<TransactionCurrencyDTO>> findAll(KeysetPageable pageable);
 
     /**
-     * Returns the number of transactionCurrencies available in search repository.
+     * Get a page of the transactionCurrencies, together with the total number of transactionCurrencies.
      *
+     * @param pageable the pagination information.
+     * @return the page of entities.
      */
-    Mono<Long> searchCount();
+    Mono<Page<TransactionCurrencyDTO>> findPage(Pageable pageable);
+
+    /**
+     * Returns the number of transactionCurrencies available.
+     * @return the number of entities in the database.
+     *
+     */
+    Mono<Long> countAll();
 
     /**
      * Get the "id" transactionCurrency.
@@ -76,7 +91,16 @@ public interface TransactionCurrencyService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<TransactionCurrencyDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the transactionCurrency corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<TransactionCurrencyDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<TransactionCurrencyDTO>> search(String query, SearchAfterPageable pageable);
 }
@@ -0,0 +1,20 @@
+package io.github.keeper.service;
+
+import io.github.keeper.service.dto.ImportReportDTO;
+import io.github.keeper.service.dto.ImportRowDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for importing {@link io.github.keeper.domain.TransactionEntry} rows in bulk.
+ */
+public interface TransactionEntryImportService {
+    /**
+     * Imports the given rows, as they are read. The valid rows are inserted in chunks, each chunk in its own transaction
+     * together with the balance updates of its entries, and indexed for search once committed; the invalid ones are reported.
+     *
+     * @param rows the rows read from the import file.
+     * @return the report of the import, once all the rows are processed.
+     */
+    Mono<ImportReportDTO> importEntries(Flux<ImportRowDTO> rows);
+}
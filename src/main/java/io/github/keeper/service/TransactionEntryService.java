@@ -1,6 +1,12 @@
 package io.github.keeper.service;
 
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.dto.TransactionEntryDTO;
+import java.time.LocalDate;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -41,6 +47,14 @@ public interface TransactionEntryService {
      */
     Flux<TransactionEntryDTO> findAll(Pageable pageable);
 
+    /**
+     * Get a keyset page of the transactionEntries, following the sort key the page request was issued for.
+     *
+     * @param pageable the keyset pagination information.
+     * @return the entities of the page, with the token of the next page.
+     */
+    Mono<KeysetSlice<TransactionEntryDTO>> findAll(KeysetPageable pageable);
+
     /**
      * Get all the transactionEntries with eager load of many-to-many relationships.
      *
@@ -50,17 +64,23 @@ public interface TransactionEntryService {
     Flux<TransactionEntryDTO> findAllWithEagerRelationships(Pageable pageable);
 
     /**
-     * Returns the number of transactionEntries available.
-     * @return the number of entities in the database.
+     * Stream the transactionEntries matching the given filters, in id order, for export.
      *
+     * @param transactionAccountId the account of the entries, or null for all accounts.
+     * @param fromDate the first transaction date of the entries, or null.
+     * @param toDate the last transaction date of the entries, or null.
+     * @param wasPosted the posting status of the entries, or null for both.
+     * @return the entities, with the transaction date of their journal.
      */
-    Mono<Long> countAll();
+    Flux<TransactionEntryDTO> export(Long transactionAccountId, LocalDate fromDate, LocalDate toDate, Boolean wasPosted);
 
     /**
-     * Returns the number of transactionEntries available in search repository.
+     * Returns the number of transactionEntries available, as reported with their pages.
+     * @return the number of entities in the database, or its planner estimate for a table of at least
+     * {@code application.pagination.approximate-count-threshold} rows.
      *
      */
-    Mono<Long> searchCount();
+    Mono<Long> countAll();
 
     /**
      * Get the "id" transactionEntry.
@@ -84,7 +104,16 @@ public interface TransactionEntryService {
      * @param query the query of the search.
      *
      * @param pageable the pagination information.
-     * @return the list of entities.
+     * @return the page of entities, with the number of hits of the query.
+     */
+    Mono<Page<TransactionEntryDTO>> search(String query, Pageable pageable);
+
+    /**
+     * Search for the transactionEntry corresponding to the query, after the position of the given cursor.
+     *
+     * @param query the query of the search.
+     * @param pageable the search after page information.
+     * @return the slice of entities, with the number of hits of the query.
      */
-    Flux<TransactionEntryDTO> search(String query, Pageable pageable);
+    Mono<SearchSlice<TransactionEntryDTO>> search(String query, SearchAfterPageable pageable);
 }
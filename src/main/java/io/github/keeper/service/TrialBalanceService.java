@@ -0,0 +1,41 @@
+package io.github.keeper.service;
+
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.service.dto.TrialBalanceDTO;
+import java.time.LocalDate;
+import java.util.Collection;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Interface for the trial balance of the ledger.
+ * <p>
+ * The trial balance is aggregated by the database and cached per as-of date. The services writing entries, journals or
+ * accounts invalidate the dates their changes affect, on every instance; the invalidation takes effect when their transaction
+ * completes, so that a trial balance computed concurrently with an uncommitted change is not kept.
+ */
+public interface TrialBalanceService {
+    /**
+     * Get the trial balance of the posted, non-deleted entries dated up to the given date.
+     *
+     * @param asOf the last transaction date included.
+     * @return the trial balance.
+     */
+    Mono<TrialBalanceDTO> getTrialBalance(LocalDate asOf);
+
+    /**
+     * Invalidate the trial balances affected by a change of the given entries, from the earliest transaction date of their
+     * journals on. Entries that are not posted, deleted or without journal do not affect any trial balance.
+     *
+     * @param transactionEntries the entries as they were before, or as they are after the change.
+     * @return a Mono to signal that the invalidation is registered.
+     */
+    Mono<Void> invalidate(Collection<TransactionEntry> transactionEntries);
+
+    /**
+     * Invalidate the trial balances as of the given date and later.
+     *
+     * @param transactionDate the earliest transaction date changed, or null to invalidate every trial balance.
+     * @return a Mono to signal that the invalidation is registered.
+     */
+    Mono<Void> invalidateFrom(LocalDate transactionDate);
+}
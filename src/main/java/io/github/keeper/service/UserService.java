@@ -5,7 +5,7 @@ import io.github.keeper.domain.Authority;
 import io.github.keeper.domain.User;
 import io.github.keeper.repository.AuthorityRepository;
 import io.github.keeper.repository.UserRepository;
-import io.github.keeper.repository.search.UserSearchRepository;
+import io.github.keeper.repository.search.SearchBackend;
 import io.github.keeper.security.AuthoritiesConstants;
 import io.github.keeper.security.SecurityUtils;
 import io.github.keeper.service.dto.AdminUserDTO;
@@ -39,19 +39,19 @@ public class UserService {
 
     private final PasswordEncoder passwordEncoder;
 
-    private final UserSearchRepository userSearchRepository;
+    private final SearchBackend searchBackend;
 
     private final AuthorityRepository authorityRepository;
 
     public UserService(
         UserRepository userRepository,
         PasswordEncoder passwordEncoder,
-        UserSearchRepository userSearchRepository,
+        SearchBackend searchBackend,
         AuthorityRepository authorityRepository
     ) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
-        this.userSearchRepository = userSearchRepository;
+        this.searchBackend = searchBackend;
         this.authorityRepository = authorityRepository;
     }
 
@@ -66,7 +66,7 @@ public class UserService {
                 user.setActivationKey(null);
                 return saveUser(user);
             })
-            .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+            .flatMap(user -> searchBackend.save(user).thenReturn(user))
             .doOnNext(user -> log.debug("Activated user: {}", user));
     }
 
@@ -149,7 +149,7 @@ public class UserService {
                     .thenReturn(newUser)
                     .doOnNext(user -> user.setAuthorities(authorities))
                     .flatMap(this::saveUser)
-                    .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+                    .flatMap(user -> searchBackend.save(user).thenReturn(user))
                     .doOnNext(user -> log.debug("Created Information for User: {}", user));
             });
     }
@@ -184,7 +184,7 @@ public class UserService {
                 return newUser;
             })
             .flatMap(this::saveUser)
-            .flatMap(user1 -> userSearchRepository.save(user1).thenReturn(user1))
+            .flatMap(user1 -> searchBackend.save(user1).thenReturn(user1))
             .doOnNext(user1 -> log.debug("Created Information for User: {}", user1));
     }
 
@@ -218,7 +218,7 @@ public class UserService {
                     .then(Mono.just(user));
             })
             .flatMap(this::saveUser)
-            .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+            .flatMap(user -> searchBackend.save(user).thenReturn(user))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .map(AdminUserDTO::new);
     }
@@ -228,7 +228,7 @@ public class UserService {
         return userRepository
             .findOneByLogin(login)
             .flatMap(user -> userRepository.delete(user).thenReturn(user))
-            .flatMap(user -> userSearchRepository.delete(user).thenReturn(user))
+            .flatMap(user -> searchBackend.delete(User.class, user.getId()).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user))
             .then();
     }
@@ -258,7 +258,7 @@ public class UserService {
                 user.setImageUrl(imageUrl);
                 return saveUser(user);
             })
-            .flatMap(user -> userSearchRepository.save(user).thenReturn(user))
+            .flatMap(user -> searchBackend.save(user).thenReturn(user))
             .doOnNext(user -> log.debug("Changed Information for User: {}", user))
             .then();
     }
@@ -348,7 +348,7 @@ public class UserService {
                 LocalDateTime.ofInstant(Instant.now().minus(3, ChronoUnit.DAYS), ZoneOffset.UTC)
             )
             .flatMap(user -> userRepository.delete(user).thenReturn(user))
-            .flatMap(user -> userSearchRepository.delete(user).thenReturn(user))
+            .flatMap(user -> searchBackend.delete(User.class, user.getId()).thenReturn(user))
             .doOnNext(user -> log.debug("Deleted User: {}", user));
     }
 
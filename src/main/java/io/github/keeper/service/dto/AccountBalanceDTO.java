@@ -0,0 +1,95 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.keeper.domain.AccountBalance} projection.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class AccountBalanceDTO implements Serializable {
+
+    private Long transactionAccountId;
+
+    private BigDecimal debitTotal;
+
+    private BigDecimal creditTotal;
+
+    private BigDecimal netBalance;
+
+    private Long lastEntryId;
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    public BigDecimal getNetBalance() {
+        return netBalance;
+    }
+
+    public void setNetBalance(BigDecimal netBalance) {
+        this.netBalance = netBalance;
+    }
+
+    public Long getLastEntryId() {
+        return lastEntryId;
+    }
+
+    public void setLastEntryId(Long lastEntryId) {
+        this.lastEntryId = lastEntryId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AccountBalanceDTO)) {
+            return false;
+        }
+
+        AccountBalanceDTO accountBalanceDTO = (AccountBalanceDTO) o;
+        if (this.transactionAccountId == null) {
+            return false;
+        }
+        return Objects.equals(this.transactionAccountId, accountBalanceDTO.transactionAccountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.transactionAccountId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountBalanceDTO{" +
+            "transactionAccountId=" + getTransactionAccountId() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            ", netBalance=" + getNetBalance() +
+            ", lastEntryId=" + getLastEntryId() +
+            "}";
+    }
+}
@@ -0,0 +1,94 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * The totals of the entries of an account, as aggregated by the ledger analytics.
+ */
+public class AccountTotalDTO implements Serializable {
+
+    private Long transactionAccountId;
+
+    private String accountNumber;
+
+    private String accountName;
+
+    private String currencyCode;
+
+    private long entryCount;
+
+    private BigDecimal debitTotal;
+
+    private BigDecimal creditTotal;
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "AccountTotalDTO{" +
+            "transactionAccountId=" + getTransactionAccountId() +
+            ", accountNumber='" + getAccountNumber() + "'" +
+            ", accountName='" + getAccountName() + "'" +
+            ", currencyCode='" + getCurrencyCode() + "'" +
+            ", entryCount=" + getEntryCount() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            "}";
+    }
+}
@@ -2,7 +2,9 @@ package io.github.keeper.service.dto;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Objects;
+import javax.validation.Valid;
 import javax.validation.constraints.*;
 
 /**
@@ -28,6 +30,9 @@ public class AccountTransactionDTO implements Serializable {
 
     private Boolean wasApproved;
 
+    @Valid
+    private List<TransactionEntryDTO> transactionEntries;
+
     public Long getId() {
         return id;
     }
@@ -92,6 +97,14 @@ public class AccountTransactionDTO implements Serializable {
         this.wasApproved = wasApproved;
     }
 
+    public List<TransactionEntryDTO> getTransactionEntries() {
+        return transactionEntries;
+    }
+
+    public void setTransactionEntries(List<TransactionEntryDTO> transactionEntries) {
+        this.transactionEntries = transactionEntries;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -0,0 +1,95 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of a single item of a batch request, reported at the position the item had in the request.
+ */
+public class BatchItemResultDTO implements Serializable {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+    }
+
+    private int index;
+
+    private Status status;
+
+    private Long id;
+
+    private List<Long> transactionEntryIds = new ArrayList<>();
+
+    private List<String> errors = new ArrayList<>();
+
+    public static BatchItemResultDTO created(int index, Long id, List<Long> transactionEntryIds) {
+        BatchItemResultDTO result = new BatchItemResultDTO();
+        result.setIndex(index);
+        result.setStatus(Status.CREATED);
+        result.setId(id);
+        result.setTransactionEntryIds(transactionEntryIds);
+        return result;
+    }
+
+    public static BatchItemResultDTO rejected(int index, List<String> errors) {
+        BatchItemResultDTO result = new BatchItemResultDTO();
+        result.setIndex(index);
+        result.setStatus(Status.REJECTED);
+        result.setErrors(errors);
+        return result;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<Long> getTransactionEntryIds() {
+        return transactionEntryIds;
+    }
+
+    public void setTransactionEntryIds(List<Long> transactionEntryIds) {
+        this.transactionEntryIds = transactionEntryIds;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "BatchItemResultDTO{" +
+            "index=" + getIndex() +
+            ", status='" + getStatus() + "'" +
+            ", id=" + getId() +
+            ", transactionEntryIds=" + getTransactionEntryIds() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
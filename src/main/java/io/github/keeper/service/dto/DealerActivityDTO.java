@@ -0,0 +1,61 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * The accounting events of a dealer, as aggregated by the ledger analytics.
+ */
+public class DealerActivityDTO implements Serializable {
+
+    private Long dealerId;
+
+    private long eventCount;
+
+    private LocalDate firstEventDate;
+
+    private LocalDate lastEventDate;
+
+    public Long getDealerId() {
+        return dealerId;
+    }
+
+    public void setDealerId(Long dealerId) {
+        this.dealerId = dealerId;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public void setEventCount(long eventCount) {
+        this.eventCount = eventCount;
+    }
+
+    public LocalDate getFirstEventDate() {
+        return firstEventDate;
+    }
+
+    public void setFirstEventDate(LocalDate firstEventDate) {
+        this.firstEventDate = firstEventDate;
+    }
+
+    public LocalDate getLastEventDate() {
+        return lastEventDate;
+    }
+
+    public void setLastEventDate(LocalDate lastEventDate) {
+        this.lastEventDate = lastEventDate;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "DealerActivityDTO{" +
+            "dealerId=" + getDealerId() +
+            ", eventCount=" + getEventCount() +
+            ", firstEventDate='" + getFirstEventDate() + "'" +
+            ", lastEventDate='" + getLastEventDate() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,85 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The outcome of an import: how many rows were read, imported and rejected, and why the first rejected rows were rejected.
+ */
+public class ImportReportDTO implements Serializable {
+
+    /**
+     * Upper bound on the rejected rows reported individually, the count covers all of them.
+     */
+    public static final int MAX_REPORTED_REJECTIONS = 1000;
+
+    private long rowsRead;
+
+    private long rowsImported;
+
+    private long rowsRejected;
+
+    private List<BatchItemResultDTO> rejectedRows = new ArrayList<>();
+
+    /**
+     * Adds the counts and the rejected rows of the given report to this one.
+     *
+     * @param other the report of another part of the import.
+     * @return this report.
+     */
+    public ImportReportDTO merge(ImportReportDTO other) {
+        rowsRead += other.rowsRead;
+        rowsImported += other.rowsImported;
+        rowsRejected += other.rowsRejected;
+        for (BatchItemResultDTO rejectedRow : other.rejectedRows) {
+            if (rejectedRows.size() >= MAX_REPORTED_REJECTIONS) {
+                break;
+            }
+            rejectedRows.add(rejectedRow);
+        }
+        return this;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public void setRowsRead(long rowsRead) {
+        this.rowsRead = rowsRead;
+    }
+
+    public long getRowsImported() {
+        return rowsImported;
+    }
+
+    public void setRowsImported(long rowsImported) {
+        this.rowsImported = rowsImported;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public List<BatchItemResultDTO> getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(List<BatchItemResultDTO> rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportReportDTO{" +
+            "rowsRead=" + getRowsRead() +
+            ", rowsImported=" + getRowsImported() +
+            ", rowsRejected=" + getRowsRejected() +
+            "}";
+    }
+}
@@ -0,0 +1,68 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A row read from an import file: the entry it describes, or the errors that prevented reading it.
+ */
+public class ImportRowDTO implements Serializable {
+
+    private long row;
+
+    private TransactionEntryDTO transactionEntry;
+
+    private List<String> errors = new ArrayList<>();
+
+    public static ImportRowDTO of(long row, TransactionEntryDTO transactionEntry) {
+        ImportRowDTO importRow = new ImportRowDTO();
+        importRow.setRow(row);
+        importRow.setTransactionEntry(transactionEntry);
+        return importRow;
+    }
+
+    public static ImportRowDTO unreadable(long row, List<String> errors) {
+        ImportRowDTO importRow = new ImportRowDTO();
+        importRow.setRow(row);
+        importRow.setErrors(errors);
+        return importRow;
+    }
+
+    /**
+     * @return the number of the row in the file, counting from 1 and not counting a header.
+     */
+    public long getRow() {
+        return row;
+    }
+
+    public void setRow(long row) {
+        this.row = row;
+    }
+
+    public TransactionEntryDTO getTransactionEntry() {
+        return transactionEntry;
+    }
+
+    public void setTransactionEntry(TransactionEntryDTO transactionEntry) {
+        this.transactionEntry = transactionEntry;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ImportRowDTO{" +
+            "row=" + getRow() +
+            ", transactionEntry=" + getTransactionEntry() +
+            ", errors=" + getErrors() +
+            "}";
+    }
+}
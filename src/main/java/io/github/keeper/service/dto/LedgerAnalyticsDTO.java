@@ -0,0 +1,75 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The ledger analytics of a dashboard: the totals by account and by month of the entries matching a query, and the
+ * activity of the dealers, over a period of transaction dates.
+ */
+public class LedgerAnalyticsDTO implements Serializable {
+
+    private LocalDate fromDate;
+
+    private LocalDate toDate;
+
+    private List<AccountTotalDTO> accountTotals = new ArrayList<>();
+
+    private List<MonthlyVolumeDTO> monthlyVolumes = new ArrayList<>();
+
+    private List<DealerActivityDTO> dealerActivities = new ArrayList<>();
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    public List<AccountTotalDTO> getAccountTotals() {
+        return accountTotals;
+    }
+
+    public void setAccountTotals(List<AccountTotalDTO> accountTotals) {
+        this.accountTotals = accountTotals;
+    }
+
+    public List<MonthlyVolumeDTO> getMonthlyVolumes() {
+        return monthlyVolumes;
+    }
+
+    public void setMonthlyVolumes(List<MonthlyVolumeDTO> monthlyVolumes) {
+        this.monthlyVolumes = monthlyVolumes;
+    }
+
+    public List<DealerActivityDTO> getDealerActivities() {
+        return dealerActivities;
+    }
+
+    public void setDealerActivities(List<DealerActivityDTO> dealerActivities) {
+        this.dealerActivities = dealerActivities;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LedgerAnalyticsDTO{" +
+            "fromDate='" + getFromDate() + "'" +
+            ", toDate='" + getToDate() + "'" +
+            ", accountTotals=" + getAccountTotals() +
+            ", monthlyVolumes=" + getMonthlyVolumes() +
+            ", dealerActivities=" + getDealerActivities() +
+            "}";
+    }
+}
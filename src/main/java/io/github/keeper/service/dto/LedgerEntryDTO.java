@@ -0,0 +1,219 @@
+package io.github.keeper.service.dto;
+
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * A DTO for the {@link io.github.keeper.domain.LedgerEntryDocument} search document: a TransactionEntry with the fields of its
+ * account, of its transaction and of its currency.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class LedgerEntryDTO implements Serializable {
+
+    private Long id;
+
+    private BigDecimal entryAmount;
+
+    private TransactionEntryTypes transactionEntryType;
+
+    private String description;
+
+    private Boolean wasProposed;
+
+    private Boolean wasPosted;
+
+    private Boolean wasDeleted;
+
+    private Boolean wasApproved;
+
+    private Long transactionAccountId;
+
+    private String accountName;
+
+    private String accountNumber;
+
+    private Long accountTransactionId;
+
+    private LocalDate transactionDate;
+
+    private String referenceNumber;
+
+    private Long transactionCurrencyId;
+
+    private String currencyCode;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public BigDecimal getEntryAmount() {
+        return entryAmount;
+    }
+
+    public void setEntryAmount(BigDecimal entryAmount) {
+        this.entryAmount = entryAmount;
+    }
+
+    public TransactionEntryTypes getTransactionEntryType() {
+        return transactionEntryType;
+    }
+
+    public void setTransactionEntryType(TransactionEntryTypes transactionEntryType) {
+        this.transactionEntryType = transactionEntryType;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public Boolean getWasProposed() {
+        return wasProposed;
+    }
+
+    public void setWasProposed(Boolean wasProposed) {
+        this.wasProposed = wasProposed;
+    }
+
+    public Boolean getWasPosted() {
+        return wasPosted;
+    }
+
+    public void setWasPosted(Boolean wasPosted) {
+        this.wasPosted = wasPosted;
+    }
+
+    public Boolean getWasDeleted() {
+        return wasDeleted;
+    }
+
+    public void setWasDeleted(Boolean wasDeleted) {
+        this.wasDeleted = wasDeleted;
+    }
+
+    public Boolean getWasApproved() {
+        return wasApproved;
+    }
+
+    public void setWasApproved(Boolean wasApproved) {
+        this.wasApproved = wasApproved;
+    }
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public Long getAccountTransactionId() {
+        return accountTransactionId;
+    }
+
+    public void setAccountTransactionId(Long accountTransactionId) {
+        this.accountTransactionId = accountTransactionId;
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDate transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public String getReferenceNumber() {
+        return referenceNumber;
+    }
+
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public Long getTransactionCurrencyId() {
+        return transactionCurrencyId;
+    }
+
+    public void setTransactionCurrencyId(Long transactionCurrencyId) {
+        this.transactionCurrencyId = transactionCurrencyId;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LedgerEntryDTO)) {
+            return false;
+        }
+
+        LedgerEntryDTO ledgerEntryDTO = (LedgerEntryDTO) o;
+        if (this.id == null) {
+            return false;
+        }
+        return Objects.equals(this.id, ledgerEntryDTO.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.id);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LedgerEntryDTO{" +
+            "id=" + getId() +
+            ", entryAmount=" + getEntryAmount() +
+            ", transactionEntryType='" + getTransactionEntryType() + "'" +
+            ", description='" + getDescription() + "'" +
+            ", wasProposed='" + getWasProposed() + "'" +
+            ", wasPosted='" + getWasPosted() + "'" +
+            ", wasDeleted='" + getWasDeleted() + "'" +
+            ", wasApproved='" + getWasApproved() + "'" +
+            ", transactionAccountId=" + getTransactionAccountId() +
+            ", accountName='" + getAccountName() + "'" +
+            ", accountNumber='" + getAccountNumber() + "'" +
+            ", accountTransactionId=" + getAccountTransactionId() +
+            ", transactionDate='" + getTransactionDate() + "'" +
+            ", referenceNumber='" + getReferenceNumber() + "'" +
+            ", transactionCurrencyId=" + getTransactionCurrencyId() +
+            ", currencyCode='" + getCurrencyCode() + "'" +
+            "}";
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A committed change of a {@link io.github.keeper.domain.TransactionEntry} or an
+ * {@link io.github.keeper.domain.AccountTransaction}, as published on the ledger events topic.
+ * <p>
+ * The event is keyed by the account it posts to: the account of an entry, and each of the accounts the entries of a journal
+ * post to, a journal change being published once per account. The state after the change is only set on creations and
+ * updates.
+ */
+public class LedgerEventDTO implements Serializable {
+
+    public enum Change {
+        CREATED,
+        UPDATED,
+        DELETED,
+    }
+
+    public enum EntityType {
+        TRANSACTION_ENTRY,
+        ACCOUNT_TRANSACTION,
+    }
+
+    private Change change;
+
+    private EntityType entityType;
+
+    private Long entityId;
+
+    private Long transactionAccountId;
+
+    private Instant timestamp;
+
+    private TransactionEntryDTO transactionEntry;
+
+    private AccountTransactionDTO accountTransaction;
+
+    public static LedgerEventDTO of(Change change, TransactionEntryDTO transactionEntry, Long transactionAccountId, Instant timestamp) {
+        LedgerEventDTO event = new LedgerEventDTO();
+        event.setChange(change);
+        event.setEntityType(EntityType.TRANSACTION_ENTRY);
+        event.setEntityId(transactionEntry.getId());
+        event.setTransactionAccountId(transactionAccountId);
+        event.setTimestamp(timestamp);
+        if (change != Change.DELETED) {
+            event.setTransactionEntry(transactionEntry);
+        }
+        return event;
+    }
+
+    public static LedgerEventDTO of(Change change, AccountTransactionDTO accountTransaction, Long transactionAccountId, Instant timestamp) {
+        LedgerEventDTO event = new LedgerEventDTO();
+        event.setChange(change);
+        event.setEntityType(EntityType.ACCOUNT_TRANSACTION);
+        event.setEntityId(accountTransaction.getId());
+        event.setTransactionAccountId(transactionAccountId);
+        event.setTimestamp(timestamp);
+        if (change != Change.DELETED) {
+            event.setAccountTransaction(accountTransaction);
+        }
+        return event;
+    }
+
+    public Change getChange() {
+        return change;
+    }
+
+    public void setChange(Change change) {
+        this.change = change;
+    }
+
+    public EntityType getEntityType() {
+        return entityType;
+    }
+
+    public void setEntityType(EntityType entityType) {
+        this.entityType = entityType;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public void setEntityId(Long entityId) {
+        this.entityId = entityId;
+    }
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public Instant getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(Instant timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    public TransactionEntryDTO getTransactionEntry() {
+        return transactionEntry;
+    }
+
+    public void setTransactionEntry(TransactionEntryDTO transactionEntry) {
+        this.transactionEntry = transactionEntry;
+    }
+
+    public AccountTransactionDTO getAccountTransaction() {
+        return accountTransaction;
+    }
+
+    public void setAccountTransaction(AccountTransactionDTO accountTransaction) {
+        this.accountTransaction = accountTransaction;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "LedgerEventDTO{" +
+            "change=" + getChange() +
+            ", entityType=" + getEntityType() +
+            ", entityId=" + getEntityId() +
+            ", transactionAccountId=" + getTransactionAccountId() +
+            ", timestamp='" + getTimestamp() + "'" +
+            "}";
+    }
+}
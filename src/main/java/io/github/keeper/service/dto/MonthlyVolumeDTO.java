@@ -0,0 +1,73 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * The volume of the entries of a month in a currency, as aggregated by the ledger analytics.
+ */
+public class MonthlyVolumeDTO implements Serializable {
+
+    private LocalDate month;
+
+    private String currencyCode;
+
+    private long entryCount;
+
+    private BigDecimal debitTotal;
+
+    private BigDecimal creditTotal;
+
+    public LocalDate getMonth() {
+        return month;
+    }
+
+    public void setMonth(LocalDate month) {
+        this.month = month;
+    }
+
+    public String getCurrencyCode() {
+        return currencyCode;
+    }
+
+    public void setCurrencyCode(String currencyCode) {
+        this.currencyCode = currencyCode;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "MonthlyVolumeDTO{" +
+            "month='" + getMonth() + "'" +
+            ", currencyCode='" + getCurrencyCode() + "'" +
+            ", entryCount=" + getEntryCount() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            "}";
+    }
+}
@@ -0,0 +1,157 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO for the progress of a full reindex of a search index.
+ */
+public class SearchReindexJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The stages of a reindex: the rows are copied into the new index, then the alias is moved to it.
+     */
+    public enum Status {
+        LOADING,
+        SWAPPING,
+        COMPLETED,
+        FAILED,
+    }
+
+    private String index;
+
+    private String targetIndex;
+
+    private Status status;
+
+    private long totalRows;
+
+    private long indexedRows;
+
+    private Instant startedAt;
+
+    private Instant finishedAt;
+
+    private double rowsPerSecond;
+
+    private Long etaSeconds;
+
+    private String error;
+
+    /**
+     * @return the name of the index, the alias the searches go through.
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    public void setIndex(String index) {
+        this.index = index;
+    }
+
+    /**
+     * @return the new index being loaded, which the alias points to once the reindex is completed.
+     */
+    public String getTargetIndex() {
+        return targetIndex;
+    }
+
+    public void setTargetIndex(String targetIndex) {
+        this.targetIndex = targetIndex;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    /**
+     * @return the number of rows of the entity when the reindex started.
+     */
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getIndexedRows() {
+        return indexedRows;
+    }
+
+    public void setIndexedRows(long indexedRows) {
+        this.indexedRows = indexedRows;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(Instant startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(Instant finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    /**
+     * @return the average number of rows indexed per second since the start.
+     */
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    /**
+     * @return the estimated number of seconds until the rows are all indexed, null if not known or not loading.
+     */
+    public Long getEtaSeconds() {
+        return etaSeconds;
+    }
+
+    public void setEtaSeconds(Long etaSeconds) {
+        this.etaSeconds = etaSeconds;
+    }
+
+    /**
+     * @return the cause of the failure of a failed reindex.
+     */
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "SearchReindexJobDTO{" +
+            "index='" + getIndex() + "'" +
+            ", targetIndex='" + getTargetIndex() + "'" +
+            ", status='" + getStatus() + "'" +
+            ", totalRows=" + getTotalRows() +
+            ", indexedRows=" + getIndexedRows() +
+            ", startedAt='" + getStartedAt() + "'" +
+            ", finishedAt='" + getFinishedAt() + "'" +
+            ", rowsPerSecond=" + getRowsPerSecond() +
+            ", etaSeconds=" + getEtaSeconds() +
+            ", error='" + getError() + "'" +
+            "}";
+    }
+}
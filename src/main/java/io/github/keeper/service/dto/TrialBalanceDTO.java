@@ -0,0 +1,77 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The trial balance of the ledger as of a date: the posted totals of every account with entries, and of their ancestors.
+ */
+public class TrialBalanceDTO implements Serializable {
+
+    private LocalDate asOf;
+
+    private BigDecimal debitTotal = BigDecimal.ZERO;
+
+    private BigDecimal creditTotal = BigDecimal.ZERO;
+
+    private List<TrialBalanceLineDTO> lines = new ArrayList<>();
+
+    public LocalDate getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDate asOf) {
+        this.asOf = asOf;
+    }
+
+    /**
+     * @return the sum of the debits posted to all accounts, each entry counted once.
+     */
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    /**
+     * @return the sum of the credits posted to all accounts, each entry counted once.
+     */
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    /**
+     * @return {@code true} if the debits and the credits of the ledger are equal.
+     */
+    public boolean isBalanced() {
+        return debitTotal.compareTo(creditTotal) == 0;
+    }
+
+    public List<TrialBalanceLineDTO> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<TrialBalanceLineDTO> lines) {
+        this.lines = lines;
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TrialBalanceDTO{" +
+            "asOf=" + getAsOf() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            ", lines=" + getLines().size() +
+            "}";
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.keeper.service.dto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * One account of a trial balance. The debit and credit totals are those posted to the account itself, the rolled up totals
+ * also include every descendant account along the parentAccount tree.
+ */
+@SuppressWarnings("common-java:DuplicatedBlocks")
+public class TrialBalanceLineDTO implements Serializable {
+
+    private Long transactionAccountId;
+
+    private String accountNumber;
+
+    private String accountName;
+
+    private Long parentAccountId;
+
+    private BigDecimal debitTotal;
+
+    private BigDecimal creditTotal;
+
+    private BigDecimal rolledUpDebitTotal;
+
+    private BigDecimal rolledUpCreditTotal;
+
+    public Long getTransactionAccountId() {
+        return transactionAccountId;
+    }
+
+    public void setTransactionAccountId(Long transactionAccountId) {
+        this.transactionAccountId = transactionAccountId;
+    }
+
+    public String getAccountNumber() {
+        return accountNumber;
+    }
+
+    public void setAccountNumber(String accountNumber) {
+        this.accountNumber = accountNumber;
+    }
+
+    public String getAccountName() {
+        return accountName;
+    }
+
+    public void setAccountName(String accountName) {
+        this.accountName = accountName;
+    }
+
+    public Long getParentAccountId() {
+        return parentAccountId;
+    }
+
+    public void setParentAccountId(Long parentAccountId) {
+        this.parentAccountId = parentAccountId;
+    }
+
+    public BigDecimal getDebitTotal() {
+        return debitTotal;
+    }
+
+    public void setDebitTotal(BigDecimal debitTotal) {
+        this.debitTotal = debitTotal;
+    }
+
+    public BigDecimal getCreditTotal() {
+        return creditTotal;
+    }
+
+    public void setCreditTotal(BigDecimal creditTotal) {
+        this.creditTotal = creditTotal;
+    }
+
+    public BigDecimal getRolledUpDebitTotal() {
+        return rolledUpDebitTotal;
+    }
+
+    public void setRolledUpDebitTotal(BigDecimal rolledUpDebitTotal) {
+        this.rolledUpDebitTotal = rolledUpDebitTotal;
+    }
+
+    public BigDecimal getRolledUpCreditTotal() {
+        return rolledUpCreditTotal;
+    }
+
+    public void setRolledUpCreditTotal(BigDecimal rolledUpCreditTotal) {
+        this.rolledUpCreditTotal = rolledUpCreditTotal;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TrialBalanceLineDTO)) {
+            return false;
+        }
+
+        TrialBalanceLineDTO trialBalanceLineDTO = (TrialBalanceLineDTO) o;
+        if (this.transactionAccountId == null) {
+            return false;
+        }
+        return Objects.equals(this.transactionAccountId, trialBalanceLineDTO.transactionAccountId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(this.transactionAccountId);
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "TrialBalanceLineDTO{" +
+            "transactionAccountId=" + getTransactionAccountId() +
+            ", accountNumber='" + getAccountNumber() + "'" +
+            ", accountName='" + getAccountName() + "'" +
+            ", parentAccountId=" + getParentAccountId() +
+            ", debitTotal=" + getDebitTotal() +
+            ", creditTotal=" + getCreditTotal() +
+            ", rolledUpDebitTotal=" + getRolledUpDebitTotal() +
+            ", rolledUpCreditTotal=" + getRolledUpCreditTotal() +
+            "}";
+    }
+}
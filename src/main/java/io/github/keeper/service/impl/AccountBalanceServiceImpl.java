@@ -0,0 +1,130 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.domain.AccountBalance;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.repository.AccountBalanceRepository;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.service.AccountBalanceService;
+import io.github.keeper.service.dto.AccountBalanceDTO;
+import io.github.keeper.service.mapper.AccountBalanceMapper;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for maintaining {@link AccountBalance}.
+ */
+@Service
+@Transactional
+public class AccountBalanceServiceImpl implements AccountBalanceService {
+
+    private final Logger log = LoggerFactory.getLogger(AccountBalanceServiceImpl.class);
+
+    private final AccountBalanceRepository accountBalanceRepository;
+
+    private final AccountBalanceMapper accountBalanceMapper;
+
+    private final TransactionAccountRepository transactionAccountRepository;
+
+    public AccountBalanceServiceImpl(
+        AccountBalanceRepository accountBalanceRepository,
+        AccountBalanceMapper accountBalanceMapper,
+        TransactionAccountRepository transactionAccountRepository
+    ) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.accountBalanceMapper = accountBalanceMapper;
+        this.transactionAccountRepository = transactionAccountRepository;
+    }
+
+    @Override
+    public Mono<Void> applyPosting(TransactionEntry transactionEntry) {
+        return applyPostings(List.of(transactionEntry));
+    }
+
+    @Override
+    public Mono<Void> applyPostings(List<TransactionEntry> transactionEntries) {
+        // accounts are updated in id order, so that concurrent postings lock the balance rows in the same order
+        Map<Long, Delta> deltas = new TreeMap<>();
+        for (TransactionEntry transactionEntry : transactionEntries) {
+            accumulate(deltas, transactionEntry, false);
+        }
+        return apply(deltas);
+    }
+
+    @Override
+    public Mono<Void> applyReversal(TransactionEntry transactionEntry) {
+        Map<Long, Delta> deltas = new TreeMap<>();
+        accumulate(deltas, transactionEntry, true);
+        return apply(deltas);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<AccountBalanceDTO> findOne(Long transactionAccountId) {
+        log.debug("Request to get AccountBalance : {}", transactionAccountId);
+        return accountBalanceRepository.findById(transactionAccountId).map(accountBalanceMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<AccountBalanceDTO> findSubtreeTotal(Long transactionAccountId) {
+        log.debug("Request to get the AccountBalance of the subtree of : {}", transactionAccountId);
+        return transactionAccountRepository.sumBalancesOfSubtree(transactionAccountId).map(accountBalanceMapper::toDto);
+    }
+
+    @Override
+    public Mono<Integer> rebuild() {
+        log.debug("Request to rebuild all AccountBalances from the ledger");
+        return accountBalanceRepository
+            .lockForRebuild()
+            .then(accountBalanceRepository.deleteAllBalances())
+            .then(accountBalanceRepository.insertFromLedger());
+    }
+
+    private Mono<Void> apply(Map<Long, Delta> deltas) {
+        return Flux
+            .fromIterable(deltas.entrySet())
+            .concatMap(entry -> {
+                Delta delta = entry.getValue();
+                return accountBalanceRepository.applyDelta(entry.getKey(), delta.debit, delta.credit, delta.lastEntryId);
+            })
+            .then();
+    }
+
+    private static void accumulate(Map<Long, Delta> deltas, TransactionEntry transactionEntry, boolean reversal) {
+        if (
+            transactionEntry.getTransactionAccountId() == null ||
+            transactionEntry.getEntryAmount() == null ||
+            transactionEntry.getTransactionEntryType() == null ||
+            Boolean.TRUE.equals(transactionEntry.getWasDeleted())
+        ) {
+            return;
+        }
+        Delta delta = deltas.computeIfAbsent(transactionEntry.getTransactionAccountId(), id -> new Delta());
+        BigDecimal amount = reversal ? transactionEntry.getEntryAmount().negate() : transactionEntry.getEntryAmount();
+        if (transactionEntry.getTransactionEntryType() == TransactionEntryTypes.DEBIT) {
+            delta.debit = delta.debit.add(amount);
+        } else {
+            delta.credit = delta.credit.add(amount);
+        }
+        if (!reversal && transactionEntry.getId() != null) {
+            Long id = transactionEntry.getId();
+            delta.lastEntryId = delta.lastEntryId == null ? id : Math.max(delta.lastEntryId, id);
+        }
+    }
+
+    private static class Delta {
+
+        private BigDecimal debit = BigDecimal.ZERO;
+        private BigDecimal credit = BigDecimal.ZERO;
+        private Long lastEntryId;
+    }
+}
@@ -3,13 +3,42 @@ package io.github.keeper.service.impl;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionEntry;
 import io.github.keeper.repository.AccountTransactionRepository;
-import io.github.keeper.repository.search.AccountTransactionSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.AccountBalanceService;
 import io.github.keeper.service.AccountTransactionService;
+import io.github.keeper.service.BalanceSnapshotService;
+import io.github.keeper.service.LedgerEventService;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.TransactionAccountService;
+import io.github.keeper.service.TrialBalanceService;
 import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import io.github.keeper.service.dto.LedgerEventDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
 import io.github.keeper.service.mapper.AccountTransactionMapper;
+import io.github.keeper.service.mapper.TransactionEntryMapper;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.validation.Validator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,22 +52,67 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class AccountTransactionServiceImpl implements AccountTransactionService {
 
+    /**
+     * The error of a batch item whose reference number is already used.
+     */
+    public static final String DUPLICATE_REFERENCE_NUMBER = "referenceNumber: already used by another accountTransaction";
+
     private final Logger log = LoggerFactory.getLogger(AccountTransactionServiceImpl.class);
 
     private final AccountTransactionRepository accountTransactionRepository;
 
     private final AccountTransactionMapper accountTransactionMapper;
 
-    private final AccountTransactionSearchRepository accountTransactionSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final TransactionEntryRepository transactionEntryRepository;
+
+    private final TransactionAccountRepository transactionAccountRepository;
+
+    private final TransactionAccountService transactionAccountService;
+
+    private final TransactionEntryMapper transactionEntryMapper;
+
+    private final AccountBalanceService accountBalanceService;
+
+    private final TrialBalanceService trialBalanceService;
+
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    private final LedgerEventService ledgerEventService;
+
+    private final Validator validator;
 
     public AccountTransactionServiceImpl(
         AccountTransactionRepository accountTransactionRepository,
         AccountTransactionMapper accountTransactionMapper,
-        AccountTransactionSearchRepository accountTransactionSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        TransactionEntryRepository transactionEntryRepository,
+        TransactionAccountRepository transactionAccountRepository,
+        TransactionAccountService transactionAccountService,
+        TransactionEntryMapper transactionEntryMapper,
+        AccountBalanceService accountBalanceService,
+        TrialBalanceService trialBalanceService,
+        BalanceSnapshotService balanceSnapshotService,
+        LedgerEventService ledgerEventService,
+        Validator validator
     ) {
         this.accountTransactionRepository = accountTransactionRepository;
         this.accountTransactionMapper = accountTransactionMapper;
-        this.accountTransactionSearchRepository = accountTransactionSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.transactionEntryRepository = transactionEntryRepository;
+        this.transactionAccountRepository = transactionAccountRepository;
+        this.transactionAccountService = transactionAccountService;
+        this.transactionEntryMapper = transactionEntryMapper;
+        this.accountBalanceService = accountBalanceService;
+        this.trialBalanceService = trialBalanceService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.ledgerEventService = ledgerEventService;
+        this.validator = validator;
     }
 
     @Override
@@ -46,16 +120,211 @@ public class AccountTransactionServiceImpl implements AccountTransactionService
         log.debug("Request to save AccountTransaction : {}", accountTransactionDTO);
         return accountTransactionRepository
             .save(accountTransactionMapper.toEntity(accountTransactionDTO))
-            .flatMap(accountTransactionSearchRepository::save)
+            .flatMap(savedAccountTransaction ->
+                searchIndexService
+                    .enqueue(AccountTransaction.class, savedAccountTransaction.getId())
+                    .then(ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.CREATED, List.of(savedAccountTransaction)))
+                    .thenReturn(savedAccountTransaction)
+            )
             .map(accountTransactionMapper::toDto);
     }
 
+    @Override
+    public Mono<List<BatchItemResultDTO>> saveBatch(List<AccountTransactionDTO> accountTransactionDTOs) {
+        log.debug("Request to save a batch of {} AccountTransactions", accountTransactionDTOs.size());
+        BatchItemResultDTO[] results = new BatchItemResultDTO[accountTransactionDTOs.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < accountTransactionDTOs.size(); i++) {
+            List<String> errors = validateForBatch(accountTransactionDTOs.get(i));
+            if (errors.isEmpty()) {
+                valid.add(i);
+            } else {
+                results[i] = BatchItemResultDTO.rejected(i, errors);
+            }
+        }
+        if (valid.isEmpty()) {
+            return Mono.just(Arrays.asList(results));
+        }
+
+        // the accounts and the reference numbers of the whole batch are checked by one query each
+        Set<Long> transactionAccountIds = new HashSet<>();
+        Set<String> referenceNumbers = new HashSet<>();
+        for (int i : valid) {
+            AccountTransactionDTO accountTransactionDTO = accountTransactionDTOs.get(i);
+            for (TransactionEntryDTO transactionEntryDTO : accountTransactionDTO.getTransactionEntries()) {
+                transactionAccountIds.add(transactionEntryDTO.getTransactionAccount().getId());
+            }
+            if (accountTransactionDTO.getReferenceNumber() != null) {
+                referenceNumbers.add(accountTransactionDTO.getReferenceNumber());
+            }
+        }
+        return Mono
+            .zip(
+                transactionAccountRepository.findExistingIds(transactionAccountIds).collect(Collectors.toSet()),
+                referenceNumbers.isEmpty()
+                    ? Mono.just(Set.<String>of())
+                    : accountTransactionRepository.findExistingReferenceNumbers(referenceNumbers).collect(Collectors.toSet())
+            )
+            .flatMap(existing -> {
+                List<Integer> accepted = new ArrayList<>();
+                Set<String> usedReferenceNumbers = new HashSet<>(existing.getT2());
+                for (int i : valid) {
+                    List<String> errors = validateReferences(accountTransactionDTOs.get(i), existing.getT1(), usedReferenceNumbers);
+                    if (errors.isEmpty()) {
+                        accepted.add(i);
+                    } else {
+                        results[i] = BatchItemResultDTO.rejected(i, errors);
+                    }
+                }
+                return accepted.isEmpty() ? Mono.just(Arrays.asList(results)) : insertBatch(accountTransactionDTOs, accepted, results);
+            });
+    }
+
+    private Mono<List<BatchItemResultDTO>> insertBatch(
+        List<AccountTransactionDTO> accountTransactionDTOs,
+        List<Integer> accepted,
+        BatchItemResultDTO[] results
+    ) {
+        List<AccountTransaction> accountTransactions = accepted
+            .stream()
+            .map(index -> accountTransactionMapper.toEntity(accountTransactionDTOs.get(index)))
+            .collect(Collectors.toList());
+        return accountTransactionRepository
+            .insertAll(accountTransactions)
+            .collectList()
+            .flatMap(savedAccountTransactions -> {
+                List<TransactionEntry> transactionEntries = new ArrayList<>();
+                for (int k = 0; k < savedAccountTransactions.size(); k++) {
+                    Long accountTransactionId = savedAccountTransactions.get(k).getId();
+                    for (TransactionEntryDTO transactionEntryDTO : accountTransactionDTOs.get(accepted.get(k)).getTransactionEntries()) {
+                        TransactionEntry transactionEntry = transactionEntryMapper.toEntity(transactionEntryDTO);
+                        transactionEntry.setAccountTransactionId(accountTransactionId);
+                        transactionEntries.add(transactionEntry);
+                    }
+                }
+                return transactionEntryRepository
+                    .insertAll(transactionEntries)
+                    .collectList()
+                    .flatMap(savedTransactionEntries ->
+                        accountBalanceService
+                            .applyPostings(savedTransactionEntries)
+                            .then(trialBalanceService.invalidate(savedTransactionEntries))
+                            .then(balanceSnapshotService.invalidate(savedTransactionEntries))
+                            .then(
+                                searchIndexService.enqueueAll(
+                                    AccountTransaction.class,
+                                    savedAccountTransactions.stream().map(AccountTransaction::getId).collect(Collectors.toList())
+                                )
+                            )
+                            .then(
+                                searchIndexService.enqueueAll(
+                                    TransactionEntry.class,
+                                    savedTransactionEntries.stream().map(TransactionEntry::getId).collect(Collectors.toList())
+                                )
+                            )
+                            .then(
+                                ledgerEventService.publishAccountTransactions(
+                                    LedgerEventDTO.Change.CREATED,
+                                    savedAccountTransactions,
+                                    savedTransactionEntries
+                                )
+                            )
+                            .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.CREATED, savedTransactionEntries))
+                            .thenReturn(savedTransactionEntries)
+                    )
+                    .map(savedTransactionEntries -> {
+                        int offset = 0;
+                        for (int k = 0; k < savedAccountTransactions.size(); k++) {
+                            int index = accepted.get(k);
+                            int count = accountTransactionDTOs.get(index).getTransactionEntries().size();
+                            List<Long> transactionEntryIds = new ArrayList<>(count);
+                            for (TransactionEntry saved : savedTransactionEntries.subList(offset, offset + count)) {
+                                transactionEntryIds.add(saved.getId());
+                            }
+                            offset += count;
+                            Long accountTransactionId = savedAccountTransactions.get(k).getId();
+                            results[index] = BatchItemResultDTO.created(index, accountTransactionId, transactionEntryIds);
+                        }
+                        return Arrays.asList(results);
+                    });
+            });
+    }
+
+    private List<String> validateForBatch(AccountTransactionDTO accountTransactionDTO) {
+        List<String> errors = new ArrayList<>();
+        if (accountTransactionDTO == null) {
+            errors.add("accountTransaction: must not be null");
+            return errors;
+        }
+        if (accountTransactionDTO.getId() != null) {
+            errors.add("id: a new accountTransaction cannot already have an ID");
+        }
+        validator
+            .validate(accountTransactionDTO)
+            .forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        List<TransactionEntryDTO> transactionEntries = accountTransactionDTO.getTransactionEntries();
+        if (transactionEntries == null || transactionEntries.isEmpty()) {
+            errors.add("transactionEntries: must not be empty");
+            return errors;
+        }
+        for (int i = 0; i < transactionEntries.size(); i++) {
+            TransactionEntryDTO transactionEntryDTO = transactionEntries.get(i);
+            if (transactionEntryDTO == null) {
+                errors.add("transactionEntries[" + i + "]: must not be null");
+                continue;
+            }
+            if (transactionEntryDTO.getId() != null) {
+                errors.add("transactionEntries[" + i + "].id: a new transactionEntry cannot already have an ID");
+            }
+            if (transactionEntryDTO.getTransactionAccount() == null || transactionEntryDTO.getTransactionAccount().getId() == null) {
+                errors.add("transactionEntries[" + i + "].transactionAccount: must not be null");
+            }
+        }
+        return errors;
+    }
+
+    /**
+     * Checks the accounts of the entries exist, and the reference number is not used in the database nor by an item before
+     * this one in the batch, which it is then used by.
+     */
+    private static List<String> validateReferences(
+        AccountTransactionDTO accountTransactionDTO,
+        Set<Long> existingTransactionAccountIds,
+        Set<String> usedReferenceNumbers
+    ) {
+        List<String> errors = new ArrayList<>();
+        String referenceNumber = accountTransactionDTO.getReferenceNumber();
+        if (referenceNumber != null && usedReferenceNumbers.contains(referenceNumber)) {
+            errors.add(DUPLICATE_REFERENCE_NUMBER);
+        }
+        List<TransactionEntryDTO> transactionEntries = accountTransactionDTO.getTransactionEntries();
+        for (int i = 0; i < transactionEntries.size(); i++) {
+            if (!existingTransactionAccountIds.contains(transactionEntries.get(i).getTransactionAccount().getId())) {
+                errors.add("transactionEntries[" + i + "].transactionAccount: no transactionAccount with this id");
+            }
+        }
+        if (errors.isEmpty() && referenceNumber != null) {
+            usedReferenceNumbers.add(referenceNumber);
+        }
+        return errors;
+    }
+
     @Override
     public Mono<AccountTransactionDTO> update(AccountTransactionDTO accountTransactionDTO) {
         log.debug("Request to update AccountTransaction : {}", accountTransactionDTO);
+        AccountTransaction accountTransaction = accountTransactionMapper.toEntity(accountTransactionDTO);
         return accountTransactionRepository
-            .save(accountTransactionMapper.toEntity(accountTransactionDTO))
-            .flatMap(accountTransactionSearchRepository::save)
+            .findById(accountTransactionDTO.getId())
+            .flatMap(existingAccountTransaction ->
+                invalidateFrom(existingAccountTransaction.getTransactionDate(), accountTransaction.getTransactionDate())
+            )
+            .then(accountTransactionRepository.save(accountTransaction))
+            .flatMap(savedAccountTransaction ->
+                searchIndexService
+                    .enqueue(AccountTransaction.class, savedAccountTransaction.getId())
+                    .then(ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.UPDATED, List.of(savedAccountTransaction)))
+                    .thenReturn(savedAccountTransaction)
+            )
             .map(accountTransactionMapper::toDto);
     }
 
@@ -65,17 +334,20 @@ public class AccountTransactionServiceImpl implements AccountTransactionService
 
         return accountTransactionRepository
             .findById(accountTransactionDTO.getId())
-            .map(existingAccountTransaction -> {
+            .flatMap(existingAccountTransaction -> {
+                LocalDate previousTransactionDate = existingAccountTransaction.getTransactionDate();
                 accountTransactionMapper.partialUpdate(existingAccountTransaction, accountTransactionDTO);
 
-                return existingAccountTransaction;
+                return invalidateFrom(previousTransactionDate, existingAccountTransaction.getTransactionDate())
+                    .thenReturn(existingAccountTransaction);
             })
             .flatMap(accountTransactionRepository::save)
-            .flatMap(savedAccountTransaction -> {
-                accountTransactionSearchRepository.save(savedAccountTransaction);
-
-                return Mono.just(savedAccountTransaction);
-            })
+            .flatMap(savedAccountTransaction ->
+                searchIndexService
+                    .enqueue(AccountTransaction.class, savedAccountTransaction.getId())
+                    .then(ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.UPDATED, List.of(savedAccountTransaction)))
+                    .thenReturn(savedAccountTransaction)
+            )
             .map(accountTransactionMapper::toDto);
     }
 
@@ -86,12 +358,36 @@ public class AccountTransactionServiceImpl implements AccountTransactionService
         return accountTransactionRepository.findAllBy(pageable).map(accountTransactionMapper::toDto);
     }
 
-    public Mono<Long> countAll() {
-        return accountTransactionRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<AccountTransactionDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of AccountTransactions : {}", pageable);
+        return accountTransactionRepository
+            .findAllAfter(pageable)
+            .collectList()
+            .map(rows -> KeysetSlice.of(rows, pageable).map(accountTransactionMapper::toDto));
     }
 
-    public Mono<Long> searchCount() {
-        return accountTransactionSearchRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<Page<AccountTransactionDTO>> findPageWithEagerRelationships(Pageable pageable) {
+        log.debug("Request to get a page of AccountTransactions with their TransactionEntries");
+        return accountTransactionRepository
+            .findPageBy(pageable)
+            .map(page -> page.map(accountTransactionMapper::toDto))
+            .flatMap(page -> withTransactionEntries(page.getContent()).thenReturn(page));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<AccountTransactionDTO>> findAllWithEagerRelationships(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of AccountTransactions with their TransactionEntries : {}", pageable);
+        return findAll(pageable).flatMap(slice -> withTransactionEntries(slice.getContent()).thenReturn(slice));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Long> countAll() {
+        return accountTransactionRepository.countTotal();
     }
 
     @Override
@@ -101,16 +397,102 @@ public class AccountTransactionServiceImpl implements AccountTransactionService
         return accountTransactionRepository.findById(id).map(accountTransactionMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<AccountTransactionDTO> findOneWithEagerRelationships(Long id) {
+        log.debug("Request to get AccountTransaction with its TransactionEntries : {}", id);
+        return findOne(id)
+            .flatMap(accountTransactionDTO -> withTransactionEntries(List.of(accountTransactionDTO)).thenReturn(accountTransactionDTO));
+    }
+
+    /**
+     * Sets the transactionEntries of the given accountTransactions, read by a single query for all of them. The names of
+     * their accounts come from the reference data cache.
+     */
+    private Mono<Void> withTransactionEntries(List<AccountTransactionDTO> accountTransactionDTOs) {
+        if (accountTransactionDTOs.isEmpty()) {
+            return Mono.empty();
+        }
+        List<Long> ids = accountTransactionDTOs.stream().map(AccountTransactionDTO::getId).collect(Collectors.toList());
+        return transactionEntryRepository
+            .findAllByAccountTransactionIdIn(ids)
+            .sort(Comparator.comparing(TransactionEntry::getId))
+            .collectMultimap(TransactionEntry::getAccountTransactionId, transactionEntryMapper::toDto)
+            .flatMap(transactionEntriesById ->
+                transactionAccountService
+                    .setAccountNames(
+                        transactionEntriesById
+                            .values()
+                            .stream()
+                            .flatMap(Collection::stream)
+                            .map(TransactionEntryDTO::getTransactionAccount)
+                            .filter(Objects::nonNull)
+                            .collect(Collectors.toList())
+                    )
+                    .thenReturn(transactionEntriesById)
+            )
+            .doOnNext(transactionEntriesById -> {
+                for (AccountTransactionDTO accountTransactionDTO : accountTransactionDTOs) {
+                    Collection<TransactionEntryDTO> transactionEntryDTOs = transactionEntriesById.get(accountTransactionDTO.getId());
+                    accountTransactionDTO.setTransactionEntries(
+                        transactionEntryDTOs == null ? new ArrayList<>() : new ArrayList<>(transactionEntryDTOs)
+                    );
+                }
+            })
+            .then();
+    }
+
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete AccountTransaction : {}", id);
-        return accountTransactionRepository.deleteById(id).then(accountTransactionSearchRepository.deleteById(id));
+        return accountTransactionRepository
+            .findById(id)
+            .flatMap(existingAccountTransaction ->
+                trialBalanceService
+                    .invalidateFrom(existingAccountTransaction.getTransactionDate())
+                    .then(balanceSnapshotService.invalidateFrom(existingAccountTransaction.getTransactionDate()))
+                    .then(ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.DELETED, List.of(existingAccountTransaction)))
+            )
+            .then(accountTransactionRepository.deleteById(id))
+            .then(searchIndexService.enqueue(AccountTransaction.class, id));
+    }
+
+    /**
+     * Invalidates the trial balances a change of the journal may affect and, if its transaction date moves, the balance
+     * snapshots its entries move across.
+     */
+    private Mono<Void> invalidateFrom(LocalDate previousTransactionDate, LocalDate transactionDate) {
+        LocalDate earliestTransactionDate = earliest(previousTransactionDate, transactionDate);
+        if (Objects.equals(previousTransactionDate, transactionDate)) {
+            return trialBalanceService.invalidateFrom(earliestTransactionDate);
+        }
+        return trialBalanceService
+            .invalidateFrom(earliestTransactionDate)
+            .then(balanceSnapshotService.invalidateFrom(earliestTransactionDate));
+    }
+
+    /**
+     * @return the earlier of the transaction dates of a journal before and after a change, from which its entries may have
+     * changed the trial balance.
+     */
+    private static LocalDate earliest(LocalDate previousTransactionDate, LocalDate transactionDate) {
+        if (previousTransactionDate == null || transactionDate == null) {
+            return null;
+        }
+        return previousTransactionDate.isBefore(transactionDate) ? previousTransactionDate : transactionDate;
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<AccountTransactionDTO> search(String query, Pageable pageable) {
+    public Mono<Page<AccountTransactionDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of AccountTransactions for query {}", query);
-        return accountTransactionSearchRepository.search(query, pageable).map(accountTransactionMapper::toDto);
+        return searchBackend.search(AccountTransaction.class, query, pageable).map(page -> page.map(accountTransactionMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<AccountTransactionDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of AccountTransactions for query {}", query);
+        return searchBackend.search(AccountTransaction.class, query, pageable).map(slice -> slice.map(accountTransactionMapper::toDto));
     }
 }
@@ -4,12 +4,18 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.AccountingEvent;
 import io.github.keeper.repository.AccountingEventRepository;
-import io.github.keeper.repository.search.AccountingEventSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.AccountingEventService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.AccountingEventDTO;
 import io.github.keeper.service.mapper.AccountingEventMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,16 +35,20 @@ public class AccountingEventServiceImpl implements AccountingEventService {
 
     private final AccountingEventMapper accountingEventMapper;
 
-    private final AccountingEventSearchRepository accountingEventSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
 
     public AccountingEventServiceImpl(
         AccountingEventRepository accountingEventRepository,
         AccountingEventMapper accountingEventMapper,
-        AccountingEventSearchRepository accountingEventSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService
     ) {
         this.accountingEventRepository = accountingEventRepository;
         this.accountingEventMapper = accountingEventMapper;
-        this.accountingEventSearchRepository = accountingEventSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -46,7 +56,9 @@ public class AccountingEventServiceImpl implements AccountingEventService {
         log.debug("Request to save AccountingEvent : {}", accountingEventDTO);
         return accountingEventRepository
             .save(accountingEventMapper.toEntity(accountingEventDTO))
-            .flatMap(accountingEventSearchRepository::save)
+            .flatMap(savedAccountingEvent ->
+                searchIndexService.enqueue(AccountingEvent.class, savedAccountingEvent.getId()).thenReturn(savedAccountingEvent)
+            )
             .map(accountingEventMapper::toDto);
     }
 
@@ -55,7 +67,9 @@ public class AccountingEventServiceImpl implements AccountingEventService {
         log.debug("Request to update AccountingEvent : {}", accountingEventDTO);
         return accountingEventRepository
             .save(accountingEventMapper.toEntity(accountingEventDTO))
-            .flatMap(accountingEventSearchRepository::save)
+            .flatMap(savedAccountingEvent ->
+                searchIndexService.enqueue(AccountingEvent.class, savedAccountingEvent.getId()).thenReturn(savedAccountingEvent)
+            )
             .map(accountingEventMapper::toDto);
     }
 
@@ -71,11 +85,9 @@ public class AccountingEventServiceImpl implements AccountingEventService {
                 return existingAccountingEvent;
             })
             .flatMap(accountingEventRepository::save)
-            .flatMap(savedAccountingEvent -> {
-                accountingEventSearchRepository.save(savedAccountingEvent);
-
-                return Mono.just(savedAccountingEvent);
-            })
+            .flatMap(savedAccountingEvent ->
+                searchIndexService.enqueue(AccountingEvent.class, savedAccountingEvent.getId()).thenReturn(savedAccountingEvent)
+            )
             .map(accountingEventMapper::toDto);
     }
 
@@ -86,16 +98,23 @@ public class AccountingEventServiceImpl implements AccountingEventService {
         return accountingEventRepository.findAllBy(pageable).map(accountingEventMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<AccountingEventDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of AccountingEvents : {}", pageable);
+        return accountingEventRepository
+            .findAllAfter(pageable)
+            .collectList()
+            .map(rows -> KeysetSlice.of(rows, pageable).map(accountingEventMapper::toDto));
+    }
+
     public Flux<AccountingEventDTO> findAllWithEagerRelationships(Pageable pageable) {
         return accountingEventRepository.findAllWithEagerRelationships(pageable).map(accountingEventMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Mono<Long> countAll() {
-        return accountingEventRepository.count();
-    }
-
-    public Mono<Long> searchCount() {
-        return accountingEventSearchRepository.count();
+        return accountingEventRepository.countTotal();
     }
 
     @Override
@@ -108,13 +127,20 @@ public class AccountingEventServiceImpl implements AccountingEventService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete AccountingEvent : {}", id);
-        return accountingEventRepository.deleteById(id).then(accountingEventSearchRepository.deleteById(id));
+        return accountingEventRepository.deleteById(id).then(searchIndexService.enqueue(AccountingEvent.class, id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<AccountingEventDTO> search(String query, Pageable pageable) {
+    public Mono<Page<AccountingEventDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of AccountingEvents for query {}", query);
-        return accountingEventSearchRepository.search(query, pageable).map(accountingEventMapper::toDto);
+        return searchBackend.search(AccountingEvent.class, query, pageable).map(page -> page.map(accountingEventMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<AccountingEventDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of AccountingEvents for query {}", query);
+        return searchBackend.search(AccountingEvent.class, query, pageable).map(slice -> slice.map(accountingEventMapper::toDto));
     }
 }
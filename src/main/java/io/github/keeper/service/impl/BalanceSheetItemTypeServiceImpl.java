@@ -4,12 +4,20 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.BalanceSheetItemType;
 import io.github.keeper.repository.BalanceSheetItemTypeRepository;
-import io.github.keeper.repository.search.BalanceSheetItemTypeSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.BalanceSheetItemTypeService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.BalanceSheetItemTypeDTO;
 import io.github.keeper.service.mapper.BalanceSheetItemTypeMapper;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,16 +37,20 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
 
     private final BalanceSheetItemTypeMapper balanceSheetItemTypeMapper;
 
-    private final BalanceSheetItemTypeSearchRepository balanceSheetItemTypeSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
 
     public BalanceSheetItemTypeServiceImpl(
         BalanceSheetItemTypeRepository balanceSheetItemTypeRepository,
         BalanceSheetItemTypeMapper balanceSheetItemTypeMapper,
-        BalanceSheetItemTypeSearchRepository balanceSheetItemTypeSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService
     ) {
         this.balanceSheetItemTypeRepository = balanceSheetItemTypeRepository;
         this.balanceSheetItemTypeMapper = balanceSheetItemTypeMapper;
-        this.balanceSheetItemTypeSearchRepository = balanceSheetItemTypeSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -46,7 +58,11 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
         log.debug("Request to save BalanceSheetItemType : {}", balanceSheetItemTypeDTO);
         return balanceSheetItemTypeRepository
             .save(balanceSheetItemTypeMapper.toEntity(balanceSheetItemTypeDTO))
-            .flatMap(balanceSheetItemTypeSearchRepository::save)
+            .flatMap(savedBalanceSheetItemType ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemType.class, savedBalanceSheetItemType.getId())
+                    .thenReturn(savedBalanceSheetItemType)
+            )
             .map(balanceSheetItemTypeMapper::toDto);
     }
 
@@ -55,7 +71,11 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
         log.debug("Request to update BalanceSheetItemType : {}", balanceSheetItemTypeDTO);
         return balanceSheetItemTypeRepository
             .save(balanceSheetItemTypeMapper.toEntity(balanceSheetItemTypeDTO))
-            .flatMap(balanceSheetItemTypeSearchRepository::save)
+            .flatMap(savedBalanceSheetItemType ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemType.class, savedBalanceSheetItemType.getId())
+                    .thenReturn(savedBalanceSheetItemType)
+            )
             .map(balanceSheetItemTypeMapper::toDto);
     }
 
@@ -71,11 +91,11 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
                 return existingBalanceSheetItemType;
             })
             .flatMap(balanceSheetItemTypeRepository::save)
-            .flatMap(savedBalanceSheetItemType -> {
-                balanceSheetItemTypeSearchRepository.save(savedBalanceSheetItemType);
-
-                return Mono.just(savedBalanceSheetItemType);
-            })
+            .flatMap(savedBalanceSheetItemType ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemType.class, savedBalanceSheetItemType.getId())
+                    .thenReturn(savedBalanceSheetItemType)
+            )
             .map(balanceSheetItemTypeMapper::toDto);
     }
 
@@ -86,16 +106,23 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
         return balanceSheetItemTypeRepository.findAllBy(pageable).map(balanceSheetItemTypeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<BalanceSheetItemTypeDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of BalanceSheetItemTypes : {}", pageable);
+        return balanceSheetItemTypeRepository
+            .findAllAfter(pageable)
+            .collectList()
+            .map(rows -> KeysetSlice.of(rows, pageable).map(balanceSheetItemTypeMapper::toDto));
+    }
+
     public Flux<BalanceSheetItemTypeDTO> findAllWithEagerRelationships(Pageable pageable) {
         return balanceSheetItemTypeRepository.findAllWithEagerRelationships(pageable).map(balanceSheetItemTypeMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Mono<Long> countAll() {
-        return balanceSheetItemTypeRepository.count();
-    }
-
-    public Mono<Long> searchCount() {
-        return balanceSheetItemTypeSearchRepository.count();
+        return balanceSheetItemTypeRepository.countTotal();
     }
 
     @Override
@@ -105,16 +132,37 @@ public class BalanceSheetItemTypeServiceImpl implements BalanceSheetItemTypeServ
         return balanceSheetItemTypeRepository.findOneWithEagerRelationships(id).map(balanceSheetItemTypeMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<BalanceSheetItemTypeDTO> findSubtree(Long id) {
+        log.debug("Request to get the subtree of BalanceSheetItemType : {}", id);
+        return balanceSheetItemTypeRepository.findSubtree(id).map(balanceSheetItemTypeMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<BigDecimal> sumItemAmountsOfSubtree(Long id, LocalDate effectiveDate) {
+        log.debug("Request to sum the values effective on {} of the subtree of BalanceSheetItemType : {}", effectiveDate, id);
+        return balanceSheetItemTypeRepository.sumItemAmountsOfSubtree(id, effectiveDate);
+    }
+
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete BalanceSheetItemType : {}", id);
-        return balanceSheetItemTypeRepository.deleteById(id).then(balanceSheetItemTypeSearchRepository.deleteById(id));
+        return balanceSheetItemTypeRepository.deleteById(id).then(searchIndexService.enqueue(BalanceSheetItemType.class, id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<BalanceSheetItemTypeDTO> search(String query, Pageable pageable) {
+    public Mono<Page<BalanceSheetItemTypeDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of BalanceSheetItemTypes for query {}", query);
-        return balanceSheetItemTypeSearchRepository.search(query, pageable).map(balanceSheetItemTypeMapper::toDto);
+        return searchBackend.search(BalanceSheetItemType.class, query, pageable).map(page -> page.map(balanceSheetItemTypeMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<BalanceSheetItemTypeDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of BalanceSheetItemTypes for query {}", query);
+        return searchBackend.search(BalanceSheetItemType.class, query, pageable).map(slice -> slice.map(balanceSheetItemTypeMapper::toDto));
     }
 }
@@ -4,12 +4,18 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.BalanceSheetItemValue;
 import io.github.keeper.repository.BalanceSheetItemValueRepository;
-import io.github.keeper.repository.search.BalanceSheetItemValueSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.BalanceSheetItemValueService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.BalanceSheetItemValueDTO;
 import io.github.keeper.service.mapper.BalanceSheetItemValueMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,16 +35,20 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
 
     private final BalanceSheetItemValueMapper balanceSheetItemValueMapper;
 
-    private final BalanceSheetItemValueSearchRepository balanceSheetItemValueSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
 
     public BalanceSheetItemValueServiceImpl(
         BalanceSheetItemValueRepository balanceSheetItemValueRepository,
         BalanceSheetItemValueMapper balanceSheetItemValueMapper,
-        BalanceSheetItemValueSearchRepository balanceSheetItemValueSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService
     ) {
         this.balanceSheetItemValueRepository = balanceSheetItemValueRepository;
         this.balanceSheetItemValueMapper = balanceSheetItemValueMapper;
-        this.balanceSheetItemValueSearchRepository = balanceSheetItemValueSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
@@ -46,7 +56,11 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
         log.debug("Request to save BalanceSheetItemValue : {}", balanceSheetItemValueDTO);
         return balanceSheetItemValueRepository
             .save(balanceSheetItemValueMapper.toEntity(balanceSheetItemValueDTO))
-            .flatMap(balanceSheetItemValueSearchRepository::save)
+            .flatMap(savedBalanceSheetItemValue ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemValue.class, savedBalanceSheetItemValue.getId())
+                    .thenReturn(savedBalanceSheetItemValue)
+            )
             .map(balanceSheetItemValueMapper::toDto);
     }
 
@@ -55,7 +69,11 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
         log.debug("Request to update BalanceSheetItemValue : {}", balanceSheetItemValueDTO);
         return balanceSheetItemValueRepository
             .save(balanceSheetItemValueMapper.toEntity(balanceSheetItemValueDTO))
-            .flatMap(balanceSheetItemValueSearchRepository::save)
+            .flatMap(savedBalanceSheetItemValue ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemValue.class, savedBalanceSheetItemValue.getId())
+                    .thenReturn(savedBalanceSheetItemValue)
+            )
             .map(balanceSheetItemValueMapper::toDto);
     }
 
@@ -71,11 +89,11 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
                 return existingBalanceSheetItemValue;
             })
             .flatMap(balanceSheetItemValueRepository::save)
-            .flatMap(savedBalanceSheetItemValue -> {
-                balanceSheetItemValueSearchRepository.save(savedBalanceSheetItemValue);
-
-                return Mono.just(savedBalanceSheetItemValue);
-            })
+            .flatMap(savedBalanceSheetItemValue ->
+                searchIndexService
+                    .enqueue(BalanceSheetItemValue.class, savedBalanceSheetItemValue.getId())
+                    .thenReturn(savedBalanceSheetItemValue)
+            )
             .map(balanceSheetItemValueMapper::toDto);
     }
 
@@ -86,16 +104,23 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
         return balanceSheetItemValueRepository.findAllBy(pageable).map(balanceSheetItemValueMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<BalanceSheetItemValueDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of BalanceSheetItemValues : {}", pageable);
+        return balanceSheetItemValueRepository
+            .findAllAfter(pageable)
+            .collectList()
+            .map(rows -> KeysetSlice.of(rows, pageable).map(balanceSheetItemValueMapper::toDto));
+    }
+
     public Flux<BalanceSheetItemValueDTO> findAllWithEagerRelationships(Pageable pageable) {
         return balanceSheetItemValueRepository.findAllWithEagerRelationships(pageable).map(balanceSheetItemValueMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Mono<Long> countAll() {
-        return balanceSheetItemValueRepository.count();
-    }
-
-    public Mono<Long> searchCount() {
-        return balanceSheetItemValueSearchRepository.count();
+        return balanceSheetItemValueRepository.countTotal();
     }
 
     @Override
@@ -108,13 +133,22 @@ public class BalanceSheetItemValueServiceImpl implements BalanceSheetItemValueSe
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete BalanceSheetItemValue : {}", id);
-        return balanceSheetItemValueRepository.deleteById(id).then(balanceSheetItemValueSearchRepository.deleteById(id));
+        return balanceSheetItemValueRepository.deleteById(id).then(searchIndexService.enqueue(BalanceSheetItemValue.class, id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<BalanceSheetItemValueDTO> search(String query, Pageable pageable) {
+    public Mono<Page<BalanceSheetItemValueDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of BalanceSheetItemValues for query {}", query);
-        return balanceSheetItemValueSearchRepository.search(query, pageable).map(balanceSheetItemValueMapper::toDto);
+        return searchBackend.search(BalanceSheetItemValue.class, query, pageable).map(page -> page.map(balanceSheetItemValueMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<BalanceSheetItemValueDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of BalanceSheetItemValues for query {}", query);
+        return searchBackend
+            .search(BalanceSheetItemValue.class, query, pageable)
+            .map(slice -> slice.map(balanceSheetItemValueMapper::toDto));
     }
 }
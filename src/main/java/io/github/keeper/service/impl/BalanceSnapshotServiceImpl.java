@@ -0,0 +1,173 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.AccountBalanceRepository;
+import io.github.keeper.repository.AccountTransactionRepository;
+import io.github.keeper.service.BalanceSnapshotService;
+import io.github.keeper.service.dto.AccountBalanceDTO;
+import io.github.keeper.service.mapper.AccountBalanceMapper;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Collection;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for the balance snapshots.
+ * <p>
+ * Every period is checkpointed in its own transaction, from the checkpoint of the previous period plus the entries of the
+ * period, so that a backfill over years of history neither holds a long transaction nor sums the ledger more than once. The
+ * checkpoint locks the table of the periods against the deletes of the writers: an entry dated in a period is either
+ * committed before the period is checkpointed, or it drops the checkpoint when it is written.
+ */
+@Service
+public class BalanceSnapshotServiceImpl implements BalanceSnapshotService {
+
+    private final Logger log = LoggerFactory.getLogger(BalanceSnapshotServiceImpl.class);
+
+    private final AccountBalanceRepository accountBalanceRepository;
+
+    private final AccountTransactionRepository accountTransactionRepository;
+
+    private final AccountBalanceMapper accountBalanceMapper;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public BalanceSnapshotServiceImpl(
+        AccountBalanceRepository accountBalanceRepository,
+        AccountTransactionRepository accountTransactionRepository,
+        AccountBalanceMapper accountBalanceMapper,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.accountBalanceRepository = accountBalanceRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.accountBalanceMapper = accountBalanceMapper;
+        this.transactionalOperator = transactionalOperator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    /**
+     * Checkpoints the periods completed since the last run, and backfills the periods of existing data on the first run.
+     * <p>
+     * This is scheduled by {@code application.balance-snapshot.cron}, every day at 00:30 (am) by default.
+     */
+    @Scheduled(cron = "${application.balance-snapshot.cron:0 30 0 * * ?}")
+    public void takeScheduledSnapshots() {
+        takeSnapshots()
+            .subscribe(
+                count -> log.info("Checkpointed the balances of {} periods", count),
+                e -> log.warn("Failed to checkpoint the balances: {}", e.getMessage())
+            );
+    }
+
+    @Override
+    public Mono<Long> takeSnapshots() {
+        log.debug("Request to take the BalanceSnapshots of the completed periods");
+        LocalDate lastPeriodEnd = lastCompletePeriodEnd(LocalDate.now());
+        return takeNextSnapshot(lastPeriodEnd).expand(periodEnd -> takeNextSnapshot(lastPeriodEnd)).count();
+    }
+
+    @Override
+    public Mono<Long> rebuild() {
+        log.debug("Request to rebuild all BalanceSnapshots");
+        return accountBalanceRepository
+            .lockSnapshotPeriods()
+            .then(accountBalanceRepository.deleteAllSnapshotPeriods())
+            .as(transactionalOperator::transactional)
+            .then(takeSnapshots());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<AccountBalanceDTO> findOneAsOf(Long transactionAccountId, LocalDate asOf) {
+        log.debug("Request to get the AccountBalance of {} as of {}", transactionAccountId, asOf);
+        return accountBalanceRepository.findAllAsOf(asOf, transactionAccountId).next().map(accountBalanceMapper::toDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<AccountBalanceDTO> findAllAsOf(LocalDate asOf) {
+        log.debug("Request to get all AccountBalances as of {}", asOf);
+        return accountBalanceRepository.findAllAsOf(asOf, null).map(accountBalanceMapper::toDto);
+    }
+
+    @Override
+    public Mono<Void> invalidate(Collection<TransactionEntry> transactionEntries) {
+        Set<Long> accountTransactionIds = transactionEntries
+            .stream()
+            .filter(transactionEntry ->
+                transactionEntry.getAccountTransactionId() != null &&
+                transactionEntry.getTransactionAccountId() != null &&
+                !Boolean.TRUE.equals(transactionEntry.getWasDeleted())
+            )
+            .map(TransactionEntry::getAccountTransactionId)
+            .collect(Collectors.toSet());
+        if (accountTransactionIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return accountTransactionRepository.findEarliestTransactionDate(accountTransactionIds).flatMap(this::invalidateFrom);
+    }
+
+    @Override
+    public Mono<Void> invalidateFrom(LocalDate transactionDate) {
+        if (transactionDate == null) {
+            return accountBalanceRepository.deleteAllSnapshotPeriods().then();
+        }
+        // the delete is issued even when no checkpoint matches, its lock orders the write with a concurrent checkpoint
+        return accountBalanceRepository.deleteSnapshotPeriodsFrom(transactionDate).then();
+    }
+
+    /**
+     * Checkpoints the period following the latest checkpoint, if it is complete.
+     *
+     * @return the end of the period checkpointed, or an empty Mono if there is none to take.
+     */
+    private Mono<LocalDate> takeNextSnapshot(LocalDate lastPeriodEnd) {
+        return accountBalanceRepository
+            .lockSnapshotPeriods()
+            .then(
+                accountBalanceRepository
+                    .findLatestSnapshotPeriodEnd()
+                    // the first period is checkpointed from the day before the first transaction, of which there is no checkpoint
+                    .switchIfEmpty(accountBalanceRepository.findFirstTransactionDate().map(firstDate -> firstDate.minusDays(1)))
+            )
+            .filter(previousPeriodEnd -> !nextPeriodEnd(previousPeriodEnd).isAfter(lastPeriodEnd))
+            .flatMap(previousPeriodEnd -> {
+                LocalDate periodEnd = nextPeriodEnd(previousPeriodEnd);
+                log.debug("Checkpointing the AccountBalances as of {}", periodEnd);
+                // the snapshots reference their period, which is inserted first
+                return accountBalanceRepository
+                    .insertSnapshotPeriod(periodEnd)
+                    .then(accountBalanceRepository.insertSnapshot(periodEnd, previousPeriodEnd))
+                    .thenReturn(periodEnd);
+            })
+            .as(transactionalOperator::transactional);
+    }
+
+    private LocalDate nextPeriodEnd(LocalDate previousPeriodEnd) {
+        LocalDate periodStart = previousPeriodEnd.plusDays(1);
+        if (applicationProperties.getBalanceSnapshot().getPeriod() == ApplicationProperties.BalanceSnapshot.Period.DAILY) {
+            return periodStart;
+        }
+        return periodStart.with(TemporalAdjusters.lastDayOfMonth());
+    }
+
+    private LocalDate lastCompletePeriodEnd(LocalDate today) {
+        if (applicationProperties.getBalanceSnapshot().getPeriod() == ApplicationProperties.BalanceSnapshot.Period.DAILY) {
+            return today.minusDays(1);
+        }
+        return today.withDayOfMonth(1).minusDays(1);
+    }
+}
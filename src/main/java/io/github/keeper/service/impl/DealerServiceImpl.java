@@ -4,12 +4,18 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.Dealer;
 import io.github.keeper.repository.DealerRepository;
-import io.github.keeper.repository.search.DealerSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.DealerService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.DealerDTO;
 import io.github.keeper.service.mapper.DealerMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,24 +35,38 @@ public class DealerServiceImpl implements DealerService {
 
     private final DealerMapper dealerMapper;
 
-    private final DealerSearchRepository dealerSearchRepository;
+    private final SearchBackend searchBackend;
 
-    public DealerServiceImpl(DealerRepository dealerRepository, DealerMapper dealerMapper, DealerSearchRepository dealerSearchRepository) {
+    private final SearchIndexService searchIndexService;
+
+    public DealerServiceImpl(
+        DealerRepository dealerRepository,
+        DealerMapper dealerMapper,
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService
+    ) {
         this.dealerRepository = dealerRepository;
         this.dealerMapper = dealerMapper;
-        this.dealerSearchRepository = dealerSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
     }
 
     @Override
     public Mono<DealerDTO> save(DealerDTO dealerDTO) {
         log.debug("Request to save Dealer : {}", dealerDTO);
-        return dealerRepository.save(dealerMapper.toEntity(dealerDTO)).flatMap(dealerSearchRepository::save).map(dealerMapper::toDto);
+        return dealerRepository
+            .save(dealerMapper.toEntity(dealerDTO))
+            .flatMap(savedDealer -> searchIndexService.enqueue(Dealer.class, savedDealer.getId()).thenReturn(savedDealer))
+            .map(dealerMapper::toDto);
     }
 
     @Override
     public Mono<DealerDTO> update(DealerDTO dealerDTO) {
         log.debug("Request to update Dealer : {}", dealerDTO);
-        return dealerRepository.save(dealerMapper.toEntity(dealerDTO)).flatMap(dealerSearchRepository::save).map(dealerMapper::toDto);
+        return dealerRepository
+            .save(dealerMapper.toEntity(dealerDTO))
+            .flatMap(savedDealer -> searchIndexService.enqueue(Dealer.class, savedDealer.getId()).thenReturn(savedDealer))
+            .map(dealerMapper::toDto);
     }
 
     @Override
@@ -61,11 +81,7 @@ public class DealerServiceImpl implements DealerService {
                 return existingDealer;
             })
             .flatMap(dealerRepository::save)
-            .flatMap(savedDealer -> {
-                dealerSearchRepository.save(savedDealer);
-
-                return Mono.just(savedDealer);
-            })
+            .flatMap(savedDealer -> searchIndexService.enqueue(Dealer.class, savedDealer.getId()).thenReturn(savedDealer))
             .map(dealerMapper::toDto);
     }
 
@@ -76,16 +92,20 @@ public class DealerServiceImpl implements DealerService {
         return dealerRepository.findAllBy(pageable).map(dealerMapper::toDto);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<DealerDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of Dealers : {}", pageable);
+        return dealerRepository.findAllAfter(pageable).collectList().map(rows -> KeysetSlice.of(rows, pageable).map(dealerMapper::toDto));
+    }
+
     public Flux<DealerDTO> findAllWithEagerRelationships(Pageable pageable) {
         return dealerRepository.findAllWithEagerRelationships(pageable).map(dealerMapper::toDto);
     }
 
+    @Transactional(readOnly = true)
     public Mono<Long> countAll() {
-        return dealerRepository.count();
-    }
-
-    public Mono<Long> searchCount() {
-        return dealerSearchRepository.count();
+        return dealerRepository.countTotal();
     }
 
     @Override
@@ -98,13 +118,20 @@ public class DealerServiceImpl implements DealerService {
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete Dealer : {}", id);
-        return dealerRepository.deleteById(id).then(dealerSearchRepository.deleteById(id));
+        return dealerRepository.deleteById(id).then(searchIndexService.enqueue(Dealer.class, id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<DealerDTO> search(String query, Pageable pageable) {
+    public Mono<Page<DealerDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of Dealers for query {}", query);
-        return dealerSearchRepository.search(query, pageable).map(dealerMapper::toDto);
+        return searchBackend.search(Dealer.class, query, pageable).map(page -> page.map(dealerMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<DealerDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of Dealers for query {}", query);
+        return searchBackend.search(Dealer.class, query, pageable).map(slice -> slice.map(dealerMapper::toDto));
     }
 }
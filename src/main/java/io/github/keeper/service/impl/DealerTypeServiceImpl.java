@@ -4,14 +4,22 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.DealerType;
 import io.github.keeper.repository.DealerTypeRepository;
-import io.github.keeper.repository.search.DealerTypeSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.DealerTypeService;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.DealerTypeDTO;
 import io.github.keeper.service.mapper.DealerTypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,16 +37,24 @@ public class DealerTypeServiceImpl implements DealerTypeService {
 
     private final DealerTypeMapper dealerTypeMapper;
 
-    private final DealerTypeSearchRepository dealerTypeSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     public DealerTypeServiceImpl(
         DealerTypeRepository dealerTypeRepository,
         DealerTypeMapper dealerTypeMapper,
-        DealerTypeSearchRepository dealerTypeSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        ReferenceDataCacheService referenceDataCacheService
     ) {
         this.dealerTypeRepository = dealerTypeRepository;
         this.dealerTypeMapper = dealerTypeMapper;
-        this.dealerTypeSearchRepository = dealerTypeSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     @Override
@@ -46,7 +62,8 @@ public class DealerTypeServiceImpl implements DealerTypeService {
         log.debug("Request to save DealerType : {}", dealerTypeDTO);
         return dealerTypeRepository
             .save(dealerTypeMapper.toEntity(dealerTypeDTO))
-            .flatMap(dealerTypeSearchRepository::save)
+            .flatMap(savedDealerType -> searchIndexService.enqueue(DealerType.class, savedDealerType.getId()).thenReturn(savedDealerType))
+            .flatMap(savedDealerType -> referenceDataCacheService.evict(DealerType.class).thenReturn(savedDealerType))
             .map(dealerTypeMapper::toDto);
     }
 
@@ -55,7 +72,8 @@ public class DealerTypeServiceImpl implements DealerTypeService {
         log.debug("Request to update DealerType : {}", dealerTypeDTO);
         return dealerTypeRepository
             .save(dealerTypeMapper.toEntity(dealerTypeDTO))
-            .flatMap(dealerTypeSearchRepository::save)
+            .flatMap(savedDealerType -> searchIndexService.enqueue(DealerType.class, savedDealerType.getId()).thenReturn(savedDealerType))
+            .flatMap(savedDealerType -> referenceDataCacheService.evict(DealerType.class).thenReturn(savedDealerType))
             .map(dealerTypeMapper::toDto);
     }
 
@@ -71,46 +89,83 @@ public class DealerTypeServiceImpl implements DealerTypeService {
                 return existingDealerType;
             })
             .flatMap(dealerTypeRepository::save)
-            .flatMap(savedDealerType -> {
-                dealerTypeSearchRepository.save(savedDealerType);
-
-                return Mono.just(savedDealerType);
-            })
+            .flatMap(savedDealerType -> searchIndexService.enqueue(DealerType.class, savedDealerType.getId()).thenReturn(savedDealerType))
+            .flatMap(savedDealerType -> referenceDataCacheService.evict(DealerType.class).thenReturn(savedDealerType))
             .map(dealerTypeMapper::toDto);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Flux<DealerTypeDTO> findAll(Pageable pageable) {
         log.debug("Request to get all DealerTypes");
-        return dealerTypeRepository.findAllBy(pageable).map(dealerTypeMapper::toDto);
+        return referenceDataCacheService.getAll(
+            DealerType.class,
+            "findAll:" + pageable,
+            () -> dealerTypeRepository.findAllBy(pageable).map(dealerTypeMapper::toDto)
+        );
     }
 
-    public Mono<Long> countAll() {
-        return dealerTypeRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<KeysetSlice<DealerTypeDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of DealerTypes : {}", pageable);
+        return referenceDataCacheService.get(
+            DealerType.class,
+            "findAllAfter:" + pageable,
+            () ->
+                dealerTypeRepository
+                    .findAllAfter(pageable)
+                    .collectList()
+                    .map(rows -> KeysetSlice.of(rows, pageable).map(dealerTypeMapper::toDto))
+        );
     }
 
-    public Mono<Long> searchCount() {
-        return dealerTypeSearchRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Page<DealerTypeDTO>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of DealerTypes");
+        return referenceDataCacheService.get(
+            DealerType.class,
+            "findPage:" + pageable,
+            () -> dealerTypeRepository.findPageBy(pageable).map(page -> page.map(dealerTypeMapper::toDto))
+        );
+    }
+
+    public Mono<Long> countAll() {
+        return dealerTypeRepository.count();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<DealerTypeDTO> findOne(Long id) {
         log.debug("Request to get DealerType : {}", id);
-        return dealerTypeRepository.findById(id).map(dealerTypeMapper::toDto);
+        return referenceDataCacheService.get(
+            DealerType.class,
+            "findOne:" + id,
+            () -> dealerTypeRepository.findById(id).map(dealerTypeMapper::toDto)
+        );
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete DealerType : {}", id);
-        return dealerTypeRepository.deleteById(id).then(dealerTypeSearchRepository.deleteById(id));
+        return dealerTypeRepository
+            .deleteById(id)
+            .then(searchIndexService.enqueue(DealerType.class, id))
+            .then(referenceDataCacheService.evict(DealerType.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<DealerTypeDTO> search(String query, Pageable pageable) {
+    public Mono<Page<DealerTypeDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of DealerTypes for query {}", query);
-        return dealerTypeSearchRepository.search(query, pageable).map(dealerTypeMapper::toDto);
+        return searchBackend.search(DealerType.class, query, pageable).map(page -> page.map(dealerTypeMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<DealerTypeDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of DealerTypes for query {}", query);
+        return searchBackend.search(DealerType.class, query, pageable).map(slice -> slice.map(dealerTypeMapper::toDto));
     }
 }
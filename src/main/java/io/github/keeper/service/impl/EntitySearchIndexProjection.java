@@ -0,0 +1,54 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.repository.EntityIdRange;
+import io.github.keeper.repository.SearchIndexEventRepository;
+import io.github.keeper.repository.search.SearchBackend;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import reactor.core.publisher.Mono;
+
+/**
+ * The index of an entity, whose documents are the columns of its rows.
+ */
+final class EntitySearchIndexProjection<T> extends SearchIndexProjection {
+
+    private final Class<T> entityType;
+
+    private final Function<T, Long> idOf;
+
+    private final SearchIndexEventRepository searchIndexEventRepository;
+
+    EntitySearchIndexProjection(
+        Class<T> entityType,
+        Function<T, Long> idOf,
+        SearchIndexEventRepository searchIndexEventRepository,
+        SearchBackend searchBackend
+    ) {
+        super(searchBackend, entityType, Set.of(entityType.getSimpleName()));
+        this.entityType = entityType;
+        this.idOf = idOf;
+        this.searchIndexEventRepository = searchIndexEventRepository;
+    }
+
+    @Override
+    Mono<Void> sync(String entityType, Set<Long> ids, String index) {
+        return searchIndexEventRepository
+            .findAllEntitiesById(this.entityType, ids)
+            .collectList()
+            .flatMap(entities -> write(entities, idOf, ids, index));
+    }
+
+    @Override
+    Mono<EntityIdRange> findIdRange() {
+        return searchIndexEventRepository.findEntityIdRange(entityType);
+    }
+
+    @Override
+    Mono<List<Long>> load(long afterId, long lastId, int limit, String index) {
+        return searchIndexEventRepository
+            .findAllEntitiesByIdBetween(entityType, afterId, lastId, limit)
+            .collectList()
+            .flatMap(entities -> save(entities, idOf, index));
+    }
+}
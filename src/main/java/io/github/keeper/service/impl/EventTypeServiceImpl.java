@@ -4,14 +4,22 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.EventType;
 import io.github.keeper.repository.EventTypeRepository;
-import io.github.keeper.repository.search.EventTypeSearchRepository;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
 import io.github.keeper.service.EventTypeService;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.dto.EventTypeDTO;
 import io.github.keeper.service.mapper.EventTypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,16 +37,24 @@ public class EventTypeServiceImpl implements EventTypeService {
 
     private final EventTypeMapper eventTypeMapper;
 
-    private final EventTypeSearchRepository eventTypeSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     public EventTypeServiceImpl(
         EventTypeRepository eventTypeRepository,
         EventTypeMapper eventTypeMapper,
-        EventTypeSearchRepository eventTypeSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        ReferenceDataCacheService referenceDataCacheService
     ) {
         this.eventTypeRepository = eventTypeRepository;
         this.eventTypeMapper = eventTypeMapper;
-        this.eventTypeSearchRepository = eventTypeSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     @Override
@@ -46,7 +62,8 @@ public class EventTypeServiceImpl implements EventTypeService {
         log.debug("Request to save EventType : {}", eventTypeDTO);
         return eventTypeRepository
             .save(eventTypeMapper.toEntity(eventTypeDTO))
-            .flatMap(eventTypeSearchRepository::save)
+            .flatMap(savedEventType -> searchIndexService.enqueue(EventType.class, savedEventType.getId()).thenReturn(savedEventType))
+            .flatMap(savedEventType -> referenceDataCacheService.evict(EventType.class).thenReturn(savedEventType))
             .map(eventTypeMapper::toDto);
     }
 
@@ -55,7 +72,8 @@ public class EventTypeServiceImpl implements EventTypeService {
         log.debug("Request to update EventType : {}", eventTypeDTO);
         return eventTypeRepository
             .save(eventTypeMapper.toEntity(eventTypeDTO))
-            .flatMap(eventTypeSearchRepository::save)
+            .flatMap(savedEventType -> searchIndexService.enqueue(EventType.class, savedEventType.getId()).thenReturn(savedEventType))
+            .flatMap(savedEventType -> referenceDataCacheService.evict(EventType.class).thenReturn(savedEventType))
             .map(eventTypeMapper::toDto);
     }
 
@@ -71,46 +89,83 @@ public class EventTypeServiceImpl implements EventTypeService {
                 return existingEventType;
             })
             .flatMap(eventTypeRepository::save)
-            .flatMap(savedEventType -> {
-                eventTypeSearchRepository.save(savedEventType);
-
-                return Mono.just(savedEventType);
-            })
+            .flatMap(savedEventType -> searchIndexService.enqueue(EventType.class, savedEventType.getId()).thenReturn(savedEventType))
+            .flatMap(savedEventType -> referenceDataCacheService.evict(EventType.class).thenReturn(savedEventType))
             .map(eventTypeMapper::toDto);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Flux<EventTypeDTO> findAll(Pageable pageable) {
         log.debug("Request to get all EventTypes");
-        return eventTypeRepository.findAllBy(pageable).map(eventTypeMapper::toDto);
+        return referenceDataCacheService.getAll(
+            EventType.class,
+            "findAll:" + pageable,
+            () -> eventTypeRepository.findAllBy(pageable).map(eventTypeMapper::toDto)
+        );
     }
 
-    public Mono<Long> countAll() {
-        return eventTypeRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<KeysetSlice<EventTypeDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of EventTypes : {}", pageable);
+        return referenceDataCacheService.get(
+            EventType.class,
+            "findAllAfter:" + pageable,
+            () ->
+                eventTypeRepository
+                    .findAllAfter(pageable)
+                    .collectList()
+                    .map(rows -> KeysetSlice.of(rows, pageable).map(eventTypeMapper::toDto))
+        );
     }
 
-    public Mono<Long> searchCount() {
-        return eventTypeSearchRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Page<EventTypeDTO>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of EventTypes");
+        return referenceDataCacheService.get(
+            EventType.class,
+            "findPage:" + pageable,
+            () -> eventTypeRepository.findPageBy(pageable).map(page -> page.map(eventTypeMapper::toDto))
+        );
+    }
+
+    public Mono<Long> countAll() {
+        return eventTypeRepository.count();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<EventTypeDTO> findOne(Long id) {
         log.debug("Request to get EventType : {}", id);
-        return eventTypeRepository.findById(id).map(eventTypeMapper::toDto);
+        return referenceDataCacheService.get(
+            EventType.class,
+            "findOne:" + id,
+            () -> eventTypeRepository.findById(id).map(eventTypeMapper::toDto)
+        );
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete EventType : {}", id);
-        return eventTypeRepository.deleteById(id).then(eventTypeSearchRepository.deleteById(id));
+        return eventTypeRepository
+            .deleteById(id)
+            .then(searchIndexService.enqueue(EventType.class, id))
+            .then(referenceDataCacheService.evict(EventType.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<EventTypeDTO> search(String query, Pageable pageable) {
+    public Mono<Page<EventTypeDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of EventTypes for query {}", query);
-        return eventTypeSearchRepository.search(query, pageable).map(eventTypeMapper::toDto);
+        return searchBackend.search(EventType.class, query, pageable).map(page -> page.map(eventTypeMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<EventTypeDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of EventTypes for query {}", query);
+        return searchBackend.search(EventType.class, query, pageable).map(slice -> slice.map(eventTypeMapper::toDto));
     }
 }
@@ -0,0 +1,236 @@
+package io.github.keeper.service.impl;
+
+import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.queryStringQuery;
+import static org.elasticsearch.index.query.QueryBuilders.rangeQuery;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.dateHistogram;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.max;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.min;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.sum;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.terms;
+import static org.elasticsearch.search.aggregations.AggregationBuilders.topHits;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.AccountingEvent;
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.service.LedgerAnalyticsService;
+import io.github.keeper.service.dto.AccountTotalDTO;
+import io.github.keeper.service.dto.DealerActivityDTO;
+import io.github.keeper.service.dto.LedgerAnalyticsDTO;
+import io.github.keeper.service.dto.MonthlyVolumeDTO;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.lang3.StringUtils;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.histogram.DateHistogramInterval;
+import org.elasticsearch.search.aggregations.bucket.histogram.Histogram;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.bucket.terms.TermsAggregationBuilder;
+import org.elasticsearch.search.aggregations.metrics.Max;
+import org.elasticsearch.search.aggregations.metrics.Min;
+import org.elasticsearch.search.aggregations.metrics.Sum;
+import org.elasticsearch.search.aggregations.metrics.TopHits;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.elasticsearch.core.query.NativeSearchQueryBuilder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for the ledger analytics.
+ * <p>
+ * The totals of the entries are aggregated over the {@code ledgerentry} index, which holds the transaction date, the account
+ * and the currency of every entry, and the dealer activity over the {@code accountingevent} index: a dashboard is two search
+ * requests run together, whatever the number of entries. The amounts are indexed as scaled floats, i.e. as whole cents, and
+ * the sums are rounded back to cents.
+ * <p>
+ * The cache holds one shared computation per query fingerprint, the query normalized together with the period, so that a
+ * dashboard opened by many users runs its aggregations once per {@code application.analytics.cache-ttl}.
+ */
+@Service
+public class LedgerAnalyticsServiceImpl implements LedgerAnalyticsService {
+
+    private static final int AMOUNT_SCALE = 2;
+
+    private final Logger log = LoggerFactory.getLogger(LedgerAnalyticsServiceImpl.class);
+
+    private final SearchBackend searchBackend;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<String, Mono<LedgerAnalyticsDTO>> cache = new ConcurrentHashMap<>();
+
+    public LedgerAnalyticsServiceImpl(SearchBackend searchBackend, ApplicationProperties applicationProperties) {
+        this.searchBackend = searchBackend;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public Mono<LedgerAnalyticsDTO> getLedgerAnalytics(String query, LocalDate fromDate, LocalDate toDate) {
+        String normalizedQuery = StringUtils.normalizeSpace(StringUtils.defaultString(query));
+        String fingerprint = normalizedQuery + "|" + fromDate + "|" + toDate;
+        log.debug("Request to get the LedgerAnalytics of {}", fingerprint);
+        ApplicationProperties.Analytics analytics = applicationProperties.getAnalytics();
+        Duration ttl = analytics.getCacheTtl();
+        Mono<LedgerAnalyticsDTO> ledgerAnalytics = cache.computeIfAbsent(
+            fingerprint,
+            key ->
+                load(normalizedQuery, fromDate, toDate)
+                    // failures are not cached, the next request runs the aggregations again
+                    .cache(result -> ttl, error -> Duration.ZERO, () -> Duration.ZERO)
+        );
+        Iterator<String> fingerprints = cache.keySet().iterator();
+        while (cache.size() > analytics.getCacheSize() && fingerprints.hasNext()) {
+            if (!fingerprints.next().equals(fingerprint)) {
+                fingerprints.remove();
+            }
+        }
+        return ledgerAnalytics;
+    }
+
+    private Mono<LedgerAnalyticsDTO> load(String query, LocalDate fromDate, LocalDate toDate) {
+        int maxBuckets = applicationProperties.getAnalytics().getMaxBuckets();
+        BoolQueryBuilder entries = boolQuery().filter(rangeQuery("transactionDate").gte(fromDate.toString()).lte(toDate.toString()));
+        if (!query.isEmpty()) {
+            entries.must(queryStringQuery(query));
+        }
+        NativeSearchQueryBuilder ledgerQuery = new NativeSearchQueryBuilder()
+            .withQuery(entries)
+            .withAggregations(
+                terms("accounts")
+                    .field("transactionAccountId")
+                    .size(maxBuckets)
+                    .subAggregation(totalsByType())
+                    .subAggregation(
+                        topHits("account").size(1).fetchSource(new String[] { "accountNumber", "accountName", "currencyCode" }, null)
+                    ),
+                dateHistogram("months")
+                    .field("transactionDate")
+                    .calendarInterval(DateHistogramInterval.MONTH)
+                    .minDocCount(1)
+                    .subAggregation(terms("currencies").field("currencyCode").size(maxBuckets).subAggregation(totalsByType()))
+            );
+        NativeSearchQueryBuilder dealerQuery = new NativeSearchQueryBuilder()
+            .withQuery(boolQuery().filter(rangeQuery("eventDate").gte(fromDate.toString()).lte(toDate.toString())))
+            .withAggregations(
+                terms("dealers")
+                    .field("dealerId")
+                    .size(maxBuckets)
+                    .subAggregation(min("first").field("eventDate"))
+                    .subAggregation(max("last").field("eventDate"))
+            );
+        return Mono
+            .zip(
+                searchBackend.aggregate(LedgerEntryDocument.class, ledgerQuery.build()).collectMap(Aggregation::getName),
+                searchBackend.aggregate(AccountingEvent.class, dealerQuery.build()).collectMap(Aggregation::getName)
+            )
+            .map(aggregations -> {
+                LedgerAnalyticsDTO ledgerAnalytics = new LedgerAnalyticsDTO();
+                ledgerAnalytics.setFromDate(fromDate);
+                ledgerAnalytics.setToDate(toDate);
+                ledgerAnalytics.setAccountTotals(toAccountTotals((Terms) aggregations.getT1().get("accounts")));
+                ledgerAnalytics.setMonthlyVolumes(toMonthlyVolumes((Histogram) aggregations.getT1().get("months")));
+                ledgerAnalytics.setDealerActivities(toDealerActivities((Terms) aggregations.getT2().get("dealers")));
+                return ledgerAnalytics;
+            });
+    }
+
+    private static TermsAggregationBuilder totalsByType() {
+        return terms("types").field("transactionEntryType").subAggregation(sum("amount").field("entryAmount"));
+    }
+
+    private static List<AccountTotalDTO> toAccountTotals(Terms accounts) {
+        List<AccountTotalDTO> accountTotals = new ArrayList<>();
+        if (accounts == null) {
+            return accountTotals;
+        }
+        for (Terms.Bucket bucket : accounts.getBuckets()) {
+            AccountTotalDTO accountTotal = new AccountTotalDTO();
+            accountTotal.setTransactionAccountId(bucket.getKeyAsNumber().longValue());
+            accountTotal.setEntryCount(bucket.getDocCount());
+            SearchHit[] hits = ((TopHits) bucket.getAggregations().get("account")).getHits().getHits();
+            if (hits.length > 0) {
+                Map<String, Object> account = hits[0].getSourceAsMap();
+                accountTotal.setAccountNumber((String) account.get("accountNumber"));
+                accountTotal.setAccountName((String) account.get("accountName"));
+                accountTotal.setCurrencyCode((String) account.get("currencyCode"));
+            }
+            accountTotal.setDebitTotal(total(bucket.getAggregations(), TransactionEntryTypes.DEBIT));
+            accountTotal.setCreditTotal(total(bucket.getAggregations(), TransactionEntryTypes.CREDIT));
+            accountTotals.add(accountTotal);
+        }
+        return accountTotals;
+    }
+
+    private static List<MonthlyVolumeDTO> toMonthlyVolumes(Histogram months) {
+        List<MonthlyVolumeDTO> monthlyVolumes = new ArrayList<>();
+        if (months == null) {
+            return monthlyVolumes;
+        }
+        for (Histogram.Bucket month : months.getBuckets()) {
+            for (Terms.Bucket currency : ((Terms) month.getAggregations().get("currencies")).getBuckets()) {
+                MonthlyVolumeDTO monthlyVolume = new MonthlyVolumeDTO();
+                monthlyVolume.setMonth(((ZonedDateTime) month.getKey()).toLocalDate());
+                monthlyVolume.setCurrencyCode(currency.getKeyAsString());
+                monthlyVolume.setEntryCount(currency.getDocCount());
+                monthlyVolume.setDebitTotal(total(currency.getAggregations(), TransactionEntryTypes.DEBIT));
+                monthlyVolume.setCreditTotal(total(currency.getAggregations(), TransactionEntryTypes.CREDIT));
+                monthlyVolumes.add(monthlyVolume);
+            }
+        }
+        return monthlyVolumes;
+    }
+
+    private static List<DealerActivityDTO> toDealerActivities(Terms dealers) {
+        List<DealerActivityDTO> dealerActivities = new ArrayList<>();
+        if (dealers == null) {
+            return dealerActivities;
+        }
+        for (Terms.Bucket bucket : dealers.getBuckets()) {
+            DealerActivityDTO dealerActivity = new DealerActivityDTO();
+            dealerActivity.setDealerId(bucket.getKeyAsNumber().longValue());
+            dealerActivity.setEventCount(bucket.getDocCount());
+            dealerActivity.setFirstEventDate(toDate(((Min) bucket.getAggregations().get("first")).getValue()));
+            dealerActivity.setLastEventDate(toDate(((Max) bucket.getAggregations().get("last")).getValue()));
+            dealerActivities.add(dealerActivity);
+        }
+        return dealerActivities;
+    }
+
+    /**
+     * @return the sum of the amounts of the entries of the given type, rounded to cents: the scaled floats are summed as
+     * doubles, exact to the cent far beyond any ledger total.
+     */
+    private static BigDecimal total(Aggregations aggregations, TransactionEntryTypes type) {
+        Terms.Bucket bucket = ((Terms) aggregations.get("types")).getBucketByKey(type.name());
+        if (bucket == null) {
+            return BigDecimal.ZERO.setScale(AMOUNT_SCALE);
+        }
+        return BigDecimal.valueOf(((Sum) bucket.getAggregations().get("amount")).getValue()).setScale(AMOUNT_SCALE, RoundingMode.HALF_EVEN);
+    }
+
+    /**
+     * @return the date of a min or max aggregation of a date field, null if no document has the field.
+     */
+    private static LocalDate toDate(double epochMillis) {
+        if (Double.isInfinite(epochMillis)) {
+            return null;
+        }
+        return Instant.ofEpochMilli((long) epochMillis).atZone(ZoneOffset.UTC).toLocalDate();
+    }
+}
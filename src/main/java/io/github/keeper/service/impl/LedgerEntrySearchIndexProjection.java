@@ -0,0 +1,147 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.EntityIdRange;
+import io.github.keeper.repository.SearchIndexEventRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.search.SearchBackend;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import reactor.core.publisher.Mono;
+
+/**
+ * The {@link LedgerEntryDocument} index, made of the entries joined with their account, the currency of their account and
+ * their transaction.
+ * <p>
+ * An entry is written whole from the database. A change of an account, a transaction or a currency is fanned out with a
+ * single update of the search backend per batch, copying its new fields into the documents of all its entries: the entries
+ * are not read from the database again.
+ */
+final class LedgerEntrySearchIndexProjection extends SearchIndexProjection {
+
+    private static final String TRANSACTION_ENTRY = TransactionEntry.class.getSimpleName();
+
+    private static final String TRANSACTION_ACCOUNT = TransactionAccount.class.getSimpleName();
+
+    private static final String ACCOUNT_TRANSACTION = AccountTransaction.class.getSimpleName();
+
+    private static final String TRANSACTION_CURRENCY = TransactionCurrency.class.getSimpleName();
+
+    private final TransactionEntryRepository transactionEntryRepository;
+
+    private final SearchIndexEventRepository searchIndexEventRepository;
+
+    LedgerEntrySearchIndexProjection(
+        TransactionEntryRepository transactionEntryRepository,
+        SearchIndexEventRepository searchIndexEventRepository,
+        SearchBackend searchBackend
+    ) {
+        super(
+            searchBackend,
+            LedgerEntryDocument.class,
+            Set.of(TRANSACTION_ENTRY, TRANSACTION_ACCOUNT, ACCOUNT_TRANSACTION, TRANSACTION_CURRENCY)
+        );
+        this.transactionEntryRepository = transactionEntryRepository;
+        this.searchIndexEventRepository = searchIndexEventRepository;
+    }
+
+    @Override
+    Mono<Void> sync(String entityType, Set<Long> ids, String index) {
+        if (TRANSACTION_ENTRY.equals(entityType)) {
+            return transactionEntryRepository
+                .findLedgerEntriesByIdIn(ids)
+                .collectList()
+                .flatMap(documents -> write(documents, LedgerEntryDocument::getId, ids, index));
+        }
+        if (TRANSACTION_ACCOUNT.equals(entityType)) {
+            return searchIndexEventRepository.findAllEntitiesById(TransactionAccount.class, ids).collectList().flatMap(accounts -> {
+                Set<Long> currencyIds = accounts
+                    .stream()
+                    .map(TransactionAccount::getTransactionCurrencyId)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toSet());
+                Mono<Map<Long, String>> currencyCodes = currencyIds.isEmpty()
+                    ? Mono.just(Map.of())
+                    : searchIndexEventRepository
+                        .findAllEntitiesById(TransactionCurrency.class, currencyIds)
+                        .collectMap(TransactionCurrency::getId, TransactionCurrency::getCode);
+                return currencyCodes.flatMap(codes -> {
+                    Map<Long, Map<String, Object>> fieldsById = new HashMap<>();
+                    for (TransactionAccount account : accounts) {
+                        Map<String, Object> fields = new HashMap<>();
+                        fields.put("accountName", account.getAccountName());
+                        fields.put("accountNumber", account.getAccountNumber());
+                        fields.put("transactionCurrencyId", account.getTransactionCurrencyId());
+                        fields.put("currencyCode", codes.get(account.getTransactionCurrencyId()));
+                        fieldsById.put(account.getId(), fields);
+                    }
+                    return fanOut("transactionAccountId", fieldsById, index);
+                });
+            });
+        }
+        if (ACCOUNT_TRANSACTION.equals(entityType)) {
+            return searchIndexEventRepository
+                .findAllEntitiesById(AccountTransaction.class, ids)
+                .collectList()
+                .flatMap(transactions -> {
+                    Map<Long, Map<String, Object>> fieldsById = new HashMap<>();
+                    for (AccountTransaction transaction : transactions) {
+                        Map<String, Object> fields = new HashMap<>();
+                        LocalDate transactionDate = transaction.getTransactionDate();
+                        fields.put("transactionDate", transactionDate != null ? transactionDate.toString() : null);
+                        fields.put("referenceNumber", transaction.getReferenceNumber());
+                        fieldsById.put(transaction.getId(), fields);
+                    }
+                    return fanOut("accountTransactionId", fieldsById, index);
+                });
+        }
+        if (TRANSACTION_CURRENCY.equals(entityType)) {
+            return searchIndexEventRepository
+                .findAllEntitiesById(TransactionCurrency.class, ids)
+                .collectList()
+                .flatMap(currencies -> {
+                    Map<Long, Map<String, Object>> fieldsById = new HashMap<>();
+                    for (TransactionCurrency currency : currencies) {
+                        Map<String, Object> fields = new HashMap<>();
+                        fields.put("currencyCode", currency.getCode());
+                        fieldsById.put(currency.getId(), fields);
+                    }
+                    return fanOut("transactionCurrencyId", fieldsById, index);
+                });
+        }
+        return Mono.empty();
+    }
+
+    /**
+     * Copies the given fields into the documents referencing any of the given entities, with a single update of the search
+     * backend. The entities that are gone are skipped, the foreign keys of the entries keep them from being referenced.
+     *
+     * @param field the field of the documents referencing the entities.
+     * @param fieldsById the fields to copy, by the id of their entity.
+     */
+    private Mono<Void> fanOut(String field, Map<Long, Map<String, Object>> fieldsById, String index) {
+        return searchBackend.updateAll(LedgerEntryDocument.class, index, field, fieldsById);
+    }
+
+    @Override
+    Mono<EntityIdRange> findIdRange() {
+        return searchIndexEventRepository.findEntityIdRange(TransactionEntry.class);
+    }
+
+    @Override
+    Mono<List<Long>> load(long afterId, long lastId, int limit, String index) {
+        return transactionEntryRepository
+            .findLedgerEntriesByIdBetween(afterId, lastId, limit)
+            .collectList()
+            .flatMap(documents -> save(documents, LedgerEntryDocument::getId, index));
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.LedgerEntryService;
+import io.github.keeper.service.dto.LedgerEntryDTO;
+import io.github.keeper.service.mapper.LedgerEntryMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for searching the ledger entries. The documents are written by the search index outbox only, see
+ * {@link SearchIndexServiceImpl}.
+ */
+@Service
+public class LedgerEntryServiceImpl implements LedgerEntryService {
+
+    private final Logger log = LoggerFactory.getLogger(LedgerEntryServiceImpl.class);
+
+    private final SearchBackend searchBackend;
+
+    private final LedgerEntryMapper ledgerEntryMapper;
+
+    public LedgerEntryServiceImpl(SearchBackend searchBackend, LedgerEntryMapper ledgerEntryMapper) {
+        this.searchBackend = searchBackend;
+        this.ledgerEntryMapper = ledgerEntryMapper;
+    }
+
+    @Override
+    public Mono<Page<LedgerEntryDTO>> search(String query, Pageable pageable) {
+        log.debug("Request to search for a page of LedgerEntries for query {}", query);
+        return searchBackend.search(LedgerEntryDocument.class, query, pageable).map(page -> page.map(ledgerEntryMapper::toDto));
+    }
+
+    @Override
+    public Mono<SearchSlice<LedgerEntryDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of LedgerEntries for query {}", query);
+        return searchBackend.search(LedgerEntryDocument.class, query, pageable).map(slice -> slice.map(ledgerEntryMapper::toDto));
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.service.LedgerEventService;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.LedgerEventDTO;
+import io.github.keeper.service.mapper.AccountTransactionMapper;
+import io.github.keeper.service.mapper.TransactionEntryMapper;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service Implementation publishing the changes of the ledger on the ledger events topic.
+ * <p>
+ * The events of a transaction are sent in the order of the changes by a hook run after the commit. The producer of the
+ * binding batches and compresses them, and the {@code transaction_account_id} they carry is the key of their record. The
+ * transaction is committed by then: an event that could not be sent is logged, it does not fail the change.
+ */
+@Service
+public class LedgerEventServiceImpl implements LedgerEventService {
+
+    public static final String BINDING_NAME = "binding-out-ledger-events";
+
+    private final Logger log = LoggerFactory.getLogger(LedgerEventServiceImpl.class);
+
+    private final MessageChannel output;
+
+    private final TransactionEntryRepository transactionEntryRepository;
+
+    private final TransactionEntryMapper transactionEntryMapper;
+
+    private final AccountTransactionMapper accountTransactionMapper;
+
+    public LedgerEventServiceImpl(
+        @Lazy @Qualifier(BINDING_NAME) MessageChannel output,
+        TransactionEntryRepository transactionEntryRepository,
+        TransactionEntryMapper transactionEntryMapper,
+        AccountTransactionMapper accountTransactionMapper
+    ) {
+        this.output = output;
+        this.transactionEntryRepository = transactionEntryRepository;
+        this.transactionEntryMapper = transactionEntryMapper;
+        this.accountTransactionMapper = accountTransactionMapper;
+    }
+
+    @Override
+    public Mono<Void> publishTransactionEntries(LedgerEventDTO.Change change, Collection<TransactionEntry> transactionEntries) {
+        Instant timestamp = Instant.now();
+        List<LedgerEventDTO> events = transactionEntries
+            .stream()
+            .map(transactionEntry ->
+                LedgerEventDTO.of(
+                    change,
+                    transactionEntryMapper.toDto(transactionEntry),
+                    transactionEntry.getTransactionAccountId(),
+                    timestamp
+                )
+            )
+            .collect(Collectors.toList());
+        return publishAfterCommit(events);
+    }
+
+    @Override
+    public Mono<Void> publishAccountTransactions(LedgerEventDTO.Change change, Collection<AccountTransaction> accountTransactions) {
+        if (accountTransactions.isEmpty()) {
+            return Mono.empty();
+        }
+        List<Long> ids = accountTransactions.stream().map(AccountTransaction::getId).collect(Collectors.toList());
+        return transactionEntryRepository
+            .findAllByAccountTransactionIdIn(ids)
+            .collectList()
+            .flatMap(transactionEntries -> publishAccountTransactions(change, accountTransactions, transactionEntries));
+    }
+
+    @Override
+    public Mono<Void> publishAccountTransactions(
+        LedgerEventDTO.Change change,
+        Collection<AccountTransaction> accountTransactions,
+        Collection<TransactionEntry> transactionEntries
+    ) {
+        Instant timestamp = Instant.now();
+        Map<Long, Set<Long>> accountIdsByAccountTransactionId = transactionEntries
+            .stream()
+            .filter(transactionEntry -> transactionEntry.getTransactionAccountId() != null)
+            .collect(
+                Collectors.groupingBy(
+                    TransactionEntry::getAccountTransactionId,
+                    Collectors.mapping(TransactionEntry::getTransactionAccountId, Collectors.toCollection(TreeSet::new))
+                )
+            );
+        List<LedgerEventDTO> events = new ArrayList<>();
+        for (AccountTransaction accountTransaction : accountTransactions) {
+            AccountTransactionDTO accountTransactionDTO = accountTransactionMapper.toDto(accountTransaction);
+            Set<Long> accountIds = accountIdsByAccountTransactionId.get(accountTransaction.getId());
+            if (accountIds == null) {
+                // a journal without entries yet posts to no account, it is published without key
+                events.add(LedgerEventDTO.of(change, accountTransactionDTO, null, timestamp));
+                continue;
+            }
+            accountIds.forEach(accountId -> events.add(LedgerEventDTO.of(change, accountTransactionDTO, accountId, timestamp)));
+        }
+        return publishAfterCommit(events);
+    }
+
+    private Mono<Void> publishAfterCommit(List<LedgerEventDTO> events) {
+        if (events.isEmpty()) {
+            return Mono.empty();
+        }
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return send(events);
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return send(events);
+                        }
+                    }
+                );
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class, e -> send(events));
+    }
+
+    private Mono<Void> send(List<LedgerEventDTO> events) {
+        return Mono
+            .fromRunnable(() -> events.forEach(this::send))
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                log.warn("Could not publish {} ledger events: {}", events.size(), e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void send(LedgerEventDTO event) {
+        log.debug("Publishing ledger event {}", event);
+        MessageBuilder<LedgerEventDTO> message = MessageBuilder
+            .withPayload(event)
+            .setHeader(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.APPLICATION_JSON_VALUE);
+        if (event.getTransactionAccountId() != null) {
+            message.setHeader(KafkaHeaders.MESSAGE_KEY, String.valueOf(event.getTransactionAccountId()));
+        }
+        output.send(message.build());
+    }
+}
@@ -0,0 +1,178 @@
+package io.github.keeper.service.impl;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.service.AccountTransactionService;
+import io.github.keeper.service.InvalidJournalBatchException;
+import io.github.keeper.service.LedgerPostingService;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.Message;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation posting the batches of journals read from the ledger postings topic.
+ * <p>
+ * A record is read, checked and written with the multi-row inserts of {@link AccountTransactionService#saveBatch} in a
+ * single transaction, on the consumer thread of its partition: the offset of the record is only committed once that
+ * transaction is, and the binder runs {@code concurrency} such consumers, which bounds the connections used. A record that
+ * cannot be read or posted is not retried, the binder sends it to the dead-letter topic.
+ * <p>
+ * A record is delivered at least once: every journal must carry a reference number, which the unique constraint of the
+ * column keeps from being posted twice. A batch whose journals are all rejected as {@link
+ * AccountTransactionServiceImpl#DUPLICATE_REFERENCE_NUMBER already posted} is an earlier delivery of the record, it is
+ * acknowledged without saving anything. A delivery running concurrently with another one of the record, which commits
+ * first, fails on the constraint: a batch failing on a constraint is checked and saved once more.
+ */
+@Service
+public class LedgerPostingServiceImpl implements LedgerPostingService {
+
+    public static final String MISSING_REFERENCE_NUMBER = "referenceNumber: must be set to post the journal once";
+
+    private static final TypeReference<List<AccountTransactionDTO>> JOURNALS = new TypeReference<>() {};
+
+    private final Logger log = LoggerFactory.getLogger(LedgerPostingServiceImpl.class);
+
+    private final AccountTransactionService accountTransactionService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ObjectMapper objectMapper;
+
+    public LedgerPostingServiceImpl(
+        AccountTransactionService accountTransactionService,
+        TransactionalOperator transactionalOperator,
+        ObjectMapper objectMapper
+    ) {
+        this.accountTransactionService = accountTransactionService;
+        this.transactionalOperator = transactionalOperator;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Post a batch of journals read from the ledger postings topic, on the consumer thread of its partition.
+     *
+     * @param message the batch, as a JSON array of journals.
+     * @throws InvalidJournalBatchException if the batch cannot be read or posted as a whole.
+     */
+    public void consume(Message<byte[]> message) {
+        List<AccountTransactionDTO> accountTransactionDTOs = read(message.getPayload());
+        List<BatchItemResultDTO> results = post(accountTransactionDTOs).block();
+        log.debug("Posted a batch of {} journals", results == null ? 0 : results.size());
+    }
+
+    @Override
+    public Mono<List<BatchItemResultDTO>> post(List<AccountTransactionDTO> accountTransactionDTOs) {
+        log.debug("Request to post a batch of {} journals", accountTransactionDTOs.size());
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < accountTransactionDTOs.size(); i++) {
+            String error = check(accountTransactionDTOs.get(i));
+            if (error != null) {
+                errors.add("[" + i + "] " + error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            return Mono.error(new InvalidJournalBatchException("Invalid journals: " + String.join("; ", errors)));
+        }
+        return save(accountTransactionDTOs)
+            .onErrorResume(
+                DataIntegrityViolationException.class,
+                e -> {
+                    // such as a concurrent delivery of the record posted first: checked again, it is found posted already
+                    log.debug("Could not post a batch of journals, checking it again: {}", e.getMessage());
+                    return save(accountTransactionDTOs);
+                }
+            );
+    }
+
+    private Mono<List<BatchItemResultDTO>> save(List<AccountTransactionDTO> accountTransactionDTOs) {
+        return accountTransactionService
+            .saveBatch(accountTransactionDTOs)
+            .flatMap(results -> {
+                if (isPostedAlready(results)) {
+                    log.info("Skipping a batch of {} journals posted already", results.size());
+                    return Mono.just(results);
+                }
+                List<String> rejections = results
+                    .stream()
+                    .filter(result -> result.getStatus() == BatchItemResultDTO.Status.REJECTED)
+                    .map(result -> "[" + result.getIndex() + "] " + String.join(", ", result.getErrors()))
+                    .collect(Collectors.toList());
+                if (!rejections.isEmpty()) {
+                    // the accepted journals are rolled back with the rejected ones
+                    return Mono.error(new InvalidJournalBatchException("Invalid journals: " + String.join("; ", rejections)));
+                }
+                return Mono.just(results);
+            })
+            .as(transactionalOperator::transactional);
+    }
+
+    private static boolean isPostedAlready(List<BatchItemResultDTO> results) {
+        return (
+            !results.isEmpty() &&
+            results
+                .stream()
+                .allMatch(result ->
+                    result.getStatus() == BatchItemResultDTO.Status.REJECTED &&
+                    result.getErrors().equals(List.of(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER))
+                )
+        );
+    }
+
+    private List<AccountTransactionDTO> read(byte[] payload) {
+        try {
+            List<AccountTransactionDTO> accountTransactionDTOs = objectMapper.readValue(payload, JOURNALS);
+            if (accountTransactionDTOs == null) {
+                throw new InvalidJournalBatchException("A batch of journals must be a JSON array");
+            }
+            return accountTransactionDTOs;
+        } catch (IOException e) {
+            throw new InvalidJournalBatchException("Could not read the batch of journals: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return why the journal has no reference number or does not balance, {@code null} if neither. The other checks are left
+     * to the batch insert.
+     */
+    private static String check(AccountTransactionDTO accountTransactionDTO) {
+        if (accountTransactionDTO == null) {
+            return null;
+        }
+        if (!StringUtils.hasText(accountTransactionDTO.getReferenceNumber())) {
+            return MISSING_REFERENCE_NUMBER;
+        }
+        if (accountTransactionDTO.getTransactionEntries() == null) {
+            return null;
+        }
+        BigDecimal debits = BigDecimal.ZERO;
+        BigDecimal credits = BigDecimal.ZERO;
+        for (TransactionEntryDTO transactionEntryDTO : accountTransactionDTO.getTransactionEntries()) {
+            if (transactionEntryDTO == null || transactionEntryDTO.getEntryAmount() == null) {
+                continue;
+            }
+            if (transactionEntryDTO.getTransactionEntryType() == TransactionEntryTypes.DEBIT) {
+                debits = debits.add(transactionEntryDTO.getEntryAmount());
+            } else if (transactionEntryDTO.getTransactionEntryType() == TransactionEntryTypes.CREDIT) {
+                credits = credits.add(transactionEntryDTO.getEntryAmount());
+            }
+        }
+        if (debits.compareTo(credits) != 0) {
+            return "debits " + debits.toPlainString() + " do not equal credits " + credits.toPlainString();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.service.LiveFeedService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Service Implementation sharing the messages read from Kafka through a multicast sink replaying the latest
+ * {@code application.live-feed.replay-size} of them.
+ * <p>
+ * The sink is never back-pressured: each client drains it into a buffer of {@code application.live-feed.subscriber-buffer-size}
+ * messages, and drops on overflow as its {@link LiveFeedService.Overflow} tells. The number of clients and the messages
+ * dropped per policy are published as the {@value #SUBSCRIBERS_METER_NAME} and {@value #DROPPED_METER_NAME} meters.
+ */
+@Service
+public class LiveFeedServiceImpl implements LiveFeedService {
+
+    public static final String SUBSCRIBERS_METER_NAME = "live.feed.subscribers";
+
+    public static final String DROPPED_METER_NAME = "live.feed.dropped";
+
+    private final Logger log = LoggerFactory.getLogger(LiveFeedServiceImpl.class);
+
+    private final Sinks.Many<LiveFeedMessage> sink;
+
+    private final int subscriberBufferSize;
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private final Map<Overflow, Counter> droppedCounters = new EnumMap<>(Overflow.class);
+
+    public LiveFeedServiceImpl(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        ApplicationProperties.LiveFeed liveFeed = applicationProperties.getLiveFeed();
+        this.sink = Sinks.many().replay().limit(liveFeed.getReplaySize());
+        this.subscriberBufferSize = liveFeed.getSubscriberBufferSize();
+        Gauge
+            .builder(SUBSCRIBERS_METER_NAME, subscribers, AtomicInteger::get)
+            .description("Clients subscribed to the live feed")
+            .register(meterRegistry);
+        for (Overflow overflow : Overflow.values()) {
+            droppedCounters.put(
+                overflow,
+                Counter
+                    .builder(DROPPED_METER_NAME)
+                    .description("Messages of the live feed dropped for clients reading too slowly")
+                    .tag("overflow", overflow.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry)
+            );
+        }
+    }
+
+    @Override
+    public void emit(String topic, String key, String payload) {
+        Sinks.EmitResult result;
+        // the sink takes one message at a time: the consumer threads of the partitions take turns
+        synchronized (sink) {
+            result = sink.tryEmitNext(new LiveFeedMessage(topic, key, payload));
+        }
+        if (result.isFailure()) {
+            log.warn("Could not share a message of the live feed: {}", result);
+        }
+    }
+
+    @Override
+    public Flux<String> subscribe(String topic, String key, Overflow overflow) {
+        Counter dropped = droppedCounters.get(overflow);
+        BufferOverflowStrategy strategy = overflow == Overflow.LATEST
+            ? BufferOverflowStrategy.DROP_OLDEST
+            : BufferOverflowStrategy.DROP_LATEST;
+        return sink
+            .asFlux()
+            .filter(message -> topic == null || topic.equals(message.topic))
+            .filter(message -> key == null || key.equals(message.key))
+            .onBackpressureBuffer(subscriberBufferSize, message -> dropped.increment(), strategy)
+            .map(message -> message.payload)
+            .doOnSubscribe(subscription -> subscribers.incrementAndGet())
+            .doFinally(signal -> subscribers.decrementAndGet());
+    }
+
+    private static final class LiveFeedMessage {
+
+        private final String topic;
+
+        private final String key;
+
+        private final String payload;
+
+        LiveFeedMessage(String topic, String key, String payload) {
+            this.topic = topic;
+            this.key = key;
+            this.payload = payload;
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.DealerType;
+import io.github.keeper.domain.EventType;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionAccountType;
+import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service Implementation of the in-memory cache of the reference data.
+ * <p>
+ * Each entity has its own least recently used map of cached reads, holding one shared computation per key as the trial
+ * balance cache does, and its own {@code cache.gets}, {@code cache.evictions} and {@code cache.size} meters tagged with the
+ * entity name. An eviction clears the reads of the entity, and of the entities whose reads embed it, and is published with
+ * the entity name on the cache invalidation topic. The topic is consumed without group, so that every instance, this one
+ * included, evicts its own reads; an instance that misses a message serves its reads for at most
+ * {@code application.reference-cache.ttl}.
+ */
+@Service
+public class ReferenceDataCacheServiceImpl implements ReferenceDataCacheService {
+
+    public static final String BINDING_NAME = "binding-out-cache-invalidation";
+
+    private static final List<Class<?>> CACHED_ENTITIES = List.of(
+        TransactionCurrency.class,
+        TransactionAccountType.class,
+        EventType.class,
+        DealerType.class,
+        TransactionAccount.class
+    );
+
+    // the reads of the accounts embed the code of their currency and the name of their type
+    private static final Map<Class<?>, List<Class<?>>> EMBEDDING_ENTITIES = Map.of(
+        TransactionCurrency.class,
+        List.of(TransactionAccount.class),
+        TransactionAccountType.class,
+        List.of(TransactionAccount.class)
+    );
+
+    private final Logger log = LoggerFactory.getLogger(ReferenceDataCacheServiceImpl.class);
+
+    private final MessageChannel output;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<String, EntityCache> caches = new HashMap<>();
+
+    public ReferenceDataCacheServiceImpl(
+        @Lazy @Qualifier(BINDING_NAME) MessageChannel output,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.output = output;
+        this.applicationProperties = applicationProperties;
+        CACHED_ENTITIES.forEach(entityType -> caches.put(entityType.getSimpleName(), new EntityCache(entityType, meterRegistry)));
+    }
+
+    @Override
+    public <T> Mono<T> get(Class<?> entityType, String key, Supplier<Mono<T>> loader) {
+        EntityCache cache = cacheOf(entityType.getSimpleName());
+        if (!isEnabled()) {
+            return loader.get();
+        }
+        ApplicationProperties.ReferenceCache referenceCache = applicationProperties.getReferenceCache();
+        return cache.get(key, loader, referenceCache.getMaxSize(), referenceCache.getTtl());
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return applicationProperties.getReferenceCache().getMaxSize() > 0;
+    }
+
+    @Override
+    public Mono<Void> evict(Class<?> entityType) {
+        String entityName = cacheOf(entityType.getSimpleName()).entityName;
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return evictEverywhere(entityName);
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCommit() {
+                            return evictEverywhere(entityName);
+                        }
+                    }
+                );
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class, e -> evictEverywhere(entityName));
+    }
+
+    /**
+     * Evict the reads of the entity named by an invalidation read from the cache invalidation topic.
+     *
+     * @param message the invalidation, naming the entity.
+     */
+    public void consume(Message<String> message) {
+        String entityName = message.getPayload();
+        if (!caches.containsKey(entityName)) {
+            log.warn("Ignoring the invalidation of the unknown reference cache {}", entityName);
+            return;
+        }
+        evictLocally(entityName);
+    }
+
+    private Mono<Void> evictEverywhere(String entityName) {
+        // the write is committed already: a failed publication leaves the other instances on their ttl, it does not fail it
+        return Mono
+            .fromRunnable(() -> {
+                evictLocally(entityName);
+                output.send(new GenericMessage<>(entityName, Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE)));
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                log.warn("Could not publish the invalidation of the reference cache {}: {}", entityName, e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void evictLocally(String entityName) {
+        log.debug("Evicting the cached reads of {}", entityName);
+        EntityCache cache = caches.get(entityName);
+        cache.clear();
+        EMBEDDING_ENTITIES
+            .getOrDefault(cache.entityType, List.of())
+            .forEach(entityType -> caches.get(entityType.getSimpleName()).clear());
+    }
+
+    private EntityCache cacheOf(String entityName) {
+        EntityCache cache = caches.get(entityName);
+        if (cache == null) {
+            throw new IllegalArgumentException("No reference cache for " + entityName);
+        }
+        return cache;
+    }
+
+    private static final class EntityCache {
+
+        private final Class<?> entityType;
+
+        private final String entityName;
+
+        // access ordered, the least recently used read first
+        private final LinkedHashMap<String, CachedRead> reads = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final Counter hits;
+
+        private final Counter misses;
+
+        private final Counter evictions;
+
+        EntityCache(Class<?> entityType, MeterRegistry meterRegistry) {
+            this.entityType = entityType;
+            this.entityName = entityType.getSimpleName();
+            this.hits = Counter
+                .builder("cache.gets")
+                .description("Reads served from the cache")
+                .tags("cache", entityName, "result", "hit")
+                .register(meterRegistry);
+            this.misses = Counter
+                .builder("cache.gets")
+                .description("Reads run against the database")
+                .tags("cache", entityName, "result", "miss")
+                .register(meterRegistry);
+            this.evictions = Counter
+                .builder("cache.evictions")
+                .description("Reads evicted to bound the size of the cache")
+                .tag("cache", entityName)
+                .register(meterRegistry);
+            Gauge
+                .builder("cache.size", reads, this::size)
+                .description("Reads held by the cache")
+                .tag("cache", entityName)
+                .register(meterRegistry);
+        }
+
+        @SuppressWarnings("unchecked")
+        synchronized <T> Mono<T> get(String key, Supplier<Mono<T>> loader, int maxSize, Duration ttl) {
+            long now = System.nanoTime();
+            CachedRead cachedRead = reads.get(key);
+            if (cachedRead != null && now - cachedRead.expiresAt < 0) {
+                hits.increment();
+                return (Mono<T>) cachedRead.read;
+            }
+            misses.increment();
+            // failures and empty results are not cached, the next subscriber runs the read again
+            Mono<T> read = loader.get().cache(result -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+            reads.put(key, new CachedRead(read, now + ttl.toNanos()));
+            while (reads.size() > maxSize) {
+                reads.remove(reads.keySet().iterator().next());
+                evictions.increment();
+            }
+            return read;
+        }
+
+        synchronized void clear() {
+            reads.clear();
+        }
+
+        private synchronized double size(Map<String, CachedRead> reads) {
+            return reads.size();
+        }
+    }
+
+    private static final class CachedRead {
+
+        private final Mono<?> read;
+
+        private final long expiresAt;
+
+        CachedRead(Mono<?> read, long expiresAt) {
+            this.read = read;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
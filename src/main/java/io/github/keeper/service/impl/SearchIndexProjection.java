@@ -0,0 +1,91 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.repository.EntityIdRange;
+import io.github.keeper.repository.search.SearchBackend;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import reactor.core.publisher.Mono;
+
+/**
+ * How the documents of a search index are built from the database: updated from the outbox events of the entities they are
+ * made of, and loaded in bulk by a full reindex.
+ */
+abstract class SearchIndexProjection {
+
+    final SearchBackend searchBackend;
+
+    private final Class<?> documentType;
+
+    private final String index;
+
+    private final Set<String> entityTypes;
+
+    SearchIndexProjection(SearchBackend searchBackend, Class<?> documentType, Set<String> entityTypes) {
+        this.searchBackend = searchBackend;
+        this.documentType = documentType;
+        this.index = searchBackend.getIndexName(documentType);
+        this.entityTypes = entityTypes;
+    }
+
+    /**
+     * @return the class of the documents, for the settings and the mapping of a new index.
+     */
+    Class<?> getDocumentType() {
+        return documentType;
+    }
+
+    /**
+     * @return the name of the index, the alias the searches go through once it has been reindexed.
+     */
+    String getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the simple names of the entity types whose outbox events update the documents.
+     */
+    Set<String> getEntityTypes() {
+        return entityTypes;
+    }
+
+    /**
+     * Updates the documents made of the given entities, as they are committed, in the given index.
+     *
+     * @param entityType one of {@link #getEntityTypes()}.
+     */
+    abstract Mono<Void> sync(String entityType, Set<Long> ids, String index);
+
+    /**
+     * @return the range of the ids of the rows a full reindex loads the documents from.
+     */
+    abstract Mono<EntityIdRange> findIdRange();
+
+    /**
+     * Writes the documents of the first rows, in id order, with an id greater than {@code afterId} and up to {@code lastId}.
+     *
+     * @return the ids of the rows written, in id order.
+     */
+    abstract Mono<List<Long>> load(long afterId, long lastId, int limit, String index);
+
+    /**
+     * Writes the given documents with one bulk write, and removes the documents of the other ids, whose rows are gone.
+     */
+    <D> Mono<Void> write(List<D> documents, Function<D, Long> idOf, Set<Long> ids, String index) {
+        Set<Long> deletedIds = new HashSet<>(ids);
+        documents.forEach(document -> deletedIds.remove(idOf.apply(document)));
+        return searchBackend.saveAll(documents, index).then(searchBackend.deleteAll(documentType, deletedIds, index));
+    }
+
+    /**
+     * Writes the given documents with one bulk write.
+     *
+     * @return the ids of the documents, in order.
+     */
+    <D> Mono<List<Long>> save(List<D> documents, Function<D, Long> idOf, String index) {
+        List<Long> ids = documents.stream().map(idOf).collect(Collectors.toList());
+        return searchBackend.saveAll(documents, index).then(Mono.just(ids));
+    }
+}
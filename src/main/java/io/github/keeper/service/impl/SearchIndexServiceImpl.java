@@ -0,0 +1,390 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.AccountingEvent;
+import io.github.keeper.domain.BalanceSheetItemType;
+import io.github.keeper.domain.BalanceSheetItemValue;
+import io.github.keeper.domain.Dealer;
+import io.github.keeper.domain.DealerType;
+import io.github.keeper.domain.EventType;
+import io.github.keeper.domain.SearchIndexEvent;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionAccountType;
+import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.EntityIdRange;
+import io.github.keeper.repository.SearchIndexEventRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.dto.SearchReindexJobDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation of the search index outbox and of its background indexer.
+ * <p>
+ * A batch is drained in a single transaction holding the lock of the indexer, the events are deleted only once their
+ * documents are written. The events carry no state, each one copies the entity as it is committed at that time: a retried
+ * or a repeated event cannot bring back an older version of a document, and the order of the writes of an entity is kept.
+ * The events of an entity update every index whose documents are made of it, through its {@link SearchIndexProjection}.
+ * <p>
+ * A full reindex loads a new index next to the live one, which keeps being updated by the outbox. The entities indexed by the
+ * outbox meanwhile are recorded, and copied again into the new index while holding the lock of the indexer, just before the
+ * alias is moved: no write done during the reindex is lost, and the searches never see an empty or partial index.
+ */
+@Service
+public class SearchIndexServiceImpl implements SearchIndexService {
+
+    public static final String LAG_METER_NAME = "search.index.outbox.lag";
+    public static final String INDEXED_METER_NAME = "search.index.outbox.indexed";
+    public static final String FAILURES_METER_NAME = "search.index.outbox.failures";
+
+    private static final DateTimeFormatter TARGET_INDEX_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMddHHmmss").withZone(ZoneOffset.UTC);
+
+    private final Logger log = LoggerFactory.getLogger(SearchIndexServiceImpl.class);
+
+    private final SearchIndexEventRepository searchIndexEventRepository;
+
+    private final SearchBackend searchBackend;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final Map<String, SearchIndexProjection> projections = new LinkedHashMap<>();
+
+    private final Set<String> indexedEntityTypes = new HashSet<>();
+
+    private final Map<String, SearchReindexJob> reindexJobs = new ConcurrentHashMap<>();
+
+    private final AtomicReference<Double> lagSeconds = new AtomicReference<>(0.0);
+
+    private final Counter indexedCounter;
+
+    private final Counter failuresCounter;
+
+    private Disposable indexer;
+
+    public SearchIndexServiceImpl(
+        SearchIndexEventRepository searchIndexEventRepository,
+        TransactionEntryRepository transactionEntryRepository,
+        SearchBackend searchBackend,
+        TransactionalOperator transactionalOperator,
+        ApplicationProperties applicationProperties,
+        MeterRegistry meterRegistry
+    ) {
+        this.searchIndexEventRepository = searchIndexEventRepository;
+        this.searchBackend = searchBackend;
+        this.transactionalOperator = transactionalOperator;
+        this.applicationProperties = applicationProperties;
+        register(AccountTransaction.class, AccountTransaction::getId);
+        register(AccountingEvent.class, AccountingEvent::getId);
+        register(BalanceSheetItemType.class, BalanceSheetItemType::getId);
+        register(BalanceSheetItemValue.class, BalanceSheetItemValue::getId);
+        register(Dealer.class, Dealer::getId);
+        register(DealerType.class, DealerType::getId);
+        register(EventType.class, EventType::getId);
+        register(TransactionAccount.class, TransactionAccount::getId);
+        register(TransactionAccountType.class, TransactionAccountType::getId);
+        register(TransactionCurrency.class, TransactionCurrency::getId);
+        register(TransactionEntry.class, TransactionEntry::getId);
+        register(new LedgerEntrySearchIndexProjection(transactionEntryRepository, searchIndexEventRepository, searchBackend));
+        Gauge
+            .builder(LAG_METER_NAME, lagSeconds, AtomicReference::get)
+            .baseUnit("seconds")
+            .description("Age of the oldest entity write not indexed yet, as of the last poll of the outbox.")
+            .register(meterRegistry);
+        this.indexedCounter = Counter
+            .builder(INDEXED_METER_NAME)
+            .baseUnit("events")
+            .description("Indicates the number of outbox events written to the search index.")
+            .register(meterRegistry);
+        this.failuresCounter = Counter
+            .builder(FAILURES_METER_NAME)
+            .baseUnit("batches")
+            .description("Indicates the number of outbox batches that failed and were postponed.")
+            .register(meterRegistry);
+    }
+
+    private <T> void register(Class<T> entityType, Function<T, Long> idOf) {
+        register(new EntitySearchIndexProjection<>(entityType, idOf, searchIndexEventRepository, searchBackend));
+    }
+
+    private void register(SearchIndexProjection projection) {
+        projections.put(projection.getIndex(), projection);
+        indexedEntityTypes.addAll(projection.getEntityTypes());
+    }
+
+    @Override
+    public Mono<Void> enqueue(Class<?> entityType, Long id) {
+        return enqueueAll(entityType, List.of(id));
+    }
+
+    @Override
+    public Mono<Void> enqueueAll(Class<?> entityType, Collection<Long> ids) {
+        if (!indexedEntityTypes.contains(entityType.getSimpleName())) {
+            return Mono.error(new IllegalArgumentException(entityType.getName() + " is not indexed"));
+        }
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return searchIndexEventRepository.insertAll(entityType.getSimpleName(), ids.toArray(new Long[0])).then();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startIndexer() {
+        ApplicationProperties.SearchIndex searchIndex = applicationProperties.getSearchIndex();
+        if (!searchIndex.isIndexerEnabled()) {
+            log.info("The search index outbox is not drained by this instance");
+            return;
+        }
+        indexer =
+            Flux
+                .interval(searchIndex.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick ->
+                    drain()
+                        .onErrorResume(e -> {
+                            log.warn("Failed to drain the search index outbox: {}", e.getMessage());
+                            return Mono.empty();
+                        })
+                )
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stopIndexer() {
+        if (indexer != null) {
+            indexer.dispose();
+        }
+    }
+
+    @Override
+    public Mono<Long> drain() {
+        int batchSize = applicationProperties.getSearchIndex().getBatchSize();
+        return drainBatch()
+            .expand(count -> count == batchSize ? drainBatch() : Mono.empty())
+            .reduce(0L, Long::sum)
+            .flatMap(count -> searchIndexEventRepository.findLagSeconds().doOnNext(lagSeconds::set).thenReturn(count));
+    }
+
+    /**
+     * Indexes the next batch of due events, unless another instance is draining the outbox.
+     *
+     * @return the number of events indexed, 0 if the batch failed, or an empty Mono if there was nothing to index.
+     */
+    private Mono<Long> drainBatch() {
+        ApplicationProperties.SearchIndex searchIndex = applicationProperties.getSearchIndex();
+        return searchIndexEventRepository
+            .tryLockIndexer()
+            .filter(Boolean::booleanValue)
+            .flatMap(locked -> searchIndexEventRepository.findAllDue(searchIndex.getBatchSize()).collectList())
+            .filter(events -> !events.isEmpty())
+            .flatMap(events -> {
+                List<Long> ids = events.stream().map(SearchIndexEvent::getId).collect(Collectors.toList());
+                return index(events)
+                    .then(searchIndexEventRepository.insertReindexTouched(ids))
+                    .then(searchIndexEventRepository.deleteAllByIdIn(ids))
+                    .doOnNext(count -> indexedCounter.increment(events.size()))
+                    .thenReturn((long) events.size())
+                    .onErrorResume(e -> {
+                        log.warn("Failed to index {} outbox events, postponing them: {}", events.size(), e.getMessage());
+                        failuresCounter.increment();
+                        return searchIndexEventRepository
+                            .deferAll(
+                                ids,
+                                searchIndex.getRetryBackoff().toMillis() / 1000.0,
+                                searchIndex.getMaxRetryBackoff().toMillis() / 1000.0
+                            )
+                            .thenReturn(0L);
+                    });
+            })
+            .as(transactionalOperator::transactional);
+    }
+
+    private Mono<Void> index(List<SearchIndexEvent> events) {
+        Map<String, Set<Long>> idsByType = new LinkedHashMap<>();
+        for (SearchIndexEvent event : events) {
+            idsByType.computeIfAbsent(event.getEntityType(), type -> new LinkedHashSet<>()).add(event.getEntityId());
+        }
+        return Flux
+            .fromIterable(idsByType.entrySet())
+            .concatMap(entry -> {
+                if (!indexedEntityTypes.contains(entry.getKey())) {
+                    log.warn("Dropping the outbox events of {}, which is not indexed", entry.getKey());
+                    return Mono.empty();
+                }
+                return Flux
+                    .fromIterable(projections.values())
+                    .filter(projection -> projection.getEntityTypes().contains(entry.getKey()))
+                    .concatMap(projection -> projection.sync(entry.getKey(), entry.getValue(), projection.getIndex()));
+            })
+            .then();
+    }
+
+    @Override
+    public Mono<SearchReindexJobDTO> reindex(String index) {
+        SearchIndexProjection projection = projections.get(index);
+        if (projection == null) {
+            return Mono.error(new IllegalArgumentException("No search index is named " + index));
+        }
+        String targetIndex = index + "_" + TARGET_INDEX_SUFFIX.format(Instant.now());
+        double timeoutSeconds = applicationProperties.getSearchIndex().getReindexTimeout().toSeconds();
+        return searchIndexEventRepository
+            .insertReindex(index, targetIndex, timeoutSeconds)
+            .flatMap(inserted -> {
+                if (inserted == 0) {
+                    return Mono.error(new IllegalStateException("A reindex of " + index + " is already running"));
+                }
+                return searchBackend
+                    .createIndex(projection.getDocumentType(), targetIndex)
+                    .then(projection.findIdRange())
+                    .map(range -> {
+                        SearchReindexJob job = new SearchReindexJob(index, targetIndex, range.getCount());
+                        reindexJobs.put(index, job);
+                        log.info("Reindexing {} into {}: {}", index, targetIndex, range);
+                        run(projection, job, range).subscribe();
+                        return job.toDto();
+                    })
+                    .onErrorResume(e -> abort(index, targetIndex).then(Mono.error(e)));
+            });
+    }
+
+    @Override
+    public List<SearchReindexJobDTO> findAllReindexes() {
+        return reindexJobs.values().stream().map(SearchReindexJob::toDto).collect(Collectors.toList());
+    }
+
+    @Override
+    public Optional<SearchReindexJobDTO> findReindex(String index) {
+        return Optional.ofNullable(reindexJobs.get(index)).map(SearchReindexJob::toDto);
+    }
+
+    private Mono<Void> run(SearchIndexProjection projection, SearchReindexJob job, EntityIdRange range) {
+        return load(projection, job, range)
+            .then(Mono.fromRunnable(job::swapping))
+            .then(swap(projection, job).as(transactionalOperator::transactional))
+            .doOnSuccess(done -> {
+                job.completed();
+                log.info("Reindexed {} into {}: {}", job.getIndex(), job.getTargetIndex(), job.toDto());
+            })
+            .onErrorResume(e -> {
+                log.error("Failed to reindex {} into {}: {}", job.getIndex(), job.getTargetIndex(), e.getMessage());
+                job.failed(e);
+                return abort(job.getIndex(), job.getTargetIndex());
+            });
+    }
+
+    /**
+     * Copies the rows into the new index, splitting the ids in ranges loaded in parallel.
+     */
+    private Mono<Void> load(SearchIndexProjection projection, SearchReindexJob job, EntityIdRange range) {
+        ApplicationProperties.SearchIndex searchIndex = applicationProperties.getSearchIndex();
+        String target = job.getTargetIndex();
+        List<long[]> partitions = new ArrayList<>();
+        if (range.getCount() > 0) {
+            long span = range.getMaxId() - range.getMinId() + 1;
+            long partitionSize = Math.max(1, (span + searchIndex.getReindexPartitions() - 1) / searchIndex.getReindexPartitions());
+            for (long afterId = range.getMinId() - 1; afterId < range.getMaxId(); afterId += partitionSize) {
+                partitions.add(new long[] { afterId, Math.min(afterId + partitionSize, range.getMaxId()) });
+            }
+        }
+        return Flux
+            .fromIterable(partitions)
+            .flatMap(
+                partition -> loadPartition(projection, job, target, partition[0], partition[1]),
+                searchIndex.getReindexConcurrency()
+            )
+            .then();
+    }
+
+    private Flux<List<Long>> loadPartition(
+        SearchIndexProjection projection,
+        SearchReindexJob job,
+        String target,
+        long afterId,
+        long lastId
+    ) {
+        int batchSize = applicationProperties.getSearchIndex().getReindexBatchSize();
+        return loadBatch(projection, job, target, afterId, lastId)
+            .expand(ids -> ids.size() < batchSize ? Mono.empty() : loadBatch(projection, job, target, ids.get(ids.size() - 1), lastId));
+    }
+
+    private Mono<List<Long>> loadBatch(
+        SearchIndexProjection projection,
+        SearchReindexJob job,
+        String target,
+        long afterId,
+        long lastId
+    ) {
+        return projection
+            .load(afterId, lastId, applicationProperties.getSearchIndex().getReindexBatchSize(), target)
+            .filter(ids -> !ids.isEmpty())
+            .doOnNext(ids -> job.addIndexedRows(ids.size()));
+    }
+
+    /**
+     * Copies again the entities indexed by the outbox during the load, then moves the alias to the new index, dropping the
+     * old one. Runs in a transaction holding the lock of the indexer, for no batch to be indexed in the old index meanwhile.
+     */
+    private Mono<Void> swap(SearchIndexProjection projection, SearchReindexJob job) {
+        String alias = job.getIndex();
+        String target = job.getTargetIndex();
+        return searchIndexEventRepository
+            .lockIndexer()
+            .thenMany(Flux.fromIterable(projection.getEntityTypes()))
+            .concatMap(entityType ->
+                searchIndexEventRepository
+                    .findAllReindexTouched(alias, entityType)
+                    .buffer(applicationProperties.getSearchIndex().getReindexBatchSize())
+                    .concatMap(ids -> projection.sync(entityType, new LinkedHashSet<>(ids), target))
+            )
+            .then(searchBackend.refresh(target))
+            .then(searchBackend.moveAlias(alias, target))
+            .then(searchIndexEventRepository.deleteReindex(alias))
+            .then();
+    }
+
+    /**
+     * Drops the new index of a reindex that did not complete, and releases the reindex of the index.
+     */
+    private Mono<Void> abort(String index, String targetIndex) {
+        return searchBackend
+            .deleteIndex(targetIndex)
+            .onErrorResume(e -> {
+                log.warn("Could not delete the index {} of a failed reindex: {}", targetIndex, e.getMessage());
+                return Mono.empty();
+            })
+            .then(searchIndexEventRepository.deleteReindex(index))
+            .then();
+    }
+}
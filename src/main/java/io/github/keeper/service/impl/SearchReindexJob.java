@@ -0,0 +1,85 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.service.dto.SearchReindexJobDTO;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The progress of a full reindex run by this instance, updated by its workers.
+ */
+class SearchReindexJob {
+
+    private final String index;
+
+    private final String targetIndex;
+
+    private final long totalRows;
+
+    private final AtomicLong indexedRows = new AtomicLong();
+
+    private final Instant startedAt = Instant.now();
+
+    private volatile SearchReindexJobDTO.Status status = SearchReindexJobDTO.Status.LOADING;
+
+    private volatile Instant finishedAt;
+
+    private volatile String error;
+
+    SearchReindexJob(String index, String targetIndex, long totalRows) {
+        this.index = index;
+        this.targetIndex = targetIndex;
+        this.totalRows = totalRows;
+    }
+
+    String getIndex() {
+        return index;
+    }
+
+    String getTargetIndex() {
+        return targetIndex;
+    }
+
+    boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    void addIndexedRows(int count) {
+        indexedRows.addAndGet(count);
+    }
+
+    void swapping() {
+        status = SearchReindexJobDTO.Status.SWAPPING;
+    }
+
+    void completed() {
+        status = SearchReindexJobDTO.Status.COMPLETED;
+        finishedAt = Instant.now();
+    }
+
+    void failed(Throwable cause) {
+        status = SearchReindexJobDTO.Status.FAILED;
+        error = cause.getMessage();
+        finishedAt = Instant.now();
+    }
+
+    SearchReindexJobDTO toDto() {
+        SearchReindexJobDTO dto = new SearchReindexJobDTO();
+        dto.setIndex(index);
+        dto.setTargetIndex(targetIndex);
+        dto.setStatus(status);
+        dto.setTotalRows(totalRows);
+        dto.setIndexedRows(indexedRows.get());
+        dto.setStartedAt(startedAt);
+        dto.setFinishedAt(finishedAt);
+        dto.setError(error);
+        long elapsedMillis = Duration.between(startedAt, finishedAt != null ? finishedAt : Instant.now()).toMillis();
+        if (elapsedMillis > 0) {
+            dto.setRowsPerSecond(dto.getIndexedRows() * 1000.0 / elapsedMillis);
+        }
+        if (status == SearchReindexJobDTO.Status.LOADING && dto.getRowsPerSecond() > 0) {
+            dto.setEtaSeconds((long) Math.ceil(Math.max(0, totalRows - dto.getIndexedRows()) / dto.getRowsPerSecond()));
+        }
+        return dto;
+    }
+}
@@ -3,15 +3,29 @@ package io.github.keeper.service.impl;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
 import io.github.keeper.repository.TransactionAccountRepository;
-import io.github.keeper.repository.search.TransactionAccountSearchRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.TransactionAccountService;
+import io.github.keeper.service.TrialBalanceService;
 import io.github.keeper.service.dto.TransactionAccountDTO;
 import io.github.keeper.service.mapper.TransactionAccountMapper;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,16 +43,28 @@ public class TransactionAccountServiceImpl implements TransactionAccountService
 
     private final TransactionAccountMapper transactionAccountMapper;
 
-    private final TransactionAccountSearchRepository transactionAccountSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ReferenceDataCacheService referenceDataCacheService;
+
+    private final TrialBalanceService trialBalanceService;
 
     public TransactionAccountServiceImpl(
         TransactionAccountRepository transactionAccountRepository,
         TransactionAccountMapper transactionAccountMapper,
-        TransactionAccountSearchRepository transactionAccountSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        ReferenceDataCacheService referenceDataCacheService,
+        TrialBalanceService trialBalanceService
     ) {
         this.transactionAccountRepository = transactionAccountRepository;
         this.transactionAccountMapper = transactionAccountMapper;
-        this.transactionAccountSearchRepository = transactionAccountSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.referenceDataCacheService = referenceDataCacheService;
+        this.trialBalanceService = trialBalanceService;
     }
 
     @Override
@@ -46,16 +72,28 @@ public class TransactionAccountServiceImpl implements TransactionAccountService
         log.debug("Request to save TransactionAccount : {}", transactionAccountDTO);
         return transactionAccountRepository
             .save(transactionAccountMapper.toEntity(transactionAccountDTO))
-            .flatMap(transactionAccountSearchRepository::save)
+            .flatMap(savedTransactionAccount ->
+                searchIndexService.enqueue(TransactionAccount.class, savedTransactionAccount.getId()).thenReturn(savedTransactionAccount)
+            )
+            .flatMap(savedTransactionAccount ->
+                referenceDataCacheService.evict(TransactionAccount.class).thenReturn(savedTransactionAccount)
+            )
             .map(transactionAccountMapper::toDto);
     }
 
     @Override
     public Mono<TransactionAccountDTO> update(TransactionAccountDTO transactionAccountDTO) {
         log.debug("Request to update TransactionAccount : {}", transactionAccountDTO);
-        return transactionAccountRepository
-            .save(transactionAccountMapper.toEntity(transactionAccountDTO))
-            .flatMap(transactionAccountSearchRepository::save)
+        // the account tree, numbers and names are part of every trial balance
+        return trialBalanceService
+            .invalidateFrom(null)
+            .then(transactionAccountRepository.save(transactionAccountMapper.toEntity(transactionAccountDTO)))
+            .flatMap(savedTransactionAccount ->
+                searchIndexService.enqueue(TransactionAccount.class, savedTransactionAccount.getId()).thenReturn(savedTransactionAccount)
+            )
+            .flatMap(savedTransactionAccount ->
+                referenceDataCacheService.evict(TransactionAccount.class).thenReturn(savedTransactionAccount)
+            )
             .map(transactionAccountMapper::toDto);
     }
 
@@ -71,50 +109,156 @@ public class TransactionAccountServiceImpl implements TransactionAccountService
                 return existingTransactionAccount;
             })
             .flatMap(transactionAccountRepository::save)
-            .flatMap(savedTransactionAccount -> {
-                transactionAccountSearchRepository.save(savedTransactionAccount);
-
-                return Mono.just(savedTransactionAccount);
-            })
+            .flatMap(savedTransactionAccount -> trialBalanceService.invalidateFrom(null).thenReturn(savedTransactionAccount))
+            .flatMap(savedTransactionAccount ->
+                searchIndexService.enqueue(TransactionAccount.class, savedTransactionAccount.getId()).thenReturn(savedTransactionAccount)
+            )
+            .flatMap(savedTransactionAccount ->
+                referenceDataCacheService.evict(TransactionAccount.class).thenReturn(savedTransactionAccount)
+            )
             .map(transactionAccountMapper::toDto);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Flux<TransactionAccountDTO> findAll(Pageable pageable) {
         log.debug("Request to get all TransactionAccounts");
-        return transactionAccountRepository.findAllBy(pageable).map(transactionAccountMapper::toDto);
+        return referenceDataCacheService.getAll(
+            TransactionAccount.class,
+            "findAll:" + pageable,
+            () -> transactionAccountRepository.findAllBy(pageable).map(transactionAccountMapper::toDto)
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<KeysetSlice<TransactionAccountDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of TransactionAccounts : {}", pageable);
+        return referenceDataCacheService.get(
+            TransactionAccount.class,
+            "findAllAfter:" + pageable,
+            () ->
+                transactionAccountRepository
+                    .findAllAfter(pageable)
+                    .collectList()
+                    .map(rows -> KeysetSlice.of(rows, pageable).map(transactionAccountMapper::toDto))
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Page<TransactionAccountDTO>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of TransactionAccounts");
+        return referenceDataCacheService.get(
+            TransactionAccount.class,
+            "findPage:" + pageable,
+            () -> transactionAccountRepository.findPageBy(pageable).map(page -> page.map(transactionAccountMapper::toDto))
+        );
     }
 
     public Flux<TransactionAccountDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return transactionAccountRepository.findAllWithEagerRelationships(pageable).map(transactionAccountMapper::toDto);
+        return referenceDataCacheService.getAll(
+            TransactionAccount.class,
+            "findAllWithEagerRelationships:" + pageable,
+            () -> transactionAccountRepository.findAllWithEagerRelationships(pageable).map(transactionAccountMapper::toDto)
+        );
     }
 
     public Mono<Long> countAll() {
         return transactionAccountRepository.count();
     }
 
-    public Mono<Long> searchCount() {
-        return transactionAccountSearchRepository.count();
-    }
-
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<TransactionAccountDTO> findOne(Long id) {
         log.debug("Request to get TransactionAccount : {}", id);
-        return transactionAccountRepository.findOneWithEagerRelationships(id).map(transactionAccountMapper::toDto);
+        return referenceDataCacheService.get(
+            TransactionAccount.class,
+            "findOne:" + id,
+            () -> transactionAccountRepository.findOneWithEagerRelationships(id).map(transactionAccountMapper::toDto)
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Flux<TransactionAccountDTO> findSubtree(Long id) {
+        log.debug("Request to get the subtree of TransactionAccount : {}", id);
+        return referenceDataCacheService.getAll(
+            TransactionAccount.class,
+            "findSubtree:" + id,
+            () -> transactionAccountRepository.findSubtree(id).map(transactionAccountMapper::toDto)
+        );
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Void> setAccountNames(Collection<TransactionAccountDTO> transactionAccountDTOs) {
+        Set<Long> ids = transactionAccountDTOs.stream().map(TransactionAccountDTO::getId).collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Mono.empty();
+        }
+        return findAccountNames(ids)
+            .doOnNext(accountNames ->
+                transactionAccountDTOs.forEach(transactionAccountDTO ->
+                    transactionAccountDTO.setAccountName(accountNames.get(transactionAccountDTO.getId()))
+                )
+            )
+            .then();
+    }
+
+    private Mono<Map<Long, String>> findAccountNames(Set<Long> ids) {
+        if (!referenceDataCacheService.isEnabled()) {
+            return findAccountNamesById(ids);
+        }
+        return referenceDataCacheService
+            .get(
+                TransactionAccount.class,
+                "findAccountNames",
+                () ->
+                    transactionAccountRepository
+                        .findAllWithoutRelationships()
+                        .collectMap(TransactionAccount::getId, TransactionAccount::getAccountName)
+            )
+            .flatMap(accountNames -> {
+                // accounts created on another instance, whose invalidation has not reached this one yet
+                Set<Long> missingIds = ids.stream().filter(id -> !accountNames.containsKey(id)).collect(Collectors.toSet());
+                if (missingIds.isEmpty()) {
+                    return Mono.just(accountNames);
+                }
+                return findAccountNamesById(missingIds)
+                    .map(missingAccountNames -> {
+                        Map<Long, String> allAccountNames = new HashMap<>(accountNames);
+                        allAccountNames.putAll(missingAccountNames);
+                        return allAccountNames;
+                    });
+            });
+    }
+
+    private Mono<Map<Long, String>> findAccountNamesById(Set<Long> ids) {
+        return transactionAccountRepository.findAllById(ids).collectMap(TransactionAccount::getId, TransactionAccount::getAccountName);
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete TransactionAccount : {}", id);
-        return transactionAccountRepository.deleteById(id).then(transactionAccountSearchRepository.deleteById(id));
+        return trialBalanceService
+            .invalidateFrom(null)
+            .then(transactionAccountRepository.deleteById(id))
+            .then(searchIndexService.enqueue(TransactionAccount.class, id))
+            .then(referenceDataCacheService.evict(TransactionAccount.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<TransactionAccountDTO> search(String query, Pageable pageable) {
+    public Mono<Page<TransactionAccountDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of TransactionAccounts for query {}", query);
-        return transactionAccountSearchRepository.search(query, pageable).map(transactionAccountMapper::toDto);
+        return searchBackend.search(TransactionAccount.class, query, pageable).map(page -> page.map(transactionAccountMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<TransactionAccountDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of TransactionAccounts for query {}", query);
+        return searchBackend.search(TransactionAccount.class, query, pageable).map(slice -> slice.map(transactionAccountMapper::toDto));
     }
 }
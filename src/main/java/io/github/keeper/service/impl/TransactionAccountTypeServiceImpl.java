@@ -3,15 +3,23 @@ package io.github.keeper.service.impl;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.TransactionAccountType;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
 import io.github.keeper.repository.TransactionAccountTypeRepository;
-import io.github.keeper.repository.search.TransactionAccountTypeSearchRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.TransactionAccountTypeService;
 import io.github.keeper.service.dto.TransactionAccountTypeDTO;
 import io.github.keeper.service.mapper.TransactionAccountTypeMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,16 +37,24 @@ public class TransactionAccountTypeServiceImpl implements TransactionAccountType
 
     private final TransactionAccountTypeMapper transactionAccountTypeMapper;
 
-    private final TransactionAccountTypeSearchRepository transactionAccountTypeSearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     public TransactionAccountTypeServiceImpl(
         TransactionAccountTypeRepository transactionAccountTypeRepository,
         TransactionAccountTypeMapper transactionAccountTypeMapper,
-        TransactionAccountTypeSearchRepository transactionAccountTypeSearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        ReferenceDataCacheService referenceDataCacheService
     ) {
         this.transactionAccountTypeRepository = transactionAccountTypeRepository;
         this.transactionAccountTypeMapper = transactionAccountTypeMapper;
-        this.transactionAccountTypeSearchRepository = transactionAccountTypeSearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     @Override
@@ -46,7 +62,14 @@ public class TransactionAccountTypeServiceImpl implements TransactionAccountType
         log.debug("Request to save TransactionAccountType : {}", transactionAccountTypeDTO);
         return transactionAccountTypeRepository
             .save(transactionAccountTypeMapper.toEntity(transactionAccountTypeDTO))
-            .flatMap(transactionAccountTypeSearchRepository::save)
+            .flatMap(savedTransactionAccountType ->
+                searchIndexService
+                    .enqueue(TransactionAccountType.class, savedTransactionAccountType.getId())
+                    .thenReturn(savedTransactionAccountType)
+            )
+            .flatMap(savedTransactionAccountType ->
+                referenceDataCacheService.evict(TransactionAccountType.class).thenReturn(savedTransactionAccountType)
+            )
             .map(transactionAccountTypeMapper::toDto);
     }
 
@@ -55,7 +78,14 @@ public class TransactionAccountTypeServiceImpl implements TransactionAccountType
         log.debug("Request to update TransactionAccountType : {}", transactionAccountTypeDTO);
         return transactionAccountTypeRepository
             .save(transactionAccountTypeMapper.toEntity(transactionAccountTypeDTO))
-            .flatMap(transactionAccountTypeSearchRepository::save)
+            .flatMap(savedTransactionAccountType ->
+                searchIndexService
+                    .enqueue(TransactionAccountType.class, savedTransactionAccountType.getId())
+                    .thenReturn(savedTransactionAccountType)
+            )
+            .flatMap(savedTransactionAccountType ->
+                referenceDataCacheService.evict(TransactionAccountType.class).thenReturn(savedTransactionAccountType)
+            )
             .map(transactionAccountTypeMapper::toDto);
     }
 
@@ -71,46 +101,93 @@ public class TransactionAccountTypeServiceImpl implements TransactionAccountType
                 return existingTransactionAccountType;
             })
             .flatMap(transactionAccountTypeRepository::save)
-            .flatMap(savedTransactionAccountType -> {
-                transactionAccountTypeSearchRepository.save(savedTransactionAccountType);
-
-                return Mono.just(savedTransactionAccountType);
-            })
+            .flatMap(savedTransactionAccountType ->
+                searchIndexService
+                    .enqueue(TransactionAccountType.class, savedTransactionAccountType.getId())
+                    .thenReturn(savedTransactionAccountType)
+            )
+            .flatMap(savedTransactionAccountType ->
+                referenceDataCacheService.evict(TransactionAccountType.class).thenReturn(savedTransactionAccountType)
+            )
             .map(transactionAccountTypeMapper::toDto);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Flux<TransactionAccountTypeDTO> findAll(Pageable pageable) {
         log.debug("Request to get all TransactionAccountTypes");
-        return transactionAccountTypeRepository.findAllBy(pageable).map(transactionAccountTypeMapper::toDto);
+        return referenceDataCacheService.getAll(
+            TransactionAccountType.class,
+            "findAll:" + pageable,
+            () -> transactionAccountTypeRepository.findAllBy(pageable).map(transactionAccountTypeMapper::toDto)
+        );
     }
 
-    public Mono<Long> countAll() {
-        return transactionAccountTypeRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<KeysetSlice<TransactionAccountTypeDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of TransactionAccountTypes : {}", pageable);
+        return referenceDataCacheService.get(
+            TransactionAccountType.class,
+            "findAllAfter:" + pageable,
+            () ->
+                transactionAccountTypeRepository
+                    .findAllAfter(pageable)
+                    .collectList()
+                    .map(rows -> KeysetSlice.of(rows, pageable).map(transactionAccountTypeMapper::toDto))
+        );
     }
 
-    public Mono<Long> searchCount() {
-        return transactionAccountTypeSearchRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Page<TransactionAccountTypeDTO>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of TransactionAccountTypes");
+        return referenceDataCacheService.get(
+            TransactionAccountType.class,
+            "findPage:" + pageable,
+            () -> transactionAccountTypeRepository.findPageBy(pageable).map(page -> page.map(transactionAccountTypeMapper::toDto))
+        );
+    }
+
+    public Mono<Long> countAll() {
+        return transactionAccountTypeRepository.count();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<TransactionAccountTypeDTO> findOne(Long id) {
         log.debug("Request to get TransactionAccountType : {}", id);
-        return transactionAccountTypeRepository.findById(id).map(transactionAccountTypeMapper::toDto);
+        return referenceDataCacheService.get(
+            TransactionAccountType.class,
+            "findOne:" + id,
+            () -> transactionAccountTypeRepository.findById(id).map(transactionAccountTypeMapper::toDto)
+        );
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete TransactionAccountType : {}", id);
-        return transactionAccountTypeRepository.deleteById(id).then(transactionAccountTypeSearchRepository.deleteById(id));
+        return transactionAccountTypeRepository
+            .deleteById(id)
+            .then(searchIndexService.enqueue(TransactionAccountType.class, id))
+            .then(referenceDataCacheService.evict(TransactionAccountType.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<TransactionAccountTypeDTO> search(String query, Pageable pageable) {
+    public Mono<Page<TransactionAccountTypeDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of TransactionAccountTypes for query {}", query);
-        return transactionAccountTypeSearchRepository.search(query, pageable).map(transactionAccountTypeMapper::toDto);
+        return searchBackend
+            .search(TransactionAccountType.class, query, pageable)
+            .map(page -> page.map(transactionAccountTypeMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<TransactionAccountTypeDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of TransactionAccountTypes for query {}", query);
+        return searchBackend
+            .search(TransactionAccountType.class, query, pageable)
+            .map(slice -> slice.map(transactionAccountTypeMapper::toDto));
     }
 }
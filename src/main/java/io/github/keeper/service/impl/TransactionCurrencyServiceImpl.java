@@ -3,15 +3,23 @@ package io.github.keeper.service.impl;
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
 import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
 import io.github.keeper.repository.TransactionCurrencyRepository;
-import io.github.keeper.repository.search.TransactionCurrencySearchRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.SearchIndexService;
 import io.github.keeper.service.TransactionCurrencyService;
 import io.github.keeper.service.dto.TransactionCurrencyDTO;
 import io.github.keeper.service.mapper.TransactionCurrencyMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,16 +37,24 @@ public class TransactionCurrencyServiceImpl implements TransactionCurrencyServic
 
     private final TransactionCurrencyMapper transactionCurrencyMapper;
 
-    private final TransactionCurrencySearchRepository transactionCurrencySearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final ReferenceDataCacheService referenceDataCacheService;
 
     public TransactionCurrencyServiceImpl(
         TransactionCurrencyRepository transactionCurrencyRepository,
         TransactionCurrencyMapper transactionCurrencyMapper,
-        TransactionCurrencySearchRepository transactionCurrencySearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        ReferenceDataCacheService referenceDataCacheService
     ) {
         this.transactionCurrencyRepository = transactionCurrencyRepository;
         this.transactionCurrencyMapper = transactionCurrencyMapper;
-        this.transactionCurrencySearchRepository = transactionCurrencySearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.referenceDataCacheService = referenceDataCacheService;
     }
 
     @Override
@@ -46,7 +62,12 @@ public class TransactionCurrencyServiceImpl implements TransactionCurrencyServic
         log.debug("Request to save TransactionCurrency : {}", transactionCurrencyDTO);
         return transactionCurrencyRepository
             .save(transactionCurrencyMapper.toEntity(transactionCurrencyDTO))
-            .flatMap(transactionCurrencySearchRepository::save)
+            .flatMap(savedTransactionCurrency ->
+                searchIndexService.enqueue(TransactionCurrency.class, savedTransactionCurrency.getId()).thenReturn(savedTransactionCurrency)
+            )
+            .flatMap(savedTransactionCurrency ->
+                referenceDataCacheService.evict(TransactionCurrency.class).thenReturn(savedTransactionCurrency)
+            )
             .map(transactionCurrencyMapper::toDto);
     }
 
@@ -55,7 +76,12 @@ public class TransactionCurrencyServiceImpl implements TransactionCurrencyServic
         log.debug("Request to update TransactionCurrency : {}", transactionCurrencyDTO);
         return transactionCurrencyRepository
             .save(transactionCurrencyMapper.toEntity(transactionCurrencyDTO))
-            .flatMap(transactionCurrencySearchRepository::save)
+            .flatMap(savedTransactionCurrency ->
+                searchIndexService.enqueue(TransactionCurrency.class, savedTransactionCurrency.getId()).thenReturn(savedTransactionCurrency)
+            )
+            .flatMap(savedTransactionCurrency ->
+                referenceDataCacheService.evict(TransactionCurrency.class).thenReturn(savedTransactionCurrency)
+            )
             .map(transactionCurrencyMapper::toDto);
     }
 
@@ -71,46 +97,87 @@ public class TransactionCurrencyServiceImpl implements TransactionCurrencyServic
                 return existingTransactionCurrency;
             })
             .flatMap(transactionCurrencyRepository::save)
-            .flatMap(savedTransactionCurrency -> {
-                transactionCurrencySearchRepository.save(savedTransactionCurrency);
-
-                return Mono.just(savedTransactionCurrency);
-            })
+            .flatMap(savedTransactionCurrency ->
+                searchIndexService.enqueue(TransactionCurrency.class, savedTransactionCurrency.getId()).thenReturn(savedTransactionCurrency)
+            )
+            .flatMap(savedTransactionCurrency ->
+                referenceDataCacheService.evict(TransactionCurrency.class).thenReturn(savedTransactionCurrency)
+            )
             .map(transactionCurrencyMapper::toDto);
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Flux<TransactionCurrencyDTO> findAll(Pageable pageable) {
         log.debug("Request to get all TransactionCurrencies");
-        return transactionCurrencyRepository.findAllBy(pageable).map(transactionCurrencyMapper::toDto);
+        return referenceDataCacheService.getAll(
+            TransactionCurrency.class,
+            "findAll:" + pageable,
+            () -> transactionCurrencyRepository.findAllBy(pageable).map(transactionCurrencyMapper::toDto)
+        );
     }
 
-    public Mono<Long> countAll() {
-        return transactionCurrencyRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<KeysetSlice<TransactionCurrencyDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of TransactionCurrencies : {}", pageable);
+        return referenceDataCacheService.get(
+            TransactionCurrency.class,
+            "findAllAfter:" + pageable,
+            () ->
+                transactionCurrencyRepository
+                    .findAllAfter(pageable)
+                    .collectList()
+                    .map(rows -> KeysetSlice.of(rows, pageable).map(transactionCurrencyMapper::toDto))
+        );
     }
 
-    public Mono<Long> searchCount() {
-        return transactionCurrencySearchRepository.count();
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Mono<Page<TransactionCurrencyDTO>> findPage(Pageable pageable) {
+        log.debug("Request to get a page of TransactionCurrencies");
+        return referenceDataCacheService.get(
+            TransactionCurrency.class,
+            "findPage:" + pageable,
+            () -> transactionCurrencyRepository.findPageBy(pageable).map(page -> page.map(transactionCurrencyMapper::toDto))
+        );
+    }
+
+    public Mono<Long> countAll() {
+        return transactionCurrencyRepository.count();
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public Mono<TransactionCurrencyDTO> findOne(Long id) {
         log.debug("Request to get TransactionCurrency : {}", id);
-        return transactionCurrencyRepository.findById(id).map(transactionCurrencyMapper::toDto);
+        return referenceDataCacheService.get(
+            TransactionCurrency.class,
+            "findOne:" + id,
+            () -> transactionCurrencyRepository.findById(id).map(transactionCurrencyMapper::toDto)
+        );
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete TransactionCurrency : {}", id);
-        return transactionCurrencyRepository.deleteById(id).then(transactionCurrencySearchRepository.deleteById(id));
+        return transactionCurrencyRepository
+            .deleteById(id)
+            .then(searchIndexService.enqueue(TransactionCurrency.class, id))
+            .then(referenceDataCacheService.evict(TransactionCurrency.class));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<TransactionCurrencyDTO> search(String query, Pageable pageable) {
+    public Mono<Page<TransactionCurrencyDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of TransactionCurrencies for query {}", query);
-        return transactionCurrencySearchRepository.search(query, pageable).map(transactionCurrencyMapper::toDto);
+        return searchBackend.search(TransactionCurrency.class, query, pageable).map(page -> page.map(transactionCurrencyMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<TransactionCurrencyDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of TransactionCurrencies for query {}", query);
+        return searchBackend.search(TransactionCurrency.class, query, pageable).map(slice -> slice.map(transactionCurrencyMapper::toDto));
     }
 }
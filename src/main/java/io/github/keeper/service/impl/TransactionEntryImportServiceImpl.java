@@ -0,0 +1,242 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.AccountTransactionRepository;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.service.AccountBalanceService;
+import io.github.keeper.service.BalanceSnapshotService;
+import io.github.keeper.service.LedgerEventService;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.TransactionEntryImportService;
+import io.github.keeper.service.TrialBalanceService;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import io.github.keeper.service.dto.ImportReportDTO;
+import io.github.keeper.service.dto.ImportRowDTO;
+import io.github.keeper.service.dto.LedgerEventDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import io.github.keeper.service.mapper.TransactionEntryMapper;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Service Implementation for importing {@link TransactionEntry} rows in bulk.
+ * <p>
+ * The rows are processed in chunks of {@code application.batch.insert-chunk-size}: a chunk is validated, written with
+ * multi-row inserts in its own transaction together with its search index outbox events. At most
+ * {@code application.batch.import-concurrency} chunks are in flight, which bounds both the memory held and the number of
+ * connections used, and pulls the file only as fast as the database takes it.
+ */
+@Service
+public class TransactionEntryImportServiceImpl implements TransactionEntryImportService {
+
+    private final Logger log = LoggerFactory.getLogger(TransactionEntryImportServiceImpl.class);
+
+    private final TransactionEntryRepository transactionEntryRepository;
+
+    private final TransactionAccountRepository transactionAccountRepository;
+
+    private final AccountTransactionRepository accountTransactionRepository;
+
+    private final TransactionEntryMapper transactionEntryMapper;
+
+    private final SearchIndexService searchIndexService;
+
+    private final AccountBalanceService accountBalanceService;
+
+    private final TrialBalanceService trialBalanceService;
+
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    private final LedgerEventService ledgerEventService;
+
+    private final TransactionalOperator transactionalOperator;
+
+    private final Validator validator;
+
+    private final ApplicationProperties applicationProperties;
+
+    public TransactionEntryImportServiceImpl(
+        TransactionEntryRepository transactionEntryRepository,
+        TransactionAccountRepository transactionAccountRepository,
+        AccountTransactionRepository accountTransactionRepository,
+        TransactionEntryMapper transactionEntryMapper,
+        SearchIndexService searchIndexService,
+        AccountBalanceService accountBalanceService,
+        TrialBalanceService trialBalanceService,
+        BalanceSnapshotService balanceSnapshotService,
+        LedgerEventService ledgerEventService,
+        TransactionalOperator transactionalOperator,
+        Validator validator,
+        ApplicationProperties applicationProperties
+    ) {
+        this.transactionEntryRepository = transactionEntryRepository;
+        this.transactionAccountRepository = transactionAccountRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.transactionEntryMapper = transactionEntryMapper;
+        this.searchIndexService = searchIndexService;
+        this.accountBalanceService = accountBalanceService;
+        this.trialBalanceService = trialBalanceService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.ledgerEventService = ledgerEventService;
+        this.transactionalOperator = transactionalOperator;
+        this.validator = validator;
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Override
+    public Mono<ImportReportDTO> importEntries(Flux<ImportRowDTO> rows) {
+        log.debug("Request to import TransactionEntries");
+        ApplicationProperties.Batch batch = applicationProperties.getBatch();
+        return rows
+            .buffer(batch.getInsertChunkSize())
+            .flatMap(this::importChunk, batch.getImportConcurrency())
+            .reduce(new ImportReportDTO(), ImportReportDTO::merge);
+    }
+
+    private Mono<ImportReportDTO> importChunk(List<ImportRowDTO> rows) {
+        ImportReportDTO report = new ImportReportDTO();
+        report.setRowsRead(rows.size());
+        List<ImportRowDTO> validRows = new ArrayList<>();
+        for (ImportRowDTO row : rows) {
+            List<String> errors = validate(row);
+            if (errors.isEmpty()) {
+                validRows.add(row);
+            } else {
+                reject(report, row, errors);
+            }
+        }
+        if (validRows.isEmpty()) {
+            return Mono.just(report);
+        }
+        return Mono
+            .zip(
+                existingIds(transactionAccountRepository::findExistingIds, validRows, dto -> dto.getTransactionAccount().getId()),
+                existingIds(
+                    accountTransactionRepository::findExistingIds,
+                    validRows,
+                    dto -> dto.getAccountTransaction() != null ? dto.getAccountTransaction().getId() : null
+                )
+            )
+            .flatMap(existing -> {
+                List<ImportRowDTO> insertableRows = new ArrayList<>();
+                for (ImportRowDTO row : validRows) {
+                    List<String> errors = new ArrayList<>();
+                    TransactionEntryDTO transactionEntryDTO = row.getTransactionEntry();
+                    if (!existing.getT1().contains(transactionEntryDTO.getTransactionAccount().getId())) {
+                        errors.add("transactionAccount: no transactionAccount with this id");
+                    }
+                    if (
+                        transactionEntryDTO.getAccountTransaction() != null &&
+                        !existing.getT2().contains(transactionEntryDTO.getAccountTransaction().getId())
+                    ) {
+                        errors.add("accountTransaction: no accountTransaction with this id");
+                    }
+                    if (errors.isEmpty()) {
+                        insertableRows.add(row);
+                    } else {
+                        reject(report, row, errors);
+                    }
+                }
+                return insert(insertableRows, report);
+            });
+    }
+
+    private List<String> validate(ImportRowDTO row) {
+        List<String> errors = new ArrayList<>(row.getErrors());
+        if (!errors.isEmpty()) {
+            return errors;
+        }
+        TransactionEntryDTO transactionEntryDTO = row.getTransactionEntry();
+        if (transactionEntryDTO == null) {
+            errors.add("transactionEntry: must not be null");
+            return errors;
+        }
+        if (transactionEntryDTO.getId() != null) {
+            errors.add("id: a new transactionEntry cannot already have an ID");
+        }
+        validator
+            .validate(transactionEntryDTO)
+            .forEach(violation -> errors.add(violation.getPropertyPath() + ": " + violation.getMessage()));
+        if (transactionEntryDTO.getTransactionAccount() == null || transactionEntryDTO.getTransactionAccount().getId() == null) {
+            errors.add("transactionAccount: must not be null");
+        }
+        if (transactionEntryDTO.getAccountTransaction() != null && transactionEntryDTO.getAccountTransaction().getId() == null) {
+            errors.add("accountTransaction: must have an id");
+        }
+        return errors;
+    }
+
+    private static Mono<Set<Long>> existingIds(
+        Function<Set<Long>, Flux<Long>> finder,
+        List<ImportRowDTO> rows,
+        Function<TransactionEntryDTO, Long> reference
+    ) {
+        Set<Long> ids = rows
+            .stream()
+            .map(row -> reference.apply(row.getTransactionEntry()))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        if (ids.isEmpty()) {
+            return Mono.just(Set.of());
+        }
+        return finder.apply(ids).collect(Collectors.toCollection(HashSet::new));
+    }
+
+    private Mono<ImportReportDTO> insert(List<ImportRowDTO> rows, ImportReportDTO report) {
+        if (rows.isEmpty()) {
+            return Mono.just(report);
+        }
+        List<TransactionEntry> transactionEntries = rows
+            .stream()
+            .map(row -> transactionEntryMapper.toEntity(row.getTransactionEntry()))
+            .collect(Collectors.toList());
+        return transactionEntryRepository
+            .insertAll(transactionEntries)
+            .collectList()
+            .flatMap(savedEntries ->
+                accountBalanceService
+                    .applyPostings(savedEntries)
+                    .then(trialBalanceService.invalidate(savedEntries))
+                    .then(balanceSnapshotService.invalidate(savedEntries))
+                    .then(
+                        searchIndexService.enqueueAll(
+                            TransactionEntry.class,
+                            savedEntries.stream().map(TransactionEntry::getId).collect(Collectors.toList())
+                        )
+                    )
+                    .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.CREATED, savedEntries))
+                    .thenReturn(savedEntries)
+            )
+            .as(transactionalOperator::transactional)
+            .map(savedEntries -> {
+                report.setRowsImported(savedEntries.size());
+                return report;
+            })
+            .onErrorResume(e -> {
+                log.warn("Could not insert a chunk of {} imported TransactionEntries: {}", rows.size(), e.getMessage());
+                rows.forEach(row -> reject(report, row, List.of("could not be inserted: " + e.getMessage())));
+                return Mono.just(report);
+            });
+    }
+
+    private static void reject(ImportReportDTO report, ImportRowDTO row, List<String> errors) {
+        report.setRowsRejected(report.getRowsRejected() + 1);
+        if (report.getRejectedRows().size() < ImportReportDTO.MAX_REPORTED_REJECTIONS) {
+            report.getRejectedRows().add(BatchItemResultDTO.rejected((int) row.getRow(), errors));
+        }
+    }
+}
@@ -2,14 +2,31 @@ package io.github.keeper.service.impl;
 
 import static org.elasticsearch.index.query.QueryBuilders.*;
 
+import io.github.keeper.config.ApplicationProperties;
 import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.KeysetSlice;
 import io.github.keeper.repository.TransactionEntryRepository;
-import io.github.keeper.repository.search.TransactionEntrySearchRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.repository.search.SearchSlice;
+import io.github.keeper.service.AccountBalanceService;
+import io.github.keeper.service.BalanceSnapshotService;
+import io.github.keeper.service.LedgerEventService;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.TransactionAccountService;
 import io.github.keeper.service.TransactionEntryService;
+import io.github.keeper.service.TrialBalanceService;
+import io.github.keeper.service.dto.LedgerEventDTO;
 import io.github.keeper.service.dto.TransactionEntryDTO;
 import io.github.keeper.service.mapper.TransactionEntryMapper;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -23,22 +40,53 @@ import reactor.core.publisher.Mono;
 @Transactional
 public class TransactionEntryServiceImpl implements TransactionEntryService {
 
+    // entries completed with the names of their accounts at once, a stream of entries stays a stream
+    private static final int ACCOUNT_NAMES_BATCH_SIZE = 256;
+
     private final Logger log = LoggerFactory.getLogger(TransactionEntryServiceImpl.class);
 
     private final TransactionEntryRepository transactionEntryRepository;
 
     private final TransactionEntryMapper transactionEntryMapper;
 
-    private final TransactionEntrySearchRepository transactionEntrySearchRepository;
+    private final SearchBackend searchBackend;
+
+    private final SearchIndexService searchIndexService;
+
+    private final AccountBalanceService accountBalanceService;
+
+    private final TrialBalanceService trialBalanceService;
+
+    private final BalanceSnapshotService balanceSnapshotService;
+
+    private final LedgerEventService ledgerEventService;
+
+    private final TransactionAccountService transactionAccountService;
+
+    private final ApplicationProperties applicationProperties;
 
     public TransactionEntryServiceImpl(
         TransactionEntryRepository transactionEntryRepository,
         TransactionEntryMapper transactionEntryMapper,
-        TransactionEntrySearchRepository transactionEntrySearchRepository
+        SearchBackend searchBackend,
+        SearchIndexService searchIndexService,
+        AccountBalanceService accountBalanceService,
+        TrialBalanceService trialBalanceService,
+        BalanceSnapshotService balanceSnapshotService,
+        LedgerEventService ledgerEventService,
+        TransactionAccountService transactionAccountService,
+        ApplicationProperties applicationProperties
     ) {
         this.transactionEntryRepository = transactionEntryRepository;
         this.transactionEntryMapper = transactionEntryMapper;
-        this.transactionEntrySearchRepository = transactionEntrySearchRepository;
+        this.searchBackend = searchBackend;
+        this.searchIndexService = searchIndexService;
+        this.accountBalanceService = accountBalanceService;
+        this.trialBalanceService = trialBalanceService;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.ledgerEventService = ledgerEventService;
+        this.transactionAccountService = transactionAccountService;
+        this.applicationProperties = applicationProperties;
     }
 
     @Override
@@ -46,7 +94,13 @@ public class TransactionEntryServiceImpl implements TransactionEntryService {
         log.debug("Request to save TransactionEntry : {}", transactionEntryDTO);
         return transactionEntryRepository
             .save(transactionEntryMapper.toEntity(transactionEntryDTO))
-            .flatMap(transactionEntrySearchRepository::save)
+            .flatMap(this::post)
+            .flatMap(savedTransactionEntry ->
+                searchIndexService
+                    .enqueue(TransactionEntry.class, savedTransactionEntry.getId())
+                    .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.CREATED, List.of(savedTransactionEntry)))
+                    .thenReturn(savedTransactionEntry)
+            )
             .map(transactionEntryMapper::toDto);
     }
 
@@ -54,8 +108,16 @@ public class TransactionEntryServiceImpl implements TransactionEntryService {
     public Mono<TransactionEntryDTO> update(TransactionEntryDTO transactionEntryDTO) {
         log.debug("Request to update TransactionEntry : {}", transactionEntryDTO);
         return transactionEntryRepository
-            .save(transactionEntryMapper.toEntity(transactionEntryDTO))
-            .flatMap(transactionEntrySearchRepository::save)
+            .findByIdForUpdate(transactionEntryDTO.getId())
+            .flatMap(this::reverse)
+            .then(transactionEntryRepository.save(transactionEntryMapper.toEntity(transactionEntryDTO)))
+            .flatMap(this::post)
+            .flatMap(savedTransactionEntry ->
+                searchIndexService
+                    .enqueue(TransactionEntry.class, savedTransactionEntry.getId())
+                    .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.UPDATED, List.of(savedTransactionEntry)))
+                    .thenReturn(savedTransactionEntry)
+            )
             .map(transactionEntryMapper::toDto);
     }
 
@@ -64,57 +126,144 @@ public class TransactionEntryServiceImpl implements TransactionEntryService {
         log.debug("Request to partially update TransactionEntry : {}", transactionEntryDTO);
 
         return transactionEntryRepository
-            .findById(transactionEntryDTO.getId())
+            .findByIdForUpdate(transactionEntryDTO.getId())
+            .flatMap(existingTransactionEntry -> reverse(existingTransactionEntry).thenReturn(existingTransactionEntry))
             .map(existingTransactionEntry -> {
                 transactionEntryMapper.partialUpdate(existingTransactionEntry, transactionEntryDTO);
 
                 return existingTransactionEntry;
             })
             .flatMap(transactionEntryRepository::save)
-            .flatMap(savedTransactionEntry -> {
-                transactionEntrySearchRepository.save(savedTransactionEntry);
-
-                return Mono.just(savedTransactionEntry);
-            })
+            .flatMap(this::post)
+            .flatMap(savedTransactionEntry ->
+                searchIndexService
+                    .enqueue(TransactionEntry.class, savedTransactionEntry.getId())
+                    .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.UPDATED, List.of(savedTransactionEntry)))
+                    .thenReturn(savedTransactionEntry)
+            )
             .map(transactionEntryMapper::toDto);
     }
 
+    /**
+     * Adds a saved entry to the balance of its account and invalidates the trial balances and balance snapshots it appears in.
+     */
+    private Mono<TransactionEntry> post(TransactionEntry transactionEntry) {
+        return accountBalanceService
+            .applyPosting(transactionEntry)
+            .then(trialBalanceService.invalidate(List.of(transactionEntry)))
+            .then(balanceSnapshotService.invalidate(List.of(transactionEntry)))
+            .thenReturn(transactionEntry);
+    }
+
+    /**
+     * Removes an entry from the balance of its account before it changes, and invalidates the trial balances and balance
+     * snapshots it appeared in.
+     */
+    private Mono<Void> reverse(TransactionEntry transactionEntry) {
+        return accountBalanceService
+            .applyReversal(transactionEntry)
+            .then(trialBalanceService.invalidate(List.of(transactionEntry)))
+            .then(balanceSnapshotService.invalidate(List.of(transactionEntry)));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public Flux<TransactionEntryDTO> findAll(Pageable pageable) {
         log.debug("Request to get all TransactionEntries");
-        return transactionEntryRepository.findAllBy(pageable).map(transactionEntryMapper::toDto);
+        return withAccountNames(transactionEntryRepository.findAllBy(pageable).map(transactionEntryMapper::toDto));
     }
 
-    public Flux<TransactionEntryDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return transactionEntryRepository.findAllWithEagerRelationships(pageable).map(transactionEntryMapper::toDto);
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<KeysetSlice<TransactionEntryDTO>> findAll(KeysetPageable pageable) {
+        log.debug("Request to get a keyset page of TransactionEntries : {}", pageable);
+        return transactionEntryRepository
+            .findAllAfter(pageable)
+            .collectList()
+            .map(rows -> KeysetSlice.of(rows, pageable).map(transactionEntryMapper::toDto))
+            .flatMap(slice -> withAccountNames(slice.getContent()).thenReturn(slice));
     }
 
-    public Mono<Long> countAll() {
-        return transactionEntryRepository.count();
+    @Override
+    @Transactional(readOnly = true)
+    public Flux<TransactionEntryDTO> export(Long transactionAccountId, LocalDate fromDate, LocalDate toDate, Boolean wasPosted) {
+        log.debug(
+            "Request to export TransactionEntries of account {} from {} to {}, posted: {}",
+            transactionAccountId,
+            fromDate,
+            toDate,
+            wasPosted
+        );
+        return withAccountNames(
+            transactionEntryRepository
+                .streamAllBy(transactionAccountId, fromDate, toDate, wasPosted, applicationProperties.getExport().getFetchSize())
+                .map(transactionEntryMapper::toExportDto)
+        );
     }
 
-    public Mono<Long> searchCount() {
-        return transactionEntrySearchRepository.count();
+    public Flux<TransactionEntryDTO> findAllWithEagerRelationships(Pageable pageable) {
+        return withAccountNames(transactionEntryRepository.findAllWithEagerRelationships(pageable).map(transactionEntryMapper::toDto));
+    }
+
+    @Transactional(readOnly = true)
+    public Mono<Long> countAll() {
+        return transactionEntryRepository.countTotal();
     }
 
     @Override
     @Transactional(readOnly = true)
     public Mono<TransactionEntryDTO> findOne(Long id) {
         log.debug("Request to get TransactionEntry : {}", id);
-        return transactionEntryRepository.findOneWithEagerRelationships(id).map(transactionEntryMapper::toDto);
+        return transactionEntryRepository
+            .findOneWithEagerRelationships(id)
+            .map(transactionEntryMapper::toDto)
+            .flatMap(transactionEntryDTO -> withAccountNames(List.of(transactionEntryDTO)).thenReturn(transactionEntryDTO));
+    }
+
+    /**
+     * Sets the names of the accounts of the entries read, which the reads take from the reference data cache instead of
+     * joining the accounts.
+     */
+    private Flux<TransactionEntryDTO> withAccountNames(Flux<TransactionEntryDTO> transactionEntryDTOs) {
+        return transactionEntryDTOs
+            .buffer(ACCOUNT_NAMES_BATCH_SIZE)
+            .concatMap(batch -> withAccountNames(batch).thenMany(Flux.fromIterable(batch)));
+    }
+
+    private Mono<Void> withAccountNames(List<TransactionEntryDTO> transactionEntryDTOs) {
+        return transactionAccountService.setAccountNames(
+            transactionEntryDTOs
+                .stream()
+                .map(TransactionEntryDTO::getTransactionAccount)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList())
+        );
     }
 
     @Override
     public Mono<Void> delete(Long id) {
         log.debug("Request to delete TransactionEntry : {}", id);
-        return transactionEntryRepository.deleteById(id).then(transactionEntrySearchRepository.deleteById(id));
+        return transactionEntryRepository
+            .findByIdForUpdate(id)
+            .flatMap(existingTransactionEntry ->
+                reverse(existingTransactionEntry)
+                    .then(ledgerEventService.publishTransactionEntries(LedgerEventDTO.Change.DELETED, List.of(existingTransactionEntry)))
+            )
+            .then(transactionEntryRepository.deleteById(id))
+            .then(searchIndexService.enqueue(TransactionEntry.class, id));
     }
 
     @Override
     @Transactional(readOnly = true)
-    public Flux<TransactionEntryDTO> search(String query, Pageable pageable) {
+    public Mono<Page<TransactionEntryDTO>> search(String query, Pageable pageable) {
         log.debug("Request to search for a page of TransactionEntries for query {}", query);
-        return transactionEntrySearchRepository.search(query, pageable).map(transactionEntryMapper::toDto);
+        return searchBackend.search(TransactionEntry.class, query, pageable).map(page -> page.map(transactionEntryMapper::toDto));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Mono<SearchSlice<TransactionEntryDTO>> search(String query, SearchAfterPageable pageable) {
+        log.debug("Request to search for a keyset page of TransactionEntries for query {}", query);
+        return searchBackend.search(TransactionEntry.class, query, pageable).map(slice -> slice.map(transactionEntryMapper::toDto));
     }
 }
@@ -0,0 +1,194 @@
+package io.github.keeper.service.impl;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.AccountTransactionRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.TrialBalanceRow;
+import io.github.keeper.service.TrialBalanceService;
+import io.github.keeper.service.dto.TrialBalanceDTO;
+import io.github.keeper.service.dto.TrialBalanceLineDTO;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageHeaders;
+import org.springframework.messaging.support.GenericMessage;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.reactive.TransactionSynchronization;
+import org.springframework.transaction.reactive.TransactionSynchronizationManager;
+import org.springframework.util.MimeTypeUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Service Implementation for the trial balance.
+ * <p>
+ * The cache holds one shared computation per as-of date, so that concurrent requests for the same date run a single query.
+ * The aggregation is a single statement and runs outside of any transaction, the cached result must not be bound to the
+ * transaction of the request that happened to start it.
+ * <p>
+ * An invalidation is published on the cache invalidation topic of the reference data, as {@value #CACHE_NAME} followed by
+ * {@code :} and the earliest date invalidated, or alone to invalidate every date. The topic is consumed without group, so
+ * that every instance, this one included, evicts its own trial balances; an instance that misses a message serves them for
+ * at most {@code application.trial-balance.cache-ttl}.
+ */
+@Service
+public class TrialBalanceServiceImpl implements TrialBalanceService {
+
+    public static final String CACHE_NAME = "TrialBalance";
+
+    private final Logger log = LoggerFactory.getLogger(TrialBalanceServiceImpl.class);
+
+    private final TransactionEntryRepository transactionEntryRepository;
+
+    private final AccountTransactionRepository accountTransactionRepository;
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MessageChannel output;
+
+    private final ConcurrentSkipListMap<LocalDate, Mono<TrialBalanceDTO>> cache = new ConcurrentSkipListMap<>();
+
+    public TrialBalanceServiceImpl(
+        TransactionEntryRepository transactionEntryRepository,
+        AccountTransactionRepository accountTransactionRepository,
+        ApplicationProperties applicationProperties,
+        @Lazy @Qualifier(ReferenceDataCacheServiceImpl.BINDING_NAME) MessageChannel output
+    ) {
+        this.transactionEntryRepository = transactionEntryRepository;
+        this.accountTransactionRepository = accountTransactionRepository;
+        this.applicationProperties = applicationProperties;
+        this.output = output;
+    }
+
+    @Override
+    public Mono<TrialBalanceDTO> getTrialBalance(LocalDate asOf) {
+        log.debug("Request to get the TrialBalance as of {}", asOf);
+        Mono<TrialBalanceDTO> trialBalance = cache.computeIfAbsent(asOf, this::load);
+        // the earliest dates go first, month-end reporting asks for recent ones
+        while (cache.size() > applicationProperties.getTrialBalance().getCacheSize()) {
+            cache.pollFirstEntry();
+        }
+        return trialBalance;
+    }
+
+    @Override
+    public Mono<Void> invalidate(Collection<TransactionEntry> transactionEntries) {
+        Set<Long> accountTransactionIds = transactionEntries
+            .stream()
+            .filter(transactionEntry ->
+                transactionEntry.getAccountTransactionId() != null &&
+                Boolean.TRUE.equals(transactionEntry.getWasPosted()) &&
+                !Boolean.TRUE.equals(transactionEntry.getWasDeleted())
+            )
+            .map(TransactionEntry::getAccountTransactionId)
+            .collect(Collectors.toSet());
+        if (accountTransactionIds.isEmpty()) {
+            return Mono.empty();
+        }
+        return accountTransactionRepository.findEarliestTransactionDate(accountTransactionIds).flatMap(this::invalidateFrom);
+    }
+
+    @Override
+    public Mono<Void> invalidateFrom(LocalDate transactionDate) {
+        return TransactionSynchronizationManager
+            .forCurrentTransaction()
+            .flatMap(synchronizationManager -> {
+                if (!synchronizationManager.isSynchronizationActive()) {
+                    return evictEverywhereFrom(transactionDate);
+                }
+                synchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public Mono<Void> afterCompletion(int status) {
+                            return evictEverywhereFrom(transactionDate);
+                        }
+                    }
+                );
+                return Mono.<Void>empty();
+            })
+            .onErrorResume(NoTransactionException.class, e -> evictEverywhereFrom(transactionDate));
+    }
+
+    /**
+     * Evict the trial balances named by an invalidation read from the cache invalidation topic.
+     *
+     * @param message the invalidation, {@value #CACHE_NAME} and the earliest date invalidated, if any.
+     */
+    public void consume(Message<String> message) {
+        String payload = message.getPayload();
+        evictFrom(payload.length() > CACHE_NAME.length() ? LocalDate.parse(payload.substring(CACHE_NAME.length() + 1)) : null);
+    }
+
+    private Mono<Void> evictEverywhereFrom(LocalDate transactionDate) {
+        String payload = transactionDate == null ? CACHE_NAME : CACHE_NAME + ":" + transactionDate;
+        // the write is completed already: a failed publication leaves the other instances on their ttl, it does not fail it
+        return Mono
+            .fromRunnable(() -> {
+                evictFrom(transactionDate);
+                output.send(new GenericMessage<>(payload, Map.of(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE)));
+            })
+            .subscribeOn(Schedulers.boundedElastic())
+            .onErrorResume(e -> {
+                log.warn("Could not publish the invalidation of the TrialBalances as of {}: {}", transactionDate, e.getMessage());
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    private void evictFrom(LocalDate transactionDate) {
+        log.debug("Evicting the cached TrialBalances as of {} and later", transactionDate);
+        if (transactionDate == null) {
+            cache.clear();
+        } else {
+            cache.tailMap(transactionDate, true).clear();
+        }
+    }
+
+    private Mono<TrialBalanceDTO> load(LocalDate asOf) {
+        Duration ttl = applicationProperties.getTrialBalance().getCacheTtl();
+        return transactionEntryRepository
+            .sumPostedByAccountTree(asOf)
+            .collectList()
+            .map(rows -> toDto(asOf, rows))
+            // failures are not cached, the next request runs the query again
+            .cache(trialBalance -> ttl, error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    private static TrialBalanceDTO toDto(LocalDate asOf, List<TrialBalanceRow> rows) {
+        TrialBalanceDTO trialBalanceDTO = new TrialBalanceDTO();
+        trialBalanceDTO.setAsOf(asOf);
+        BigDecimal debitTotal = BigDecimal.ZERO;
+        BigDecimal creditTotal = BigDecimal.ZERO;
+        for (TrialBalanceRow row : rows) {
+            TrialBalanceLineDTO line = new TrialBalanceLineDTO();
+            line.setTransactionAccountId(row.getTransactionAccountId());
+            line.setAccountNumber(row.getAccountNumber());
+            line.setAccountName(row.getAccountName());
+            line.setParentAccountId(row.getParentAccountId());
+            line.setDebitTotal(row.getDebitTotal());
+            line.setCreditTotal(row.getCreditTotal());
+            line.setRolledUpDebitTotal(row.getRolledUpDebitTotal());
+            line.setRolledUpCreditTotal(row.getRolledUpCreditTotal());
+            trialBalanceDTO.getLines().add(line);
+            debitTotal = debitTotal.add(row.getDebitTotal());
+            creditTotal = creditTotal.add(row.getCreditTotal());
+        }
+        trialBalanceDTO.setDebitTotal(debitTotal);
+        trialBalanceDTO.setCreditTotal(creditTotal);
+        return trialBalanceDTO;
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.keeper.service.mapper;
+
+import io.github.keeper.domain.AccountBalance;
+import io.github.keeper.service.dto.AccountBalanceDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the entity {@link AccountBalance} and its DTO {@link AccountBalanceDTO}.
+ */
+@Mapper(componentModel = "spring")
+public interface AccountBalanceMapper extends EntityMapper<AccountBalanceDTO, AccountBalance> {}
@@ -8,4 +8,17 @@ import org.mapstruct.*;
  * Mapper for the entity {@link AccountTransaction} and its DTO {@link AccountTransactionDTO}.
  */
 @Mapper(componentModel = "spring")
-public interface AccountTransactionMapper extends EntityMapper<AccountTransactionDTO, AccountTransaction> {}
+public interface AccountTransactionMapper extends EntityMapper<AccountTransactionDTO, AccountTransaction> {
+    @Mapping(target = "transactionEntries", ignore = true)
+    AccountTransactionDTO toDto(AccountTransaction s);
+
+    @Mapping(target = "transactionEntries", ignore = true)
+    @Mapping(target = "removeTransactionEntry", ignore = true)
+    AccountTransaction toEntity(AccountTransactionDTO accountTransactionDTO);
+
+    @Named("partialUpdate")
+    @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "transactionEntries", ignore = true)
+    @Mapping(target = "removeTransactionEntry", ignore = true)
+    void partialUpdate(@MappingTarget AccountTransaction entity, AccountTransactionDTO dto);
+}
@@ -0,0 +1,14 @@
+package io.github.keeper.service.mapper;
+
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.service.dto.LedgerEntryDTO;
+import org.mapstruct.*;
+
+/**
+ * Mapper for the search document {@link LedgerEntryDocument} and its DTO {@link LedgerEntryDTO}. The documents are only read
+ * through the API.
+ */
+@Mapper(componentModel = "spring")
+public interface LedgerEntryMapper {
+    LedgerEntryDTO toDto(LedgerEntryDocument ledgerEntryDocument);
+}
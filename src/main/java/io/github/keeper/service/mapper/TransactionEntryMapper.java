@@ -17,6 +17,11 @@ public interface TransactionEntryMapper extends EntityMapper<TransactionEntryDTO
     @Mapping(target = "accountTransaction", source = "accountTransaction", qualifiedByName = "accountTransactionReferenceNumber")
     TransactionEntryDTO toDto(TransactionEntry s);
 
+    @Named("export")
+    @Mapping(target = "transactionAccount", source = "transactionAccount", qualifiedByName = "transactionAccountAccountName")
+    @Mapping(target = "accountTransaction", source = "accountTransaction", qualifiedByName = "accountTransactionJournal")
+    TransactionEntryDTO toExportDto(TransactionEntry s);
+
     @Named("transactionAccountAccountName")
     @BeanMapping(ignoreByDefault = true)
     @Mapping(target = "id", source = "id")
@@ -28,4 +33,11 @@ public interface TransactionEntryMapper extends EntityMapper<TransactionEntryDTO
     @Mapping(target = "id", source = "id")
     @Mapping(target = "referenceNumber", source = "referenceNumber")
     AccountTransactionDTO toDtoAccountTransactionReferenceNumber(AccountTransaction accountTransaction);
+
+    @Named("accountTransactionJournal")
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(target = "id", source = "id")
+    @Mapping(target = "transactionDate", source = "transactionDate")
+    @Mapping(target = "referenceNumber", source = "referenceNumber")
+    AccountTransactionDTO toDtoAccountTransactionJournal(AccountTransaction accountTransaction);
 }
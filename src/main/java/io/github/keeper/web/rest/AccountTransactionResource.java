@@ -1,9 +1,15 @@
 package io.github.keeper.web.rest;
 
+import io.github.keeper.config.ApplicationProperties;
 import io.github.keeper.repository.AccountTransactionRepository;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.search.SearchAfterPageable;
 import io.github.keeper.service.AccountTransactionService;
 import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -15,7 +21,6 @@ import javax.validation.constraints.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpHeaders;
@@ -50,12 +55,16 @@ public class AccountTransactionResource {
 
     private final AccountTransactionRepository accountTransactionRepository;
 
+    private final ApplicationProperties applicationProperties;
+
     public AccountTransactionResource(
         AccountTransactionService accountTransactionService,
-        AccountTransactionRepository accountTransactionRepository
+        AccountTransactionRepository accountTransactionRepository,
+        ApplicationProperties applicationProperties
     ) {
         this.accountTransactionService = accountTransactionService;
         this.accountTransactionRepository = accountTransactionRepository;
+        this.applicationProperties = applicationProperties;
     }
 
     /**
@@ -87,6 +96,31 @@ public class AccountTransactionResource {
             });
     }
 
+    /**
+     * {@code POST  /account-transactions/_batch} : Create a batch of new accountTransactions, each with its transactionEntries.
+     *
+     * @param accountTransactionDTOs the accountTransactionDTOs to create, carrying their transactionEntries.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the outcome of every accountTransaction in the batch,
+     * or with status {@code 400 (Bad Request)} if the batch is empty or too large.
+     */
+    @PostMapping("/account-transactions/_batch")
+    public Mono<ResponseEntity<List<BatchItemResultDTO>>> createAccountTransactionsBatch(
+        @RequestBody List<AccountTransactionDTO> accountTransactionDTOs
+    ) {
+        log.debug("REST request to save a batch of {} AccountTransactions", accountTransactionDTOs.size());
+        if (accountTransactionDTOs.isEmpty()) {
+            throw new BadRequestAlertException("A batch must contain at least one accountTransaction", ENTITY_NAME, "batchempty");
+        }
+        if (accountTransactionDTOs.size() > applicationProperties.getBatch().getMaxJournals()) {
+            throw new BadRequestAlertException(
+                "A batch cannot contain more than " + applicationProperties.getBatch().getMaxJournals() + " accountTransactions",
+                ENTITY_NAME,
+                "batchtoolarge"
+            );
+        }
+        return accountTransactionService.saveBatch(accountTransactionDTOs).map(results -> ResponseEntity.ok().body(results));
+    }
+
     /**
      * {@code PUT  /account-transactions/:id} : Updates an existing accountTransaction.
      *
@@ -178,40 +212,84 @@ public class AccountTransactionResource {
      *
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountTransactions in body.
+     * @param eager flag to eager load the transactionEntries of the accountTransactions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the accountTransactions in body, streamed as a JSON
+     * array, or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/account-transactions")
-    public Mono<ResponseEntity<List<AccountTransactionDTO>>> getAllAccountTransactions(
+    public Mono<ResponseEntity<Flux<AccountTransactionDTO>>> getAllAccountTransactions(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
-        ServerHttpRequest request
+        ServerHttpRequest request,
+        @RequestParam(required = false, defaultValue = "false") boolean eager
     ) {
         log.debug("REST request to get a page of AccountTransactions");
+        if (eager) {
+            // the entries are read with one IN query for the whole page, which needs the page first
+            return accountTransactionService
+                .findPageWithEagerRelationships(pageable)
+                .map(page ->
+                    ResponseEntity
+                        .ok()
+                        .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                        .body(Flux.fromIterable(page.getContent()))
+                );
+        }
         return accountTransactionService
             .countAll()
-            .zipWith(accountTransactionService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(accountTransactionService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /account-transactions?after=} : get a keyset page of the accountTransactions.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @param eager flag to eager load the transactionEntries of the accountTransactions.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountTransactions in body.
+     */
+    @GetMapping(value = "/account-transactions", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<AccountTransactionDTO>>> getAllAccountTransactionsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request,
+        @RequestParam(required = false, defaultValue = "false") boolean eager
+    ) {
+        log.debug("REST request to get a keyset page of AccountTransactions");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(keysetPageable ->
+                eager
+                    ? accountTransactionService.findAllWithEagerRelationships(keysetPageable)
+                    : accountTransactionService.findAll(keysetPageable)
+            )
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
      * {@code GET  /account-transactions/:id} : get the "id" accountTransaction.
      *
      * @param id the id of the accountTransactionDTO to retrieve.
+     * @param eager flag to eager load the transactionEntries of the accountTransaction.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountTransactionDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/account-transactions/{id}")
-    public Mono<ResponseEntity<AccountTransactionDTO>> getAccountTransaction(@PathVariable Long id) {
+    public Mono<ResponseEntity<AccountTransactionDTO>> getAccountTransaction(
+        @PathVariable Long id,
+        @RequestParam(required = false, defaultValue = "false") boolean eager
+    ) {
         log.debug("REST request to get AccountTransaction : {}", id);
-        Mono<AccountTransactionDTO> accountTransactionDTO = accountTransactionService.findOne(id);
+        Mono<AccountTransactionDTO> accountTransactionDTO = eager
+            ? accountTransactionService.findOneWithEagerRelationships(id)
+            : accountTransactionService.findOne(id);
         return ResponseUtil.wrapOrNotFound(accountTransactionDTO);
     }
 
@@ -243,19 +321,54 @@ public class AccountTransactionResource {
      * @param query the query of the accountTransaction search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/account-transactions")
-    public Mono<ResponseEntity<Flux<AccountTransactionDTO>>> searchAccountTransactions(
+    public Mono<ResponseEntity<List<AccountTransactionDTO>>> searchAccountTransactions(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of AccountTransactions for query {}", query);
         return accountTransactionService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(accountTransactionService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/account-transactions?query=:query&after=} : search for the accountTransaction corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the accountTransaction search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/account-transactions", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<AccountTransactionDTO>>> searchAccountTransactionsAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of AccountTransactions for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> accountTransactionService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
@@ -1,9 +1,13 @@
 package io.github.keeper.web.rest;
 
 import io.github.keeper.repository.AccountingEventRepository;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.search.SearchAfterPageable;
 import io.github.keeper.service.AccountingEventService;
 import io.github.keeper.service.dto.AccountingEventDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -175,10 +179,11 @@ public class AccountingEventResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountingEvents in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the accountingEvents in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/accounting-events")
-    public Mono<ResponseEntity<List<AccountingEventDTO>>> getAllAccountingEvents(
+    public Mono<ResponseEntity<Flux<AccountingEventDTO>>> getAllAccountingEvents(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -186,18 +191,36 @@ public class AccountingEventResource {
         log.debug("REST request to get a page of AccountingEvents");
         return accountingEventService
             .countAll()
-            .zipWith(accountingEventService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(accountingEventService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /accounting-events?after=} : get a keyset page of the accountingEvents.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of accountingEvents in body.
+     */
+    @GetMapping(value = "/accounting-events", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<AccountingEventDTO>>> getAllAccountingEventsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of AccountingEvents");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(accountingEventService::findAll)
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
@@ -241,19 +264,54 @@ public class AccountingEventResource {
      * @param query the query of the accountingEvent search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/accounting-events")
-    public Mono<ResponseEntity<Flux<AccountingEventDTO>>> searchAccountingEvents(
+    public Mono<ResponseEntity<List<AccountingEventDTO>>> searchAccountingEvents(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of AccountingEvents for query {}", query);
         return accountingEventService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(accountingEventService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/accounting-events?query=:query&after=} : search for the accountingEvent corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the accountingEvent search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/accounting-events", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<AccountingEventDTO>>> searchAccountingEventsAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of AccountingEvents for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> accountingEventService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
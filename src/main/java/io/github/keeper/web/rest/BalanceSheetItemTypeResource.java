@@ -1,11 +1,18 @@
 package io.github.keeper.web.rest;
 
 import io.github.keeper.repository.BalanceSheetItemTypeRepository;
+import io.github.keeper.repository.InvalidHierarchyException;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.search.SearchAfterPageable;
 import io.github.keeper.service.BalanceSheetItemTypeService;
 import io.github.keeper.service.dto.BalanceSheetItemTypeDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,6 +25,7 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -120,6 +128,10 @@ public class BalanceSheetItemTypeResource {
                 return balanceSheetItemTypeService
                     .update(balanceSheetItemTypeDTO)
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .onErrorMap(
+                        InvalidHierarchyException.class,
+                        e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "hierarchycycle")
+                    )
                     .map(result ->
                         ResponseEntity
                             .ok()
@@ -164,6 +176,10 @@ public class BalanceSheetItemTypeResource {
 
                 return result
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .onErrorMap(
+                        InvalidHierarchyException.class,
+                        e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "hierarchycycle")
+                    )
                     .map(res ->
                         ResponseEntity
                             .ok()
@@ -179,10 +195,11 @@ public class BalanceSheetItemTypeResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balanceSheetItemTypes in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the balanceSheetItemTypes in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/balance-sheet-item-types")
-    public Mono<ResponseEntity<List<BalanceSheetItemTypeDTO>>> getAllBalanceSheetItemTypes(
+    public Mono<ResponseEntity<Flux<BalanceSheetItemTypeDTO>>> getAllBalanceSheetItemTypes(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -190,18 +207,36 @@ public class BalanceSheetItemTypeResource {
         log.debug("REST request to get a page of BalanceSheetItemTypes");
         return balanceSheetItemTypeService
             .countAll()
-            .zipWith(balanceSheetItemTypeService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(balanceSheetItemTypeService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /balance-sheet-item-types?after=} : get a keyset page of the balanceSheetItemTypes.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balanceSheetItemTypes in body.
+     */
+    @GetMapping(value = "/balance-sheet-item-types", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<BalanceSheetItemTypeDTO>>> getAllBalanceSheetItemTypesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of BalanceSheetItemTypes");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(balanceSheetItemTypeService::findAll)
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
@@ -217,6 +252,38 @@ public class BalanceSheetItemTypeResource {
         return ResponseUtil.wrapOrNotFound(balanceSheetItemTypeDTO);
     }
 
+    /**
+     * {@code GET  /balance-sheet-item-types/:id/subtree} : get the "id" balanceSheetItemType and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the balanceSheetItemTypes of the subtree, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/balance-sheet-item-types/{id}/subtree")
+    public Mono<ResponseEntity<List<BalanceSheetItemTypeDTO>>> getBalanceSheetItemTypeSubtree(@PathVariable Long id) {
+        log.debug("REST request to get the subtree of BalanceSheetItemType : {}", id);
+        return ResponseUtil.wrapOrNotFound(balanceSheetItemTypeService.findSubtree(id).collectList().filter(subtree -> !subtree.isEmpty()));
+    }
+
+    /**
+     * {@code GET  /balance-sheet-item-types/:id/subtree/total} : sum the balanceSheetItemValues effective on a date over the "id" balanceSheetItemType and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @param effectiveDate the effective date of the values.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the total amount, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/balance-sheet-item-types/{id}/subtree/total")
+    public Mono<ResponseEntity<BigDecimal>> getBalanceSheetItemTypeSubtreeTotal(
+        @PathVariable Long id,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate effectiveDate
+    ) {
+        log.debug("REST request to sum the values effective on {} of the subtree of BalanceSheetItemType : {}", effectiveDate, id);
+        Mono<BigDecimal> total = balanceSheetItemTypeRepository
+            .existsById(id)
+            .filter(exists -> exists)
+            .flatMap(exists -> balanceSheetItemTypeService.sumItemAmountsOfSubtree(id, effectiveDate));
+        return ResponseUtil.wrapOrNotFound(total);
+    }
+
     /**
      * {@code DELETE  /balance-sheet-item-types/:id} : delete the "id" balanceSheetItemType.
      *
@@ -245,19 +312,54 @@ public class BalanceSheetItemTypeResource {
      * @param query the query of the balanceSheetItemType search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/balance-sheet-item-types")
-    public Mono<ResponseEntity<Flux<BalanceSheetItemTypeDTO>>> searchBalanceSheetItemTypes(
+    public Mono<ResponseEntity<List<BalanceSheetItemTypeDTO>>> searchBalanceSheetItemTypes(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of BalanceSheetItemTypes for query {}", query);
         return balanceSheetItemTypeService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(balanceSheetItemTypeService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/balance-sheet-item-types?query=:query&after=} : search for the balanceSheetItemType corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the balanceSheetItemType search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/balance-sheet-item-types", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<BalanceSheetItemTypeDTO>>> searchBalanceSheetItemTypesAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of BalanceSheetItemTypes for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> balanceSheetItemTypeService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
@@ -1,9 +1,13 @@
 package io.github.keeper.web.rest;
 
 import io.github.keeper.repository.BalanceSheetItemValueRepository;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.search.SearchAfterPageable;
 import io.github.keeper.service.BalanceSheetItemValueService;
 import io.github.keeper.service.dto.BalanceSheetItemValueDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -179,10 +183,11 @@ public class BalanceSheetItemValueResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balanceSheetItemValues in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the balanceSheetItemValues in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/balance-sheet-item-values")
-    public Mono<ResponseEntity<List<BalanceSheetItemValueDTO>>> getAllBalanceSheetItemValues(
+    public Mono<ResponseEntity<Flux<BalanceSheetItemValueDTO>>> getAllBalanceSheetItemValues(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -190,18 +195,36 @@ public class BalanceSheetItemValueResource {
         log.debug("REST request to get a page of BalanceSheetItemValues");
         return balanceSheetItemValueService
             .countAll()
-            .zipWith(balanceSheetItemValueService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(balanceSheetItemValueService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /balance-sheet-item-values?after=} : get a keyset page of the balanceSheetItemValues.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of balanceSheetItemValues in body.
+     */
+    @GetMapping(value = "/balance-sheet-item-values", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<BalanceSheetItemValueDTO>>> getAllBalanceSheetItemValuesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of BalanceSheetItemValues");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(balanceSheetItemValueService::findAll)
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
@@ -245,19 +268,54 @@ public class BalanceSheetItemValueResource {
      * @param query the query of the balanceSheetItemValue search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/balance-sheet-item-values")
-    public Mono<ResponseEntity<Flux<BalanceSheetItemValueDTO>>> searchBalanceSheetItemValues(
+    public Mono<ResponseEntity<List<BalanceSheetItemValueDTO>>> searchBalanceSheetItemValues(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of BalanceSheetItemValues for query {}", query);
         return balanceSheetItemValueService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(balanceSheetItemValueService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/balance-sheet-item-values?query=:query&after=} : search for the balanceSheetItemValue corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the balanceSheetItemValue search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/balance-sheet-item-values", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<BalanceSheetItemValueDTO>>> searchBalanceSheetItemValuesAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of BalanceSheetItemValues for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> balanceSheetItemValueService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
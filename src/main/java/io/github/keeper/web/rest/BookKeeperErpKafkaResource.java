@@ -1,15 +1,13 @@
 package io.github.keeper.web.rest;
 
-import io.github.keeper.config.KafkaSseConsumer;
-import io.github.keeper.config.KafkaSseProducer;
+import io.github.keeper.service.LiveFeedService;
 import java.util.HashMap;
 import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.cloud.stream.annotation.StreamListener;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.Message;
 import org.springframework.messaging.MessageChannel;
 import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.support.GenericMessage;
@@ -17,19 +15,23 @@ import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
 
 @RestController
 @RequestMapping("/api/book-keeper-erp-kafka")
 public class BookKeeperErpKafkaResource {
 
+    public static final String BINDING_NAME = "binding-out-sse";
+
     private final Logger log = LoggerFactory.getLogger(BookKeeperErpKafkaResource.class);
 
     private final MessageChannel output;
-    private Sinks.Many<Message<String>> sink = Sinks.many().unicast().onBackpressureBuffer();
 
-    public BookKeeperErpKafkaResource(@Qualifier(KafkaSseProducer.CHANNELNAME) MessageChannel output) {
+    private final LiveFeedService liveFeedService;
+
+    public BookKeeperErpKafkaResource(@Lazy @Qualifier(BINDING_NAME) MessageChannel output, LiveFeedService liveFeedService) {
         this.output = output;
+        this.liveFeedService = liveFeedService;
     }
 
     @PostMapping("/publish")
@@ -38,19 +40,30 @@ public class BookKeeperErpKafkaResource {
         Map<String, Object> map = new HashMap<>();
         map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
         MessageHeaders headers = new MessageHeaders(map);
-        output.send(new GenericMessage<>(message, headers));
-        return Mono.just(ResponseEntity.noContent().build());
+        GenericMessage<String> kafkaMessage = new GenericMessage<>(message, headers);
+        // the producer may block on the metadata or a full buffer, up to max.block.ms: never on the event loop
+        return Mono
+            .fromCallable(() -> output.send(kafkaMessage))
+            .subscribeOn(Schedulers.boundedElastic())
+            .thenReturn(ResponseEntity.noContent().build());
     }
 
+    /**
+     * {@code GET  /consume} : share the records read from Kafka, the latest ones first, with any number of clients: the
+     * messages published through {@code /publish} on {@code sse-topic}, and the ledger events on {@code ledger-events-topic}.
+     *
+     * @param topic only the records of this topic, all of them if not set.
+     * @param account only the records keyed by this account, as the ledger events are, all of them if not set.
+     * @param overflow what a client reading too slowly loses: the new records ({@code DROP}) or the oldest ones ({@code LATEST}).
+     * @return the records, as long as the client is connected.
+     */
     @GetMapping("/consume")
-    public Flux<String> consume() {
-        log.debug("REST request to consume records from Kafka topics");
-        return sink.asFlux().map(m -> m.getPayload());
-    }
-
-    @StreamListener(value = KafkaSseConsumer.CHANNELNAME, copyHeaders = "false")
-    public void consume(Message<String> message) {
-        log.debug("Got message from kafka stream: {}", message.getPayload());
-        sink.emitNext(message, Sinks.EmitFailureHandler.FAIL_FAST);
+    public Flux<String> consume(
+        @RequestParam(required = false) String topic,
+        @RequestParam(required = false) String account,
+        @RequestParam(defaultValue = "DROP") LiveFeedService.Overflow overflow
+    ) {
+        log.debug("REST request to consume records from Kafka topics, topic: {}, account: {}, overflow: {}", topic, account, overflow);
+        return liveFeedService.subscribe(topic, account, overflow);
     }
 }
@@ -1,9 +1,13 @@
 package io.github.keeper.web.rest;
 
 import io.github.keeper.repository.DealerRepository;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
+import io.github.keeper.repository.search.SearchAfterPageable;
 import io.github.keeper.service.DealerService;
 import io.github.keeper.service.dto.DealerDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -174,10 +178,11 @@ public class DealerResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dealers in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the dealers in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/dealers")
-    public Mono<ResponseEntity<List<DealerDTO>>> getAllDealers(
+    public Mono<ResponseEntity<Flux<DealerDTO>>> getAllDealers(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -185,18 +190,36 @@ public class DealerResource {
         log.debug("REST request to get a page of Dealers");
         return dealerService
             .countAll()
-            .zipWith(dealerService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(dealerService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /dealers?after=} : get a keyset page of the dealers.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of dealers in body.
+     */
+    @GetMapping(value = "/dealers", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<DealerDTO>>> getAllDealersAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of Dealers");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(dealerService::findAll)
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
@@ -240,19 +263,54 @@ public class DealerResource {
      * @param query the query of the dealer search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/dealers")
-    public Mono<ResponseEntity<Flux<DealerDTO>>> searchDealers(
+    public Mono<ResponseEntity<List<DealerDTO>>> searchDealers(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of Dealers for query {}", query);
         return dealerService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(dealerService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/dealers?query=:query&after=} : search for the dealer corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the dealer search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/dealers", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<DealerDTO>>> searchDealersAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of Dealers for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> dealerService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
@@ -0,0 +1,62 @@
+package io.github.keeper.web.rest;
+
+import io.github.keeper.service.LedgerAnalyticsService;
+import io.github.keeper.service.dto.LedgerAnalyticsDTO;
+import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the ledger analytics of the dashboards.
+ */
+@RestController
+@RequestMapping("/api")
+public class LedgerAnalyticsResource {
+
+    private final Logger log = LoggerFactory.getLogger(LedgerAnalyticsResource.class);
+
+    private static final String ENTITY_NAME = "ledgerAnalytics";
+
+    private final LedgerAnalyticsService ledgerAnalyticsService;
+
+    public LedgerAnalyticsResource(LedgerAnalyticsService ledgerAnalyticsService) {
+        this.ledgerAnalyticsService = ledgerAnalyticsService;
+    }
+
+    /**
+     * {@code GET  /analytics/ledger} : get the totals by account and by month of the ledger entries, and the activity of the
+     * dealers, over a period.
+     *
+     * @param query a query on the ledger entries, as for {@code /_search/ledger-entries}, all the entries if absent.
+     * @param fromDate the first transaction date included.
+     * @param toDate the last transaction date included.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the analytics in body, or with status
+     * {@code 400 (Bad Request)} if the period ends before it starts, or with status {@code 501 (Not Implemented)} if the search
+     * backend has no aggregations.
+     */
+    @GetMapping("/analytics/ledger")
+    public Mono<ResponseEntity<LedgerAnalyticsDTO>> getLedgerAnalytics(
+        @RequestParam(required = false) String query,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate
+    ) {
+        log.debug("REST request to get the LedgerAnalytics from {} to {} for query {}", fromDate, toDate, query);
+        if (fromDate.isAfter(toDate)) {
+            throw new BadRequestAlertException("The period ends before it starts", ENTITY_NAME, "baddaterange");
+        }
+        return ledgerAnalyticsService
+            .getLedgerAnalytics(query, fromDate, toDate)
+            .map(ResponseEntity::ok)
+            .onErrorMap(UnsupportedOperationException.class, e -> new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED, e.getMessage()));
+    }
+}
@@ -0,0 +1,99 @@
+package io.github.keeper.web.rest;
+
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.service.LedgerEntryService;
+import io.github.keeper.service.dto.LedgerEntryDTO;
+import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+import tech.jhipster.web.util.PaginationUtil;
+
+/**
+ * REST controller for searching the ledger entries: the transaction entries together with the name and number of their
+ * account, the date and reference of their transaction and their currency code, so that a single query can filter on all of
+ * them, e.g. {@code entryAmount:>10000 AND accountNumber:4001 AND transactionDate:[2026-07-01 TO 2026-09-30]}.
+ */
+@RestController
+@RequestMapping("/api")
+public class LedgerEntryResource {
+
+    private final Logger log = LoggerFactory.getLogger(LedgerEntryResource.class);
+
+    private static final String ENTITY_NAME = "ledgerEntry";
+
+    private final LedgerEntryService ledgerEntryService;
+
+    public LedgerEntryResource(LedgerEntryService ledgerEntryService) {
+        this.ledgerEntryService = ledgerEntryService;
+    }
+
+    /**
+     * {@code SEARCH  /_search/ledger-entries?query=:query} : search for the ledgerEntry corresponding
+     * to the query.
+     *
+     * @param query the query of the ledgerEntry search.
+     * @param pageable the pagination information.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping("/_search/ledger-entries")
+    public Mono<ResponseEntity<List<LedgerEntryDTO>>> searchLedgerEntries(
+        @RequestParam String query,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a page of LedgerEntries for query {}", query);
+        return ledgerEntryService
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/ledger-entries?query=:query&after=} : search for the ledgerEntry corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the ledgerEntry search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/ledger-entries", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<LedgerEntryDTO>>> searchLedgerEntriesAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of LedgerEntries for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> ledgerEntryService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
+    }
+}
@@ -1,6 +1,7 @@
 package io.github.keeper.web.rest;
 
-import io.github.keeper.repository.search.UserSearchRepository;
+import io.github.keeper.domain.User;
+import io.github.keeper.repository.search.SearchBackend;
 import io.github.keeper.service.UserService;
 import io.github.keeper.service.dto.UserDTO;
 import java.util.ArrayList;
@@ -33,11 +34,11 @@ public class PublicUserResource {
     private final Logger log = LoggerFactory.getLogger(PublicUserResource.class);
 
     private final UserService userService;
-    private final UserSearchRepository userSearchRepository;
+    private final SearchBackend searchBackend;
 
-    public PublicUserResource(UserSearchRepository userSearchRepository, UserService userService) {
+    public PublicUserResource(SearchBackend searchBackend, UserService userService) {
         this.userService = userService;
-        this.userSearchRepository = userSearchRepository;
+        this.searchBackend = searchBackend;
     }
 
     /**
@@ -85,6 +86,6 @@ public class PublicUserResource {
      */
     @GetMapping("/_search/users/{query}")
     public Mono<List<UserDTO>> search(@PathVariable String query) {
-        return userSearchRepository.search(query).map(UserDTO::new).collectList();
+        return searchBackend.search(User.class, query).map(UserDTO::new).collectList();
     }
 }
@@ -1,12 +1,22 @@
 package io.github.keeper.web.rest;
 
+import io.github.keeper.repository.InvalidHierarchyException;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
 import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.security.AuthoritiesConstants;
+import io.github.keeper.service.AccountBalanceService;
+import io.github.keeper.service.BalanceSnapshotService;
 import io.github.keeper.service.TransactionAccountService;
+import io.github.keeper.service.dto.AccountBalanceDTO;
 import io.github.keeper.service.dto.TransactionAccountDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
+import java.math.BigDecimal;
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -16,13 +26,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.util.UriComponentsBuilder;
@@ -50,12 +61,20 @@ public class TransactionAccountResource {
 
     private final TransactionAccountRepository transactionAccountRepository;
 
+    private final AccountBalanceService accountBalanceService;
+
+    private final BalanceSnapshotService balanceSnapshotService;
+
     public TransactionAccountResource(
         TransactionAccountService transactionAccountService,
-        TransactionAccountRepository transactionAccountRepository
+        TransactionAccountRepository transactionAccountRepository,
+        AccountBalanceService accountBalanceService,
+        BalanceSnapshotService balanceSnapshotService
     ) {
         this.transactionAccountService = transactionAccountService;
         this.transactionAccountRepository = transactionAccountRepository;
+        this.accountBalanceService = accountBalanceService;
+        this.balanceSnapshotService = balanceSnapshotService;
     }
 
     /**
@@ -120,6 +139,10 @@ public class TransactionAccountResource {
                 return transactionAccountService
                     .update(transactionAccountDTO)
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .onErrorMap(
+                        InvalidHierarchyException.class,
+                        e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "hierarchycycle")
+                    )
                     .map(result ->
                         ResponseEntity
                             .ok()
@@ -164,6 +187,10 @@ public class TransactionAccountResource {
 
                 return result
                     .switchIfEmpty(Mono.error(new ResponseStatusException(HttpStatus.NOT_FOUND)))
+                    .onErrorMap(
+                        InvalidHierarchyException.class,
+                        e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "hierarchycycle")
+                    )
                     .map(res ->
                         ResponseEntity
                             .ok()
@@ -179,31 +206,53 @@ public class TransactionAccountResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transactionAccounts in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the transactionAccounts in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/transaction-accounts")
-    public Mono<ResponseEntity<List<TransactionAccountDTO>>> getAllTransactionAccounts(
+    public Mono<ResponseEntity<Flux<TransactionAccountDTO>>> getAllTransactionAccounts(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
     ) {
         log.debug("REST request to get a page of TransactionAccounts");
         return transactionAccountService
-            .countAll()
-            .zipWith(transactionAccountService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .findPage(pageable)
+            .map(page ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(Flux.fromIterable(page.getContent()))
             );
     }
 
+    /**
+     * {@code GET  /transaction-accounts?after=} : get a keyset page of the transactionAccounts.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transactionAccounts in body.
+     */
+    @GetMapping(value = "/transaction-accounts", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<TransactionAccountDTO>>> getAllTransactionAccountsAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of TransactionAccounts");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(transactionAccountService::findAll)
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
+    }
+
     /**
      * {@code GET  /transaction-accounts/:id} : get the "id" transactionAccount.
      *
@@ -217,6 +266,111 @@ public class TransactionAccountResource {
         return ResponseUtil.wrapOrNotFound(transactionAccountDTO);
     }
 
+    /**
+     * {@code GET  /transaction-accounts/:id/balance} : get the balance of the "id" transactionAccount.
+     *
+     * @param id the id of the transactionAccount whose balance to retrieve.
+     * @param asOf the last transaction date included, all the entries if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountBalanceDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/transaction-accounts/{id}/balance")
+    public Mono<ResponseEntity<AccountBalanceDTO>> getTransactionAccountBalance(
+        @PathVariable Long id,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    ) {
+        log.debug("REST request to get the balance of TransactionAccount : {} as of {}", id, asOf);
+        Mono<AccountBalanceDTO> accountBalanceDTO = transactionAccountRepository
+            .existsById(id)
+            .filter(exists -> exists)
+            .flatMap(exists -> {
+                Mono<AccountBalanceDTO> balance = asOf == null
+                    ? accountBalanceService.findOne(id)
+                    : balanceSnapshotService.findOneAsOf(id, asOf);
+                return balance.defaultIfEmpty(emptyBalance(id));
+            });
+        return ResponseUtil.wrapOrNotFound(accountBalanceDTO);
+    }
+
+    /**
+     * {@code GET  /transaction-accounts/balances} : get the balances of all the transactionAccounts as of a date.
+     *
+     * @param asOf the last transaction date included.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of the balances of the accounts with entries up to that date in body.
+     */
+    @GetMapping("/transaction-accounts/balances")
+    public Mono<List<AccountBalanceDTO>> getAllTransactionAccountBalances(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    ) {
+        log.debug("REST request to get the balances of all TransactionAccounts as of {}", asOf);
+        return balanceSnapshotService.findAllAsOf(asOf).collectList();
+    }
+
+    /**
+     * {@code GET  /transaction-accounts/:id/subtree} : get the "id" transactionAccount and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the transactionAccounts of the subtree, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/transaction-accounts/{id}/subtree")
+    public Mono<ResponseEntity<List<TransactionAccountDTO>>> getTransactionAccountSubtree(@PathVariable Long id) {
+        log.debug("REST request to get the subtree of TransactionAccount : {}", id);
+        return ResponseUtil.wrapOrNotFound(transactionAccountService.findSubtree(id).collectList().filter(subtree -> !subtree.isEmpty()));
+    }
+
+    /**
+     * {@code GET  /transaction-accounts/:id/subtree/balance} : get the sum of the balances of the "id" transactionAccount and all of its descendants.
+     *
+     * @param id the id of the root of the subtree.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the accountBalanceDTO, or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/transaction-accounts/{id}/subtree/balance")
+    public Mono<ResponseEntity<AccountBalanceDTO>> getTransactionAccountSubtreeBalance(@PathVariable Long id) {
+        log.debug("REST request to get the balance of the subtree of TransactionAccount : {}", id);
+        Mono<AccountBalanceDTO> accountBalanceDTO = transactionAccountRepository
+            .existsById(id)
+            .filter(exists -> exists)
+            .flatMap(exists -> accountBalanceService.findSubtreeTotal(id));
+        return ResponseUtil.wrapOrNotFound(accountBalanceDTO);
+    }
+
+    /**
+     * {@code POST  /transaction-accounts/balances/_rebuild} : re-derive the balances of all transactionAccounts from the ledger.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of balances written.
+     */
+    @PostMapping("/transaction-accounts/balances/_rebuild")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<ResponseEntity<Integer>> rebuildTransactionAccountBalances() {
+        log.debug("REST request to rebuild the balances of all TransactionAccounts");
+        return accountBalanceService.rebuild().map(count -> ResponseEntity.ok().body(count));
+    }
+
+    /**
+     * {@code POST  /transaction-accounts/balances/snapshots/_backfill} : checkpoint the balances of all the completed periods not
+     * checkpointed yet.
+     *
+     * @param rebuild whether to drop the existing checkpoints first.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the number of periods checkpointed.
+     */
+    @PostMapping("/transaction-accounts/balances/snapshots/_backfill")
+    @PreAuthorize("hasAuthority(\"" + AuthoritiesConstants.ADMIN + "\")")
+    public Mono<ResponseEntity<Long>> backfillTransactionAccountBalanceSnapshots(
+        @RequestParam(required = false, defaultValue = "false") boolean rebuild
+    ) {
+        log.debug("REST request to backfill the balance snapshots of all TransactionAccounts, rebuild : {}", rebuild);
+        Mono<Long> periods = rebuild ? balanceSnapshotService.rebuild() : balanceSnapshotService.takeSnapshots();
+        return periods.map(count -> ResponseEntity.ok().body(count));
+    }
+
+    private static AccountBalanceDTO emptyBalance(Long transactionAccountId) {
+        AccountBalanceDTO accountBalanceDTO = new AccountBalanceDTO();
+        accountBalanceDTO.setTransactionAccountId(transactionAccountId);
+        accountBalanceDTO.setDebitTotal(BigDecimal.ZERO);
+        accountBalanceDTO.setCreditTotal(BigDecimal.ZERO);
+        accountBalanceDTO.setNetBalance(BigDecimal.ZERO);
+        return accountBalanceDTO;
+    }
+
     /**
      * {@code DELETE  /transaction-accounts/:id} : delete the "id" transactionAccount.
      *
@@ -245,19 +399,54 @@ public class TransactionAccountResource {
      * @param query the query of the transactionAccount search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/transaction-accounts")
-    public Mono<ResponseEntity<Flux<TransactionAccountDTO>>> searchTransactionAccounts(
+    public Mono<ResponseEntity<List<TransactionAccountDTO>>> searchTransactionAccounts(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of TransactionAccounts for query {}", query);
         return transactionAccountService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(transactionAccountService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/transaction-accounts?query=:query&after=} : search for the transactionAccount corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the transactionAccount search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/transaction-accounts", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<TransactionAccountDTO>>> searchTransactionAccountsAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of TransactionAccounts for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> transactionAccountService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
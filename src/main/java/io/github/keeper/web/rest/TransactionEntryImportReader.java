@@ -0,0 +1,165 @@
+package io.github.keeper.web.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.ImportRowDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import io.github.keeper.web.rest.util.CsvUtil;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import reactor.core.publisher.Flux;
+
+/**
+ * Reads the rows of a {@link io.github.keeper.domain.TransactionEntry} import file, as CSV with a header record or as
+ * newline delimited JSON. A row that cannot be read becomes an {@link ImportRowDTO} carrying its errors, so that a single bad
+ * row does not abort the import.
+ */
+final class TransactionEntryImportReader {
+
+    static final String ENTRY_AMOUNT = "entryAmount";
+    static final String TRANSACTION_ENTRY_TYPE = "transactionEntryType";
+    static final String DESCRIPTION = "description";
+    static final String WAS_PROPOSED = "wasProposed";
+    static final String WAS_POSTED = "wasPosted";
+    static final String WAS_DELETED = "wasDeleted";
+    static final String WAS_APPROVED = "wasApproved";
+    static final String TRANSACTION_ACCOUNT_ID = "transactionAccountId";
+    static final String ACCOUNT_TRANSACTION_ID = "accountTransactionId";
+
+    // written by the export, but the entries are created with new ids, and the other columns are derived from the
+    // referenced account and journal
+    private static final Set<String> IGNORED_COLUMNS = Set.of("id", "transactionDate", "referenceNumber", "accountName");
+
+    private static final Set<String> COLUMNS = Set.of(
+        ENTRY_AMOUNT,
+        TRANSACTION_ENTRY_TYPE,
+        DESCRIPTION,
+        WAS_PROPOSED,
+        WAS_POSTED,
+        WAS_DELETED,
+        WAS_APPROVED,
+        TRANSACTION_ACCOUNT_ID,
+        ACCOUNT_TRANSACTION_ID
+    );
+
+    private TransactionEntryImportReader() {}
+
+    /**
+     * Reads CSV rows, whose columns are named by the header record.
+     *
+     * @param lines the lines of the file.
+     * @return the rows; the flux fails with an {@link IllegalArgumentException} if the header names an unknown column.
+     */
+    static Flux<ImportRowDTO> fromCsv(Flux<String> lines) {
+        return CsvUtil
+            .parseRecords(lines)
+            .switchOnFirst((first, records) -> {
+                if (!first.hasValue()) {
+                    return records.thenMany(Flux.empty());
+                }
+                List<String> header = first.get();
+                for (String column : header) {
+                    if (!COLUMNS.contains(column) && !IGNORED_COLUMNS.contains(column)) {
+                        return Flux.error(new IllegalArgumentException("Unknown column: " + column));
+                    }
+                }
+                return records.skip(1).index((index, record) -> fromCsvRecord(index + 1, header, record));
+            });
+    }
+
+    /**
+     * Reads newline delimited JSON rows, each a {@link TransactionEntryDTO}. Blank lines are skipped.
+     *
+     * @param lines the lines of the file.
+     * @param objectMapper the mapper of the rows.
+     * @return the rows.
+     */
+    static Flux<ImportRowDTO> fromNdjson(Flux<String> lines, ObjectMapper objectMapper) {
+        return lines
+            .index()
+            .filter(line -> !line.getT2().isBlank())
+            .map(line -> {
+                long row = line.getT1() + 1;
+                try {
+                    return ImportRowDTO.of(row, objectMapper.readValue(line.getT2(), TransactionEntryDTO.class));
+                } catch (JsonProcessingException e) {
+                    return ImportRowDTO.unreadable(row, List.of("malformed JSON: " + e.getOriginalMessage()));
+                }
+            });
+    }
+
+    private static ImportRowDTO fromCsvRecord(long row, List<String> header, List<String> record) {
+        if (record.size() != header.size()) {
+            return ImportRowDTO.unreadable(row, List.of("expected " + header.size() + " fields but found " + record.size()));
+        }
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        List<String> errors = new ArrayList<>();
+        for (int i = 0; i < header.size(); i++) {
+            String column = header.get(i);
+            String value = record.get(i).trim();
+            if (value.isEmpty() || IGNORED_COLUMNS.contains(column)) {
+                continue;
+            }
+            try {
+                setField(transactionEntryDTO, column, value);
+            } catch (IllegalArgumentException e) {
+                errors.add(column + ": cannot read '" + value + "'");
+            }
+        }
+        return errors.isEmpty() ? ImportRowDTO.of(row, transactionEntryDTO) : ImportRowDTO.unreadable(row, errors);
+    }
+
+    private static void setField(TransactionEntryDTO transactionEntryDTO, String column, String value) {
+        switch (column) {
+            case ENTRY_AMOUNT:
+                transactionEntryDTO.setEntryAmount(new BigDecimal(value));
+                break;
+            case TRANSACTION_ENTRY_TYPE:
+                transactionEntryDTO.setTransactionEntryType(TransactionEntryTypes.valueOf(value.toUpperCase(Locale.ROOT)));
+                break;
+            case DESCRIPTION:
+                transactionEntryDTO.setDescription(value);
+                break;
+            case WAS_PROPOSED:
+                transactionEntryDTO.setWasProposed(parseBoolean(value));
+                break;
+            case WAS_POSTED:
+                transactionEntryDTO.setWasPosted(parseBoolean(value));
+                break;
+            case WAS_DELETED:
+                transactionEntryDTO.setWasDeleted(parseBoolean(value));
+                break;
+            case WAS_APPROVED:
+                transactionEntryDTO.setWasApproved(parseBoolean(value));
+                break;
+            case TRANSACTION_ACCOUNT_ID:
+                TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+                transactionAccountDTO.setId(Long.valueOf(value));
+                transactionEntryDTO.setTransactionAccount(transactionAccountDTO);
+                break;
+            case ACCOUNT_TRANSACTION_ID:
+                AccountTransactionDTO accountTransactionDTO = new AccountTransactionDTO();
+                accountTransactionDTO.setId(Long.valueOf(value));
+                transactionEntryDTO.setAccountTransaction(accountTransactionDTO);
+                break;
+            default:
+                throw new IllegalStateException("Unhandled column: " + column);
+        }
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException(value);
+    }
+}
@@ -1,11 +1,23 @@
 package io.github.keeper.web.rest;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.keeper.repository.InvalidKeysetException;
+import io.github.keeper.repository.KeysetPageable;
 import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.search.SearchAfterPageable;
+import io.github.keeper.service.TransactionEntryImportService;
 import io.github.keeper.service.TransactionEntryService;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.ImportReportDTO;
+import io.github.keeper.service.dto.ImportRowDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
 import io.github.keeper.service.dto.TransactionEntryDTO;
 import io.github.keeper.web.rest.errors.BadRequestAlertException;
+import io.github.keeper.web.rest.util.CsvUtil;
+import io.github.keeper.web.rest.util.KeysetPaginationUtil;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
@@ -18,6 +30,8 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -43,6 +57,22 @@ public class TransactionEntryResource {
 
     private static final String ENTITY_NAME = "transactionEntry";
 
+    static final String CSV_HEADER = CsvUtil.toRecord(
+        "id",
+        "transactionDate",
+        "accountTransactionId",
+        "referenceNumber",
+        "transactionAccountId",
+        "accountName",
+        "transactionEntryType",
+        "entryAmount",
+        "description",
+        "wasProposed",
+        "wasPosted",
+        "wasDeleted",
+        "wasApproved"
+    );
+
     @Value("${jhipster.clientApp.name}")
     private String applicationName;
 
@@ -50,12 +80,20 @@ public class TransactionEntryResource {
 
     private final TransactionEntryRepository transactionEntryRepository;
 
+    private final TransactionEntryImportService transactionEntryImportService;
+
+    private final ObjectMapper objectMapper;
+
     public TransactionEntryResource(
         TransactionEntryService transactionEntryService,
-        TransactionEntryRepository transactionEntryRepository
+        TransactionEntryRepository transactionEntryRepository,
+        TransactionEntryImportService transactionEntryImportService,
+        ObjectMapper objectMapper
     ) {
         this.transactionEntryService = transactionEntryService;
         this.transactionEntryRepository = transactionEntryRepository;
+        this.transactionEntryImportService = transactionEntryImportService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -178,10 +216,11 @@ public class TransactionEntryResource {
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
-     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transactionEntries in body.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the transactionEntries in body, streamed as a JSON array,
+     * or as NDJSON when asked for {@code application/x-ndjson}.
      */
     @GetMapping("/transaction-entries")
-    public Mono<ResponseEntity<List<TransactionEntryDTO>>> getAllTransactionEntries(
+    public Mono<ResponseEntity<Flux<TransactionEntryDTO>>> getAllTransactionEntries(
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request,
         @RequestParam(required = false, defaultValue = "false") boolean eagerload
@@ -189,18 +228,36 @@ public class TransactionEntryResource {
         log.debug("REST request to get a page of TransactionEntries");
         return transactionEntryService
             .countAll()
-            .zipWith(transactionEntryService.findAll(pageable).collectList())
-            .map(countWithEntities ->
+            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
+            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+            .map(headers -> ResponseEntity.ok().headers(headers).body(transactionEntryService.findAll(pageable)));
+    }
+
+    /**
+     * {@code GET  /transaction-entries?after=} : get a keyset page of the transactionEntries.
+     *
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of transactionEntries in body.
+     */
+    @GetMapping(value = "/transaction-entries", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<TransactionEntryDTO>>> getAllTransactionEntriesAfter(
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to get a keyset page of TransactionEntries");
+        return Mono
+            .fromSupplier(() -> KeysetPageable.of(after, pageable))
+            .flatMap(transactionEntryService::findAll)
+            .map(slice ->
                 ResponseEntity
                     .ok()
-                    .headers(
-                        PaginationUtil.generatePaginationHttpHeaders(
-                            UriComponentsBuilder.fromHttpRequest(request),
-                            new PageImpl<>(countWithEntities.getT2(), pageable, countWithEntities.getT1())
-                        )
-                    )
-                    .body(countWithEntities.getT2())
-            );
+                    .headers(KeysetPaginationUtil.generateKeysetPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice))
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 
     /**
@@ -237,6 +294,108 @@ public class TransactionEntryResource {
             );
     }
 
+    /**
+     * {@code GET  /transaction-entries/_export} : stream the transactionEntries as newline delimited JSON, in id order.
+     *
+     * @param transactionAccountId the account of the entries, or all accounts.
+     * @param fromDate the first transaction date of the entries.
+     * @param toDate the last transaction date of the entries.
+     * @param wasPosted the posting status of the entries, or both.
+     * @return the transactionEntries, one per line.
+     */
+    @GetMapping(value = "/transaction-entries/_export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TransactionEntryDTO> exportTransactionEntries(
+        @RequestParam(required = false) Long transactionAccountId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+        @RequestParam(required = false) Boolean wasPosted
+    ) {
+        log.debug("REST request to export TransactionEntries");
+        return transactionEntryService.export(transactionAccountId, fromDate, toDate, wasPosted);
+    }
+
+    /**
+     * {@code GET  /transaction-entries/_export?format=csv} : stream the transactionEntries as CSV, in id order.
+     *
+     * @param transactionAccountId the account of the entries, or all accounts.
+     * @param fromDate the first transaction date of the entries.
+     * @param toDate the last transaction date of the entries.
+     * @param wasPosted the posting status of the entries, or both.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the transactionEntries in body, one record per line after a header.
+     */
+    @GetMapping(value = "/transaction-entries/_export", params = "format=csv")
+    public ResponseEntity<Flux<String>> exportTransactionEntriesAsCsv(
+        @RequestParam(required = false) Long transactionAccountId,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate fromDate,
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate toDate,
+        @RequestParam(required = false) Boolean wasPosted
+    ) {
+        log.debug("REST request to export TransactionEntries as CSV");
+        Flux<String> records = transactionEntryService
+            .export(transactionAccountId, fromDate, toDate, wasPosted)
+            .map(TransactionEntryResource::toCsvRecord);
+        return ResponseEntity
+            .ok()
+            .contentType(MediaType.parseMediaType(CsvUtil.TEXT_CSV_VALUE))
+            .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("transaction-entries.csv").build().toString())
+            .body(Flux.concat(Mono.just(CSV_HEADER), records));
+    }
+
+    static String toCsvRecord(TransactionEntryDTO entry) {
+        AccountTransactionDTO journal = entry.getAccountTransaction();
+        TransactionAccountDTO account = entry.getTransactionAccount();
+        return CsvUtil.toRecord(
+            entry.getId(),
+            journal != null ? journal.getTransactionDate() : null,
+            journal != null ? journal.getId() : null,
+            journal != null ? journal.getReferenceNumber() : null,
+            account != null ? account.getId() : null,
+            account != null ? account.getAccountName() : null,
+            entry.getTransactionEntryType(),
+            entry.getEntryAmount(),
+            entry.getDescription(),
+            entry.getWasProposed(),
+            entry.getWasPosted(),
+            entry.getWasDeleted(),
+            entry.getWasApproved()
+        );
+    }
+
+    /**
+     * {@code POST  /transaction-entries/_import} : import transactionEntries from a CSV file with a header record.
+     * The columns are named like the fields of the CSV export, so that an export can be imported again: its {@code id} column is
+     * ignored, the entries are created with new ids.
+     *
+     * @param lines the lines of the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the report of the import in body,
+     * or with status {@code 400 (Bad Request)} if the header names an unknown column.
+     */
+    @PostMapping(value = "/transaction-entries/_import", consumes = CsvUtil.TEXT_CSV_VALUE)
+    public Mono<ResponseEntity<ImportReportDTO>> importTransactionEntriesFromCsv(@RequestBody Flux<String> lines) {
+        log.debug("REST request to import TransactionEntries from CSV");
+        return importTransactionEntries(TransactionEntryImportReader.fromCsv(lines));
+    }
+
+    /**
+     * {@code POST  /transaction-entries/_import} : import transactionEntries from newline delimited JSON, one transactionEntry per line.
+     * The entries are created with new ids.
+     *
+     * @param lines the lines of the file.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the report of the import in body.
+     */
+    @PostMapping(value = "/transaction-entries/_import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<ImportReportDTO>> importTransactionEntriesFromNdjson(@RequestBody Flux<String> lines) {
+        log.debug("REST request to import TransactionEntries from NDJSON");
+        return importTransactionEntries(TransactionEntryImportReader.fromNdjson(lines, objectMapper));
+    }
+
+    private Mono<ResponseEntity<ImportReportDTO>> importTransactionEntries(Flux<ImportRowDTO> rows) {
+        return transactionEntryImportService
+            .importEntries(rows)
+            .onErrorMap(IllegalArgumentException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "importinvalid"))
+            .map(report -> ResponseEntity.ok().body(report));
+    }
+
     /**
      * {@code SEARCH  /_search/transaction-entries?query=:query} : search for the transactionEntry corresponding
      * to the query.
@@ -244,19 +403,54 @@ public class TransactionEntryResource {
      * @param query the query of the transactionEntry search.
      * @param pageable the pagination information.
      * @param request a {@link ServerHttpRequest} request.
-     * @return the result of the search.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
      */
     @GetMapping("/_search/transaction-entries")
-    public Mono<ResponseEntity<Flux<TransactionEntryDTO>>> searchTransactionEntries(
+    public Mono<ResponseEntity<List<TransactionEntryDTO>>> searchTransactionEntries(
         @RequestParam String query,
         @org.springdoc.api.annotations.ParameterObject Pageable pageable,
         ServerHttpRequest request
     ) {
         log.debug("REST request to search for a page of TransactionEntries for query {}", query);
         return transactionEntryService
-            .searchCount()
-            .map(total -> new PageImpl<>(new ArrayList<>(), pageable, total))
-            .map(page -> PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
-            .map(headers -> ResponseEntity.ok().headers(headers).body(transactionEntryService.search(query, pageable)));
+            .search(query, pageable)
+            .map(page ->
+                ResponseEntity
+                    .ok()
+                    .headers(PaginationUtil.generatePaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), page))
+                    .body(page.getContent())
+            );
+    }
+
+    /**
+     * {@code SEARCH  /_search/transaction-entries?query=:query&after=} : search for the transactionEntry corresponding
+     * to the query, paging with {@code search_after}, without the depth limit of the page numbers.
+     *
+     * @param query the query of the transactionEntry search.
+     * @param after the token of the page to get, taken from the {@code next} link of the previous page, or empty for the first page.
+     * @param pageable the size and sort of the page.
+     * @param request a {@link ServerHttpRequest} request.
+     * @return the result of the search, with the number of hits of the query in the {@code X-Total-Count} header.
+     */
+    @GetMapping(value = "/_search/transaction-entries", params = KeysetPaginationUtil.AFTER_PARAMETER)
+    public Mono<ResponseEntity<List<TransactionEntryDTO>>> searchTransactionEntriesAfter(
+        @RequestParam String query,
+        @RequestParam(KeysetPaginationUtil.AFTER_PARAMETER) String after,
+        @org.springdoc.api.annotations.ParameterObject Pageable pageable,
+        ServerHttpRequest request
+    ) {
+        log.debug("REST request to search for a keyset page of TransactionEntries for query {}", query);
+        return Mono
+            .fromSupplier(() -> SearchAfterPageable.of(after, pageable))
+            .flatMap(searchAfterPageable -> transactionEntryService.search(query, searchAfterPageable))
+            .map(slice ->
+                ResponseEntity
+                    .ok()
+                    .headers(
+                        KeysetPaginationUtil.generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder.fromHttpRequest(request), slice)
+                    )
+                    .body(slice.getContent())
+            )
+            .onErrorMap(InvalidKeysetException.class, e -> new BadRequestAlertException(e.getMessage(), ENTITY_NAME, "badkeyset"));
     }
 }
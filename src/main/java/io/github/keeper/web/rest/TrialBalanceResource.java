@@ -0,0 +1,44 @@
+package io.github.keeper.web.rest;
+
+import io.github.keeper.service.TrialBalanceService;
+import io.github.keeper.service.dto.TrialBalanceDTO;
+import java.time.LocalDate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+/**
+ * REST controller for the trial balance of the ledger.
+ */
+@RestController
+@RequestMapping("/api")
+public class TrialBalanceResource {
+
+    private final Logger log = LoggerFactory.getLogger(TrialBalanceResource.class);
+
+    private final TrialBalanceService trialBalanceService;
+
+    public TrialBalanceResource(TrialBalanceService trialBalanceService) {
+        this.trialBalanceService = trialBalanceService;
+    }
+
+    /**
+     * {@code GET  /trial-balance} : get the trial balance of the posted entries.
+     *
+     * @param asOf the last transaction date included, today if absent.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the trial balance in body.
+     */
+    @GetMapping("/trial-balance")
+    public Mono<ResponseEntity<TrialBalanceDTO>> getTrialBalance(
+        @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate asOf
+    ) {
+        log.debug("REST request to get the TrialBalance as of {}", asOf);
+        return trialBalanceService.getTrialBalance(asOf != null ? asOf : LocalDate.now()).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.keeper.web.rest.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Utility class for writing and reading RFC 4180 CSV records.
+ */
+public final class CsvUtil {
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    private CsvUtil() {}
+
+    /**
+     * Formats the given values as one CSV record, terminated by a line separator.
+     *
+     * @param values the values of the record, null values are written as empty fields.
+     * @return the record.
+     */
+    public static String toRecord(Object... values) {
+        return Arrays.stream(values).map(CsvUtil::toField).collect(Collectors.joining(",", "", LINE_SEPARATOR));
+    }
+
+    private static String toField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String field = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+        if (field.indexOf(',') >= 0 || field.indexOf('"') >= 0 || field.indexOf('\n') >= 0 || field.indexOf('\r') >= 0) {
+            return '"' + field.replace("\"", "\"\"") + '"';
+        }
+        return field;
+    }
+
+    /**
+     * Reads the records of a CSV document given line by line, joining the lines of quoted fields spanning several lines.
+     * Blank lines are skipped.
+     *
+     * @param lines the lines of the document, without their line separators.
+     * @return the records, as lists of fields.
+     */
+    public static Flux<List<String>> parseRecords(Flux<String> lines) {
+        return Flux.defer(() -> {
+            StringBuilder pending = new StringBuilder();
+            return lines
+                .<List<String>>handle((line, sink) -> {
+                    if (pending.length() > 0) {
+                        pending.append('\n');
+                    }
+                    pending.append(line);
+                    if (hasOpenQuote(pending)) {
+                        return;
+                    }
+                    String record = pending.toString();
+                    pending.setLength(0);
+                    if (!record.isBlank()) {
+                        sink.next(parseRecord(record));
+                    }
+                })
+                .concatWith(Mono.fromSupplier(() -> pending.length() > 0 ? parseRecord(pending.toString()) : null));
+        });
+    }
+
+    /**
+     * Splits a single CSV record into its fields.
+     *
+     * @param record the record.
+     * @return the fields, unquoted.
+     */
+    public static List<String> parseRecord(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean hasOpenQuote(CharSequence text) {
+        boolean open = false;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                open = !open;
+            }
+        }
+        return open;
+    }
+}
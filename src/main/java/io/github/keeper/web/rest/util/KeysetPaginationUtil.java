@@ -0,0 +1,58 @@
+package io.github.keeper.web.rest.util;
+
+import io.github.keeper.repository.KeysetSlice;
+import io.github.keeper.repository.search.SearchSlice;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Utility class for handling the keyset (seek) pagination mode of the list endpoints.
+ * <p>
+ * A list endpoint switches to this mode when called with the {@code after} parameter, empty for the first page. Each
+ * response carries a {@code Link} header with a {@code next} relation while more rows follow; unlike offset pagination no
+ * total count is computed. The search endpoints page with {@code search_after} in this mode, and do report the total number of
+ * hits, which Elasticsearch counts with the page.
+ */
+public final class KeysetPaginationUtil {
+
+    public static final String AFTER_PARAMETER = "after";
+
+    private static final String HEADER_X_TOTAL_COUNT = "X-Total-Count";
+
+    private KeysetPaginationUtil() {}
+
+    /**
+     * Generate the pagination headers of a keyset page.
+     *
+     * @param uriBuilder the builder of the current request uri, whose size and sort are kept.
+     * @param slice the page.
+     * @param <T> the type of the content.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateKeysetPaginationHttpHeaders(UriComponentsBuilder uriBuilder, KeysetSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        if (slice.hasNext()) {
+            String next = uriBuilder.replaceQueryParam("page").replaceQueryParam(AFTER_PARAMETER, slice.getNextToken()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+
+    /**
+     * Generate the pagination headers of a {@code search_after} page of a search.
+     *
+     * @param uriBuilder the builder of the current request uri, whose query, size and sort are kept.
+     * @param slice the page.
+     * @param <T> the type of the content.
+     * @return the {@link HttpHeaders}.
+     */
+    public static <T> HttpHeaders generateSearchAfterPaginationHttpHeaders(UriComponentsBuilder uriBuilder, SearchSlice<T> slice) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HEADER_X_TOTAL_COUNT, Long.toString(slice.getTotalHits()));
+        if (slice.hasNext()) {
+            String next = uriBuilder.replaceQueryParam("page").replaceQueryParam(AFTER_PARAMETER, slice.getNextToken()).toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+        }
+        return headers;
+    }
+}
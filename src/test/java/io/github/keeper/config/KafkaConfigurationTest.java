@@ -0,0 +1,44 @@
+package io.github.keeper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.service.LiveFeedService;
+import io.github.keeper.service.impl.LiveFeedServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+
+class KafkaConfigurationTest {
+
+    @Test
+    void sharesTheLedgerEventsOnTheLiveFeedByTopicAndAccount() {
+        LiveFeedServiceImpl liveFeedService = new LiveFeedServiceImpl(new ApplicationProperties(), new SimpleMeterRegistry());
+        Consumer<Message<byte[]>> consumer = new KafkaConfiguration().consumeSse(liveFeedService);
+        List<String> ledgerEvents = new CopyOnWriteArrayList<>();
+        List<String> account = new CopyOnWriteArrayList<>();
+        liveFeedService.subscribe("ledger-events-topic", null, LiveFeedService.Overflow.DROP).subscribe(ledgerEvents::add);
+        liveFeedService.subscribe(null, "10", LiveFeedService.Overflow.DROP).subscribe(account::add);
+
+        consumer.accept(record("sse-topic", null, "value-produce"));
+        consumer.accept(record("ledger-events-topic", "10", "{\"transactionAccountId\":10}"));
+        consumer.accept(record("ledger-events-topic", "20", "{\"transactionAccountId\":20}"));
+
+        assertThat(ledgerEvents).containsExactly("{\"transactionAccountId\":10}", "{\"transactionAccountId\":20}");
+        assertThat(account).containsExactly("{\"transactionAccountId\":10}");
+    }
+
+    private static Message<byte[]> record(String topic, String key, String payload) {
+        // the binder hands the key over as read, in bytes
+        return MessageBuilder
+            .withPayload(payload.getBytes(StandardCharsets.UTF_8))
+            .setHeader(KafkaHeaders.RECEIVED_TOPIC, topic)
+            .setHeader(KafkaHeaders.RECEIVED_MESSAGE_KEY, key == null ? null : key.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+}
@@ -0,0 +1,167 @@
+package io.github.keeper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.service.ReferenceDataCacheService;
+import io.github.keeper.service.impl.ReferenceDataCacheServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.r2dbc.connection.ConnectionFactoryUtils;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class ReadReplicaConnectionFactoryTest {
+
+    private final Connection primary = connection();
+
+    private final Connection firstReplica = connection();
+
+    private final Connection secondReplica = connection();
+
+    private ReadReplicaConnectionFactory connectionFactory;
+
+    @AfterEach
+    void dispose() {
+        connectionFactory.dispose();
+    }
+
+    @Test
+    void sendsTheWritesToThePrimary() {
+        connectionFactory = routing(null);
+
+        assertThat(Mono.from(connectionFactory.create()).block()).isSameAs(primary);
+        assertThat(connection(TransactionDefinition.PROPAGATION_REQUIRED, false)).isSameAs(primary);
+        assertThat(connection(TransactionDefinition.PROPAGATION_SUPPORTS, false)).isSameAs(primary);
+    }
+
+    @Test
+    void balancesTheReadOnlyTransactionsOverTheReplicas() {
+        connectionFactory = routing(null);
+
+        assertThat(connection(TransactionDefinition.PROPAGATION_REQUIRED, true)).isSameAs(firstReplica);
+        assertThat(connection(TransactionDefinition.PROPAGATION_REQUIRED, true)).isSameAs(secondReplica);
+        assertThat(connection(TransactionDefinition.PROPAGATION_REQUIRED, true)).isSameAs(firstReplica);
+    }
+
+    @Test
+    void readsTheCachedReferenceDataFromThePrimary() {
+        connectionFactory = routing(null);
+        ReferenceDataCacheService referenceDataCacheService = new ReferenceDataCacheServiceImpl(
+            mock(MessageChannel.class),
+            new ApplicationProperties(),
+            new SimpleMeterRegistry()
+        );
+        // the currency is updated on the primary, then read back through the cache as the currency service does
+        assertThat(connection(TransactionDefinition.PROPAGATION_REQUIRED, false)).isSameAs(primary);
+        referenceDataCacheService.evict(TransactionCurrency.class).block();
+        Connection read = referenceDataCacheService
+            .get(
+                TransactionCurrency.class,
+                "findOne:1",
+                () -> Mono.fromSupplier(() -> connection(TransactionDefinition.PROPAGATION_SUPPORTS, true))
+            )
+            .block();
+
+        assertThat(read).isSameAs(primary);
+        assertThat(connection(TransactionDefinition.PROPAGATION_SUPPORTS, true)).isSameAs(primary);
+    }
+
+    @Test
+    void skipsTheReplicasLaggingTooMuch() {
+        lag(firstReplica, 120.0);
+        lag(secondReplica, 0.5);
+        connectionFactory = routing(Duration.ofSeconds(30));
+
+        await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() ->
+                connection(TransactionDefinition.PROPAGATION_REQUIRED, true) == secondReplica &&
+                connection(TransactionDefinition.PROPAGATION_REQUIRED, true) == secondReplica
+            );
+    }
+
+    @Test
+    void readsFromThePrimaryWhenAllTheReplicasLag() {
+        lag(firstReplica, 120.0);
+        doThrow(new IllegalStateException("Connection refused")).when(secondReplica).createStatement(anyString());
+        connectionFactory = routing(Duration.ofSeconds(30));
+
+        await()
+            .atMost(Duration.ofSeconds(5))
+            .until(() ->
+                connection(TransactionDefinition.PROPAGATION_REQUIRED, true) == primary &&
+                connection(TransactionDefinition.PROPAGATION_REQUIRED, true) == primary
+            );
+    }
+
+    private ReadReplicaConnectionFactory routing(Duration maxLag) {
+        ReadReplicaConnectionFactory routing = new ReadReplicaConnectionFactory(
+            connectionFactory(primary),
+            List.of(connectionFactory(firstReplica), connectionFactory(secondReplica)),
+            maxLag,
+            Duration.ofMillis(100)
+        );
+        routing.afterPropertiesSet();
+        return routing;
+    }
+
+    /**
+     * @return the connection of a transaction with the given propagation.
+     */
+    private Connection connection(int propagation, boolean readOnly) {
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(propagation);
+        definition.setReadOnly(readOnly);
+        return TransactionalOperator
+            .create(new ReadReplicaTransactionManager(connectionFactory), definition)
+            .transactional(ConnectionFactoryUtils.getConnection(connectionFactory))
+            .block();
+    }
+
+    private static ConnectionFactory connectionFactory(Connection connection) {
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        return connectionFactory;
+    }
+
+    /**
+     * @return a connection completing all its operations.
+     */
+    private static Connection connection() {
+        return mock(
+            Connection.class,
+            invocation ->
+                Publisher.class.isAssignableFrom(invocation.getMethod().getReturnType())
+                    ? Mono.empty()
+                    : RETURNS_DEFAULTS.answer(invocation)
+        );
+    }
+
+    private static void lag(Connection connection, double seconds) {
+        Statement statement = mock(Statement.class);
+        Result result = mock(Result.class);
+        doReturn(statement).when(connection).createStatement(anyString());
+        doReturn(Mono.just(result)).when(statement).execute();
+        doReturn(Flux.just(seconds)).when(result).map(any(BiFunction.class));
+    }
+}
@@ -0,0 +1,100 @@
+package io.github.keeper.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class StreamingJackson2JsonEncoderTest {
+
+    private static final ResolvableType ELEMENT_TYPE = ResolvableType.forClass(Item.class);
+
+    private final StreamingJackson2JsonEncoder encoder = new StreamingJackson2JsonEncoder(new ObjectMapper());
+
+    @Test
+    void encodesAFluxAsAJsonArray() {
+        assertThat(encode(Flux.just(new Item(1L), new Item(2L), new Item(3L)), MediaType.APPLICATION_JSON))
+            .isEqualTo("[{\"id\":1},{\"id\":2},{\"id\":3}]");
+        assertThat(encode(Flux.empty(), MediaType.APPLICATION_JSON)).isEqualTo("[]");
+    }
+
+    @Test
+    void writesTheFirstElementsBeforeTheLastOnesAreRead() {
+        Sinks.Many<Item> items = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> written = new CopyOnWriteArrayList<>();
+        encoder
+            .encode(items.asFlux(), DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, MediaType.APPLICATION_JSON, Map.of())
+            .map(StreamingJackson2JsonEncoderTest::toString)
+            .subscribe(written::add);
+
+        items.tryEmitNext(new Item(1L));
+
+        assertThat(written).containsExactly("[{\"id\":1}");
+        items.tryEmitNext(new Item(2L));
+        items.tryEmitComplete();
+        assertThat(String.join("", written)).isEqualTo("[{\"id\":1},{\"id\":2}]");
+    }
+
+    @Test
+    void writesNothingBeforeTheFirstElement() {
+        Sinks.Many<Item> items = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> written = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        encoder
+            .encode(items.asFlux(), DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, MediaType.APPLICATION_JSON, Map.of())
+            .map(StreamingJackson2JsonEncoderTest::toString)
+            .subscribe(written::add, errors::add);
+
+        assertThat(written).isEmpty();
+        items.tryEmitError(new IllegalStateException("Connection refused"));
+
+        assertThat(written).isEmpty();
+        assertThat(errors).singleElement().isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void encodesNdjsonAndSingleValuesAsByDefault() {
+        assertThat(encode(Flux.just(new Item(1L), new Item(2L)), MediaType.APPLICATION_NDJSON)).isEqualTo("{\"id\":1}\n{\"id\":2}\n");
+        assertThat(encode(Mono.just(new Item(1L)), MediaType.APPLICATION_JSON)).isEqualTo("{\"id\":1}");
+    }
+
+    private String encode(Publisher<Item> items, MimeType mimeType) {
+        return DataBufferUtils
+            .join(encoder.encode(items, DefaultDataBufferFactory.sharedInstance, ELEMENT_TYPE, mimeType, Map.of()))
+            .map(StreamingJackson2JsonEncoderTest::toString)
+            .block();
+    }
+
+    private static String toString(DataBuffer buffer) {
+        String value = buffer.toString(StandardCharsets.UTF_8);
+        DataBufferUtils.release(buffer);
+        return value;
+    }
+
+    static class Item {
+
+        private final Long id;
+
+        Item(Long id) {
+            this.id = id;
+        }
+
+        public Long getId() {
+            return id;
+        }
+    }
+}
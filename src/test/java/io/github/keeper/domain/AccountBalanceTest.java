@@ -0,0 +1,23 @@
+package io.github.keeper.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class AccountBalanceTest {
+
+    @Test
+    void equalsVerifier() throws Exception {
+        TestUtil.equalsVerifier(AccountBalance.class);
+        AccountBalance accountBalance1 = new AccountBalance();
+        accountBalance1.setTransactionAccountId(1L);
+        AccountBalance accountBalance2 = new AccountBalance();
+        accountBalance2.setTransactionAccountId(accountBalance1.getTransactionAccountId());
+        assertThat(accountBalance1).isEqualTo(accountBalance2);
+        accountBalance2.setTransactionAccountId(2L);
+        assertThat(accountBalance1).isNotEqualTo(accountBalance2);
+        accountBalance1.setTransactionAccountId(null);
+        assertThat(accountBalance1).isNotEqualTo(accountBalance2);
+    }
+}
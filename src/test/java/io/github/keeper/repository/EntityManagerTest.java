@@ -0,0 +1,82 @@
+package io.github.keeper.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.DealerType;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.query.UpdateMapper;
+import org.springframework.data.relational.core.dialect.RenderContextFactory;
+import org.springframework.data.relational.core.sql.Condition;
+import org.springframework.data.relational.core.sql.Conditions;
+import org.springframework.data.relational.core.sql.SQL;
+import org.springframework.data.relational.core.sql.Select;
+import org.springframework.data.relational.core.sql.SelectBuilder.SelectFromAndJoin;
+import org.springframework.data.relational.core.sql.Table;
+import org.springframework.data.relational.core.sql.render.SqlRenderer;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+class EntityManagerTest {
+
+    private static final Table entityTable = Table.aliased("dealer_type", EntityManager.ENTITY_ALIAS);
+
+    private final AtomicInteger builds = new AtomicInteger();
+
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        DatabaseClient databaseClient = DatabaseClient
+            .builder()
+            .connectionFactory(mock(ConnectionFactory.class))
+            .bindMarkers(PostgresDialect.INSTANCE.getBindMarkersFactory())
+            .build();
+        R2dbcEntityTemplate template = new R2dbcEntityTemplate(databaseClient, PostgresDialect.INSTANCE);
+        entityManager =
+            new EntityManager(
+                SqlRenderer.create(new RenderContextFactory(PostgresDialect.INSTANCE).createRenderContext()),
+                new UpdateMapper(PostgresDialect.INSTANCE, template.getConverter()),
+                template,
+                PostgresDialect.INSTANCE,
+                new ApplicationProperties()
+            );
+    }
+
+    @Test
+    void rendersEachShapeOnce() {
+        Supplier<Condition> byId = () -> Conditions.isEqual(entityTable.column("id"), SQL.bindMarker(":id"));
+
+        String first = entityManager.createSelect(DealerType.class, "byId", selectFrom(), null, false, byId);
+        String second = entityManager.createSelect(DealerType.class, "byId", selectFrom(), null, false, byId);
+
+        assertThat(second).isSameAs(first).endsWith("WHERE e.id = :id");
+        assertThat(builds.get()).isEqualTo(1);
+    }
+
+    @Test
+    void bindsThePageAndRendersEachSort() {
+        String byName = entityManager.createSelect(DealerType.class, "all", selectFrom(), Sort.by("name"), true, null);
+        String byId = entityManager.createSelect(DealerType.class, "all", selectFrom(), Sort.by("id"), true, null);
+        String unpaged = entityManager.createSelect(DealerType.class, "all", selectFrom(), Sort.by("id"), false, null);
+
+        assertThat(byName).contains("ORDER BY").endsWith("LIMIT :limit OFFSET :offset");
+        assertThat(byId).isNotEqualTo(byName).endsWith("LIMIT :limit OFFSET :offset");
+        assertThat(unpaged).doesNotContain("LIMIT");
+        assertThat(builds.get()).isEqualTo(3);
+    }
+
+    private Supplier<SelectFromAndJoin> selectFrom() {
+        return () -> {
+            builds.incrementAndGet();
+            return Select.builder().select(DealerTypeSqlHelper.getColumns(entityTable, EntityManager.ENTITY_ALIAS)).from(entityTable);
+        };
+    }
+}
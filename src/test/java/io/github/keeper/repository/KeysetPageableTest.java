@@ -0,0 +1,78 @@
+package io.github.keeper.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.keeper.domain.TransactionEntry;
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+class KeysetPageableTest {
+
+    @Test
+    void firstPageAppendsIdToSort() {
+        KeysetPageable pageable = KeysetPageable.of("", 20, Sort.by(Sort.Direction.DESC, "entryAmount"));
+
+        assertThat(pageable.isFirst()).isTrue();
+        assertThat(pageable.getSort()).containsExactly(Sort.Order.desc("entryAmount"), Sort.Order.asc("id"));
+    }
+
+    @Test
+    void tokenRoundTrip() {
+        Sort sort = Sort.by(Sort.Direction.DESC, "entryAmount");
+        KeysetPageable first = KeysetPageable.of(null, 20, sort);
+        TransactionEntry last = new TransactionEntry().entryAmount(new BigDecimal("1E+3"));
+        last.setId(42L);
+
+        KeysetPageable next = KeysetPageable.of(first.nextToken(last), 20, sort);
+
+        assertThat(next.isFirst()).isFalse();
+        assertThat(next.getAfter()).containsEntry("entryAmount", "1000").containsEntry("id", "42");
+    }
+
+    @Test
+    void tokenKeepsNullSortValues() {
+        Sort sort = Sort.by("description");
+        TransactionEntry last = new TransactionEntry();
+        last.setId(7L);
+
+        KeysetPageable next = KeysetPageable.of(KeysetPageable.of("", 20, sort).nextToken(last), 20, sort);
+
+        assertThat(next.getAfter()).containsEntry("description", null).containsEntry("id", "7");
+    }
+
+    @Test
+    void tokenOfAnotherSortIsRejected() {
+        TransactionEntry last = new TransactionEntry();
+        last.setId(7L);
+        String token = KeysetPageable.of("", 20, Sort.by("description")).nextToken(last);
+
+        assertThatThrownBy(() -> KeysetPageable.of(token, 20, Sort.by("entryAmount"))).isInstanceOf(InvalidKeysetException.class);
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertThatThrownBy(() -> KeysetPageable.of("not a token", 20, Sort.unsorted())).isInstanceOf(InvalidKeysetException.class);
+        assertThatThrownBy(() -> KeysetPageable.of("garbage", 20, Sort.unsorted())).isInstanceOf(InvalidKeysetException.class);
+    }
+
+    @Test
+    void sliceTrimsTheLookAheadRow() {
+        KeysetPageable pageable = KeysetPageable.of("", 2, Sort.unsorted());
+        TransactionEntry first = new TransactionEntry();
+        first.setId(1L);
+        TransactionEntry second = new TransactionEntry();
+        second.setId(2L);
+        TransactionEntry third = new TransactionEntry();
+        third.setId(3L);
+
+        KeysetSlice<TransactionEntry> slice = KeysetSlice.of(List.of(first, second, third), pageable);
+
+        assertThat(slice.getContent()).containsExactly(first, second);
+        assertThat(slice.hasNext()).isTrue();
+        assertThat(KeysetPageable.of(slice.getNextToken(), 2, Sort.unsorted()).getAfter()).containsEntry("id", "2");
+        assertThat(KeysetSlice.of(List.of(first, second), pageable).hasNext()).isFalse();
+    }
+}
@@ -0,0 +1,229 @@
+package io.github.keeper.repository.rowmapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assumptions.assumeThat;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.r2dbc.spi.ColumnMetadata;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Type;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.r2dbc.convert.MappingR2dbcConverter;
+import org.springframework.data.r2dbc.convert.R2dbcCustomConversions;
+import org.springframework.data.r2dbc.dialect.PostgresDialect;
+import org.springframework.data.r2dbc.mapping.R2dbcMappingContext;
+
+class TransactionEntryRowMapperTest {
+
+    private static final int ROWS = 20_000;
+
+    private ColumnConverter converter;
+
+    private TransactionEntryRowMapper mapper;
+
+    @BeforeEach
+    void createMapper() {
+        R2dbcCustomConversions conversions = R2dbcCustomConversions.of(PostgresDialect.INSTANCE, List.of());
+        converter = new ColumnConverter(conversions, new MappingR2dbcConverter(new R2dbcMappingContext(), conversions));
+        mapper = new TransactionEntryRowMapper(converter);
+    }
+
+    @Test
+    void mapsColumnsOfThePrefixByTheirPositionWhateverTheirCase() {
+        FakeRowMetadata metadata = metadata("id", "e_id", "e_entry_amount", "e_transaction_entry_type", "e_description", "e_was_proposed");
+        metadata.add("e_was_posted", "e_was_deleted", "e_was_approved", "e_transaction_account_id", "e_account_transaction_id");
+        Row row = new FakeRow(metadata, 99L, 7L, new BigDecimal("12.50"), "CREDIT", "Rent", false, true, false, true, 3L, null);
+
+        TransactionEntry entity = mapper.forPrefix("E").apply(row, metadata);
+
+        assertThat(entity.getId()).isEqualTo(7L);
+        assertThat(entity.getEntryAmount()).isEqualByComparingTo("12.50");
+        assertThat(entity.getTransactionEntryType()).isEqualTo(TransactionEntryTypes.CREDIT);
+        assertThat(entity.getDescription()).isEqualTo("Rent");
+        assertThat(entity.getWasPosted()).isTrue();
+        assertThat(entity.getWasApproved()).isTrue();
+        assertThat(entity.getTransactionAccountId()).isEqualTo(3L);
+        assertThat(entity.getAccountTransactionId()).isNull();
+    }
+
+    @Test
+    void resolvesThePositionsAgainForAnotherMetadata() {
+        ColumnIndex columns = new ColumnIndex("transactionAccount", "_id", "_account_name");
+        RowMetadata first = metadata("transactionaccount_id", "transactionaccount_account_name");
+        RowMetadata second = metadata("e_id", "transactionaccount_account_name", "transactionaccount_id");
+
+        assertThat(columns.positions(first)).containsExactly(0, 1);
+        assertThat(columns.positions(first)).isSameAs(columns.positions(first));
+        assertThat(columns.positions(second)).containsExactly(2, 1);
+        assertThatThrownBy(() -> columns.positions(metadata("transactionaccount_id"))).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void allocatesLessPerRowThanLookingTheColumnsUpByName() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeThat(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()).isTrue();
+        FakeRowMetadata metadata = metadata("e_id", "e_entry_amount", "e_transaction_entry_type", "e_description", "e_was_proposed");
+        metadata.add("e_was_posted", "e_was_deleted", "e_was_approved", "e_transaction_account_id", "e_account_transaction_id");
+        Row row = new FakeRow(metadata, 7L, BigDecimal.TEN, TransactionEntryTypes.DEBIT, "Rent", false, true, false, true, 3L, 4L);
+        BiFunction<Row, RowMetadata, TransactionEntry> byIndex = mapper.forPrefix("e");
+        BiFunction<Row, RowMetadata, TransactionEntry> byName = (r, m) -> mapByName(r, "e");
+
+        // warm up both paths, for the measures not to include the compilation
+        allocatedBytes(threads, byIndex, row, metadata);
+        allocatedBytes(threads, byName, row, metadata);
+
+        assertThat(allocatedBytes(threads, byIndex, row, metadata)).isLessThan(allocatedBytes(threads, byName, row, metadata));
+    }
+
+    private static long allocatedBytes(
+        com.sun.management.ThreadMXBean threads,
+        BiFunction<Row, RowMetadata, TransactionEntry> mapping,
+        Row row,
+        RowMetadata metadata
+    ) {
+        long threadId = Thread.currentThread().getId();
+        long before = threads.getThreadAllocatedBytes(threadId);
+        long ids = 0;
+        for (int i = 0; i < ROWS; i++) {
+            ids += mapping.apply(row, metadata).getId();
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - before;
+        assertThat(ids).isEqualTo(7L * ROWS);
+        return allocated;
+    }
+
+    /**
+     * The mapping by column name the mappers used to do, building the names of the columns for each row.
+     */
+    private TransactionEntry mapByName(Row row, String prefix) {
+        TransactionEntry entity = new TransactionEntry();
+        entity.setId(converter.fromRow(row, prefix + "_id", Long.class));
+        entity.setEntryAmount(converter.fromRow(row, prefix + "_entry_amount", BigDecimal.class));
+        entity.setTransactionEntryType(converter.fromRow(row, prefix + "_transaction_entry_type", TransactionEntryTypes.class));
+        entity.setDescription(converter.fromRow(row, prefix + "_description", String.class));
+        entity.setWasProposed(converter.fromRow(row, prefix + "_was_proposed", Boolean.class));
+        entity.setWasPosted(converter.fromRow(row, prefix + "_was_posted", Boolean.class));
+        entity.setWasDeleted(converter.fromRow(row, prefix + "_was_deleted", Boolean.class));
+        entity.setWasApproved(converter.fromRow(row, prefix + "_was_approved", Boolean.class));
+        entity.setTransactionAccountId(converter.fromRow(row, prefix + "_transaction_account_id", Long.class));
+        entity.setAccountTransactionId(converter.fromRow(row, prefix + "_account_transaction_id", Long.class));
+        return entity;
+    }
+
+    private static FakeRowMetadata metadata(String... names) {
+        FakeRowMetadata metadata = mock(
+            FakeRowMetadata.class,
+            withSettings().stubOnly().useConstructor().defaultAnswer(CALLS_REAL_METHODS)
+        );
+        metadata.add(names);
+        return metadata;
+    }
+
+    // abstract, so as not to implement the deprecated getColumnNames: the mock answers it
+    abstract static class FakeRowMetadata implements RowMetadata {
+
+        private final List<FakeColumnMetadata> columns = new ArrayList<>();
+
+        void add(String... names) {
+            Arrays.stream(names).map(FakeColumnMetadata::new).forEach(columns::add);
+        }
+
+        int indexOf(String name) {
+            for (int i = 0; i < columns.size(); i++) {
+                if (columns.get(i).getName().equalsIgnoreCase(name)) {
+                    return i;
+                }
+            }
+            throw new NoSuchElementException(name);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(int index) {
+            return columns.get(index);
+        }
+
+        @Override
+        public ColumnMetadata getColumnMetadata(String name) {
+            return columns.get(indexOf(name));
+        }
+
+        @Override
+        public List<? extends ColumnMetadata> getColumnMetadatas() {
+            return columns;
+        }
+
+        @Override
+        public boolean contains(String name) {
+            return columns.stream().anyMatch(column -> column.getName().equalsIgnoreCase(name));
+        }
+    }
+
+    private static class FakeColumnMetadata implements ColumnMetadata {
+
+        private final String name;
+
+        FakeColumnMetadata(String name) {
+            this.name = name;
+        }
+
+        @Override
+        public Type getType() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static class FakeRow implements Row {
+
+        private final RowMetadata metadata;
+
+        // looked up by name without going through the mock of the metadata
+        private final List<String> names = new ArrayList<>();
+
+        private final Object[] values;
+
+        FakeRow(FakeRowMetadata metadata, Object... values) {
+            this.metadata = metadata;
+            metadata.getColumnMetadatas().forEach(column -> names.add(column.getName()));
+            this.values = values;
+        }
+
+        @Override
+        public RowMetadata getMetadata() {
+            return metadata;
+        }
+
+        @Override
+        public <T> T get(int index, Class<T> type) {
+            return type.cast(values[index]);
+        }
+
+        @Override
+        public <T> T get(String name, Class<T> type) {
+            for (int i = 0; i < names.size(); i++) {
+                if (names.get(i).equalsIgnoreCase(name)) {
+                    return get(i, type);
+                }
+            }
+            throw new NoSuchElementException(name);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package io.github.keeper.repository.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.LedgerEntryDocument;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+class LuceneSearchBackendTest {
+
+    private static final String INDEX = "ledgerentry";
+
+    @TempDir
+    Path directory;
+
+    private LuceneSearchBackend searchBackend;
+
+    @BeforeEach
+    void openIndices() {
+        searchBackend = open();
+        searchBackend
+            .saveAll(
+                List.of(
+                    entry(1L, "1500.50", TransactionEntryTypes.DEBIT, "Office rent for March", "1001", "2026-03-01"),
+                    entry(2L, "200", TransactionEntryTypes.CREDIT, "Stationery refund", "1001", "2026-03-15"),
+                    entry(3L, "980.25", TransactionEntryTypes.DEBIT, "Office furniture", "2002", "2026-04-02"),
+                    entry(4L, "75", TransactionEntryTypes.CREDIT, "Bank charges reversal", "2002", "2026-04-20")
+                ),
+                INDEX
+            )
+            .then(searchBackend.refresh(INDEX))
+            .block();
+    }
+
+    @AfterEach
+    void closeIndices() {
+        searchBackend.close();
+    }
+
+    @Test
+    void searchesTextKeywordAndNumericFields() {
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "office").collectList().block())).containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "transactionEntryType:CREDIT").collectList().block()))
+            .containsExactlyInAnyOrder(2L, 4L);
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "entryAmount:[500 TO 2000]").collectList().block()))
+            .containsExactlyInAnyOrder(1L, 3L);
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "transactionDate:[2026-04-01 TO 2026-04-30]").collectList().block()))
+            .containsExactlyInAnyOrder(3L, 4L);
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "2002").collectList().block())).containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void searchesSortedPageWithTotalHits() {
+        Page<LedgerEntryDocument> page = searchBackend
+            .search(LedgerEntryDocument.class, "*", PageRequest.of(1, 2, Sort.by(Sort.Direction.DESC, "entryAmount")))
+            .block();
+
+        assertThat(page.getTotalElements()).isEqualTo(4);
+        assertThat(ids(page.getContent())).containsExactly(2L, 4L);
+        assertThat(page.getContent().get(0).getEntryAmount()).isEqualByComparingTo("200");
+        assertThat(page.getContent().get(0).getTransactionDate()).isEqualTo(LocalDate.parse("2026-03-15"));
+    }
+
+    @Test
+    void searchesAfterTheLastHitOfThePreviousPage() {
+        Sort sort = Sort.by("accountNumber");
+        SearchSlice<LedgerEntryDocument> first = searchBackend
+            .search(LedgerEntryDocument.class, "*", SearchAfterPageable.of(null, 3, sort))
+            .block();
+
+        assertThat(first.getTotalHits()).isEqualTo(4);
+        assertThat(ids(first.getContent())).containsExactly(1L, 2L, 3L);
+        assertThat(first.hasNext()).isTrue();
+
+        SearchSlice<LedgerEntryDocument> second = searchBackend
+            .search(LedgerEntryDocument.class, "*", SearchAfterPageable.of(first.getNextToken(), 3, sort))
+            .block();
+
+        assertThat(ids(second.getContent())).containsExactly(4L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void deletesAndUpdatesDocuments() {
+        searchBackend
+            .deleteAll(LedgerEntryDocument.class, List.of(2L), INDEX)
+            .then(
+                searchBackend.updateAll(
+                    LedgerEntryDocument.class,
+                    INDEX,
+                    "transactionAccountId",
+                    Map.of(2002L, Map.of("accountName", "Furniture and fittings"))
+                )
+            )
+            .then(searchBackend.refresh(INDEX))
+            .block();
+
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "*").collectList().block())).containsExactlyInAnyOrder(1L, 3L, 4L);
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "accountName:fittings").collectList().block()))
+            .containsExactlyInAnyOrder(3L, 4L);
+    }
+
+    @Test
+    void movesAliasToReindexedIndexAcrossRestarts() {
+        searchBackend
+            .createIndex(LedgerEntryDocument.class, "ledgerentry_1")
+            .then(
+                searchBackend.saveAll(List.of(entry(5L, "10", TransactionEntryTypes.DEBIT, "Postage", "3003", "2026-05-01")), "ledgerentry_1")
+            )
+            .then(searchBackend.refresh("ledgerentry_1"))
+            .then(searchBackend.moveAlias(INDEX, "ledgerentry_1"))
+            .block();
+        searchBackend.close();
+        searchBackend = open();
+
+        assertThat(ids(searchBackend.search(LedgerEntryDocument.class, "*").collectList().block())).containsExactly(5L);
+        assertThat(directory.resolve(INDEX)).doesNotExist();
+    }
+
+    @Test
+    void rejectsInvalidQueries() {
+        assertThatThrownBy(() -> searchBackend.search(LedgerEntryDocument.class, "description:(office").collectList().block())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void refusesToOpenWithoutTheIndexer() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearchIndex().setEmbeddedDirectory(directory.toString());
+        applicationProperties.getSearchIndex().setIndexerEnabled(false);
+
+        assertThatThrownBy(() -> new LuceneSearchBackend(new ObjectMapper(), applicationProperties))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("indexer-enabled");
+    }
+
+    private LuceneSearchBackend open() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getSearchIndex().setEmbeddedDirectory(directory.toString());
+        ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return new LuceneSearchBackend(objectMapper, applicationProperties);
+    }
+
+    private static LedgerEntryDocument entry(
+        Long id,
+        String amount,
+        TransactionEntryTypes type,
+        String description,
+        String accountNumber,
+        String transactionDate
+    ) {
+        return new LedgerEntryDocument()
+            .id(id)
+            .entryAmount(new BigDecimal(amount))
+            .transactionEntryType(type)
+            .description(description)
+            .transactionAccountId(Long.valueOf(accountNumber))
+            .accountNumber(accountNumber)
+            .accountName("Account " + accountNumber)
+            .transactionDate(LocalDate.parse(transactionDate));
+    }
+
+    private static List<Long> ids(List<LedgerEntryDocument> documents) {
+        return documents.stream().map(LedgerEntryDocument::getId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,113 @@
+package io.github.keeper.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.repository.TransactionCurrencyRepository;
+import io.github.keeper.service.dto.TransactionCurrencyDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Integration tests for {@link ReferenceDataCacheService}, through the reads and writes of {@link TransactionCurrencyService}.
+ * <p>
+ * The other tests write the reference data through the repositories, with the cache disabled: it is enabled and emptied
+ * before each of these tests, and disabled again after it.
+ */
+@IntegrationTest
+class ReferenceDataCacheServiceIT {
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @Autowired
+    private ReferenceDataCacheService referenceDataCacheService;
+
+    @Autowired
+    private TransactionCurrencyService transactionCurrencyService;
+
+    @Autowired
+    private TransactionCurrencyRepository transactionCurrencyRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private int maxSize;
+
+    private final List<Long> ids = new ArrayList<>();
+
+    @BeforeEach
+    void enableTheCache() {
+        maxSize = applicationProperties.getReferenceCache().getMaxSize();
+        applicationProperties.getReferenceCache().setMaxSize(100);
+        referenceDataCacheService.evict(TransactionCurrency.class).block();
+    }
+
+    @AfterEach
+    void disableTheCache() {
+        applicationProperties.getReferenceCache().setMaxSize(maxSize);
+        transactionCurrencyRepository.deleteAllById(ids).block();
+    }
+
+    @Test
+    void servesTheReadsFromTheCacheUntilAWriteThroughTheService() {
+        TransactionCurrencyDTO transactionCurrencyDTO = save();
+        Long id = transactionCurrencyDTO.getId();
+        String code = transactionCurrencyDTO.getCode();
+        assertThat(transactionCurrencyService.findOne(id).block().getCode()).isEqualTo(code);
+        double hits = hits();
+
+        // behind the back of the cache
+        TransactionCurrency transactionCurrency = transactionCurrencyRepository.findById(id).block();
+        transactionCurrencyRepository.save(transactionCurrency.code(randomCode())).block();
+
+        assertThat(transactionCurrencyService.findOne(id).block().getCode()).isEqualTo(code);
+        assertThat(hits()).isEqualTo(hits + 1);
+        transactionCurrencyDTO.setCode(randomCode());
+        transactionCurrencyService.update(transactionCurrencyDTO).block();
+        assertThat(transactionCurrencyService.findOne(id).block().getCode()).isEqualTo(transactionCurrencyDTO.getCode());
+    }
+
+    @Test
+    void readsBackTheWritesThroughTheService() {
+        PageRequest pageable = PageRequest.of(0, 1000);
+        TransactionCurrencyDTO transactionCurrencyDTO = save();
+        Long id = transactionCurrencyDTO.getId();
+        long count = transactionCurrencyService.findAll(pageable).count().block();
+        transactionCurrencyService.findOne(id).block();
+
+        transactionCurrencyDTO.setCode(randomCode());
+        transactionCurrencyService.update(transactionCurrencyDTO).block();
+        assertThat(transactionCurrencyService.findOne(id).block().getCode()).isEqualTo(transactionCurrencyDTO.getCode());
+        save();
+        assertThat(transactionCurrencyService.findAll(pageable).count().block()).isEqualTo(count + 1);
+        transactionCurrencyService.delete(id).block();
+        assertThat(transactionCurrencyService.findOne(id).blockOptional()).isEmpty();
+    }
+
+    private TransactionCurrencyDTO save() {
+        TransactionCurrencyDTO transactionCurrencyDTO = new TransactionCurrencyDTO();
+        transactionCurrencyDTO.setName(randomCode());
+        transactionCurrencyDTO.setCode(randomCode());
+        transactionCurrencyDTO = transactionCurrencyService.save(transactionCurrencyDTO).block();
+        ids.add(transactionCurrencyDTO.getId());
+        return transactionCurrencyDTO;
+    }
+
+    private double hits() {
+        return meterRegistry.get("cache.gets").tags("cache", "TransactionCurrency", "result", "hit").counter().count();
+    }
+
+    private static String randomCode() {
+        return RandomStringUtils.randomAlphabetic(10);
+    }
+}
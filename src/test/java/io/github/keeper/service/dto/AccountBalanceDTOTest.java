@@ -0,0 +1,24 @@
+package io.github.keeper.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class AccountBalanceDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(AccountBalanceDTO.class);
+        AccountBalanceDTO accountBalanceDTO1 = new AccountBalanceDTO();
+        accountBalanceDTO1.setTransactionAccountId(1L);
+        AccountBalanceDTO accountBalanceDTO2 = new AccountBalanceDTO();
+        assertThat(accountBalanceDTO1).isNotEqualTo(accountBalanceDTO2);
+        accountBalanceDTO2.setTransactionAccountId(accountBalanceDTO1.getTransactionAccountId());
+        assertThat(accountBalanceDTO1).isEqualTo(accountBalanceDTO2);
+        accountBalanceDTO2.setTransactionAccountId(2L);
+        assertThat(accountBalanceDTO1).isNotEqualTo(accountBalanceDTO2);
+        accountBalanceDTO1.setTransactionAccountId(null);
+        assertThat(accountBalanceDTO1).isNotEqualTo(accountBalanceDTO2);
+    }
+}
@@ -0,0 +1,24 @@
+package io.github.keeper.service.dto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.web.rest.TestUtil;
+import org.junit.jupiter.api.Test;
+
+class TrialBalanceLineDTOTest {
+
+    @Test
+    void dtoEqualsVerifier() throws Exception {
+        TestUtil.equalsVerifier(TrialBalanceLineDTO.class);
+        TrialBalanceLineDTO trialBalanceLineDTO1 = new TrialBalanceLineDTO();
+        trialBalanceLineDTO1.setTransactionAccountId(1L);
+        TrialBalanceLineDTO trialBalanceLineDTO2 = new TrialBalanceLineDTO();
+        assertThat(trialBalanceLineDTO1).isNotEqualTo(trialBalanceLineDTO2);
+        trialBalanceLineDTO2.setTransactionAccountId(trialBalanceLineDTO1.getTransactionAccountId());
+        assertThat(trialBalanceLineDTO1).isEqualTo(trialBalanceLineDTO2);
+        trialBalanceLineDTO2.setTransactionAccountId(2L);
+        assertThat(trialBalanceLineDTO1).isNotEqualTo(trialBalanceLineDTO2);
+        trialBalanceLineDTO1.setTransactionAccountId(null);
+        assertThat(trialBalanceLineDTO1).isNotEqualTo(trialBalanceLineDTO2);
+    }
+}
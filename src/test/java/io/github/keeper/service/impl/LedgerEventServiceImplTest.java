@@ -0,0 +1,139 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.service.dto.LedgerEventDTO;
+import io.github.keeper.service.mapper.AccountTransactionMapperImpl;
+import io.github.keeper.service.mapper.TransactionEntryMapperImpl;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class LedgerEventServiceImplTest {
+
+    private final List<Message<?>> messages = new CopyOnWriteArrayList<>();
+
+    private TransactionEntryRepository transactionEntryRepository;
+
+    private LedgerEventServiceImpl ledgerEventService;
+
+    private TransactionalOperator transactionalOperator;
+
+    @BeforeEach
+    void setUp() {
+        MessageChannel output = mock(MessageChannel.class);
+        when(output.send(any()))
+            .thenAnswer(invocation -> {
+                messages.add(invocation.getArgument(0));
+                return true;
+            });
+        transactionEntryRepository = mock(TransactionEntryRepository.class);
+        ledgerEventService =
+            new LedgerEventServiceImpl(
+                output,
+                transactionEntryRepository,
+                new TransactionEntryMapperImpl(),
+                new AccountTransactionMapperImpl()
+            );
+        Connection connection = mock(
+            Connection.class,
+            invocation ->
+                Publisher.class.isAssignableFrom(invocation.getMethod().getReturnType())
+                    ? Mono.empty()
+                    : RETURNS_DEFAULTS.answer(invocation)
+        );
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        transactionalOperator = TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory));
+    }
+
+    @Test
+    void publishesTheEntriesKeyedByAccountOnceCommitted() {
+        transactionalOperator
+            .transactional(
+                ledgerEventService
+                    .publishTransactionEntries(LedgerEventDTO.Change.CREATED, List.of(entry(1L, 10L, 100L), entry(2L, 20L, 100L)))
+                    .then(Mono.fromRunnable(() -> assertThat(messages).isEmpty()))
+            )
+            .block();
+
+        assertThat(keys()).containsExactly("10", "20");
+        LedgerEventDTO event = (LedgerEventDTO) messages.get(0).getPayload();
+        assertThat(event.getChange()).isEqualTo(LedgerEventDTO.Change.CREATED);
+        assertThat(event.getEntityType()).isEqualTo(LedgerEventDTO.EntityType.TRANSACTION_ENTRY);
+        assertThat(event.getEntityId()).isEqualTo(1L);
+        assertThat(event.getTransactionEntry().getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void publishesNothingForARolledBackTransaction() {
+        transactionalOperator
+            .transactional(
+                ledgerEventService
+                    .publishTransactionEntries(LedgerEventDTO.Change.DELETED, List.of(entry(1L, 10L, 100L)))
+                    .then(Mono.error(new IllegalStateException("Rolled back")))
+            )
+            .onErrorResume(IllegalStateException.class, e -> Mono.empty())
+            .block();
+
+        assertThat(messages).isEmpty();
+    }
+
+    @Test
+    void publishesAJournalOncePerAccountOfItsEntries() {
+        when(transactionEntryRepository.findAllByAccountTransactionIdIn(List.of(100L)))
+            .thenReturn(Flux.just(entry(1L, 20L, 100L), entry(2L, 10L, 100L), entry(3L, 20L, 100L)));
+
+        ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.UPDATED, List.of(journal(100L))).block();
+
+        assertThat(keys()).containsExactly("10", "20");
+        LedgerEventDTO event = (LedgerEventDTO) messages.get(1).getPayload();
+        assertThat(event.getEntityType()).isEqualTo(LedgerEventDTO.EntityType.ACCOUNT_TRANSACTION);
+        assertThat(event.getTransactionAccountId()).isEqualTo(20L);
+        assertThat(event.getAccountTransaction().getId()).isEqualTo(100L);
+    }
+
+    @Test
+    void publishesAJournalWithoutEntriesWithoutKey() {
+        ledgerEventService.publishAccountTransactions(LedgerEventDTO.Change.DELETED, List.of(journal(100L)), List.of()).block();
+
+        assertThat(messages).hasSize(1);
+        assertThat(messages.get(0).getHeaders()).doesNotContainKey(KafkaHeaders.MESSAGE_KEY);
+        assertThat(((LedgerEventDTO) messages.get(0).getPayload()).getAccountTransaction()).isNull();
+    }
+
+    private List<Object> keys() {
+        return messages.stream().map(message -> message.getHeaders().get(KafkaHeaders.MESSAGE_KEY)).collect(Collectors.toList());
+    }
+
+    private static TransactionEntry entry(Long id, Long transactionAccountId, Long accountTransactionId) {
+        TransactionEntry transactionEntry = new TransactionEntry().id(id);
+        transactionEntry.setTransactionAccountId(transactionAccountId);
+        transactionEntry.setAccountTransactionId(accountTransactionId);
+        return transactionEntry;
+    }
+
+    private static AccountTransaction journal(Long id) {
+        return new AccountTransaction().id(id);
+    }
+}
@@ -0,0 +1,205 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.RETURNS_DEFAULTS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.service.AccountTransactionService;
+import io.github.keeper.service.InvalidJournalBatchException;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.BatchItemResultDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.r2dbc.connection.R2dbcTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+class LedgerPostingServiceImplTest {
+
+    private AccountTransactionService accountTransactionService;
+
+    private Connection connection;
+
+    private LedgerPostingServiceImpl ledgerPostingService;
+
+    @BeforeEach
+    void setUp() {
+        accountTransactionService = mock(AccountTransactionService.class);
+        connection =
+            mock(
+                Connection.class,
+                invocation ->
+                    Publisher.class.isAssignableFrom(invocation.getMethod().getReturnType())
+                        ? Mono.empty()
+                        : RETURNS_DEFAULTS.answer(invocation)
+            );
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(connectionFactory).create();
+        ledgerPostingService =
+            new LedgerPostingServiceImpl(
+                accountTransactionService,
+                TransactionalOperator.create(new R2dbcTransactionManager(connectionFactory)),
+                new ObjectMapper().registerModule(new JavaTimeModule())
+            );
+    }
+
+    @Test
+    void postsABalancedBatchInOneTransaction() {
+        when(accountTransactionService.saveBatch(anyList()))
+            .thenReturn(Mono.just(List.of(BatchItemResultDTO.created(0, 100L, List.of(1000L, 1001L)))));
+
+        String payload =
+            "[{\"description\":\"Rent\",\"referenceNumber\":\"RENT-2023-07\",\"transactionEntries\":[" +
+            "{\"entryAmount\":12.50,\"transactionEntryType\":\"DEBIT\",\"transactionAccount\":{\"id\":1}}," +
+            "{\"entryAmount\":12.5,\"transactionEntryType\":\"CREDIT\",\"transactionAccount\":{\"id\":2}}]}]";
+
+        ledgerPostingService.consume(MessageBuilder.withPayload(payload.getBytes(StandardCharsets.UTF_8)).build());
+
+        verify(accountTransactionService).saveBatch(anyList());
+        verify(connection).commitTransaction();
+    }
+
+    @Test
+    void rejectsAnUnbalancedJournal() {
+        List<AccountTransactionDTO> journals = List.of(
+            journal(entry("10.00", TransactionEntryTypes.DEBIT), entry("10", TransactionEntryTypes.CREDIT)),
+            journal(entry("10.00", TransactionEntryTypes.DEBIT), entry("9.99", TransactionEntryTypes.CREDIT))
+        );
+
+        assertThatThrownBy(() -> ledgerPostingService.post(journals).block())
+            .isInstanceOf(InvalidJournalBatchException.class)
+            .hasMessageContaining("[1] debits 10.00 do not equal credits 9.99");
+        verify(accountTransactionService, never()).saveBatch(any());
+    }
+
+    @Test
+    void rejectsAJournalWithoutReferenceNumber() {
+        AccountTransactionDTO withoutReferenceNumber = balancedJournals().get(0);
+        withoutReferenceNumber.setReferenceNumber(null);
+
+        assertThatThrownBy(() -> ledgerPostingService.post(List.of(withoutReferenceNumber)).block())
+            .isInstanceOf(InvalidJournalBatchException.class)
+            .hasMessageContaining("[0] " + LedgerPostingServiceImpl.MISSING_REFERENCE_NUMBER);
+        verify(accountTransactionService, never()).saveBatch(any());
+    }
+
+    @Test
+    void acknowledgesABatchPostedAlready() {
+        when(accountTransactionService.saveBatch(anyList())).thenReturn(Mono.just(postedAlready()));
+
+        List<BatchItemResultDTO> results = ledgerPostingService.post(balancedJournals()).block();
+
+        assertThat(results).extracting(BatchItemResultDTO::getStatus).containsOnly(BatchItemResultDTO.Status.REJECTED);
+        verify(connection, never()).rollbackTransaction();
+    }
+
+    @Test
+    void checksAgainABatchPostedConcurrently() {
+        when(accountTransactionService.saveBatch(anyList()))
+            .thenReturn(Mono.error(new DataIntegrityViolationException("ux_account_transaction__reference_number")))
+            .thenReturn(Mono.just(postedAlready()));
+
+        ledgerPostingService.post(balancedJournals()).block();
+
+        verify(accountTransactionService, times(2)).saveBatch(anyList());
+    }
+
+    @Test
+    void rejectsABatchPostedInPart() {
+        when(accountTransactionService.saveBatch(anyList()))
+            .thenReturn(
+                Mono.just(
+                    List.of(
+                        BatchItemResultDTO.created(0, 100L, List.of(1000L, 1001L)),
+                        BatchItemResultDTO.rejected(1, List.of(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER))
+                    )
+                )
+            );
+
+        assertThatThrownBy(() -> ledgerPostingService.post(balancedJournals()).block())
+            .isInstanceOf(InvalidJournalBatchException.class)
+            .hasMessageContaining("[1] " + AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER);
+        verify(connection).rollbackTransaction();
+    }
+
+    @Test
+    void rejectsAMalformedRecord() {
+        byte[] payload = "{not json".getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> ledgerPostingService.consume(MessageBuilder.withPayload(payload).build()))
+            .isInstanceOf(InvalidJournalBatchException.class);
+        verify(accountTransactionService, never()).saveBatch(any());
+    }
+
+    @Test
+    void rollsBackTheBatchWhenAJournalIsRejected() {
+        when(accountTransactionService.saveBatch(anyList()))
+            .thenReturn(
+                Mono.just(
+                    List.of(
+                        BatchItemResultDTO.created(0, 100L, List.of(1000L, 1001L)),
+                        BatchItemResultDTO.rejected(1, List.of("transactionEntries: must not be empty"))
+                    )
+                )
+            );
+        List<AccountTransactionDTO> journals = List.of(
+            journal(entry("1", TransactionEntryTypes.DEBIT), entry("1", TransactionEntryTypes.CREDIT)),
+            journal()
+        );
+
+        assertThatThrownBy(() -> ledgerPostingService.post(journals).block())
+            .isInstanceOf(InvalidJournalBatchException.class)
+            .hasMessageContaining("[1] transactionEntries: must not be empty");
+        verify(connection).rollbackTransaction();
+        verify(connection, never()).commitTransaction();
+    }
+
+    private static List<AccountTransactionDTO> balancedJournals() {
+        return List.of(
+            journal(entry("1", TransactionEntryTypes.DEBIT), entry("1", TransactionEntryTypes.CREDIT)),
+            journal(entry("2", TransactionEntryTypes.DEBIT), entry("2", TransactionEntryTypes.CREDIT))
+        );
+    }
+
+    private static List<BatchItemResultDTO> postedAlready() {
+        return List.of(
+            BatchItemResultDTO.rejected(0, List.of(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER)),
+            BatchItemResultDTO.rejected(1, List.of(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER))
+        );
+    }
+
+    private static AccountTransactionDTO journal(TransactionEntryDTO... transactionEntries) {
+        AccountTransactionDTO accountTransactionDTO = new AccountTransactionDTO();
+        accountTransactionDTO.setReferenceNumber(UUID.randomUUID().toString());
+        accountTransactionDTO.setTransactionEntries(List.of(transactionEntries));
+        return accountTransactionDTO;
+    }
+
+    private static TransactionEntryDTO entry(String entryAmount, TransactionEntryTypes transactionEntryType) {
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        transactionEntryDTO.setEntryAmount(new BigDecimal(entryAmount));
+        transactionEntryDTO.setTransactionEntryType(transactionEntryType);
+        return transactionEntryDTO;
+    }
+}
@@ -0,0 +1,129 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.service.LiveFeedService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import reactor.core.Disposable;
+import reactor.core.publisher.BaseSubscriber;
+
+class LiveFeedServiceImplTest {
+
+    private MeterRegistry meterRegistry;
+
+    private LiveFeedServiceImpl liveFeedService;
+
+    @BeforeEach
+    void setUp() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getLiveFeed().setReplaySize(3);
+        applicationProperties.getLiveFeed().setSubscriberBufferSize(2);
+        meterRegistry = new SimpleMeterRegistry();
+        liveFeedService = new LiveFeedServiceImpl(applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void replaysTheLatestMessagesToEveryClient() {
+        for (int i = 1; i <= 5; i++) {
+            liveFeedService.emit("sse-topic", null, "message-" + i);
+        }
+
+        List<String> first = new CopyOnWriteArrayList<>();
+        List<String> second = new CopyOnWriteArrayList<>();
+        Disposable firstClient = liveFeedService.subscribe(null, null, LiveFeedService.Overflow.DROP).subscribe(first::add);
+        Disposable secondClient = liveFeedService.subscribe(null, null, LiveFeedService.Overflow.DROP).subscribe(second::add);
+        assertThat(meterRegistry.get(LiveFeedServiceImpl.SUBSCRIBERS_METER_NAME).gauge().value()).isEqualTo(2);
+        liveFeedService.emit("sse-topic", null, "message-6");
+
+        assertThat(first).containsExactly("message-3", "message-4", "message-5", "message-6");
+        assertThat(second).containsExactly("message-3", "message-4", "message-5", "message-6");
+        firstClient.dispose();
+        secondClient.dispose();
+        assertThat(meterRegistry.get(LiveFeedServiceImpl.SUBSCRIBERS_METER_NAME).gauge().value()).isZero();
+    }
+
+    @Test
+    void filtersByTopicAndAccount() {
+        liveFeedService.emit("sse-topic", "10", "a");
+        liveFeedService.emit("ledger-events-topic", "10", "b");
+        liveFeedService.emit("sse-topic", "20", "c");
+
+        assertThat(liveFeedService.subscribe("sse-topic", null, LiveFeedService.Overflow.DROP).take(2).collectList().block())
+            .containsExactly("a", "c");
+        assertThat(liveFeedService.subscribe(null, "10", LiveFeedService.Overflow.DROP).take(2).collectList().block())
+            .containsExactly("a", "b");
+    }
+
+    @Test
+    void dropsPerClientPolicy() {
+        SlowClient dropping = new SlowClient();
+        SlowClient latest = new SlowClient();
+        liveFeedService.subscribe(null, null, LiveFeedService.Overflow.DROP).subscribe(dropping);
+        liveFeedService.subscribe(null, null, LiveFeedService.Overflow.LATEST).subscribe(latest);
+        for (int i = 1; i <= 5; i++) {
+            liveFeedService.emit(null, null, "message-" + i);
+        }
+
+        dropping.request(5);
+        latest.request(5);
+
+        assertThat(dropping.received).containsExactly("message-1", "message-2");
+        assertThat(latest.received).containsExactly("message-4", "message-5");
+        assertThat(meterRegistry.get(LiveFeedServiceImpl.DROPPED_METER_NAME).tag("overflow", "drop").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get(LiveFeedServiceImpl.DROPPED_METER_NAME).tag("overflow", "latest").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void takesMessagesFromSeveralThreads() throws InterruptedException {
+        List<String> received = new CopyOnWriteArrayList<>();
+        liveFeedService.subscribe(null, null, LiveFeedService.Overflow.DROP).subscribe(received::add);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int thread = 0; thread < 4; thread++) {
+            int partition = thread;
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int i = 0; i < 250; i++) {
+                    liveFeedService.emit(null, null, partition + "-" + i);
+                }
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(Duration.ofSeconds(10).toMillis(), TimeUnit.MILLISECONDS)).isTrue();
+
+        assertThat(received).hasSize(1000).doesNotHaveDuplicates();
+    }
+
+    private static class SlowClient extends BaseSubscriber<String> {
+
+        private final List<String> received = new ArrayList<>();
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            // reads nothing until asked to
+        }
+
+        @Override
+        protected void hookOnNext(String value) {
+            received.add(value);
+        }
+    }
+}
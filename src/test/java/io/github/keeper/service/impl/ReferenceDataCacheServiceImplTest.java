@@ -0,0 +1,114 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.DealerType;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionCurrency;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+import reactor.core.publisher.Mono;
+
+class ReferenceDataCacheServiceImplTest {
+
+    private MessageChannel output;
+
+    private MeterRegistry meterRegistry;
+
+    private ApplicationProperties applicationProperties;
+
+    private ReferenceDataCacheServiceImpl referenceDataCacheService;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        output = mock(MessageChannel.class);
+        when(output.send(any())).thenReturn(true);
+        meterRegistry = new SimpleMeterRegistry();
+        applicationProperties = new ApplicationProperties();
+        referenceDataCacheService = new ReferenceDataCacheServiceImpl(output, applicationProperties, meterRegistry);
+    }
+
+    @Test
+    void servesRepeatedReadsFromTheCache() {
+        assertThat(read(TransactionCurrency.class, "findOne:1")).isEqualTo("TransactionCurrency-1");
+        assertThat(read(TransactionCurrency.class, "findOne:1")).isEqualTo("TransactionCurrency-1");
+
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(gets("TransactionCurrency", "hit")).isEqualTo(1);
+        assertThat(gets("TransactionCurrency", "miss")).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotCacheEmptyResults() {
+        referenceDataCacheService.get(DealerType.class, "findOne:2", () -> Mono.fromCallable(loads::incrementAndGet).then()).block();
+        referenceDataCacheService.get(DealerType.class, "findOne:2", () -> Mono.fromCallable(loads::incrementAndGet).then()).block();
+
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheLeastRecentlyUsedReadBeyondTheMaximumSize() {
+        applicationProperties.getReferenceCache().setMaxSize(2);
+        read(TransactionCurrency.class, "findOne:1");
+        read(TransactionCurrency.class, "findOne:2");
+        read(TransactionCurrency.class, "findOne:1");
+        read(TransactionCurrency.class, "findOne:3");
+        read(TransactionCurrency.class, "findOne:1");
+        read(TransactionCurrency.class, "findOne:2");
+
+        assertThat(loads.get()).isEqualTo(4);
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "TransactionCurrency").counter().count()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsTheEntityAndTheEntitiesEmbeddingItAndPublishesTheInvalidation() {
+        read(TransactionCurrency.class, "findOne:1");
+        read(TransactionAccount.class, "findOne:1");
+        read(DealerType.class, "findOne:1");
+
+        referenceDataCacheService.evict(TransactionCurrency.class).block();
+
+        read(TransactionCurrency.class, "findOne:1");
+        read(TransactionAccount.class, "findOne:1");
+        read(DealerType.class, "findOne:1");
+        assertThat(loads.get()).isEqualTo(5);
+        ArgumentCaptor<Message<?>> message = ArgumentCaptor.forClass(Message.class);
+        verify(output).send(message.capture());
+        assertThat(message.getValue().getPayload()).isEqualTo("TransactionCurrency");
+    }
+
+    @Test
+    void evictsOnTheInvalidationOfAnotherInstance() {
+        read(DealerType.class, "findAll:page=0");
+
+        referenceDataCacheService.consume(new GenericMessage<>("DealerType"));
+        referenceDataCacheService.consume(new GenericMessage<>("Unknown"));
+
+        read(DealerType.class, "findAll:page=0");
+        assertThat(loads.get()).isEqualTo(2);
+    }
+
+    private String read(Class<?> entityType, String key) {
+        return referenceDataCacheService
+            .get(entityType, key, () -> Mono.fromCallable(() -> entityType.getSimpleName() + "-" + loads.incrementAndGet()))
+            .block();
+    }
+
+    private double gets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tags("cache", cache, "result", result).counter().count();
+    }
+}
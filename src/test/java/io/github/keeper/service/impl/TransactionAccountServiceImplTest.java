@@ -0,0 +1,102 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.repository.search.SearchBackend;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.TrialBalanceService;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.mapper.TransactionAccountMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.MessageChannel;
+import reactor.core.publisher.Flux;
+
+class TransactionAccountServiceImplTest {
+
+    private TransactionAccountRepository transactionAccountRepository;
+
+    private ApplicationProperties applicationProperties;
+
+    private TransactionAccountServiceImpl transactionAccountService;
+
+    private final AtomicInteger chartLoads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        transactionAccountRepository = mock(TransactionAccountRepository.class);
+        when(transactionAccountRepository.findAllWithoutRelationships())
+            .thenAnswer(invocation -> Flux.just(account(1L, "Cash")).doOnSubscribe(subscription -> chartLoads.incrementAndGet()));
+        when(transactionAccountRepository.findAllById(anyIterable())).thenReturn(Flux.just(account(2L, "Bank")));
+        MessageChannel output = mock(MessageChannel.class);
+        when(output.send(any())).thenReturn(true);
+        applicationProperties = new ApplicationProperties();
+        transactionAccountService =
+            new TransactionAccountServiceImpl(
+                transactionAccountRepository,
+                mock(TransactionAccountMapper.class),
+                mock(SearchBackend.class),
+                mock(SearchIndexService.class),
+                new ReferenceDataCacheServiceImpl(output, applicationProperties, new SimpleMeterRegistry()),
+                mock(TrialBalanceService.class)
+            );
+    }
+
+    @Test
+    void setsTheAccountNamesFromTheCachedChartOfAccounts() {
+        TransactionAccountDTO first = reference(1L);
+        TransactionAccountDTO second = reference(1L);
+
+        transactionAccountService.setAccountNames(List.of(first)).block();
+        transactionAccountService.setAccountNames(List.of(second)).block();
+
+        assertThat(first.getAccountName()).isEqualTo("Cash");
+        assertThat(second.getAccountName()).isEqualTo("Cash");
+        assertThat(chartLoads.get()).isEqualTo(1);
+        verify(transactionAccountRepository, never()).findAllById(anyIterable());
+    }
+
+    @Test
+    void readsTheAccountsMissingFromTheCachedChartOfAccounts() {
+        TransactionAccountDTO known = reference(1L);
+        TransactionAccountDTO created = reference(2L);
+
+        transactionAccountService.setAccountNames(List.of(known, created)).block();
+
+        assertThat(known.getAccountName()).isEqualTo("Cash");
+        assertThat(created.getAccountName()).isEqualTo("Bank");
+    }
+
+    @Test
+    void readsOnlyTheAccountsNeededWhenTheCacheIsDisabled() {
+        applicationProperties.getReferenceCache().setMaxSize(0);
+        TransactionAccountDTO transactionAccountDTO = reference(2L);
+
+        transactionAccountService.setAccountNames(List.of(transactionAccountDTO)).block();
+
+        assertThat(transactionAccountDTO.getAccountName()).isEqualTo("Bank");
+        assertThat(chartLoads.get()).isZero();
+    }
+
+    private static TransactionAccount account(Long id, String accountName) {
+        return new TransactionAccount().id(id).accountName(accountName);
+    }
+
+    private static TransactionAccountDTO reference(Long id) {
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(id);
+        return transactionAccountDTO;
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.keeper.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.keeper.config.ApplicationProperties;
+import io.github.keeper.repository.AccountTransactionRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.TrialBalanceRow;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.support.GenericMessage;
+import reactor.core.publisher.Flux;
+
+class TrialBalanceServiceImplTest {
+
+    private static final LocalDate JUNE = LocalDate.of(2023, 6, 30);
+
+    private static final LocalDate JULY = LocalDate.of(2023, 7, 31);
+
+    private MessageChannel output;
+
+    private TrialBalanceServiceImpl trialBalanceService;
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        TransactionEntryRepository transactionEntryRepository = mock(TransactionEntryRepository.class);
+        when(transactionEntryRepository.sumPostedByAccountTree(any()))
+            .thenAnswer(invocation -> Flux.fromIterable(List.<TrialBalanceRow>of()).doOnSubscribe(subscription -> loads.incrementAndGet()));
+        output = mock(MessageChannel.class);
+        when(output.send(any())).thenReturn(true);
+        trialBalanceService =
+            new TrialBalanceServiceImpl(
+                transactionEntryRepository,
+                mock(AccountTransactionRepository.class),
+                new ApplicationProperties(),
+                output
+            );
+    }
+
+    @Test
+    void publishesTheInvalidationForTheOtherInstances() {
+        trialBalanceService.getTrialBalance(JUNE).block();
+        trialBalanceService.getTrialBalance(JULY).block();
+
+        trialBalanceService.invalidateFrom(JULY).block();
+
+        trialBalanceService.getTrialBalance(JUNE).block();
+        trialBalanceService.getTrialBalance(JULY).block();
+        assertThat(loads.get()).isEqualTo(3);
+        ArgumentCaptor<Message<?>> message = ArgumentCaptor.forClass(Message.class);
+        verify(output).send(message.capture());
+        assertThat(message.getValue().getPayload()).isEqualTo("TrialBalance:2023-07-31");
+    }
+
+    @Test
+    void evictsOnTheInvalidationOfAnotherInstance() {
+        trialBalanceService.getTrialBalance(JUNE).block();
+        trialBalanceService.getTrialBalance(JULY).block();
+
+        trialBalanceService.consume(new GenericMessage<>("TrialBalance:2023-07-01"));
+        trialBalanceService.getTrialBalance(JUNE).block();
+        trialBalanceService.getTrialBalance(JULY).block();
+        assertThat(loads.get()).isEqualTo(3);
+
+        trialBalanceService.consume(new GenericMessage<>("TrialBalance"));
+        trialBalanceService.getTrialBalance(JUNE).block();
+        assertThat(loads.get()).isEqualTo(4);
+    }
+}
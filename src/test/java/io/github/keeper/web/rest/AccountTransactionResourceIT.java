@@ -2,17 +2,26 @@ package io.github.keeper.web.rest;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 
 import io.github.keeper.IntegrationTest;
 import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
 import io.github.keeper.repository.AccountTransactionRepository;
 import io.github.keeper.repository.EntityManager;
+import io.github.keeper.repository.TransactionEntryRepository;
 import io.github.keeper.repository.search.AccountTransactionSearchRepository;
 import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import io.github.keeper.service.impl.AccountTransactionServiceImpl;
 import io.github.keeper.service.mapper.AccountTransactionMapper;
+import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -81,6 +90,9 @@ class AccountTransactionResourceIT {
     @Autowired
     private AccountTransactionSearchRepository accountTransactionSearchRepository;
 
+    @Autowired
+    private TransactionEntryRepository transactionEntryRepository;
+
     @Autowired
     private EntityManager em;
 
@@ -184,6 +196,121 @@ class AccountTransactionResourceIT {
         assertThat(testAccountTransaction.getWasApproved()).isEqualTo(DEFAULT_WAS_APPROVED);
     }
 
+    @Test
+    void createAccountTransactionsBatch() throws Exception {
+        int databaseSizeBeforeCreate = accountTransactionRepository.findAll().collectList().block().size();
+        TransactionAccount transactionAccount = em.insert(TransactionAccountResourceIT.createEntity(em)).block();
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(transactionAccount.getId());
+
+        AccountTransactionDTO valid = accountTransactionMapper.toDto(accountTransaction);
+        valid.setTransactionEntries(
+            List.of(
+                createEntryDTO(transactionAccountDTO, TransactionEntryTypes.DEBIT),
+                createEntryDTO(transactionAccountDTO, TransactionEntryTypes.CREDIT)
+            )
+        );
+        AccountTransactionDTO invalid = accountTransactionMapper.toDto(accountTransaction);
+        invalid.setTransactionDate(null);
+        invalid.setTransactionEntries(List.of(createEntryDTO(transactionAccountDTO, TransactionEntryTypes.DEBIT)));
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(valid, invalid)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].status")
+            .isEqualTo("CREATED")
+            .jsonPath("$.[0].transactionEntryIds.length()")
+            .isEqualTo(2)
+            .jsonPath("$.[1].status")
+            .isEqualTo("REJECTED");
+
+        List<AccountTransaction> accountTransactionList = accountTransactionRepository.findAll().collectList().block();
+        assertThat(accountTransactionList).hasSize(databaseSizeBeforeCreate + 1);
+        Long accountTransactionId = accountTransactionList.get(accountTransactionList.size() - 1).getId();
+        List<TransactionEntry> transactionEntryList = transactionEntryRepository
+            .findByAccountTransaction(accountTransactionId)
+            .collectList()
+            .block();
+        assertThat(transactionEntryList).hasSize(2);
+        assertThat(transactionEntryList).allMatch(entry -> transactionAccount.getId().equals(entry.getTransactionAccountId()));
+
+        TransactionEntryResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void createAccountTransactionsBatchRejectsUnknownAccountsAndUsedReferenceNumbers() throws Exception {
+        em.insert(accountTransaction).block();
+        TransactionAccount transactionAccount = em.insert(TransactionAccountResourceIT.createEntity(em)).block();
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(transactionAccount.getId());
+        TransactionAccountDTO unknownAccountDTO = new TransactionAccountDTO();
+        unknownAccountDTO.setId(Long.MAX_VALUE);
+
+        AccountTransactionDTO usedInDatabase = createBatchItemDTO(DEFAULT_REFERENCE_NUMBER, transactionAccountDTO, transactionAccountDTO);
+        AccountTransactionDTO unknownAccount = createBatchItemDTO("BATCH-1", transactionAccountDTO, unknownAccountDTO);
+        AccountTransactionDTO valid = createBatchItemDTO("BATCH-2", transactionAccountDTO, transactionAccountDTO);
+        AccountTransactionDTO usedInBatch = createBatchItemDTO("BATCH-2", transactionAccountDTO, transactionAccountDTO);
+
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_batch")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(List.of(usedInDatabase, unknownAccount, valid, usedInBatch)))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].status")
+            .isEqualTo("REJECTED")
+            .jsonPath("$.[0].errors.[0]")
+            .isEqualTo(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER)
+            .jsonPath("$.[1].status")
+            .isEqualTo("REJECTED")
+            .jsonPath("$.[1].errors.[0]")
+            .isEqualTo("transactionEntries[1].transactionAccount: no transactionAccount with this id")
+            .jsonPath("$.[2].status")
+            .isEqualTo("CREATED")
+            .jsonPath("$.[3].status")
+            .isEqualTo("REJECTED")
+            .jsonPath("$.[3].errors.[0]")
+            .isEqualTo(AccountTransactionServiceImpl.DUPLICATE_REFERENCE_NUMBER);
+
+        assertThat(accountTransactionRepository.findExistingReferenceNumbers(List.of("BATCH-1", "BATCH-2")).collectList().block())
+            .containsExactly("BATCH-2");
+
+        TransactionEntryResourceIT.deleteEntities(em);
+    }
+
+    private AccountTransactionDTO createBatchItemDTO(
+        String referenceNumber,
+        TransactionAccountDTO debitedAccountDTO,
+        TransactionAccountDTO creditedAccountDTO
+    ) {
+        AccountTransactionDTO accountTransactionDTO = accountTransactionMapper.toDto(createEntity(em));
+        accountTransactionDTO.setReferenceNumber(referenceNumber);
+        accountTransactionDTO.setTransactionEntries(
+            List.of(
+                createEntryDTO(debitedAccountDTO, TransactionEntryTypes.DEBIT),
+                createEntryDTO(creditedAccountDTO, TransactionEntryTypes.CREDIT)
+            )
+        );
+        return accountTransactionDTO;
+    }
+
+    private static TransactionEntryDTO createEntryDTO(TransactionAccountDTO transactionAccountDTO, TransactionEntryTypes type) {
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        transactionEntryDTO.setEntryAmount(BigDecimal.TEN);
+        transactionEntryDTO.setTransactionEntryType(type);
+        transactionEntryDTO.setTransactionAccount(transactionAccountDTO);
+        return transactionEntryDTO;
+    }
+
     @Test
     void createAccountTransactionWithExistingId() throws Exception {
         // Create the AccountTransaction with an existing ID
@@ -303,6 +430,60 @@ class AccountTransactionResourceIT {
             .value(is(DEFAULT_WAS_APPROVED.booleanValue()));
     }
 
+    @Test
+    void getAccountTransactionWithEagerRelationships() {
+        // Initialize the database
+        accountTransactionRepository.save(accountTransaction).block();
+        TransactionEntry transactionEntry = TransactionEntryResourceIT.createEntity(em);
+        transactionEntry.setAccountTransaction(accountTransaction);
+        transactionEntry = em.insert(transactionEntry).block();
+
+        // Get the accountTransaction with its entries
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "?eager=true", accountTransaction.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.id")
+            .value(is(accountTransaction.getId().intValue()))
+            .jsonPath("$.transactionEntries.[*].id")
+            .value(contains(transactionEntry.getId().intValue()));
+
+        TransactionEntryResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getAllAccountTransactionsWithEagerRelationships() {
+        // Initialize the database
+        accountTransactionRepository.save(accountTransaction).block();
+        AccountTransaction otherAccountTransaction = accountTransactionRepository.save(createEntity(em)).block();
+        TransactionEntry transactionEntry = TransactionEntryResourceIT.createEntity(em);
+        transactionEntry.setAccountTransaction(accountTransaction);
+        transactionEntry = em.insert(transactionEntry).block();
+        TransactionEntry otherTransactionEntry = TransactionEntryResourceIT.createEntity(em);
+        otherTransactionEntry.setAccountTransaction(otherAccountTransaction);
+        otherTransactionEntry = em.insert(otherTransactionEntry).block();
+
+        // Get the accountTransactions with the entries of the whole page
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?sort=id,desc&eager=true")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[?(@.id == " + accountTransaction.getId() + ")].transactionEntries.[*].id")
+            .value(contains(transactionEntry.getId().intValue()))
+            .jsonPath("$.[?(@.id == " + otherAccountTransaction.getId() + ")].transactionEntries.[*].id")
+            .value(contains(otherTransactionEntry.getId().intValue()));
+
+        TransactionEntryResourceIT.deleteEntities(em);
+    }
+
     @Test
     void getNonExistingAccountTransaction() {
         // Get the accountTransaction
@@ -635,8 +816,12 @@ class AccountTransactionResourceIT {
         // Validate the database contains one less item
         List<AccountTransaction> accountTransactionList = accountTransactionRepository.findAll().collectList().block();
         assertThat(accountTransactionList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(accountTransactionSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(accountTransactionSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
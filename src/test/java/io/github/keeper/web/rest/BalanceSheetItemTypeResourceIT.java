@@ -631,8 +631,12 @@ class BalanceSheetItemTypeResourceIT {
         // Validate the database contains one less item
         List<BalanceSheetItemType> balanceSheetItemTypeList = balanceSheetItemTypeRepository.findAll().collectList().block();
         assertThat(balanceSheetItemTypeList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(balanceSheetItemTypeSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(balanceSheetItemTypeSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
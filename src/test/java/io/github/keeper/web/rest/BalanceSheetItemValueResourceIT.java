@@ -634,8 +634,12 @@ class BalanceSheetItemValueResourceIT {
         // Validate the database contains one less item
         List<BalanceSheetItemValue> balanceSheetItemValueList = balanceSheetItemValueRepository.findAll().collectList().block();
         assertThat(balanceSheetItemValueList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(balanceSheetItemValueSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(balanceSheetItemValueSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
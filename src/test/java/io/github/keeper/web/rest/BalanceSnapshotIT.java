@@ -0,0 +1,182 @@
+package io.github.keeper.web.rest;
+
+import static io.github.keeper.web.rest.TestUtil.sameNumber;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.repository.AccountBalanceRepository;
+import io.github.keeper.repository.EntityManager;
+import io.github.keeper.security.AuthoritiesConstants;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the as-of balances of the {@link TransactionAccountResource} REST controller, backed by the balance
+ * snapshots.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class BalanceSnapshotIT {
+
+    private static final String ENTITY_API_URL = "/api/transaction-accounts";
+
+    private static final LocalDate JANUARY_DATE = LocalDate.of(2001, 1, 15);
+
+    private static final LocalDate JANUARY_END = LocalDate.of(2001, 1, 31);
+
+    private static final LocalDate FEBRUARY_DATE = LocalDate.of(2001, 2, 10);
+
+    @Autowired
+    private AccountBalanceRepository accountBalanceRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private TransactionAccount transactionAccount;
+
+    private AccountTransaction januaryTransaction;
+
+    private AccountTransaction februaryTransaction;
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities();
+        transactionAccount = em.insert(TransactionAccountResourceIT.createEntity(em)).block();
+        januaryTransaction = AccountTransactionResourceIT.createEntity(em);
+        januaryTransaction.setTransactionDate(JANUARY_DATE);
+        januaryTransaction = em.insert(januaryTransaction).block();
+        februaryTransaction = AccountTransactionResourceIT.createEntity(em);
+        februaryTransaction.setTransactionDate(FEBRUARY_DATE);
+        februaryTransaction = em.insert(februaryTransaction).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities();
+    }
+
+    private void deleteEntities() {
+        em.deleteAll("balance_snapshot_period").block();
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        TransactionAccountResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getTransactionAccountBalanceAsOf() throws Exception {
+        postEntry(januaryTransaction, TransactionEntryTypes.DEBIT, new BigDecimal(10));
+        postEntry(februaryTransaction, TransactionEntryTypes.CREDIT, new BigDecimal(4));
+        backfill();
+
+        assertNetBalanceAsOf(JANUARY_DATE.minusDays(1), BigDecimal.ZERO);
+        // read from the January checkpoint
+        assertNetBalanceAsOf(JANUARY_END, new BigDecimal(10));
+        // the January checkpoint plus the February entries
+        assertNetBalanceAsOf(FEBRUARY_DATE, new BigDecimal(6));
+    }
+
+    @Test
+    void getTransactionAccountBalanceAsOfAfterBackdatedPosting() throws Exception {
+        postEntry(januaryTransaction, TransactionEntryTypes.DEBIT, new BigDecimal(10));
+        backfill();
+        assertThat(accountBalanceRepository.findLatestSnapshotPeriodEnd().block()).isAfterOrEqualTo(JANUARY_END);
+
+        // the posting drops the checkpoints from January on
+        postEntry(januaryTransaction, TransactionEntryTypes.DEBIT, new BigDecimal(5));
+        assertThat(accountBalanceRepository.findLatestSnapshotPeriodEnd().block()).isNull();
+
+        assertNetBalanceAsOf(JANUARY_END, new BigDecimal(15));
+        backfill();
+        assertNetBalanceAsOf(JANUARY_END, new BigDecimal(15));
+    }
+
+    @Test
+    void getAllTransactionAccountBalancesAsOf() throws Exception {
+        postEntry(februaryTransaction, TransactionEntryTypes.DEBIT, new BigDecimal(10));
+        backfill();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/balances?asOf=" + JANUARY_END)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(balancePath("debitTotal"))
+            .value(empty());
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/balances?asOf=" + FEBRUARY_DATE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(balancePath("debitTotal"))
+            .value(contains(sameNumber(new BigDecimal(10))));
+    }
+
+    private String balancePath(String property) {
+        return "$.[?(@.transactionAccountId == " + transactionAccount.getId() + ")]." + property;
+    }
+
+    private void backfill() {
+        webTestClient.post().uri(ENTITY_API_URL + "/balances/snapshots/_backfill").exchange().expectStatus().isOk();
+    }
+
+    private void assertNetBalanceAsOf(LocalDate asOf, BigDecimal netBalance) {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/{id}/balance?asOf=" + asOf, transactionAccount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.netBalance")
+            .value(sameNumber(netBalance));
+    }
+
+    private void postEntry(AccountTransaction accountTransaction, TransactionEntryTypes type, BigDecimal amount) throws Exception {
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(transactionAccount.getId());
+        AccountTransactionDTO accountTransactionDTO = new AccountTransactionDTO();
+        accountTransactionDTO.setId(accountTransaction.getId());
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        transactionEntryDTO.setTransactionAccount(transactionAccountDTO);
+        transactionEntryDTO.setAccountTransaction(accountTransactionDTO);
+        transactionEntryDTO.setTransactionEntryType(type);
+        transactionEntryDTO.setEntryAmount(amount);
+        transactionEntryDTO.setWasPosted(true);
+        webTestClient
+            .post()
+            .uri("/api/transaction-entries")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactionEntryDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+    }
+}
@@ -4,8 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import io.github.keeper.IntegrationTest;
 import io.github.keeper.config.EmbeddedKafka;
-import io.github.keeper.config.KafkaSseConsumer;
-import io.github.keeper.config.KafkaSseProducer;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
@@ -34,11 +33,11 @@ class BookKeeperErpKafkaResourceIT {
     private WebTestClient client;
 
     @Autowired
-    @Qualifier(KafkaSseProducer.CHANNELNAME)
+    @Qualifier(BookKeeperErpKafkaResource.BINDING_NAME)
     private MessageChannel output;
 
     @Autowired
-    @Qualifier(KafkaSseConsumer.CHANNELNAME)
+    @Qualifier("binding-in-sse")
     private MessageChannel input;
 
     @Autowired
@@ -58,7 +57,7 @@ class BookKeeperErpKafkaResourceIT {
         Map<String, Object> map = new HashMap<>();
         map.put(MessageHeaders.CONTENT_TYPE, MimeTypeUtils.TEXT_PLAIN_VALUE);
         MessageHeaders headers = new MessageHeaders(map);
-        Message<String> testMessage = new GenericMessage<>("value-consume", headers);
+        Message<byte[]> testMessage = new GenericMessage<>("value-consume".getBytes(StandardCharsets.UTF_8), headers);
         input.send(testMessage);
         String value = client
             .get()
@@ -0,0 +1,45 @@
+package io.github.keeper.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.keeper.service.LiveFeedService;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+class BookKeeperErpKafkaResourceTest {
+
+    @Test
+    void publishesOffTheEventLoop() {
+        MessageChannel output = mock(MessageChannel.class);
+        List<Message<?>> sent = new CopyOnWriteArrayList<>();
+        List<Boolean> sentOnNonBlockingThread = new CopyOnWriteArrayList<>();
+        when(output.send(any()))
+            .thenAnswer(invocation -> {
+                sent.add(invocation.getArgument(0));
+                sentOnNonBlockingThread.add(Schedulers.isInNonBlockingThread());
+                return true;
+            });
+        BookKeeperErpKafkaResource resource = new BookKeeperErpKafkaResource(output, mock(LiveFeedService.class));
+
+        // the parallel threads are non-blocking, as the event loop is
+        ResponseEntity<Void> response = Mono
+            .defer(() -> resource.publish("value-produce"))
+            .subscribeOn(Schedulers.parallel())
+            .block(Duration.ofSeconds(10));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        assertThat(sent).singleElement().extracting(Message::getPayload).isEqualTo("value-produce");
+        assertThat(sentOnNonBlockingThread).containsExactly(false);
+    }
+}
@@ -0,0 +1,115 @@
+package io.github.keeper.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.repository.EntityManager;
+import io.github.keeper.repository.search.LedgerEntrySearchRepository;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.dto.LedgerAnalyticsDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link LedgerAnalyticsResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class LedgerAnalyticsResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/analytics/ledger?fromDate={fromDate}&toDate={toDate}";
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2026, 8, 14);
+
+    @Autowired
+    private LedgerEntrySearchRepository ledgerEntrySearchRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private TransactionEntry debit;
+
+    private TransactionEntry credit;
+
+    @BeforeEach
+    public void initTest() {
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        ledgerEntrySearchRepository.deleteAll().block();
+        AccountTransaction accountTransaction = em
+            .insert(AccountTransactionResourceIT.createEntity(em).transactionDate(TRANSACTION_DATE))
+            .block();
+        debit =
+            TransactionEntryResourceIT.createEntity(em).entryAmount(new BigDecimal("0.10")).transactionEntryType(TransactionEntryTypes.DEBIT);
+        debit.setAccountTransaction(accountTransaction);
+        debit = em.insert(debit).block();
+        credit = new TransactionEntry().entryAmount(new BigDecimal("0.20")).transactionEntryType(TransactionEntryTypes.CREDIT);
+        credit.setTransactionAccountId(debit.getTransactionAccountId());
+        credit.setAccountTransactionId(accountTransaction.getId());
+        credit = em.insert(credit).block();
+        searchIndexService.enqueueAll(TransactionEntry.class, List.of(debit.getId(), credit.getId())).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        ledgerEntrySearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void getLedgerAnalyticsSumsTheEntriesByAccountAndMonth() {
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(ledgerEntrySearchRepository.count().block()).isEqualTo(2));
+
+        LedgerAnalyticsDTO ledgerAnalytics = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "&query=entryAmount:<1", LocalDate.of(2026, 7, 1), LocalDate.of(2026, 9, 30))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(LedgerAnalyticsDTO.class)
+            .returnResult()
+            .getResponseBody();
+
+        assertThat(ledgerAnalytics.getAccountTotals()).hasSize(1);
+        assertThat(ledgerAnalytics.getAccountTotals().get(0).getTransactionAccountId()).isEqualTo(debit.getTransactionAccountId());
+        assertThat(ledgerAnalytics.getAccountTotals().get(0).getEntryCount()).isEqualTo(2);
+        assertThat(ledgerAnalytics.getAccountTotals().get(0).getDebitTotal()).isEqualByComparingTo("0.10");
+        assertThat(ledgerAnalytics.getAccountTotals().get(0).getCreditTotal()).isEqualByComparingTo("0.20");
+        assertThat(ledgerAnalytics.getMonthlyVolumes()).hasSize(1);
+        assertThat(ledgerAnalytics.getMonthlyVolumes().get(0).getMonth()).isEqualTo(LocalDate.of(2026, 8, 1));
+        assertThat(ledgerAnalytics.getMonthlyVolumes().get(0).getEntryCount()).isEqualTo(2);
+    }
+
+    @Test
+    void getLedgerAnalyticsOfAnInvertedPeriod() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL, LocalDate.of(2026, 9, 30), LocalDate.of(2026, 7, 1))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+}
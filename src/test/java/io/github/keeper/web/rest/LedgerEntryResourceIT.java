@@ -0,0 +1,133 @@
+package io.github.keeper.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.TransactionEntry;
+import io.github.keeper.repository.EntityManager;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.repository.TransactionEntryRepository;
+import io.github.keeper.repository.search.LedgerEntrySearchRepository;
+import io.github.keeper.service.SearchIndexService;
+import io.github.keeper.service.dto.LedgerEntryDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link LedgerEntryResource} REST controller, and for the denormalized documents it searches.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class LedgerEntryResourceIT {
+
+    private static final String ENTITY_SEARCH_API_URL = "/api/_search/ledger-entries";
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2026, 8, 14);
+
+    @Autowired
+    private TransactionEntryRepository transactionEntryRepository;
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private LedgerEntrySearchRepository ledgerEntrySearchRepository;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private TransactionEntry transactionEntry;
+
+    @BeforeEach
+    public void initTest() {
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        ledgerEntrySearchRepository.deleteAll().block();
+        AccountTransaction accountTransaction = em
+            .insert(AccountTransactionResourceIT.createEntity(em).transactionDate(TRANSACTION_DATE).referenceNumber("REF-1"))
+            .block();
+        transactionEntry = TransactionEntryResourceIT.createEntity(em).entryAmount(new BigDecimal("12500.50"));
+        transactionEntry.setAccountTransaction(accountTransaction);
+        transactionEntry = em.insert(transactionEntry).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        ledgerEntrySearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void searchLedgerEntryByTheFieldsOfItsAccountAndTransaction() {
+        searchIndexService.enqueue(TransactionEntry.class, transactionEntry.getId()).block();
+        TransactionAccount transactionAccount = transactionAccountRepository.findById(transactionEntry.getTransactionAccountId()).block();
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                List<LedgerEntryDTO> found = search(
+                    "entryAmount:>10000 AND accountNumber:" +
+                    transactionAccount.getAccountNumber() +
+                    " AND transactionDate:[2026-07-01 TO 2026-09-30]"
+                );
+                assertThat(found).extracting(LedgerEntryDTO::getId).containsExactly(transactionEntry.getId());
+                assertThat(found.get(0).getAccountName()).isEqualTo(transactionAccount.getAccountName());
+                assertThat(found.get(0).getReferenceNumber()).isEqualTo("REF-1");
+                assertThat(found.get(0).getCurrencyCode()).isNotNull();
+            });
+    }
+
+    @Test
+    void renamingAnAccountUpdatesTheLedgerEntriesOfTheAccount() {
+        searchIndexService.enqueue(TransactionEntry.class, transactionEntry.getId()).block();
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> assertThat(search("id:" + transactionEntry.getId())).hasSize(1));
+
+        TransactionAccount transactionAccount = transactionAccountRepository.findById(transactionEntry.getTransactionAccountId()).block();
+        transactionAccountRepository.save(transactionAccount.accountName("Renamed account")).block();
+        searchIndexService.enqueue(TransactionAccount.class, transactionAccount.getId()).block();
+
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() ->
+                assertThat(search("id:" + transactionEntry.getId()))
+                    .extracting(LedgerEntryDTO::getAccountName)
+                    .containsExactly("Renamed account")
+            );
+    }
+
+    private List<LedgerEntryDTO> search(String query) {
+        return webTestClient
+            .get()
+            .uri(uriBuilder -> uriBuilder.path(ENTITY_SEARCH_API_URL).queryParam("query", query).build())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBodyList(LedgerEntryDTO.class)
+            .returnResult()
+            .getResponseBody();
+    }
+}
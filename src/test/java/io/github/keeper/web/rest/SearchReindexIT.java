@@ -0,0 +1,107 @@
+package io.github.keeper.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.domain.Dealer;
+import io.github.keeper.repository.EntityManager;
+import io.github.keeper.repository.search.DealerSearchRepository;
+import io.github.keeper.security.AuthoritiesConstants;
+import io.github.keeper.service.dto.SearchReindexJobDTO;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.data.elasticsearch.core.ReactiveElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the full reindex of the search indices, started and followed through the {@code searchreindex}
+ * management endpoint.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser(authorities = AuthoritiesConstants.ADMIN)
+class SearchReindexIT {
+
+    private static final String ENDPOINT_URL = "/management/searchreindex/{index}";
+
+    @Autowired
+    private DealerSearchRepository dealerSearchRepository;
+
+    @Autowired
+    private ReactiveElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private Dealer dealer;
+
+    @BeforeEach
+    public void initTest() {
+        DealerResourceIT.deleteEntities(em);
+        dealerSearchRepository.deleteAll().block();
+        // written to the database only, as if the index had drifted
+        dealer = em.insert(DealerResourceIT.createEntity(em)).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        DealerResourceIT.deleteEntities(em);
+        dealerSearchRepository.deleteAll().block();
+    }
+
+    @Test
+    void reindexMovesTheAliasToAFullNewIndex() {
+        SearchReindexJobDTO started = webTestClient
+            .post()
+            .uri(ENDPOINT_URL, "dealer")
+            .exchange()
+            .expectStatus()
+            .isAccepted()
+            .expectBody(SearchReindexJobDTO.class)
+            .returnResult()
+            .getResponseBody();
+        assertThat(started.getTargetIndex()).startsWith("dealer_");
+
+        await()
+            .atMost(30, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                SearchReindexJobDTO job = getReindex("dealer");
+                assertThat(job.getStatus()).isEqualTo(SearchReindexJobDTO.Status.COMPLETED);
+                assertThat(job.getIndexedRows()).isEqualTo(job.getTotalRows());
+            });
+
+        assertThat(elasticsearchOperations.indexOps(IndexCoordinates.of("dealer")).getAliasesForIndex("dealer").block())
+            .containsOnlyKeys(started.getTargetIndex());
+        List<Dealer> indexed = dealerSearchRepository.findAll().collectList().block();
+        assertThat(indexed).extracting(Dealer::getId).containsExactly(dealer.getId());
+    }
+
+    @Test
+    void reindexUnknownIndex() {
+        webTestClient.post().uri(ENDPOINT_URL, "unknown").exchange().expectStatus().isNotFound();
+        webTestClient.get().uri(ENDPOINT_URL, "unknown").exchange().expectStatus().isNotFound();
+    }
+
+    private SearchReindexJobDTO getReindex(String index) {
+        return webTestClient
+            .get()
+            .uri(ENDPOINT_URL, index)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(SearchReindexJobDTO.class)
+            .returnResult()
+            .getResponseBody();
+    }
+}
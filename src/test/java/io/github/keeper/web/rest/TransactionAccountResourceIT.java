@@ -3,6 +3,7 @@ package io.github.keeper.web.rest;
 import static io.github.keeper.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -11,11 +12,13 @@ import io.github.keeper.IntegrationTest;
 import io.github.keeper.domain.TransactionAccount;
 import io.github.keeper.domain.TransactionAccountType;
 import io.github.keeper.domain.TransactionCurrency;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
 import io.github.keeper.repository.EntityManager;
 import io.github.keeper.repository.TransactionAccountRepository;
 import io.github.keeper.repository.search.TransactionAccountSearchRepository;
 import io.github.keeper.service.TransactionAccountService;
 import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
 import io.github.keeper.service.mapper.TransactionAccountMapper;
 import java.math.BigDecimal;
 import java.time.Duration;
@@ -323,6 +326,166 @@ class TransactionAccountResourceIT {
             .isNotFound();
     }
 
+    @Test
+    void getTransactionAccountBalance() throws Exception {
+        // Initialize the database
+        transactionAccountRepository.save(transactionAccount).block();
+        TransactionAccountDTO transactionAccountDTO = transactionAccountMapper.toDto(transactionAccount);
+        postEntry(transactionAccountDTO, TransactionEntryTypes.DEBIT, new BigDecimal(10));
+        postEntry(transactionAccountDTO, TransactionEntryTypes.CREDIT, new BigDecimal(4));
+
+        // Get the balance of the transactionAccount
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/balance", transactionAccount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.transactionAccountId")
+            .value(is(transactionAccount.getId().intValue()))
+            .jsonPath("$.debitTotal")
+            .value(is(sameNumber(new BigDecimal(10))))
+            .jsonPath("$.creditTotal")
+            .value(is(sameNumber(new BigDecimal(4))))
+            .jsonPath("$.netBalance")
+            .value(is(sameNumber(new BigDecimal(6))));
+
+        TransactionEntryResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getTransactionAccountSubtree() {
+        // Initialize the database with a three level tree
+        transactionAccountRepository.save(transactionAccount).block();
+        TransactionAccount child = transactionAccountRepository.save(createEntity(em).parentAccount(transactionAccount)).block();
+        TransactionAccount grandchild = transactionAccountRepository.save(createEntity(em).parentAccount(child)).block();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/subtree", transactionAccount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(containsInAnyOrder(transactionAccount.getId().intValue(), child.getId().intValue(), grandchild.getId().intValue()));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/subtree", child.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(containsInAnyOrder(child.getId().intValue(), grandchild.getId().intValue()));
+    }
+
+    @Test
+    void moveTransactionAccountSubtree() throws Exception {
+        // Initialize the database with a chain and a separate root
+        transactionAccountRepository.save(transactionAccount).block();
+        TransactionAccount child = transactionAccountRepository.save(createEntity(em).parentAccount(transactionAccount)).block();
+        TransactionAccount grandchild = transactionAccountRepository.save(createEntity(em).parentAccount(child)).block();
+        TransactionAccount otherRoot = transactionAccountRepository.save(createEntity(em)).block();
+
+        // Move the child, with its own child, under the other root
+        child.setParentAccount(otherRoot);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, child.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactionAccountMapper.toDto(child)))
+            .exchange()
+            .expectStatus()
+            .isOk();
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/subtree", transactionAccount.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(containsInAnyOrder(transactionAccount.getId().intValue()));
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/subtree", otherRoot.getId())
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[*].id")
+            .value(containsInAnyOrder(otherRoot.getId().intValue(), child.getId().intValue(), grandchild.getId().intValue()));
+    }
+
+    @Test
+    void moveTransactionAccountUnderItsDescendant() throws Exception {
+        // Initialize the database
+        transactionAccountRepository.save(transactionAccount).block();
+        TransactionAccount child = transactionAccountRepository.save(createEntity(em).parentAccount(transactionAccount)).block();
+
+        // The root cannot become the child of its own child
+        transactionAccount.setParentAccount(child);
+        webTestClient
+            .put()
+            .uri(ENTITY_API_URL_ID, transactionAccount.getId())
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactionAccountMapper.toDto(transactionAccount)))
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+
+        TransactionAccount unchanged = transactionAccountRepository.findById(transactionAccount.getId()).block();
+        assertThat(unchanged.getParentAccountId()).isNull();
+    }
+
+    @Test
+    void getNonExistingTransactionAccountSubtree() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/subtree", Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    @Test
+    void getNonExistingTransactionAccountBalance() {
+        // Get the balance of a transactionAccount that does not exist
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL_ID + "/balance", Long.MAX_VALUE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isNotFound();
+    }
+
+    private void postEntry(TransactionAccountDTO transactionAccountDTO, TransactionEntryTypes type, BigDecimal amount) throws Exception {
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        transactionEntryDTO.setTransactionAccount(transactionAccountDTO);
+        transactionEntryDTO.setTransactionEntryType(type);
+        transactionEntryDTO.setEntryAmount(amount);
+        webTestClient
+            .post()
+            .uri("/api/transaction-entries")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactionEntryDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+    }
+
     @Test
     void putExistingTransactionAccount() throws Exception {
         // Initialize the database
@@ -615,8 +778,12 @@ class TransactionAccountResourceIT {
         // Validate the database contains one less item
         List<TransactionAccount> transactionAccountList = transactionAccountRepository.findAll().collectList().block();
         assertThat(transactionAccountList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionAccountSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionAccountSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
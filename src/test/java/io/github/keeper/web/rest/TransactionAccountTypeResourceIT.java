@@ -529,8 +529,12 @@ class TransactionAccountTypeResourceIT {
         // Validate the database contains one less item
         List<TransactionAccountType> transactionAccountTypeList = transactionAccountTypeRepository.findAll().collectList().block();
         assertThat(transactionAccountTypeList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionAccountTypeSearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionAccountTypeSearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
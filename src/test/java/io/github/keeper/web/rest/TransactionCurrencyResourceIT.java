@@ -564,8 +564,12 @@ class TransactionCurrencyResourceIT {
         // Validate the database contains one less item
         List<TransactionCurrency> transactionCurrencyList = transactionCurrencyRepository.findAll().collectList().block();
         assertThat(transactionCurrencyList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionCurrencySearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionCurrencySearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
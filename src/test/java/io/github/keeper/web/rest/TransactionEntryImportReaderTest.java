@@ -0,0 +1,102 @@
+package io.github.keeper.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.ImportRowDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class TransactionEntryImportReaderTest {
+
+    @Test
+    void readsCsvRowsByHeader() {
+        List<ImportRowDTO> rows = TransactionEntryImportReader
+            .fromCsv(Flux.just("transactionAccountId,transactionEntryType,entryAmount,wasPosted,accountName", "7,debit,12.50,true,Cash"))
+            .collectList()
+            .block();
+
+        assertThat(rows).hasSize(1);
+        ImportRowDTO row = rows.get(0);
+        assertThat(row.getRow()).isEqualTo(1);
+        assertThat(row.getErrors()).isEmpty();
+        assertThat(row.getTransactionEntry().getTransactionAccount().getId()).isEqualTo(7L);
+        assertThat(row.getTransactionEntry().getTransactionEntryType()).isEqualTo(TransactionEntryTypes.DEBIT);
+        assertThat(row.getTransactionEntry().getEntryAmount()).isEqualByComparingTo(new BigDecimal("12.5"));
+        assertThat(row.getTransactionEntry().getWasPosted()).isTrue();
+    }
+
+    @Test
+    void readsBackTheCsvExport() {
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(7L);
+        transactionAccountDTO.setAccountName("Cash, petty");
+        AccountTransactionDTO accountTransactionDTO = new AccountTransactionDTO();
+        accountTransactionDTO.setId(3L);
+        accountTransactionDTO.setTransactionDate(LocalDate.of(2023, 6, 30));
+        accountTransactionDTO.setReferenceNumber("JV-1");
+        TransactionEntryDTO exported = new TransactionEntryDTO();
+        exported.setId(42L);
+        exported.setTransactionAccount(transactionAccountDTO);
+        exported.setAccountTransaction(accountTransactionDTO);
+        exported.setTransactionEntryType(TransactionEntryTypes.CREDIT);
+        exported.setEntryAmount(new BigDecimal("12.50"));
+        exported.setDescription("Float");
+        exported.setWasPosted(true);
+
+        // the export is decoded line by line on the way back in
+        String export = TransactionEntryResource.CSV_HEADER + TransactionEntryResource.toCsvRecord(exported);
+        List<ImportRowDTO> rows = TransactionEntryImportReader.fromCsv(Flux.fromArray(export.split("\r\n"))).collectList().block();
+
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getErrors()).isEmpty();
+        TransactionEntryDTO imported = rows.get(0).getTransactionEntry();
+        assertThat(imported.getId()).isNull();
+        assertThat(imported.getTransactionAccount().getId()).isEqualTo(7L);
+        assertThat(imported.getAccountTransaction().getId()).isEqualTo(3L);
+        assertThat(imported.getTransactionEntryType()).isEqualTo(TransactionEntryTypes.CREDIT);
+        assertThat(imported.getEntryAmount()).isEqualByComparingTo(exported.getEntryAmount());
+        assertThat(imported.getDescription()).isEqualTo("Float");
+        assertThat(imported.getWasPosted()).isTrue();
+    }
+
+    @Test
+    void unreadableCsvRowsCarryTheirErrors() {
+        List<ImportRowDTO> rows = TransactionEntryImportReader
+            .fromCsv(Flux.just("entryAmount,wasPosted", "ten,maybe", "1"))
+            .collectList()
+            .block();
+
+        assertThat(rows).extracting(ImportRowDTO::getRow).containsExactly(1L, 2L);
+        assertThat(rows.get(0).getErrors()).containsExactly("entryAmount: cannot read 'ten'", "wasPosted: cannot read 'maybe'");
+        assertThat(rows.get(1).getErrors()).containsExactly("expected 2 fields but found 1");
+    }
+
+    @Test
+    void unknownCsvColumnFailsTheImport() {
+        assertThatThrownBy(() -> TransactionEntryImportReader.fromCsv(Flux.just("entryAmount,color", "1,red")).blockLast())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessage("Unknown column: color");
+    }
+
+    @Test
+    void readsNdjsonRows() {
+        List<ImportRowDTO> rows = TransactionEntryImportReader
+            .fromNdjson(Flux.just("{\"entryAmount\":3,\"transactionEntryType\":\"CREDIT\"}", "", "{not json"), new ObjectMapper())
+            .collectList()
+            .block();
+
+        assertThat(rows).extracting(ImportRowDTO::getRow).containsExactly(1L, 3L);
+        assertThat(rows.get(0).getTransactionEntry().getTransactionEntryType()).isEqualTo(TransactionEntryTypes.CREDIT);
+        assertThat(rows.get(1).getTransactionEntry()).isNull();
+        assertThat(rows.get(1).getErrors()).hasSize(1);
+    }
+}
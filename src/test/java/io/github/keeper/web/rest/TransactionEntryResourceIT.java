@@ -3,6 +3,7 @@ package io.github.keeper.web.rest;
 import static io.github.keeper.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.awaitility.Awaitility.await;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
@@ -18,6 +19,7 @@ import io.github.keeper.service.TransactionEntryService;
 import io.github.keeper.service.dto.TransactionEntryDTO;
 import io.github.keeper.service.mapper.TransactionEntryMapper;
 import java.math.BigDecimal;
+import java.net.URI;
 import java.time.Duration;
 import java.util.List;
 import java.util.Random;
@@ -36,8 +38,10 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.FluxExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -291,6 +295,218 @@ class TransactionEntryResourceIT {
             .value(hasItem(DEFAULT_WAS_APPROVED.booleanValue()));
     }
 
+    @Test
+    void exportTransactionEntries() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+
+        // Export the entries of the account as newline delimited JSON
+        List<TransactionEntryDTO> exported = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export?transactionAccountId={id}", transactionEntry.getTransactionAccountId())
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .returnResult(TransactionEntryDTO.class)
+            .getResponseBody()
+            .collectList()
+            .block();
+
+        assertThat(exported).extracting(TransactionEntryDTO::getId).containsExactly(transactionEntry.getId());
+        assertThat(exported.get(0).getEntryAmount()).isEqualByComparingTo(DEFAULT_ENTRY_AMOUNT);
+    }
+
+    @Test
+    void exportTransactionEntriesAsCsv() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+
+        // Export the entries of the account as CSV
+        String csv = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export?format=csv&transactionAccountId={id}", transactionEntry.getTransactionAccountId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .contentTypeCompatibleWith("text/csv")
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        String[] records = csv.split("\r\n");
+        assertThat(records).hasSize(2);
+        assertThat(records[0]).startsWith("id,transactionDate,");
+        assertThat(records[1]).startsWith(transactionEntry.getId() + ",");
+    }
+
+    @Test
+    void importTransactionEntriesFromCsv() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+        long databaseSizeBeforeImport = transactionEntryRepository.count().block();
+        Long accountId = transactionEntry.getTransactionAccountId();
+        String csv =
+            "transactionAccountId,transactionEntryType,entryAmount,description\r\n" +
+            accountId +
+            ",DEBIT,10.00,\"rent, May\"\r\n" +
+            accountId +
+            ",CREDIT,10.00,\r\n" +
+            accountId +
+            ",,10.00,no type\r\n" +
+            Long.MAX_VALUE +
+            ",DEBIT,10.00,no account\r\n";
+
+        // Import the file, the valid rows are created and the others reported
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_import")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue(csv)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.rowsRead")
+            .value(is(4))
+            .jsonPath("$.rowsImported")
+            .value(is(2))
+            .jsonPath("$.rowsRejected")
+            .value(is(2))
+            .jsonPath("$.rejectedRows[*].index")
+            .value(containsInAnyOrder(3, 4));
+
+        assertThat(transactionEntryRepository.count().block()).isEqualTo(databaseSizeBeforeImport + 2);
+    }
+
+    @Test
+    void importTransactionEntriesFromCsvExport() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+        long databaseSizeBeforeImport = transactionEntryRepository.count().block();
+        String csv = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "/_export?format=csv&transactionAccountId={id}", transactionEntry.getTransactionAccountId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody(String.class)
+            .returnResult()
+            .getResponseBody();
+
+        // Import the export again, the entries are created with new ids
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_import")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue(csv)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.rowsRead")
+            .value(is(1))
+            .jsonPath("$.rowsImported")
+            .value(is(1))
+            .jsonPath("$.rowsRejected")
+            .value(is(0));
+
+        assertThat(transactionEntryRepository.count().block()).isEqualTo(databaseSizeBeforeImport + 1);
+    }
+
+    @Test
+    void importTransactionEntriesWithUnknownColumn() {
+        webTestClient
+            .post()
+            .uri(ENTITY_API_URL + "/_import")
+            .contentType(MediaType.parseMediaType("text/csv"))
+            .bodyValue("entryAmount,color\r\n1,red\r\n")
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
+    @Test
+    void getAllTransactionEntriesReportsTotalCount() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+        transactionEntryRepository.save(createEntity(em)).block();
+        String totalCount = String.valueOf(transactionEntryRepository.count().block());
+
+        // The page is streamed, the total is counted by a separate statement before its first row
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=0&size=1&sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", totalCount)
+            .expectBody()
+            .jsonPath("$.length()")
+            .value(is(1));
+
+        // A page past the end still reports the total
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?page=1000&size=1&sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", totalCount);
+    }
+
+    @Test
+    void getAllTransactionEntriesByKeyset() {
+        // Initialize the database
+        transactionEntryRepository.save(transactionEntry).block();
+        TransactionEntry lastTransactionEntry = transactionEntryRepository.save(createEntity(em)).block();
+
+        // Get the first keyset page, which links to the next one
+        FluxExchangeResult<TransactionEntryDTO> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after=&size=1&sort=id,desc")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist("X-Total-Count")
+            .returnResult(TransactionEntryDTO.class);
+        assertThat(firstPage.getResponseBody().collectList().block())
+            .extracting(TransactionEntryDTO::getId)
+            .containsExactly(lastTransactionEntry.getId());
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).endsWith("; rel=\"next\"");
+
+        // Follow the link, the page starts right after the last row of the first page
+        webTestClient
+            .get()
+            .uri(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>'))))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.[0].id")
+            .value(is(transactionEntry.getId().intValue()));
+    }
+
+    @Test
+    void getAllTransactionEntriesWithMalformedKeyset() {
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?after=garbage&size=1")
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isBadRequest();
+    }
+
     @SuppressWarnings({ "unchecked" })
     void getAllTransactionEntriesWithEagerRelationshipsIsEnabled() {
         when(transactionEntryServiceMock.findAllWithEagerRelationships(any())).thenReturn(Flux.empty());
@@ -674,8 +890,12 @@ class TransactionEntryResourceIT {
         // Validate the database contains one less item
         List<TransactionEntry> transactionEntryList = transactionEntryRepository.findAll().collectList().block();
         assertThat(transactionEntryList).hasSize(databaseSizeBeforeDelete - 1);
-        int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionEntrySearchRepository.findAll().collectList().block());
-        assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+        await()
+            .atMost(5, TimeUnit.SECONDS)
+            .untilAsserted(() -> {
+                int searchDatabaseSizeAfter = IterableUtil.sizeOf(transactionEntrySearchRepository.findAll().collectList().block());
+                assertThat(searchDatabaseSizeAfter).isEqualTo(searchDatabaseSizeBefore - 1);
+            });
     }
 
     @Test
@@ -711,4 +931,69 @@ class TransactionEntryResourceIT {
             .jsonPath("$.[*].wasApproved")
             .value(hasItem(DEFAULT_WAS_APPROVED.booleanValue()));
     }
+
+    @Test
+    void searchTransactionEntryCountsTheHitsOfTheQuery() {
+        // Initialize the database
+        transactionEntry = transactionEntryRepository.save(transactionEntry).block();
+        TransactionEntry otherTransactionEntry = transactionEntryRepository.save(createEntity(em)).block();
+        transactionEntrySearchRepository.save(transactionEntry).block();
+        transactionEntrySearchRepository.save(otherTransactionEntry).block();
+
+        // The total is the number of hits, not the number of documents of the index
+        webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?query=id:" + transactionEntry.getId())
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "1");
+    }
+
+    @Test
+    void searchTransactionEntryByKeyset() {
+        // Initialize the database
+        transactionEntry = transactionEntryRepository.save(transactionEntry).block();
+        TransactionEntry lastTransactionEntry = transactionEntryRepository.save(createEntity(em)).block();
+        transactionEntrySearchRepository.save(transactionEntry).block();
+        transactionEntrySearchRepository.save(lastTransactionEntry).block();
+        String query = "id:(" + transactionEntry.getId() + " OR " + lastTransactionEntry.getId() + ")";
+
+        // Get the first search_after page, which links to the next one
+        FluxExchangeResult<TransactionEntryDTO> firstPage = webTestClient
+            .get()
+            .uri(ENTITY_SEARCH_API_URL + "?query={query}&after=&size=1&sort=id,desc", query)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .valueEquals("X-Total-Count", "2")
+            .returnResult(TransactionEntryDTO.class);
+        assertThat(firstPage.getResponseBody().collectList().block())
+            .extracting(TransactionEntryDTO::getId)
+            .containsExactly(lastTransactionEntry.getId());
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertThat(link).endsWith("; rel=\"next\"");
+
+        // Follow the link, the page starts right after the last hit of the first page and is the last one
+        webTestClient
+            .get()
+            .uri(URI.create(link.substring(link.indexOf('<') + 1, link.indexOf('>'))))
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectHeader()
+            .doesNotExist(HttpHeaders.LINK)
+            .expectBody()
+            .jsonPath("$.[0].id")
+            .value(is(transactionEntry.getId().intValue()))
+            .jsonPath("$.length()")
+            .value(is(1));
+    }
+
+    @Test
+    void searchTransactionEntryWithMalformedKeyset() {
+        webTestClient.get().uri(ENTITY_SEARCH_API_URL + "?query=id:1&after=garbage&size=1").exchange().expectStatus().isBadRequest();
+    }
 }
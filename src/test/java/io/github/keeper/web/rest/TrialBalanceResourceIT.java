@@ -0,0 +1,168 @@
+package io.github.keeper.web.rest;
+
+import static io.github.keeper.web.rest.TestUtil.sameNumber;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+
+import io.github.keeper.IntegrationTest;
+import io.github.keeper.domain.AccountTransaction;
+import io.github.keeper.domain.TransactionAccount;
+import io.github.keeper.domain.enumeration.TransactionEntryTypes;
+import io.github.keeper.repository.EntityManager;
+import io.github.keeper.repository.TransactionAccountRepository;
+import io.github.keeper.service.dto.AccountTransactionDTO;
+import io.github.keeper.service.dto.TransactionAccountDTO;
+import io.github.keeper.service.dto.TransactionEntryDTO;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+/**
+ * Integration tests for the {@link TrialBalanceResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureWebTestClient(timeout = IntegrationTest.DEFAULT_ENTITY_TIMEOUT)
+@WithMockUser
+class TrialBalanceResourceIT {
+
+    private static final String ENTITY_API_URL = "/api/trial-balance";
+
+    private static final LocalDate TRANSACTION_DATE = LocalDate.of(2001, 1, 31);
+
+    @Autowired
+    private TransactionAccountRepository transactionAccountRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private TransactionAccount parentAccount;
+
+    private TransactionAccount childAccount;
+
+    private AccountTransaction accountTransaction;
+
+    @BeforeEach
+    public void initTest() {
+        deleteEntities();
+        // saved through the repository, which maintains the closure of the account tree
+        parentAccount = transactionAccountRepository.save(TransactionAccountResourceIT.createEntity(em)).block();
+        childAccount = TransactionAccountResourceIT.createEntity(em);
+        childAccount.setParentAccount(parentAccount);
+        childAccount = transactionAccountRepository.save(childAccount).block();
+        accountTransaction = AccountTransactionResourceIT.createEntity(em);
+        accountTransaction.setTransactionDate(TRANSACTION_DATE);
+        accountTransaction = em.insert(accountTransaction).block();
+    }
+
+    @AfterEach
+    public void cleanup() {
+        deleteEntities();
+    }
+
+    private void deleteEntities() {
+        TransactionEntryResourceIT.deleteEntities(em);
+        AccountTransactionResourceIT.deleteEntities(em);
+        TransactionAccountResourceIT.deleteEntities(em);
+    }
+
+    @Test
+    void getTrialBalanceRollsUpChildAccounts() throws Exception {
+        postEntry(childAccount, TransactionEntryTypes.DEBIT, new BigDecimal(10), true);
+        postEntry(parentAccount, TransactionEntryTypes.CREDIT, new BigDecimal(10), true);
+        postEntry(childAccount, TransactionEntryTypes.DEBIT, new BigDecimal(99), false);
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?asOf=" + TRANSACTION_DATE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath("$.asOf")
+            .value(is(TRANSACTION_DATE.toString()))
+            .jsonPath(linePath(childAccount, "debitTotal"))
+            .value(contains(sameNumber(new BigDecimal(10))))
+            .jsonPath(linePath(parentAccount, "creditTotal"))
+            .value(contains(sameNumber(new BigDecimal(10))))
+            .jsonPath(linePath(parentAccount, "debitTotal"))
+            .value(contains(sameNumber(BigDecimal.ZERO)))
+            .jsonPath(linePath(parentAccount, "rolledUpDebitTotal"))
+            .value(contains(sameNumber(new BigDecimal(10))))
+            .jsonPath(linePath(parentAccount, "rolledUpCreditTotal"))
+            .value(contains(sameNumber(new BigDecimal(10))));
+    }
+
+    @Test
+    void getTrialBalanceExcludesLaterTransactions() throws Exception {
+        postEntry(childAccount, TransactionEntryTypes.DEBIT, new BigDecimal(10), true);
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?asOf=" + TRANSACTION_DATE.minusDays(1))
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(linePath(childAccount, "debitTotal"))
+            .value(empty());
+    }
+
+    @Test
+    void getTrialBalanceAfterNewPosting() throws Exception {
+        postEntry(childAccount, TransactionEntryTypes.DEBIT, new BigDecimal(10), true);
+        webTestClient.get().uri(ENTITY_API_URL + "?asOf=" + TRANSACTION_DATE).exchange().expectStatus().isOk();
+
+        // the cached trial balance of the period is invalidated by the posting
+        postEntry(childAccount, TransactionEntryTypes.DEBIT, new BigDecimal(5), true);
+
+        webTestClient
+            .get()
+            .uri(ENTITY_API_URL + "?asOf=" + TRANSACTION_DATE)
+            .accept(MediaType.APPLICATION_JSON)
+            .exchange()
+            .expectStatus()
+            .isOk()
+            .expectBody()
+            .jsonPath(linePath(childAccount, "debitTotal"))
+            .value(contains(sameNumber(new BigDecimal(15))));
+    }
+
+    private static String linePath(TransactionAccount transactionAccount, String property) {
+        return "$.lines[?(@.transactionAccountId == " + transactionAccount.getId() + ")]." + property;
+    }
+
+    private void postEntry(TransactionAccount transactionAccount, TransactionEntryTypes type, BigDecimal amount, boolean wasPosted)
+        throws Exception {
+        TransactionAccountDTO transactionAccountDTO = new TransactionAccountDTO();
+        transactionAccountDTO.setId(transactionAccount.getId());
+        AccountTransactionDTO accountTransactionDTO = new AccountTransactionDTO();
+        accountTransactionDTO.setId(accountTransaction.getId());
+        TransactionEntryDTO transactionEntryDTO = new TransactionEntryDTO();
+        transactionEntryDTO.setTransactionAccount(transactionAccountDTO);
+        transactionEntryDTO.setAccountTransaction(accountTransactionDTO);
+        transactionEntryDTO.setTransactionEntryType(type);
+        transactionEntryDTO.setEntryAmount(amount);
+        transactionEntryDTO.setWasPosted(wasPosted);
+        webTestClient
+            .post()
+            .uri("/api/transaction-entries")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue(TestUtil.convertObjectToJsonBytes(transactionEntryDTO))
+            .exchange()
+            .expectStatus()
+            .isCreated();
+    }
+}
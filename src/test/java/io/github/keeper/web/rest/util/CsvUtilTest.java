@@ -0,0 +1,38 @@
+package io.github.keeper.web.rest.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+class CsvUtilTest {
+
+    @Test
+    void plainFieldsAreWrittenAsIs() {
+        assertThat(CsvUtil.toRecord(1L, "cash", null, true)).isEqualTo("1,cash,,true\r\n");
+    }
+
+    @Test
+    void amountsAreNeverWrittenInScientificNotation() {
+        assertThat(CsvUtil.toRecord(new BigDecimal("1E+3"))).isEqualTo("1000\r\n");
+    }
+
+    @Test
+    void fieldsWithSeparatorsAreQuoted() {
+        assertThat(CsvUtil.toRecord("a,b", "say \"hi\"", "two\nlines")).isEqualTo("\"a,b\",\"say \"\"hi\"\"\",\"two\nlines\"\r\n");
+    }
+
+    @Test
+    void recordsAreSplitIntoUnquotedFields() {
+        assertThat(CsvUtil.parseRecord("1,\"a,b\",,\"say \"\"hi\"\"\"")).containsExactly("1", "a,b", "", "say \"hi\"");
+    }
+
+    @Test
+    void quotedFieldsMaySpanLines() {
+        List<List<String>> records = CsvUtil.parseRecords(Flux.just("id,description", "1,\"two", "lines\"", "", "2,plain")).collectList().block();
+
+        assertThat(records).containsExactly(List.of("id", "description"), List.of("1", "two\nlines"), List.of("2", "plain"));
+    }
+}